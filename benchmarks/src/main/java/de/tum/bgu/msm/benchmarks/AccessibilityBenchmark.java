@@ -0,0 +1,43 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the Hansen accessibilities of all zones and regions, as done at the beginning of every year.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessibilityBenchmark {
+
+    @Param({"500", "2000"})
+    private int numberOfZones;
+
+    @Param({"50"})
+    private int numberOfRegions;
+
+    @Param({"50000"})
+    private int numberOfHouseholds;
+
+    private AccessibilityImpl accessibility;
+
+    @Setup
+    public void setup() {
+        final DataContainer dataContainer = new SyntheticScenario(numberOfZones, numberOfRegions,
+                numberOfHouseholds, (int) (numberOfHouseholds * 1.05), 42).load();
+        accessibility = (AccessibilityImpl) dataContainer.getAccessibility();
+    }
+
+    @Benchmark
+    public AccessibilityImpl calculateHansenAccessibilities() {
+        accessibility.calculateHansenAccessibilities(SyntheticScenario.YEAR);
+        return accessibility;
+    }
+}
@@ -0,0 +1,80 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.development.Development;
+import de.tum.bgu.msm.events.impls.realEstate.ConstructionEvent;
+import de.tum.bgu.msm.models.realEstate.construction.ConstructionModelImpl;
+import de.tum.bgu.msm.models.realEstate.construction.DefaultConstructionDemandStrategy;
+import de.tum.bgu.msm.models.realEstate.construction.DefaultConstructionLocationStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans the construction of new dwellings for a year. The planned dwellings are not added and the developable
+ * land is restored before every invocation, so every invocation plans for the same demand and capacities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstructionModelBenchmark {
+
+    @Param({"500", "2000"})
+    private int numberOfZones;
+
+    @Param({"50"})
+    private int numberOfRegions;
+
+    @Param({"50000"})
+    private int numberOfHouseholds;
+
+    @Param({"0.02"})
+    private double vacancyRate;
+
+    private ConstructionModelImpl constructionModel;
+    private Development[] developments;
+    private double[] developableArea;
+    private int[] dwellingCapacity;
+
+    @Setup
+    public void setup() {
+        final DataContainer dataContainer = new SyntheticScenario(numberOfZones, numberOfRegions,
+                numberOfHouseholds, (int) (numberOfHouseholds * (1 + vacancyRate)), 42).load();
+        constructionModel = new ConstructionModelImpl(dataContainer,
+                dataContainer.getRealEstateDataManager().getDwellingFactory(), SyntheticScenario.getProperties(),
+                new DefaultConstructionLocationStrategy(), new DefaultConstructionDemandStrategy(), new Random(42));
+        constructionModel.setup();
+        constructionModel.prepareYear(SyntheticScenario.YEAR);
+
+        final Collection<Zone> zones = dataContainer.getGeoData().getZones().values();
+        developments = new Development[zones.size()];
+        developableArea = new double[zones.size()];
+        dwellingCapacity = new int[zones.size()];
+        int i = 0;
+        for (Zone zone : zones) {
+            developments[i] = zone.getDevelopment();
+            developableArea[i] = developments[i].getDevelopableArea();
+            dwellingCapacity[i] = developments[i].getDwellingCapacity();
+            i++;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreDevelopment() {
+        for (int i = 0; i < developments.length; i++) {
+            developments[i].changeAreaBy(developableArea[i] - developments[i].getDevelopableArea());
+            developments[i].changeCapacityBy(dwellingCapacity[i] - developments[i].getDwellingCapacity());
+        }
+    }
+
+    @Benchmark
+    public Collection<ConstructionEvent> getEventsForCurrentYear() {
+        return constructionModel.getEventsForCurrentYear(SyntheticScenario.YEAR);
+    }
+}
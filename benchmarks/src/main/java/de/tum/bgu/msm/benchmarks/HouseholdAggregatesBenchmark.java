@@ -0,0 +1,93 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdImpl;
+import de.tum.bgu.msm.data.household.HouseholdUtil;
+import de.tum.bgu.msm.data.person.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached household aggregates of {@link HouseholdUtil} with evaluating them by streaming over the
+ * household members, as it was done before the aggregates were cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HouseholdAggregatesBenchmark {
+
+    @Param({"10000"})
+    private int numberOfHouseholds;
+
+    private Household[] households;
+    private Person[] persons;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        households = new Household[numberOfHouseholds];
+        persons = new Person[numberOfHouseholds * 6];
+        final Occupation[] occupations = Occupation.values();
+        int personId = 0;
+        for (int i = 0; i < numberOfHouseholds; i++) {
+            final Household household = new HouseholdImpl(i, i, random.nextInt(3));
+            final int size = 1 + random.nextInt(6);
+            for (int j = 0; j < size; j++) {
+                final Person person = new PersonImpl(personId, random.nextInt(90),
+                        random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+                        occupations[random.nextInt(occupations.length)],
+                        j == 0 ? PersonRole.SINGLE : PersonRole.CHILD, 0, random.nextInt(60000));
+                person.setDriverLicense(random.nextBoolean());
+                household.addPerson(person);
+                person.setHousehold(household);
+                persons[personId++] = person;
+            }
+            households[i] = household;
+        }
+        persons = Arrays.copyOf(persons, personId);
+    }
+
+    /**
+     * Reads the aggregates of every household as the housing and car ownership models do.
+     */
+    @Benchmark
+    public void cachedAggregates(Blackhole blackhole) {
+        for (Household household : households) {
+            blackhole.consume(HouseholdUtil.getNumberOfWorkers(household));
+            blackhole.consume(HouseholdUtil.getAnnualHhIncome(household));
+            blackhole.consume(HouseholdUtil.getHHLicenseHolders(household));
+        }
+    }
+
+    @Benchmark
+    public void streamedAggregates(Blackhole blackhole) {
+        for (Household household : households) {
+            blackhole.consume((int) household.getPersons().values().stream().filter(p -> p.getOccupation() == Occupation.EMPLOYED).count());
+            blackhole.consume(household.getPersons().values().stream().mapToInt(Person::getAnnualIncome).sum());
+            blackhole.consume((int) household.getPersons().values().stream().filter(Person::hasDriverLicense).count());
+        }
+    }
+
+    /**
+     * Changes the occupation of a random person before each read, i.e. the worst case in which the aggregates
+     * of the household have to be recalculated every time.
+     */
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void cachedAggregatesAfterChange(Blackhole blackhole) {
+        for (int i = 0; i < 1000; i++) {
+            final Person person = persons[random.nextInt(persons.length)];
+            person.setOccupation(person.getOccupation() == Occupation.EMPLOYED ? Occupation.UNEMPLOYED : Occupation.EMPLOYED);
+            blackhole.consume(HouseholdUtil.getNumberOfWorkers(person.getHousehold()));
+            blackhole.consume(HouseholdUtil.getAnnualHhIncome(person.getHousehold()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.events.impls.person.MarriageEvent;
+import de.tum.bgu.msm.models.demography.marriage.DefaultMarriageStrategy;
+import de.tum.bgu.msm.models.demography.marriage.MarriageModelImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the marriage market and matches the couples that get married in a year. Couples are not married, so
+ * every invocation starts from the same population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarriageMarketBenchmark {
+
+    @Param({"100"})
+    private int numberOfZones;
+
+    @Param({"10"})
+    private int numberOfRegions;
+
+    @Param({"20000", "100000"})
+    private int numberOfHouseholds;
+
+    private MarriageModelImpl marriageModel;
+
+    @Setup
+    public void setup() {
+        final DataContainer dataContainer = new SyntheticScenario(numberOfZones, numberOfRegions,
+                numberOfHouseholds, numberOfHouseholds, 42).load();
+        // relocation, migration and car ownership are only used when couples actually marry
+        marriageModel = new MarriageModelImpl(dataContainer, null, null, null,
+                dataContainer.getHouseholdDataManager().getHouseholdFactory(), SyntheticScenario.getProperties(),
+                new DefaultMarriageStrategy(), new Random(42));
+        marriageModel.setup();
+        marriageModel.prepareYear(SyntheticScenario.YEAR);
+    }
+
+    @Benchmark
+    public Collection<MarriageEvent> selectCouplesToGetMarried() {
+        return marriageModel.getEventsForCurrentYear(SyntheticScenario.YEAR);
+    }
+}
@@ -0,0 +1,66 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.io.input.DefaultDwellingReader;
+import de.tum.bgu.msm.io.input.DefaultHouseholdReader;
+import de.tum.bgu.msm.io.input.DefaultJobReader;
+import de.tum.bgu.msm.io.input.DefaultPersonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the synthetic micro data with the default csv readers into an empty data container.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MicroDataReaderBenchmark {
+
+    @Param({"100"})
+    private int numberOfZones;
+
+    @Param({"10"})
+    private int numberOfRegions;
+
+    @Param({"100000"})
+    private int numberOfHouseholds;
+
+    private SyntheticScenario scenario;
+    private DataContainer dataContainer;
+
+    @Setup(Level.Trial)
+    public void writeMicroData() {
+        scenario = new SyntheticScenario(numberOfZones, numberOfRegions, numberOfHouseholds,
+                (int) (numberOfHouseholds * 1.05), 42);
+        scenario.writeInputFiles();
+    }
+
+    @Setup(Level.Iteration)
+    public void createDataContainer() {
+        dataContainer = scenario.createDataContainer();
+    }
+
+    @Benchmark
+    public DataContainer readHouseholdsAndPersons() {
+        new DefaultHouseholdReader(dataContainer.getHouseholdDataManager(),
+                dataContainer.getHouseholdDataManager().getHouseholdFactory()).readData(scenario.getHouseholdFile());
+        new DefaultPersonReader(dataContainer.getHouseholdDataManager()).readData(scenario.getPersonFile());
+        return dataContainer;
+    }
+
+    @Benchmark
+    public DataContainer readDwellings() {
+        new DefaultDwellingReader(dataContainer.getRealEstateDataManager()).readData(scenario.getDwellingFile());
+        return dataContainer;
+    }
+
+    @Benchmark
+    public DataContainer readJobs() {
+        new DefaultJobReader(dataContainer.getJobDataManager()).readData(scenario.getJobFile());
+        return dataContainer;
+    }
+}
@@ -0,0 +1,74 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.ModelContainer;
+import de.tum.bgu.msm.io.MicroDataSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resuming from a micro data snapshot with reading the micro data csv files of the synthetic scenario,
+ * each into an empty data container.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MicroDataSnapshotBenchmark {
+
+    @Param({"100"})
+    private int numberOfZones;
+
+    @Param({"10"})
+    private int numberOfRegions;
+
+    @Param({"100000"})
+    private int numberOfHouseholds;
+
+    private SyntheticScenario scenario;
+    private DataContainer loadedDataContainer;
+    private ModelContainer modelContainer;
+    private String snapshotFile;
+    private DataContainer dataContainer;
+
+    @Setup(Level.Trial)
+    public void writeMicroData() throws IOException {
+        scenario = new SyntheticScenario(numberOfZones, numberOfRegions, numberOfHouseholds,
+                (int) (numberOfHouseholds * 1.05), 42);
+        loadedDataContainer = scenario.load();
+        // the snapshot of the synthetic scenario holds no model random number generators
+        modelContainer = new ModelContainer(null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null);
+        final File file = File.createTempFile("snapshot", ".bin");
+        file.deleteOnExit();
+        snapshotFile = file.getPath();
+        MicroDataSnapshot.write(snapshotFile, SyntheticScenario.YEAR, loadedDataContainer, modelContainer);
+    }
+
+    @Setup(Level.Iteration)
+    public void createDataContainer() {
+        dataContainer = scenario.createDataContainer();
+    }
+
+    @Benchmark
+    public DataContainer readCsv() {
+        scenario.readMicroData(dataContainer);
+        return dataContainer;
+    }
+
+    @Benchmark
+    public MicroDataSnapshot readSnapshot() {
+        return MicroDataSnapshot.read(snapshotFile, dataContainer);
+    }
+
+    @Benchmark
+    public String writeSnapshot() {
+        MicroDataSnapshot.write(snapshotFile, SyntheticScenario.YEAR, loadedDataContainer, modelContainer);
+        return snapshotFile;
+    }
+}
@@ -0,0 +1,73 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.models.relocation.moves.*;
+import de.tum.bgu.msm.properties.Properties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dwelling search of the relocation model, with the strategies used by the use case model builders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovesModelBenchmark {
+
+    @Param({"500", "2000"})
+    private int numberOfZones;
+
+    @Param({"50"})
+    private int numberOfRegions;
+
+    @Param({"50000"})
+    private int numberOfHouseholds;
+
+    @Param({"0.05"})
+    private double vacancyRate;
+
+    private MovesModelImpl movesModel;
+    private HousingStrategy housingStrategy;
+    private Household[] households;
+    private Dwelling[] dwellings;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        final DataContainer dataContainer = new SyntheticScenario(numberOfZones, numberOfRegions,
+                numberOfHouseholds, (int) (numberOfHouseholds * (1 + vacancyRate)), 42).load();
+        final Properties properties = SyntheticScenario.getProperties();
+        random = new Random(42);
+        housingStrategy = new CarAndTransitHousingStrategyImpl(dataContainer, properties, dataContainer.getTravelTimes(),
+                new JavaDwellingUtilityStrategy(), new JavaDwellingProbabilityStrategy(),
+                new RegionUtilityStrategyImpl(), new RegionProbabilityStrategyImpl());
+        movesModel = new MovesModelImpl(dataContainer, properties, new JavaMovesStrategy(), housingStrategy, random);
+        movesModel.setup();
+        movesModel.prepareYear(SyntheticScenario.YEAR);
+        households = dataContainer.getHouseholdDataManager().getHouseholds().toArray(new Household[0]);
+        dwellings = dataContainer.getRealEstateDataManager().getDwellings().toArray(new Dwelling[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        movesModel.endSimulation();
+    }
+
+    @Benchmark
+    public int searchForNewDwelling() {
+        return movesModel.searchForNewDwelling(households[random.nextInt(households.length)]);
+    }
+
+    @Benchmark
+    public double calculateHousingUtility() {
+        return housingStrategy.calculateHousingUtility(households[random.nextInt(households.length)],
+                dwellings[random.nextInt(dwellings.length)]);
+    }
+}
@@ -0,0 +1,72 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.utils.AliasSampler;
+import de.tum.bgu.msm.utils.CumulativeSampler;
+import de.tum.bgu.msm.utils.Sampler;
+import de.tum.bgu.msm.utils.SampleException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples from a {@link Sampler}, once from a prepared sampler and once including building the sampler, as the
+ * relocation and marriage models do for every decision. Repeated draws from fixed weights are compared with
+ * {@link CumulativeSampler} and {@link AliasSampler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SamplerBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int numberOfObjects;
+
+    private Integer[] objects;
+    private double[] probabilities;
+    private Random random;
+    private Sampler<Integer> sampler;
+    private CumulativeSampler<Integer> cumulativeSampler;
+    private AliasSampler<Integer> aliasSampler;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        objects = new Integer[numberOfObjects];
+        probabilities = new double[numberOfObjects];
+        for (int i = 0; i < numberOfObjects; i++) {
+            objects[i] = i;
+            probabilities[i] = random.nextDouble();
+        }
+        sampler = new Sampler<>(objects, probabilities, random);
+        cumulativeSampler = sampler.toCumulativeSampler(random);
+        aliasSampler = sampler.toAliasSampler(random);
+    }
+
+    @Benchmark
+    public Integer sampleObject() throws SampleException {
+        return sampler.sampleObject();
+    }
+
+    @Benchmark
+    public Integer sampleObjectCumulative() throws SampleException {
+        return cumulativeSampler.sampleObject();
+    }
+
+    @Benchmark
+    public Integer sampleObjectAlias() throws SampleException {
+        return aliasSampler.sampleObject();
+    }
+
+    @Benchmark
+    public Integer incrementalAddAndSampleObject() throws SampleException {
+        final Sampler<Integer> sampler = new Sampler<>(numberOfObjects, Integer.class, random);
+        for (int i = 0; i < numberOfObjects; i++) {
+            sampler.incrementalAdd(objects[i], probabilities[i]);
+        }
+        return sampler.sampleObject();
+    }
+}
@@ -0,0 +1,375 @@
+package de.tum.bgu.msm.benchmarks;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.accessibility.Accessibility;
+import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
+import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
+import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.PersonFactoryImpl;
+import de.tum.bgu.msm.data.person.PersonRole;
+import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
+import de.tum.bgu.msm.io.input.DefaultDwellingReader;
+import de.tum.bgu.msm.io.input.DefaultHouseholdReader;
+import de.tum.bgu.msm.io.input.DefaultJobReader;
+import de.tum.bgu.msm.io.input.DefaultPersonReader;
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.apache.log4j.Logger;
+import org.matsim.api.core.v01.TransportMode;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generates a synthetic SILO scenario of configurable size for the benchmarks. Zones are laid out on a square
+ * grid and grouped into regions of neighbouring zones. Travel times grow with the distance between zones.
+ * Households, persons, dwellings and jobs are written as micro data files in the format of the default readers
+ * and read back, so that the resulting data container is set up the same way as in a real model run.
+ * <p>
+ * As {@link Properties} can only be initialized once per JVM, all scenarios share one temporary base directory.
+ * JMH runs every parameter combination in a fresh fork, so there is one scenario per JVM in practice.
+ */
+public final class SyntheticScenario {
+
+    private final static Logger logger = Logger.getLogger(SyntheticScenario.class);
+
+    public static final int YEAR = 2011;
+
+    private static Properties properties;
+
+    private final int numberOfZones;
+    private final int numberOfRegions;
+    private final int numberOfHouseholds;
+    private final int numberOfDwellings;
+    private final int gridSize;
+    private final Random random;
+
+    /**
+     * @param numberOfDwellings has to be at least the number of households; the surplus dwellings are vacant
+     */
+    public SyntheticScenario(int numberOfZones, int numberOfRegions, int numberOfHouseholds,
+                             int numberOfDwellings, long seed) {
+        if (numberOfRegions > numberOfZones) {
+            throw new IllegalArgumentException("Cannot create more regions than zones.");
+        }
+        if (numberOfDwellings < numberOfHouseholds) {
+            throw new IllegalArgumentException("Need at least as many dwellings as households.");
+        }
+        this.numberOfZones = numberOfZones;
+        this.numberOfRegions = numberOfRegions;
+        this.numberOfHouseholds = numberOfHouseholds;
+        this.numberOfDwellings = numberOfDwellings;
+        this.gridSize = (int) Math.ceil(Math.sqrt(numberOfZones));
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Initializes the properties of the benchmark scenario in a temporary directory. Only the keys without
+     * defaults are set.
+     */
+    public static synchronized Properties getProperties() {
+        if (properties == null) {
+            try {
+                final Path baseDirectory = Files.createTempDirectory("silo-benchmarks");
+                baseDirectory.toFile().deleteOnExit();
+                final Path propertiesFile = baseDirectory.resolve("silo.properties");
+                try (PrintWriter pw = new PrintWriter(Files.newBufferedWriter(propertiesFile))) {
+                    pw.println("scenario.name = benchmark");
+                    pw.println("base.year = " + YEAR);
+                    pw.println("end.year = " + (YEAR + 1));
+                    pw.println("random.seed = 42");
+                }
+                properties = Properties.initializeProperties(propertiesFile.toString());
+                new JobType(properties.jobData.jobTypes);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not create benchmark scenario directory.", e);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Writes the micro data and input files, reads them into a new data container and sets up the data
+     * for {@link #YEAR}.
+     */
+    public DataContainer load() {
+        writeInputFiles();
+        final DataContainer dataContainer = createDataContainer();
+        readMicroData(dataContainer);
+        fillSkims((TravelTimesWrapper) dataContainer.getTravelTimes(), dataContainer.getGeoData());
+
+        // the travel times are set up from the synthetic skims above instead of omx files
+        dataContainer.getGeoData().setup();
+        dataContainer.getHouseholdDataManager().setup();
+        dataContainer.getJobDataManager().setup();
+        dataContainer.getRealEstateDataManager().setup();
+        dataContainer.getAccessibility().setup();
+        dataContainer.getCommutingTimeProbability().setup();
+        dataContainer.prepareYear(YEAR);
+        logger.info("Loaded synthetic scenario with " + numberOfZones + " zones, "
+                + dataContainer.getHouseholdDataManager().getHouseholds().size() + " households, "
+                + dataContainer.getHouseholdDataManager().getPersons().size() + " persons, "
+                + dataContainer.getRealEstateDataManager().getDwellings().size() + " dwellings and "
+                + dataContainer.getJobDataManager().getJobs().size() + " jobs.");
+        return dataContainer;
+    }
+
+    /**
+     * Creates an empty data container with the zone system of this scenario, wired as in the use case data builders.
+     */
+    public DataContainer createDataContainer() {
+        final Properties properties = getProperties();
+        final HouseholdData householdData = new HouseholdDataImpl();
+        final JobData jobData = new JobDataImpl();
+        final DwellingData dwellingData = new DwellingDataImpl();
+
+        final GeoData geoData = createGeoData();
+        final TravelTimesWrapper travelTimes = new TravelTimesWrapper(new SkimTravelTimes(), properties, geoData);
+        final Accessibility accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+        final CommutingTimeProbability commutingTimeProbability = new CommutingTimeProbabilityImpl(properties);
+
+        final RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(
+                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, new DwellingFactoryImpl(), properties);
+        final JobDataManager jobDataManager = new JobDataManagerImpl(
+                properties, new JobFactoryImpl(), jobData, geoData, travelTimes, commutingTimeProbability);
+        final HouseholdDataManager householdDataManager = new HouseholdDataManagerImpl(
+                householdData, dwellingData, new PersonFactoryImpl(), new HouseholdFactoryImpl(), properties, realEstateDataManager);
+
+        return new DefaultDataContainer(geoData, realEstateDataManager, jobDataManager,
+                householdDataManager, travelTimes, accessibility, commutingTimeProbability, properties);
+    }
+
+    public void readMicroData(DataContainer dataContainer) {
+        new DefaultHouseholdReader(dataContainer.getHouseholdDataManager(),
+                dataContainer.getHouseholdDataManager().getHouseholdFactory()).readData(getHouseholdFile());
+        new DefaultPersonReader(dataContainer.getHouseholdDataManager()).readData(getPersonFile());
+        new DefaultDwellingReader(dataContainer.getRealEstateDataManager()).readData(getDwellingFile());
+        new DefaultJobReader(dataContainer.getJobDataManager()).readData(getJobFile());
+    }
+
+    public String getHouseholdFile() {
+        final Properties properties = getProperties();
+        return properties.main.baseDirectory + properties.householdData.householdFileName + "_" + YEAR + ".csv";
+    }
+
+    public String getPersonFile() {
+        final Properties properties = getProperties();
+        return properties.main.baseDirectory + properties.householdData.personFileName + "_" + YEAR + ".csv";
+    }
+
+    public String getDwellingFile() {
+        final Properties properties = getProperties();
+        return properties.main.baseDirectory + properties.realEstate.dwellingsFileName + "_" + YEAR + ".csv";
+    }
+
+    public String getJobFile() {
+        final Properties properties = getProperties();
+        return properties.main.baseDirectory + properties.jobData.jobsFileName + "_" + YEAR + ".csv";
+    }
+
+    /**
+     * Writes the development capacities, the trip length frequency distribution and the micro data of
+     * households, persons, dwellings and jobs. Calling this again overwrites the files of a previous scenario.
+     */
+    public void writeInputFiles() {
+        final Properties properties = getProperties();
+        writeDevelopment(properties.main.baseDirectory + properties.geo.landUseAndDevelopmentFile);
+        writeTripLengthFrequencyDistribution(properties.main.baseDirectory + properties.accessibility.htsWorkTLFD);
+        writeMicroData();
+    }
+
+    private GeoData createGeoData() {
+        final GeoData geoData = new DefaultGeoData();
+        for (int region = 1; region <= numberOfRegions; region++) {
+            geoData.addRegion(new RegionImpl(region));
+        }
+        for (int zone = 1; zone <= numberOfZones; zone++) {
+            final RegionImpl region = (RegionImpl) geoData.getRegions().get(getRegion(zone));
+            final ZoneImpl zoneImpl = new ZoneImpl(zone, 1.f, region);
+            region.addZone(zoneImpl);
+            geoData.addZone(zoneImpl);
+        }
+        return geoData;
+    }
+
+    /**
+     * Zones are numbered row by row, so consecutive zones form bands of neighbouring zones.
+     */
+    private int getRegion(int zone) {
+        return (int) ((zone - 1) * (long) numberOfRegions / numberOfZones) + 1;
+    }
+
+    private void fillSkims(TravelTimesWrapper travelTimes, GeoData geoData) {
+        final IndexedDoubleMatrix2D carSkim = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        final IndexedDoubleMatrix2D ptSkim = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        for (Zone origin : geoData.getZones().values()) {
+            for (Zone destination : geoData.getZones().values()) {
+                final double distance = getDistance(origin.getZoneId(), destination.getZoneId());
+                carSkim.setIndexed(origin.getZoneId(), destination.getZoneId(), 2 + 1.5 * distance);
+                ptSkim.setIndexed(origin.getZoneId(), destination.getZoneId(), 8 + 2.5 * distance);
+            }
+        }
+        final SkimTravelTimes skimTravelTimes = (SkimTravelTimes) TravelTimesWrapper.unwrap(travelTimes);
+        skimTravelTimes.updateSkimMatrix(carSkim, TransportMode.car);
+        skimTravelTimes.updateSkimMatrix(ptSkim, TransportMode.pt);
+        travelTimes.updateRegionalTravelTimes();
+    }
+
+    /**
+     * Distance between the centroids of two zones in km, with grid cells of 1 km.
+     */
+    private double getDistance(int origin, int destination) {
+        final int dx = (origin - 1) % gridSize - (destination - 1) % gridSize;
+        final int dy = (origin - 1) / gridSize - (destination - 1) / gridSize;
+        return origin == destination ? 0.5 : Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void writeDevelopment(String fileName) {
+        final PrintWriter pw = SiloUtil.openFileForSequentialWriting(fileName, false);
+        pw.print("Zone");
+        for (DwellingType type : DefaultDwellingTypeImpl.values()) {
+            pw.print("," + type);
+        }
+        pw.println(",DevCapacity,DevLandUse");
+        for (int zone = 1; zone <= numberOfZones; zone++) {
+            pw.print(zone);
+            for (DwellingType ignored : DefaultDwellingTypeImpl.values()) {
+                pw.print(random.nextDouble() < 0.9 ? ",1" : ",0");
+            }
+            pw.println("," + (10 + random.nextInt(100)) + "," + (1 + random.nextInt(50)));
+        }
+        pw.close();
+    }
+
+    private void writeTripLengthFrequencyDistribution(String fileName) {
+        final PrintWriter pw = SiloUtil.openFileForSequentialWriting(fileName, false);
+        pw.println("TravelTime,Utility");
+        for (int minutes = 1; minutes <= 180; minutes++) {
+            pw.println(minutes + "," + Math.exp(-0.05 * minutes));
+        }
+        pw.close();
+    }
+
+    private void writeMicroData() {
+        final DefaultDwellingTypeImpl[] types = DefaultDwellingTypeImpl.values();
+        final String[] jobTypes = JobType.getJobTypes();
+
+        final int[] dwellingZones = new int[numberOfDwellings + 1];
+        final int[] residents = new int[numberOfDwellings + 1];
+        for (int dd = 1; dd <= numberOfDwellings; dd++) {
+            dwellingZones[dd] = 1 + random.nextInt(numberOfZones);
+            residents[dd] = -1;
+        }
+        final int[] dwellingOrder = new int[numberOfDwellings];
+        for (int i = 0; i < numberOfDwellings; i++) {
+            dwellingOrder[i] = i + 1;
+        }
+        for (int i = numberOfDwellings - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = dwellingOrder[i];
+            dwellingOrder[i] = dwellingOrder[j];
+            dwellingOrder[j] = swap;
+        }
+
+        final PrintWriter hhWriter = SiloUtil.openFileForSequentialWriting(getHouseholdFile(), false);
+        final PrintWriter ppWriter = SiloUtil.openFileForSequentialWriting(getPersonFile(), false);
+        final PrintWriter jjWriter = SiloUtil.openFileForSequentialWriting(getJobFile(), false);
+        hhWriter.println("id,dwelling,zone,hhSize,autos");
+        ppWriter.println("id,hhID,age,gender,relationShip,occupation,driversLicense,workplace,income");
+        jjWriter.println("id,zone,personId,type,coordX,coordY");
+
+        int personId = 0;
+        int jobId = 0;
+        for (int hh = 1; hh <= numberOfHouseholds; hh++) {
+            final int dwelling = dwellingOrder[hh - 1];
+            residents[dwelling] = hh;
+            final int size = 1 + random.nextInt(5);
+            final boolean couple = size > 1 && random.nextDouble() < 0.6;
+            final int adults = couple ? 2 : 1;
+            int licenses = 0;
+            for (int i = 0; i < size; i++) {
+                personId++;
+                final boolean adult = i < adults;
+                final int age = adult ? 18 + random.nextInt(70) : random.nextInt(18);
+                final Gender gender = random.nextBoolean() ? Gender.MALE : Gender.FEMALE;
+                final PersonRole role = adult ? (couple ? PersonRole.MARRIED : PersonRole.SINGLE) : PersonRole.CHILD;
+                final Occupation occupation;
+                final int income;
+                if (!adult) {
+                    occupation = age < 6 ? Occupation.TODDLER : Occupation.STUDENT;
+                    income = 0;
+                } else if (age >= 65) {
+                    occupation = Occupation.RETIREE;
+                    income = 10000 + random.nextInt(20000);
+                } else if (random.nextDouble() < 0.7) {
+                    occupation = Occupation.EMPLOYED;
+                    income = 15000 + random.nextInt(60000);
+                } else {
+                    occupation = Occupation.UNEMPLOYED;
+                    income = random.nextInt(5000);
+                }
+                final boolean license = adult && random.nextDouble() < 0.8;
+                if (license) {
+                    licenses++;
+                }
+                int workplace = -1;
+                if (occupation == Occupation.EMPLOYED) {
+                    workplace = ++jobId;
+                    writeJob(jjWriter, workplace, personId, jobTypes[random.nextInt(jobTypes.length)]);
+                }
+                ppWriter.println(personId + "," + hh + "," + age + "," + gender.getCode() + "," + role
+                        + "," + occupation.getCode() + "," + license + "," + workplace + "," + income);
+            }
+            hhWriter.println(hh + "," + dwelling + "," + dwellingZones[dwelling] + "," + size + ","
+                    + random.nextInt(licenses + 1));
+        }
+        final int vacantJobs = Math.max(1, jobId / 10);
+        for (int i = 0; i < vacantJobs; i++) {
+            writeJob(jjWriter, ++jobId, -1, jobTypes[random.nextInt(jobTypes.length)]);
+        }
+        hhWriter.close();
+        ppWriter.close();
+        jjWriter.close();
+
+        final PrintWriter ddWriter = SiloUtil.openFileForSequentialWriting(getDwellingFile(), false);
+        ddWriter.println("id,zone,type,hhID,bedrooms,quality,monthlyCost,yearBuilt,coordX,coordY");
+        for (int dd = 1; dd <= numberOfDwellings; dd++) {
+            final int zone = dwellingZones[dd];
+            ddWriter.println(dd + "," + zone + "," + types[random.nextInt(types.length)] + "," + residents[dd]
+                    + "," + (1 + random.nextInt(4)) + "," + (1 + random.nextInt(4)) + "," + (300 + random.nextInt(2200))
+                    + "," + (1950 + random.nextInt(YEAR - 1950)) + "," + getX(zone) + "," + getY(zone));
+        }
+        ddWriter.close();
+        logger.info("Wrote " + numberOfHouseholds + " households, " + personId + " persons, "
+                + numberOfDwellings + " dwellings and " + jobId + " jobs.");
+    }
+
+    private void writeJob(PrintWriter jjWriter, int id, int personId, String type) {
+        final int zone = 1 + random.nextInt(numberOfZones);
+        jjWriter.println(id + "," + zone + "," + personId + "," + type + "," + getX(zone) + "," + getY(zone));
+    }
+
+    private double getX(int zone) {
+        return ((zone - 1) % gridSize + random.nextDouble()) * 1000;
+    }
+
+    private double getY(int zone) {
+        return ((zone - 1) / gridSize + random.nextDouble()) * 1000;
+    }
+}
@@ -1,7 +1,6 @@
 package de.tum.bgu.msm.matsim;
 
 import ch.sbb.matsim.routing.pt.raptor.*;
-import com.google.common.collect.Iterables;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.concurrent.ConcurrentExecutor;
@@ -35,100 +34,57 @@ public class MatsimSkimCreator {
     }
 
     public IndexedDoubleMatrix2D createCarSkim(Collection<Zone> zones) {
-        final int partitionSize = (int) ((double) zones.size() / (Properties.get().main.numberOfThreads)) + 1;
-        Iterable<List<Zone>> partitions = Iterables.partition(zones, partitionSize);
-
-        IndexedDoubleMatrix2D skim = new IndexedDoubleMatrix2D(zones, zones);
-        Network carNetwork = matsimData.getCarNetwork();
-        ConcurrentExecutor<Void> executor = ConcurrentExecutor.fixedPoolService(Properties.get().main.numberOfThreads);
-        for (final List<Zone> partition : partitions) {
-            executor.addTaskToQueue(() -> {
-                try {
-                    MultiNodePathCalculator calculator = matsimData.createMultiNodePathCalculator();
-                    Set<InitialNode> toNodes = new HashSet<>();
-                    for (Zone zone : zones) {
-                        for (Coord coord : matsimData.getZoneConnectorManager().getCoordsForZone(zone)) {
-                            Node originNode = NetworkUtils.getNearestNode(carNetwork, coord);
-                            toNodes.add(new InitialNode(originNode, 0., 0.));
-                        }
-                    }
-
-                    ImaginaryNode aggregatedToNodes = MultiNodeDijkstra.createImaginaryNode(toNodes);
-
-                    for (Zone origin : partition) {
-                        Node originNode = NetworkUtils.getNearestNode(carNetwork, matsimData.getZoneConnectorManager().getCoordsForZone(origin).get(0));
-                        calculator.calcLeastCostPath(originNode, aggregatedToNodes, Properties.get().transportModel.peakHour_s, null, null);
-                        for (Zone destination : zones) {
-                            Node destinationNode = NetworkUtils.getNearestNode(carNetwork, matsimData.getZoneConnectorManager().getCoordsForZone(destination).get(0));
-                            double travelTime = calculator.constructPath(originNode, destinationNode, Properties.get().transportModel.peakHour_s).travelTime;
-
-                            //convert to minutes
-                            travelTime /= 60.;
-
-                            skim.setIndexed(origin.getZoneId(), destination.getZoneId(), travelTime);
-                        }
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                return null;
-            });
-        }
-        executor.execute();
-        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim);
-        return skim;
+        return createNetworkSkim(zones, 1., false);
     }
 
     public IndexedDoubleMatrix2D createPtSkim(Collection<Zone> zones) {
-        final int partitionSize = (int) ((double) zones.size() / (Properties.get().main.numberOfThreads)) + 1;
-        Iterable<List<Zone>> partitions = Iterables.partition(zones, partitionSize);
-
-        IndexedDoubleMatrix2D skim = new IndexedDoubleMatrix2D(zones, zones);
+        final ZoneConnectors connectors = new ZoneConnectors(zones, matsimData.getZoneConnectorManager());
+        final int numberOfZones = connectors.zones.length;
+        final float[] skim = new float[numberOfZones * numberOfZones];
 
         //compute closest egress stops per zone
         SwissRailRaptorData raptorData = matsimData.getRaptorData(RaptorStaticConfig.RaptorOptimization.OneToAllRouting);
         RaptorParameters parameters = matsimData.getRaptorParameters();
         double walkSpeed = parameters.getBeelineWalkSpeed();
-        Map<Zone, Collection<TransitStopFacility>> stopsPerZone = new LinkedHashMap<>();
-        ActivityFacilitiesFactoryImpl activityFacilitiesFactory = new ActivityFacilitiesFactoryImpl();
+        final TransitStopFacility[][] stopsPerZone = new TransitStopFacility[numberOfZones][];
 
-        for (Zone zone : zones) {
-            final Coord coord = matsimData.getZoneConnectorManager().getCoordsForZone(zone).get(0);
+        for (int i = 0; i < numberOfZones; i++) {
+            final Coord coord = connectors.coords[i];
             Collection<TransitStopFacility> stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), parameters.getSearchRadius());
             if (stops.isEmpty()) {
                 TransitStopFacility nearest = raptorData.findNearestStop(coord.getX(), coord.getY());
                 double nearestStopDistance = CoordUtils.calcEuclideanDistance(coord, nearest.getCoord());
                 stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), nearestStopDistance + parameters.getExtensionRadius());
             }
-            stopsPerZone.put(zone, stops);
+            stopsPerZone[i] = stops.toArray(new TransitStopFacility[0]);
         }
 
+        final double peakHour_s = Properties.get().transportModel.peakHour_s;
         ConcurrentExecutor<Void> executor = ConcurrentExecutor.fixedPoolService(Properties.get().main.numberOfThreads);
-        for (final List<Zone> partition : partitions) {
+        for (final int[] partition : partitions(numberOfZones)) {
             executor.addTaskToQueue(() -> {
                 try {
                     SwissRailRaptor raptor = matsimData.createSwissRailRaptor(RaptorStaticConfig.RaptorOptimization.OneToAllRouting);
-                    for (Zone origin : partition) {
-                        final Coord fromCoord = matsimData.getZoneConnectorManager().getCoordsForZone(origin).get(0);
-                        Facility fromFacility = ((ActivityFacilitiesFactory) activityFacilitiesFactory).createActivityFacility(Id.create(1, ActivityFacility.class), fromCoord);
+                    for (int origin = partition[0]; origin < partition[1]; origin++) {
+                        final Coord fromCoord = connectors.coords[origin];
 
                         //calc tree from origin zone connector. note that it will search for multiple
                         //start stops accessible from the connector
                         final Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> idTravelInfoMap
-                                = raptor.calcTree(fromFacility, Properties.get().transportModel.peakHour_s, null);
-                        for (Zone destination : zones) {
-                            if (origin.equals(destination)) {
+                                = raptor.calcTree(connectors.facilities[origin], peakHour_s, null);
+                        for (int destination = 0; destination < numberOfZones; destination++) {
+                            if (origin == destination) {
                                 //Intrazonals will be assigned afterwards
                                 continue;
                             }
 
                             //compute direct walk time
-                            final Coord toCoord = matsimData.getZoneConnectorManager().getCoordsForZone(destination).get(0);
+                            final Coord toCoord = connectors.coords[destination];
                             double directDistance = CoordUtils.calcEuclideanDistance(fromCoord, toCoord);
                             double directWalkTime = directDistance / walkSpeed;
 
                             double travelTime = Double.MAX_VALUE;
-                            for (TransitStopFacility stop : stopsPerZone.get(destination)) {
+                            for (TransitStopFacility stop : stopsPerZone[destination]) {
                                 final SwissRailRaptorCore.TravelInfo travelInfo = idTravelInfoMap.get(stop.getId());
                                 if (travelInfo != null) {
                                     //compute egress to actual zone connector for this stop
@@ -146,7 +102,7 @@ public class MatsimSkimCreator {
 
                             //convert to minutes
                             travelTime /= 60.;
-                            skim.setIndexed(origin.getZoneId(), destination.getZoneId(), travelTime);
+                            skim[origin * numberOfZones + destination] = toFloat(travelTime);
                         }
                     }
                 } catch (Exception e) {
@@ -156,32 +112,25 @@ public class MatsimSkimCreator {
             });
         }
         executor.execute();
-        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim);
-        return skim;
+        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim, numberOfZones);
+        return connectors.toMatrix(skim);
     }
 
     public IndexedDoubleMatrix2D createTeleportedSkim(Collection<Zone> zones, String mode) {
+        final ZoneConnectors connectors = new ZoneConnectors(zones, matsimData.getZoneConnectorManager());
+        final int numberOfZones = connectors.zones.length;
+        final float[] skim = new float[numberOfZones * numberOfZones];
 
-        final int partitionSize = (int) ((double) zones.size() / (Properties.get().main.numberOfThreads)) + 1;
-        Iterable<List<Zone>> partitions = Iterables.partition(zones, partitionSize);
-
-        IndexedDoubleMatrix2D skim = new IndexedDoubleMatrix2D(zones, zones);
-
+        final double peakHour_s = Properties.get().transportModel.peakHour_s;
         ConcurrentExecutor<Void> executor = ConcurrentExecutor.fixedPoolService(Properties.get().main.numberOfThreads);
-        for (final List<Zone> partition : partitions) {
+        for (final int[] partition : partitions(numberOfZones)) {
             executor.addTaskToQueue(() -> {
                 try {
                     final RoutingModule teleportationRouter = matsimData.getTeleportationRouter(mode);
-                    for (Zone origin : partition) {
-                        for (Zone destination : zones) {
-                            Coord originCoord = matsimData.getZoneConnectorManager().getCoordsForZone(origin).get(0);
-                            Coord destinationCoord = matsimData.getZoneConnectorManager().getCoordsForZone(destination).get(0);
-
-                            ActivityFacilitiesFactoryImpl activityFacilitiesFactory = new ActivityFacilitiesFactoryImpl();
-                            Facility fromFacility = ((ActivityFacilitiesFactory) activityFacilitiesFactory).createActivityFacility(Id.create(1, ActivityFacility.class), originCoord);
-                            Facility toFacility = ((ActivityFacilitiesFactory) activityFacilitiesFactory).createActivityFacility(Id.create(2, ActivityFacility.class), destinationCoord);
-                            final double peakHour_s = Properties.get().transportModel.peakHour_s;
-                            List<? extends PlanElement> planElements = teleportationRouter.calcRoute(fromFacility, toFacility, peakHour_s, null);
+                    for (int origin = partition[0]; origin < partition[1]; origin++) {
+                        for (int destination = 0; destination < numberOfZones; destination++) {
+                            List<? extends PlanElement> planElements = teleportationRouter.calcRoute(
+                                    connectors.facilities[origin], connectors.facilities[destination], peakHour_s, null);
                             double arrivalTime = peakHour_s;
 
                             if (!planElements.isEmpty()) {
@@ -193,7 +142,7 @@ public class MatsimSkimCreator {
 
                             //convert to minutes
                             time /= 60.;
-                            skim.setIndexed(origin.getZoneId(), destination.getZoneId(), time);
+                            skim[origin * numberOfZones + destination] = toFloat(time);
                         }
                     }
                 } catch (Exception e) {
@@ -203,37 +152,54 @@ public class MatsimSkimCreator {
             });
         }
         executor.execute();
-        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim);
-        return skim;
+        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim, numberOfZones);
+        return connectors.toMatrix(skim);
     }
 
     public IndexedDoubleMatrix2D createFreeSpeedFactorSkim(Collection<Zone> zones, double factor) {
-        final int partitionSize = (int) ((double) zones.size() / (Properties.get().main.numberOfThreads)) + 1;
-        Iterable<List<Zone>> partitions = Iterables.partition(zones, partitionSize);
+        return createNetworkSkim(zones, factor, true);
+    }
 
-        IndexedDoubleMatrix2D skim = new IndexedDoubleMatrix2D(zones, zones);
+    /**
+     * Creates a car skim on the car network, either for congested or for free speed travel times.
+     *
+     * @param factor    factor every travel time is multiplied with
+     * @param freeSpeed whether to route with free speed travel times
+     */
+    private IndexedDoubleMatrix2D createNetworkSkim(Collection<Zone> zones, double factor, boolean freeSpeed) {
+        final ZoneConnectors connectors = new ZoneConnectors(zones, matsimData.getZoneConnectorManager());
+        final int numberOfZones = connectors.zones.length;
+        final float[] skim = new float[numberOfZones * numberOfZones];
+
+        //resolve zone connector nodes once for all partitions
         Network carNetwork = matsimData.getCarNetwork();
+        final Node[] nodes = new Node[numberOfZones];
+        final Set<Node> connectorNodes = new LinkedHashSet<>();
+        for (int i = 0; i < numberOfZones; i++) {
+            nodes[i] = NetworkUtils.getNearestNode(carNetwork, connectors.coords[i]);
+            for (Coord coord : matsimData.getZoneConnectorManager().getCoordsForZone(connectors.zones[i])) {
+                connectorNodes.add(NetworkUtils.getNearestNode(carNetwork, coord));
+            }
+        }
+
+        final double peakHour_s = Properties.get().transportModel.peakHour_s;
         ConcurrentExecutor<Void> executor = ConcurrentExecutor.fixedPoolService(Properties.get().main.numberOfThreads);
-        for (final List<Zone> partition : partitions) {
+        for (final int[] partition : partitions(numberOfZones)) {
             executor.addTaskToQueue(() -> {
                 try {
-                    MultiNodePathCalculator calculator = matsimData.createFreeSpeedMultiNodePathCalculator();
+                    MultiNodePathCalculator calculator = freeSpeed ?
+                            matsimData.createFreeSpeedMultiNodePathCalculator() : matsimData.createMultiNodePathCalculator();
                     Set<InitialNode> toNodes = new HashSet<>();
-                    for (Zone zone : zones) {
-                        for (Coord coord : matsimData.getZoneConnectorManager().getCoordsForZone(zone)) {
-                            Node originNode = NetworkUtils.getNearestNode(carNetwork, coord);
-                            toNodes.add(new InitialNode(originNode, 0., 0.));
-                        }
+                    for (Node node : connectorNodes) {
+                        toNodes.add(new InitialNode(node, 0., 0.));
                     }
 
                     ImaginaryNode aggregatedToNodes = MultiNodeDijkstra.createImaginaryNode(toNodes);
 
-                    for (Zone origin : partition) {
-                        Node originNode = NetworkUtils.getNearestNode(carNetwork, matsimData.getZoneConnectorManager().getCoordsForZone(origin).get(0));
-                        calculator.calcLeastCostPath(originNode, aggregatedToNodes, Properties.get().transportModel.peakHour_s, null, null);
-                        for (Zone destination : zones) {
-                            Node destinationNode = NetworkUtils.getNearestNode(carNetwork, matsimData.getZoneConnectorManager().getCoordsForZone(destination).get(0));
-                            double travelTime = calculator.constructPath(originNode, destinationNode, Properties.get().transportModel.peakHour_s).travelTime;
+                    for (int origin = partition[0]; origin < partition[1]; origin++) {
+                        calculator.calcLeastCostPath(nodes[origin], aggregatedToNodes, peakHour_s, null, null);
+                        for (int destination = 0; destination < numberOfZones; destination++) {
+                            double travelTime = calculator.constructPath(nodes[origin], nodes[destination], peakHour_s).travelTime;
 
                             //adjust by factor
                             travelTime *= factor;
@@ -241,7 +207,7 @@ public class MatsimSkimCreator {
                             //convert to minutes
                             travelTime /= 60.;
 
-                            skim.setIndexed(origin.getZoneId(), destination.getZoneId(), travelTime);
+                            skim[origin * numberOfZones + destination] = toFloat(travelTime);
                         }
                     }
                 } catch (Exception e) {
@@ -251,29 +217,48 @@ public class MatsimSkimCreator {
             });
         }
         executor.execute();
-        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim);
-        return skim;
+        assignIntrazonals(5, Float.MAX_VALUE, 0.66f, skim, numberOfZones);
+        return connectors.toMatrix(skim);
+    }
+
+    /**
+     * Splits the zone indices into one range [from, to) per thread.
+     */
+    private static List<int[]> partitions(int numberOfZones) {
+        final int partitionSize = (int) ((double) numberOfZones / (Properties.get().main.numberOfThreads)) + 1;
+        List<int[]> partitions = new ArrayList<>();
+        for (int from = 0; from < numberOfZones; from += partitionSize) {
+            partitions.add(new int[]{from, Math.min(from + partitionSize, numberOfZones)});
+        }
+        return partitions;
+    }
+
+    /**
+     * Unreachable destinations keep the largest float value instead of becoming infinite.
+     */
+    private static float toFloat(double travelTime) {
+        return (float) Math.min(travelTime, Float.MAX_VALUE);
     }
 
     //TODO: copied from MITO car skim updater...maybe provide a utility function there
-    private void assignIntrazonals(int numberOfNeighbours, float maximumMinutes, float proportionOfTime, IndexedDoubleMatrix2D skim) {
+    private void assignIntrazonals(int numberOfNeighbours, float maximumMinutes, float proportionOfTime, float[] skim, int numberOfZones) {
         int nonIntrazonalCounter = 0;
-        for (int i = 1; i < skim.columns(); i++) {
-            int i_id = skim.getIdForInternalColumnIndex(i);
+        for (int i = 1; i < numberOfZones; i++) {
+            final int row = i * numberOfZones;
             double[] minTimeValues = new double[numberOfNeighbours];
             for (int k = 0; k < numberOfNeighbours; k++) {
                 minTimeValues[k] = maximumMinutes;
             }
             //find the  n closest neighbors - the lower travel time values in the matrix column
-            for (int j = 1; j < skim.rows(); j++) {
-                int j_id = skim.getIdForInternalRowIndex(j);
+            for (int j = 1; j < numberOfZones; j++) {
+                final float value = skim[row + j];
                 int minimumPosition = 0;
                 while (minimumPosition < numberOfNeighbours) {
-                    if (minTimeValues[minimumPosition] > skim.getIndexed(i_id, j_id) && skim.getIndexed(i_id, j_id) != 0) {
+                    if (minTimeValues[minimumPosition] > value && value != 0) {
                         for (int k = numberOfNeighbours - 1; k > minimumPosition; k--) {
                             minTimeValues[k] = minTimeValues[k - 1];
                         }
-                        minTimeValues[minimumPosition] = skim.getIndexed(i_id, j_id);
+                        minTimeValues[minimumPosition] = value;
                         break;
                     }
                     minimumPosition++;
@@ -286,10 +271,9 @@ public class MatsimSkimCreator {
             globalMinTime = globalMinTime / numberOfNeighbours * proportionOfTime;
 
             //fill with the calculated value the cells with zero
-            for (int j = 1; j < skim.rows(); j++) {
-                int j_id = skim.getIdForInternalColumnIndex(j);
-                if (skim.getIndexed(i_id, j_id) == 0) {
-                    skim.setIndexed(i_id, j_id, globalMinTime);
+            for (int j = 1; j < numberOfZones; j++) {
+                if (skim[row + j] == 0) {
+                    skim[row + j] = (float) globalMinTime;
                     if (i != j) {
                         nonIntrazonalCounter++;
                     }
@@ -300,4 +284,38 @@ public class MatsimSkimCreator {
         logger.info("The calculation of intrazonals has also assigned values for cells with travel time equal to 0, that are not intrazonal: (" +
                 nonIntrazonalCounter + " cases).");
     }
+
+    /**
+     * Zones of a skim in a fixed order, together with the coordinate of their first zone connector and a facility
+     * at that coordinate. Resolved once per skim and shared by all partitions.
+     */
+    private static final class ZoneConnectors {
+
+        private final Zone[] zones;
+        private final Coord[] coords;
+        private final Facility[] facilities;
+
+        private ZoneConnectors(Collection<Zone> zones, ZoneConnectorManager zoneConnectorManager) {
+            this.zones = zones.toArray(new Zone[0]);
+            this.coords = new Coord[this.zones.length];
+            this.facilities = new Facility[this.zones.length];
+            ActivityFacilitiesFactory activityFacilitiesFactory = new ActivityFacilitiesFactoryImpl();
+            for (int i = 0; i < this.zones.length; i++) {
+                coords[i] = zoneConnectorManager.getCoordsForZone(this.zones[i]).get(0);
+                facilities[i] = activityFacilitiesFactory.createActivityFacility(
+                        Id.create(this.zones[i].getZoneId(), ActivityFacility.class), coords[i]);
+            }
+        }
+
+        private IndexedDoubleMatrix2D toMatrix(float[] skim) {
+            IndexedDoubleMatrix2D matrix = new IndexedDoubleMatrix2D(Arrays.asList(zones), Arrays.asList(zones));
+            for (int i = 0; i < zones.length; i++) {
+                final int row = i * zones.length;
+                for (int j = 0; j < zones.length; j++) {
+                    matrix.setIndexed(zones[i].getZoneId(), zones[j].getZoneId(), skim[row + j]);
+                }
+            }
+            return matrix;
+        }
+    }
 }
@@ -20,6 +20,9 @@ package de.tum.bgu.msm.matsim;
 
 
 import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
+import de.tum.bgu.msm.data.travelTimes.MappedSkim;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.matsim.accessibility.MatsimAccessibility;
@@ -40,6 +43,8 @@ import org.matsim.core.router.util.TravelTime;
 import org.matsim.core.scenario.ScenarioUtils;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -62,6 +67,12 @@ public final class MatsimTransportModel implements TransportModel {
 
     private MatsimScenarioAssembler scenarioAssembler;
 
+    /**
+     * Number of times the MATSim travel times were written to mapped skims. Every update is written to new files,
+     * as the skims of the previous update may still be mapped.
+     */
+    private int mappedSkimUpdates = 0;
+
     public MatsimTransportModel(DataContainer dataContainer, Config matsimConfig,
                                 Properties properties, MatsimScenarioAssembler scenarioAssembler,
                                 MatsimData matsimData) {
@@ -73,11 +84,11 @@ public final class MatsimTransportModel implements TransportModel {
         file.getParentFile().mkdirs();
         ConfigUtils.writeMinimalConfig(initialMatsimConfig, file.getAbsolutePath());
 
-        final TravelTimes travelTimes = dataContainer.getTravelTimes();
+        final TravelTimes travelTimes = TravelTimesWrapper.unwrap(dataContainer.getTravelTimes());
         if (travelTimes instanceof MatsimTravelTimes) {
             this.internalTravelTimes = (MatsimTravelTimes) travelTimes;
         } else {
-            this.internalTravelTimes = new MatsimTravelTimes(matsimConfig);
+            this.internalTravelTimes = new MatsimTravelTimes(matsimConfig, properties.transportModel.matsimNodeToNodeCarTravelTimes);
         }
         this.matsimData = matsimData;
         this.scenarioAssembler = scenarioAssembler;
@@ -162,15 +173,36 @@ public final class MatsimTransportModel implements TransportModel {
     private void updateTravelTimes(TravelTime travelTime, TravelDisutility disutility) {
         matsimData.update(disutility, travelTime);
         internalTravelTimes.update(matsimData);
-        final TravelTimes mainTravelTimes = dataContainer.getTravelTimes();
+        final TravelTimes travelTimes = dataContainer.getTravelTimes();
+        final TravelTimes mainTravelTimes = TravelTimesWrapper.unwrap(travelTimes);
 
         if (mainTravelTimes != this.internalTravelTimes && mainTravelTimes instanceof SkimTravelTimes) {
             ((SkimTravelTimes) mainTravelTimes).updateSkimMatrix(internalTravelTimes.getPeakSkim(TransportMode.car), TransportMode.car);
             if ((properties.transportModel.transportModelIdentifier == TransportModelPropertiesModule.TransportModelIdentifier.MATSIM)) {
                 ((SkimTravelTimes) mainTravelTimes).updateSkimMatrix(internalTravelTimes.getPeakSkim(TransportMode.pt), TransportMode.pt);
             }
-            ((SkimTravelTimes) mainTravelTimes).updateRegionalTravelTimes(dataContainer.getGeoData().getRegions().values(),
+            if (travelTimes instanceof TravelTimesWrapper) {
+                ((TravelTimesWrapper) travelTimes).updateRegionalTravelTimes();
+            } else {
+                ((SkimTravelTimes) mainTravelTimes).updateRegionalTravelTimes(dataContainer.getGeoData().getRegions().values(),
+                        dataContainer.getGeoData().getZones().values());
+            }
+        } else if (mainTravelTimes instanceof MappedSkimTravelTimes) {
+            final MappedSkimTravelTimes mappedTravelTimes = (MappedSkimTravelTimes) mainTravelTimes;
+            mappedSkimUpdates++;
+            mappedTravelTimes.updateSkim(writeMappedSkim(TransportMode.car), TransportMode.car);
+            if ((properties.transportModel.transportModelIdentifier == TransportModelPropertiesModule.TransportModelIdentifier.MATSIM)) {
+                mappedTravelTimes.updateSkim(writeMappedSkim(TransportMode.pt), TransportMode.pt);
+            }
+            mappedTravelTimes.updateRegionalTravelTimes(dataContainer.getGeoData().getRegions().values(),
                     dataContainer.getGeoData().getZones().values());
         }
     }
+
+    private MappedSkim writeMappedSkim(String mode) {
+        final Path path = Paths.get(properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName
+                + "/matsim/skims/" + mode + "_" + mappedSkimUpdates + ".skim");
+        MappedSkim.write(internalTravelTimes.getPeakSkim(mode), path, -1, -1, 1.);
+        return MappedSkim.open(path);
+    }
 }
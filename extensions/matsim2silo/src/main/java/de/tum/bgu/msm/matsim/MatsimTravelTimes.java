@@ -5,6 +5,8 @@ import de.tum.bgu.msm.data.MicroLocation;
 import de.tum.bgu.msm.data.Region;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.travelTimes.BatchTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
@@ -14,12 +16,12 @@ import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.TransportMode;
 import org.matsim.api.core.v01.network.Link;
 import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
 import org.matsim.api.core.v01.population.Leg;
 import org.matsim.api.core.v01.population.PlanElement;
 import org.matsim.core.config.Config;
 import org.matsim.core.network.NetworkUtils;
-import org.matsim.core.router.FreespeedFactorRoutingModule;
-import org.matsim.core.router.TripRouter;
+import org.matsim.core.router.*;
 import org.matsim.core.utils.geometry.CoordUtils;
 import org.matsim.facilities.ActivityFacilitiesFactory;
 import org.matsim.facilities.ActivityFacilitiesFactoryImpl;
@@ -27,29 +29,69 @@ import org.matsim.facilities.ActivityFacility;
 import org.matsim.facilities.Facility;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Travel times based on the MATSim networks and schedule. By default, all modes are routed by the trip router at the
+ * exact departure time, including access and egress. Results are cached per origin, destination, mode and departure
+ * time until the next update, so a cached travel time is the same as a freshly routed one.
+ * <p>
+ * Optionally, car travel times are approximated by the travel times between the car network nodes nearest to origin
+ * and destination, without access and egress, routed at the start of the departure time bin of {@link #TIME_BIN_S}
+ * seconds. This allows answering batch queries with a single one-to-many search, but changes the travel times.
+ * </p>
+ *
  * @author dziemke, nkuehnel
  */
-public final class MatsimTravelTimes implements TravelTimes {
+public final class MatsimTravelTimes implements BatchTravelTimes {
 
     private final static Logger logger = Logger.getLogger(MatsimTravelTimes.class);
 
+    /**
+     * Width of the departure time bins of node to node car travel times. Routes are calculated for the start of
+     * the bin.
+     */
+    static final int TIME_BIN_S = 15 * 60;
+    private static final int MAX_CACHED_TRAVEL_TIMES = 1 << 20;
+
     private MatsimData matsimData;
 
     private final Map<String, IndexedDoubleMatrix2D> skimsByMode = new HashMap<>();
     private Map<Integer, Zone> zones;
 
     private TripRouter tripRouter;
+    private MultiNodePathCalculator pathCalculator;
+
+    /**
+     * Shared with all duplicates.
+     */
+    private final Map<Coord, Node> nodesByCoord;
+    private final TravelTimeCache<TravelTimeKey> travelTimeCache;
 
-    private final Map<String, IndexedDoubleMatrix2D> travelTimesFromRegion = new LinkedHashMap<>();
-    private final Map<String, IndexedDoubleMatrix2D> travelTimesToRegion = new LinkedHashMap<>();
+    private final Map<String, RegionalTravelTimes> regionalTravelTimesByMode = new LinkedHashMap<>();
     private Collection<Region> regions;
 
     private final Config config;
+    private final boolean nodeToNodeCarTravelTimes;
 
     public MatsimTravelTimes(Config config) {
+        this(config, false);
+    }
+
+    /**
+     * @param nodeToNodeCarTravelTimes whether to approximate car travel times by node to node travel times at the
+     *                                 start of the departure time bin instead of routing them exactly
+     */
+    public MatsimTravelTimes(Config config, boolean nodeToNodeCarTravelTimes) {
+        this(config, nodeToNodeCarTravelTimes, new ConcurrentHashMap<>(), new TravelTimeCache<>(MAX_CACHED_TRAVEL_TIMES));
+    }
+
+    private MatsimTravelTimes(Config config, boolean nodeToNodeCarTravelTimes,
+                              Map<Coord, Node> nodesByCoord, TravelTimeCache<TravelTimeKey> travelTimeCache) {
         this.config = config;
+        this.nodeToNodeCarTravelTimes = nodeToNodeCarTravelTimes;
+        this.nodesByCoord = nodesByCoord;
+        this.travelTimeCache = travelTimeCache;
     }
 
     public void initialize(GeoData geoData, MatsimData matsimData) {
@@ -61,9 +103,11 @@ public final class MatsimTravelTimes implements TravelTimes {
     public void update(MatsimData matsimData) {
         this.matsimData = matsimData;
         this.tripRouter = matsimData.createTripRouter();
+        this.pathCalculator = matsimData.createMultiNodePathCalculator();
+        this.nodesByCoord.clear();
+        this.travelTimeCache.clear();
         this.skimsByMode.clear();
-        this.travelTimesFromRegion.clear();
-        this.travelTimesToRegion.clear();
+        this.regionalTravelTimesByMode.clear();
         updateSkims();
         updateRegionalTravelTimes();
     }
@@ -76,68 +120,87 @@ public final class MatsimTravelTimes implements TravelTimes {
 
     private void updateRegionalTravelTimes() {
         logger.info("Updating minimal zone to region travel times...");
-        IndexedDoubleMatrix2D travelTimesFromRegionCar = new IndexedDoubleMatrix2D(regions, zones.values());
-        IndexedDoubleMatrix2D travelTimesToRegionCar = new IndexedDoubleMatrix2D(zones.values(), regions);
-        IndexedDoubleMatrix2D travelTimesFromRegionPt = new IndexedDoubleMatrix2D(regions, zones.values());
-        IndexedDoubleMatrix2D travelTimesToRegionPt = new IndexedDoubleMatrix2D(zones.values(), regions);
-
-        regions.parallelStream().forEach( r -> {
-            for(Zone zone: zones.values()) {
-                int zoneId = zone.getZoneId();
-                double minFromCar = Double.MAX_VALUE;
-                double minToCar = Double.MAX_VALUE;
-                double minFromPt = Double.MAX_VALUE;
-                double minToPt = Double.MAX_VALUE;
-
-                for (Zone zoneInRegion : r.getZones()) {
-                    double travelTimeFromRegionCar = getPeakSkim(TransportMode.car).getIndexed(zoneInRegion.getZoneId(), zoneId);
-                    if (travelTimeFromRegionCar < minFromCar) {
-                        minFromCar = travelTimeFromRegionCar;
-                    }
-                    double travelTimeToRegionCar = getPeakSkim(TransportMode.car).getIndexed(zoneId, zoneInRegion.getZoneId());
-                    if (travelTimeToRegionCar < minToCar) {
-                        minToCar = travelTimeToRegionCar;
-                    }
-                    double travelTimeFromRegionPt = getPeakSkim(TransportMode.pt).getIndexed(zoneInRegion.getZoneId(), zoneId);
-                    if (travelTimeFromRegionCar < minFromPt) {
-                        minFromPt = travelTimeFromRegionPt;
-                    }
-                    double travelTimeToRegionPt = getPeakSkim(TransportMode.pt).getIndexed(zoneId, zoneInRegion.getZoneId());
-                    if (travelTimeToRegionPt < minToPt) {
-                        minToPt = travelTimeToRegionPt;
-                    }
-                }
-                travelTimesFromRegionCar.setIndexed(r.getId(), zoneId, minFromCar);
-                travelTimesToRegionCar.setIndexed(zoneId, r.getId(), minToCar);
-                travelTimesFromRegionPt.setIndexed(r.getId(), zoneId, minFromPt);
-                travelTimesToRegionPt.setIndexed(zoneId, r.getId(), minToPt);
-            }
-        });
-        travelTimesFromRegion.put(TransportMode.car, travelTimesFromRegionCar);
-        travelTimesFromRegion.put(TransportMode.pt, travelTimesFromRegionPt);
-        travelTimesToRegion.put(TransportMode.car, travelTimesToRegionCar);
-        travelTimesToRegion.put(TransportMode.pt, travelTimesToRegionPt);
+        final Map<String, RegionalTravelTimes.Skim> skims = new LinkedHashMap<>();
+        skims.put(TransportMode.car, getPeakSkim(TransportMode.car)::getIndexed);
+        skims.put(TransportMode.pt, getPeakSkim(TransportMode.pt)::getIndexed);
+        regionalTravelTimesByMode.putAll(RegionalTravelTimes.calculate(skims, regions, zones.values()));
     }
 
     // TODO Use travel costs?
     @Override
     public double getTravelTime(Location origin, Location destination, double timeOfDay_s, String mode) {
+        checkLocationTypes(origin, destination);
+        final Coord originCoord = getCoord(origin);
+        final Coord destinationCoord = getCoord(destination);
 
-
-        Coord originCoord;
-        Coord destinationCoord;
-        if (origin instanceof MicroLocation && destination instanceof MicroLocation) {
-            // Microlocations case
-            originCoord = CoordUtils.createCoord(((MicroLocation) origin).getCoordinate());
-            destinationCoord = CoordUtils.createCoord(((MicroLocation) destination).getCoordinate());
-        } else if (origin instanceof Zone && destination instanceof Zone) {
-            // Non-microlocations case
-            originCoord = matsimData.getZoneConnectorManager().getCoordsForZone((Zone) origin).get(0);
-            destinationCoord = matsimData.getZoneConnectorManager().getCoordsForZone((Zone) destination).get(0);
+        if (nodeToNodeCarTravelTimes && TransportMode.car.equals(mode)) {
+            final double departureTime = getTimeBinStart(timeOfDay_s);
+            final Node fromNode = getNearestNode(originCoord);
+            final Node toNode = getNearestNode(destinationCoord);
+            final TravelTimeKey key = new TravelTimeKey(fromNode.getId(), toNode.getId(), mode, departureTime);
+            Double travelTime = travelTimeCache.get(key);
+            if (travelTime == null) {
+                travelTime = pathCalculator.calcLeastCostPath(fromNode, toNode, departureTime, null, null).travelTime / 60.;
+                travelTimeCache.put(key, travelTime);
+            }
+            return travelTime;
         } else {
-            throw new IllegalArgumentException("Origin and destination have to be consistent in location type!");
+            final TravelTimeKey key = new TravelTimeKey(originCoord, destinationCoord, mode, timeOfDay_s);
+            Double travelTime = travelTimeCache.get(key);
+            if (travelTime == null) {
+                travelTime = calcRoute(originCoord, destinationCoord, timeOfDay_s, mode);
+                travelTimeCache.put(key, travelTime);
+            }
+            return travelTime;
+        }
+    }
+
+    /**
+     * Returns the travel times from one origin to several destinations. For node to node car travel times, all
+     * destinations that are not cached yet are found in a single one-to-many search on the car network.
+     */
+    @Override
+    public double[] getTravelTimes(Location origin, List<? extends Location> destinations, double timeOfDay_s, String mode) {
+        if (!nodeToNodeCarTravelTimes || !TransportMode.car.equals(mode)) {
+            return BatchTravelTimes.super.getTravelTimes(origin, destinations, timeOfDay_s, mode);
+        }
+        final double departureTime = getTimeBinStart(timeOfDay_s);
+        final Node fromNode = getNearestNode(getCoord(origin));
+
+        final double[] travelTimes = new double[destinations.size()];
+        final TravelTimeKey[] keys = new TravelTimeKey[destinations.size()];
+        final Node[] toNodes = new Node[destinations.size()];
+        final Set<InitialNode> missingNodes = new HashSet<>();
+        for (int i = 0; i < destinations.size(); i++) {
+            checkLocationTypes(origin, destinations.get(i));
+            toNodes[i] = getNearestNode(getCoord(destinations.get(i)));
+            keys[i] = new TravelTimeKey(fromNode.getId(), toNodes[i].getId(), mode, departureTime);
+            final Double travelTime = travelTimeCache.get(keys[i]);
+            if (travelTime == null) {
+                missingNodes.add(new InitialNode(toNodes[i], 0., 0.));
+                travelTimes[i] = Double.NaN;
+            } else {
+                travelTimes[i] = travelTime;
+            }
         }
 
+        if (!missingNodes.isEmpty()) {
+            pathCalculator.calcLeastCostPath(fromNode, MultiNodeDijkstra.createImaginaryNode(missingNodes), departureTime, null, null);
+            for (int i = 0; i < travelTimes.length; i++) {
+                if (Double.isNaN(travelTimes[i])) {
+                    travelTimes[i] = pathCalculator.constructPath(fromNode, toNodes[i], departureTime).travelTime / 60.;
+                    travelTimeCache.put(keys[i], travelTimes[i]);
+                }
+            }
+        }
+        return travelTimes;
+    }
+
+    private static double getTimeBinStart(double timeOfDay_s) {
+        return Math.floor(timeOfDay_s / TIME_BIN_S) * TIME_BIN_S;
+    }
+
+    private double calcRoute(Coord originCoord, Coord destinationCoord, double timeOfDay_s, String mode) {
         Id<Link> fromLink = null;
         Id<Link> toLink = null;
         if(tripRouter.getRoutingModule(mode) instanceof FreespeedFactorRoutingModule) {
@@ -164,14 +227,35 @@ public final class MatsimTravelTimes implements TravelTimes {
         return time;
     }
 
+    private static void checkLocationTypes(Location origin, Location destination) {
+        if (!(origin instanceof MicroLocation && destination instanceof MicroLocation)
+                && !(origin instanceof Zone && destination instanceof Zone)) {
+            throw new IllegalArgumentException("Origin and destination have to be consistent in location type!");
+        }
+    }
+
+    private Coord getCoord(Location location) {
+        if (location instanceof MicroLocation) {
+            // Microlocations case
+            return CoordUtils.createCoord(((MicroLocation) location).getCoordinate());
+        } else {
+            // Non-microlocations case
+            return matsimData.getZoneConnectorManager().getCoordsForZone((Zone) location).get(0);
+        }
+    }
+
+    private Node getNearestNode(Coord coord) {
+        return nodesByCoord.computeIfAbsent(coord, c -> NetworkUtils.getNearestNode(matsimData.getCarNetwork(), c));
+    }
+
     @Override
     public double getTravelTimeFromRegion(Region origin, Zone destination, double timeOfDay_s, String mode) {
-        return travelTimesFromRegion.get(mode).getIndexed(origin.getId(), destination.getZoneId());
+        return regionalTravelTimesByMode.get(mode).getTravelTimeFromRegion(origin, destination);
     }
 
     @Override
     public double getTravelTimeToRegion(Zone origin, Region destination, double timeOfDay_s, String mode) {
-        return travelTimesToRegion.get(mode).getIndexed(origin.getZoneId(), destination.getId());
+        return regionalTravelTimesByMode.get(mode).getTravelTimeToRegion(origin, destination);
     }
 
     @Override
@@ -210,14 +294,51 @@ public final class MatsimTravelTimes implements TravelTimes {
     @Override
     public TravelTimes duplicate() {
         logger.warn("Creating another TravelTimes object.");
-        MatsimTravelTimes matsimTravelTimes = new MatsimTravelTimes(config);
+        MatsimTravelTimes matsimTravelTimes = new MatsimTravelTimes(config, nodeToNodeCarTravelTimes, nodesByCoord, travelTimeCache);
         matsimTravelTimes.zones = this.zones;
         matsimTravelTimes.regions = this.regions;
         matsimTravelTimes.matsimData = matsimData;
         matsimTravelTimes.tripRouter = matsimData.createTripRouter();
+        matsimTravelTimes.pathCalculator = matsimData.createMultiNodePathCalculator();
         matsimTravelTimes.skimsByMode.putAll(this.skimsByMode);
-        matsimTravelTimes.travelTimesFromRegion.putAll(travelTimesFromRegion);
-        matsimTravelTimes.travelTimesToRegion.putAll(travelTimesToRegion);
+        matsimTravelTimes.regionalTravelTimesByMode.putAll(regionalTravelTimesByMode);
         return matsimTravelTimes;
     }
-}
\ No newline at end of file
+
+    /**
+     * Origin, destination, mode and departure time of a cached travel time. Origin and destination are network
+     * node ids for node to node car travel times and coordinates otherwise.
+     */
+    private static final class TravelTimeKey {
+
+        private final Object origin;
+        private final Object destination;
+        private final String mode;
+        private final double departureTime;
+
+        private TravelTimeKey(Object origin, Object destination, String mode, double departureTime) {
+            this.origin = origin;
+            this.destination = destination;
+            this.mode = mode;
+            this.departureTime = departureTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TravelTimeKey that = (TravelTimeKey) o;
+            return Double.compare(departureTime, that.departureTime) == 0 && origin.equals(that.origin)
+                    && destination.equals(that.destination) && mode.equals(that.mode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origin, destination, mode, departureTime);
+        }
+    }
+}
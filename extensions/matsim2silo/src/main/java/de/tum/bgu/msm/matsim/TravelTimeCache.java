@@ -0,0 +1,39 @@
+package de.tum.bgu.msm.matsim;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of travel times in minutes that evicts the least recently used entries.
+ *
+ * @param <K> the key of a travel time
+ */
+final class TravelTimeCache<K> {
+
+    private final Map<K, Double> travelTimes;
+
+    TravelTimeCache(int maxSize) {
+        travelTimes = new LinkedHashMap<K, Double>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Double> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized Double get(K key) {
+        return travelTimes.get(key);
+    }
+
+    synchronized void put(K key, double travelTime) {
+        travelTimes.put(key, travelTime);
+    }
+
+    synchronized int size() {
+        return travelTimes.size();
+    }
+
+    synchronized void clear() {
+        travelTimes.clear();
+    }
+}
@@ -0,0 +1,110 @@
+package de.tum.bgu.msm.matsim;
+
+import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.properties.Properties;
+import org.junit.Assert;
+import org.junit.Test;
+import org.matsim.api.core.v01.TransportMode;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.population.Person;
+import org.matsim.core.config.Config;
+import org.matsim.core.config.ConfigUtils;
+import org.matsim.core.router.util.TravelDisutility;
+import org.matsim.vehicles.Vehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MatsimTravelTimesTest {
+
+    @Test
+    public void testTravelTimeCacheEvictsLeastRecentlyUsed() {
+        TravelTimeCache<String> cache = new TravelTimeCache<>(2);
+        cache.put("a", 1.);
+        cache.put("b", 2.);
+        Assert.assertEquals(1., cache.get("a"), 0.);
+        cache.put("c", 3.);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(1., cache.get("a"), 0.);
+        Assert.assertEquals(3., cache.get("c"), 0.);
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testBatchQueryEqualsSingleQueries() {
+        for (boolean nodeToNode : new boolean[]{false, true}) {
+            final GeoData geoData = createGeoData();
+            final MatsimTravelTimes travelTimes = createTravelTimes(geoData, nodeToNode);
+            final MatsimTravelTimes reference = createTravelTimes(geoData, nodeToNode);
+            final List<Zone> zones = new ArrayList<>(geoData.getZones().values());
+            for (Zone origin : zones) {
+                final double[] batch = travelTimes.getTravelTimes(origin, zones, 8 * 3600, TransportMode.car);
+                for (int i = 0; i < zones.size(); i++) {
+                    Assert.assertEquals(reference.getTravelTime(origin, zones.get(i), 8 * 3600, TransportMode.car), batch[i], 0.);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedTravelTimeEqualsFreshRoute() {
+        for (boolean nodeToNode : new boolean[]{false, true}) {
+            final GeoData geoData = createGeoData();
+            final MatsimTravelTimes travelTimes = createTravelTimes(geoData, nodeToNode);
+            for (Zone origin : geoData.getZones().values()) {
+                for (Zone destination : geoData.getZones().values()) {
+                    final double routed = travelTimes.getTravelTime(origin, destination, 8 * 3600, TransportMode.car);
+                    final double cached = travelTimes.getTravelTime(origin, destination, 8 * 3600, TransportMode.car);
+                    final double fresh = createTravelTimes(geoData, nodeToNode).getTravelTime(origin, destination, 8 * 3600, TransportMode.car);
+                    Assert.assertEquals(routed, cached, 0.);
+                    Assert.assertEquals(fresh, cached, 0.);
+                }
+            }
+        }
+    }
+
+    private static GeoData createGeoData() {
+        GeoData geoData = new DefaultGeoData();
+        final RegionImpl region = new RegionImpl(1);
+        geoData.addRegion(region);
+        for (int i = 1; i <= 5; i++) {
+            final RegionalTravelTimesTest.MockZone zone = new RegionalTravelTimesTest.MockZone(i, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+        return geoData;
+    }
+
+    private static MatsimTravelTimes createTravelTimes(GeoData geoData, boolean nodeToNode) {
+        final Config config = ConfigUtils.createConfig();
+        Properties properties = Properties.initializeProperties("./test/silo.properties");
+        MatsimTravelTimes travelTimes = new MatsimTravelTimes(config, nodeToNode);
+        DefaultDataContainer dataContainer = new DefaultDataContainer(geoData, null,
+                null, null, travelTimes, null, null, properties);
+        final MatsimData matsimData = new MatsimData(config, properties, ZoneConnectorManager.ZoneConnectorMethod.RANDOM,
+                dataContainer, RegionalTravelTimesTest.getNetwork(), null);
+        matsimData.update(new TravelDisutility() {
+            @Override
+            public double getLinkTravelDisutility(Link link, double v, Person person, Vehicle vehicle) {
+                return link.getLength();
+            }
+
+            @Override
+            public double getLinkMinimumTravelDisutility(Link link) {
+                return link.getLength();
+            }
+        }, (link, v, person, vehicle) -> link.getLength() / link.getFreespeed());
+        travelTimes.initialize(geoData, matsimData);
+        travelTimes.update(matsimData);
+        return travelTimes;
+    }
+}
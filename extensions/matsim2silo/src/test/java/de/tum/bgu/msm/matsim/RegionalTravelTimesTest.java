@@ -111,7 +111,7 @@ public class RegionalTravelTimesTest {
         Assert.assertEquals(0.0471, travelTimes.getTravelTimeToRegion(zone5, region2, 0, TransportMode.car), 0.001);
     }
 
-    private Network getNetwork() {
+    static Network getNetwork() {
         final Network network = NetworkUtils.createNetwork();
         final NetworkFactory factory = network.getFactory();
 
@@ -135,7 +135,7 @@ public class RegionalTravelTimesTest {
     /**
      * Mock zone impl with coordinate based on id
      */
-    private static class MockZone implements Zone {
+    static class MockZone implements Zone {
 
         private ZoneImpl delegate;
 
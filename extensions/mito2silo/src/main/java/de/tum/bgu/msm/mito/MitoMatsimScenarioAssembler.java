@@ -3,6 +3,7 @@ package de.tum.bgu.msm.mito;
 import de.tum.bgu.msm.MitoModel;
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.data.DataSet;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.matsim.MatsimScenarioAssembler;
@@ -69,7 +70,7 @@ public class MitoMatsimScenarioAssembler implements MatsimScenarioAssembler {
         DataSet dataSet = dataConverter.convertData(dataContainer);
         dataSet.setTravelTimes(mitoInputTravelTime);
 
-        final TravelTimes travelTimes = dataContainer.getTravelTimes();
+        final TravelTimes travelTimes = TravelTimesWrapper.unwrap(dataContainer.getTravelTimes());
         if(mitoInputTravelTime == null ) {
             //Transport model runs for the first time.
             if(travelTimes instanceof SkimTravelTimes) {
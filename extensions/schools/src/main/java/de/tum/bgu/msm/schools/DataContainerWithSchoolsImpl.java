@@ -10,6 +10,10 @@ import de.tum.bgu.msm.data.job.JobDataManager;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
 
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author moeckel
  * The Silo Data Container holds all the various Data classes used by the SILO events.
@@ -37,6 +41,30 @@ public class DataContainerWithSchoolsImpl extends DefaultDataContainer implement
         return schoolData;
     }
 
+    /**
+     * @return the occupancy of the schools by school id
+     */
+    @Override
+    public Serializable getSnapshotState() {
+        final HashMap<Integer, Integer> occupancies = new HashMap<>();
+        for (School school : schoolData.getSchools()) {
+            occupancies.put(school.getId(), school.getOccupancy());
+        }
+        return occupancies;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshotState(Serializable state) {
+        for (Map.Entry<Integer, Integer> occupancy : ((Map<Integer, Integer>) state).entrySet()) {
+            final School school = schoolData.getSchoolFromId(occupancy.getKey());
+            if (school == null) {
+                throw new RuntimeException("Snapshot refers to unknown school " + occupancy.getKey());
+            }
+            school.setOccupancy(occupancy.getValue());
+        }
+    }
+
     @Override
     public void setup() {
         super.setup();
@@ -21,6 +21,7 @@ import de.tum.bgu.msm.container.ModelContainer;
 import de.tum.bgu.msm.data.SummarizeData;
 import de.tum.bgu.msm.data.household.HouseholdDataManager;
 import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.io.MicroDataSnapshot;
 import de.tum.bgu.msm.io.output.ResultsMonitor;
 import de.tum.bgu.msm.models.EventModel;
 import de.tum.bgu.msm.models.ModelUpdateListener;
@@ -28,8 +29,11 @@ import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.simulator.Simulator;
 import de.tum.bgu.msm.utils.SiloUtil;
 import de.tum.bgu.msm.utils.TimeTracker;
+import de.tum.bgu.msm.utils.metrics.SiloMetrics;
 import org.apache.log4j.Logger;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -52,6 +56,11 @@ public final class SiloModel {
     private final TimeTracker timeTracker = new TimeTracker();
 	private Set<ResultsMonitor> resultsMonitors = new HashSet<>();
 
+	/**
+	 * First year to simulate, which is the year of the snapshot when resuming a run.
+	 */
+	private int firstYear;
+
 	/**
      * @param properties
      * @param dataContainer
@@ -89,7 +98,7 @@ public final class SiloModel {
 
 		logger.info("Setting up SILO Model");
 
-		simulator = new Simulator(timeTracker);
+		simulator = new Simulator(timeTracker, dataContainer, properties);
 		for(Map.Entry<Class<? extends MicroEvent>, EventModel> eventModel: modelContainer.getEventModels().entrySet()) {
 			if(eventModel.getValue() != null) {
 				simulator.registerEventModel(eventModel.getKey(), eventModel.getValue());
@@ -108,8 +117,44 @@ public final class SiloModel {
 
         setupScalingYears();
 
+        MicroDataSnapshot snapshot = null;
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            snapshot = MicroDataSnapshot.read(properties.main.baseDirectory + properties.main.resumeSnapshotFile, dataContainer);
+            if (snapshot.getYear() < properties.main.startYear || snapshot.getYear() > properties.main.endYear) {
+                throw new RuntimeException("Snapshot year " + snapshot.getYear() + " is outside of the simulated years "
+                        + properties.main.startYear + " to " + properties.main.endYear);
+            }
+        }
+
         dataContainer.setup();
         simulator.setup();
+
+        firstYear = properties.main.startYear;
+        if (snapshot != null) {
+            snapshot.restoreState(dataContainer, modelContainer);
+            firstYear = snapshot.getYear();
+            logger.info("Resuming simulation in year " + firstYear);
+        }
+        setupMetrics(snapshot != null);
+	}
+
+	private void setupMetrics(boolean resumed) {
+		final SiloMetrics metrics = timeTracker.getMetrics();
+		metrics.registerGauge("households", () -> dataContainer.getHouseholdDataManager().getHouseholds().size());
+		metrics.registerGauge("persons", () -> dataContainer.getHouseholdDataManager().getPersons().size());
+		metrics.registerGauge("dwellings", () -> dataContainer.getRealEstateDataManager().getDwellings().size());
+		metrics.registerGauge("jobs", () -> dataContainer.getJobDataManager().getJobs().size());
+		final Path directory = Paths.get(properties.main.baseDirectory, "scenOutput", properties.main.scenarioName, "metrics");
+		metrics.startExport(directory, resumed || properties.main.startYear != properties.main.baseYear,
+				properties.main.metricsPrometheusPort);
+	}
+
+	private void writeSnapshot(int year) {
+		if (properties.main.snapshotYears.contains(year) && (year != firstYear || properties.main.resumeSnapshotFile.isEmpty())) {
+			final String directory = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName;
+			SiloUtil.createDirectoryIfNotExistingYet(directory);
+			MicroDataSnapshot.write(directory + "/snapshot_" + year + ".bin", year, dataContainer, modelContainer);
+		}
 	}
 
 	private void setupScalingYears() {
@@ -122,13 +167,14 @@ public final class SiloModel {
 	private void runYearByYear() {
 
         final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
-        for (int year = properties.main.startYear; year < properties.main.endYear; year++) {
+        for (int year = firstYear; year < properties.main.endYear; year++) {
 
             logger.info("Simulating changes from year " + year + " to year " + (year + 1));
             long time = System.currentTimeMillis();
             SiloUtil.trackingFile("Simulating changes from year " + year + " to year " + (year + 1));
             timeTracker.setCurrentYear(year);
 
+            writeSnapshot(year);
             timeTracker.reset();
             if (scalingYears.contains(year)) {
                 SummarizeData.scaleMicroDataToExogenousForecast(year, dataContainer);
@@ -146,6 +192,7 @@ public final class SiloModel {
 					" persons, " + householdDataManager.getHouseholds().size() + " households and "  +
 					dataContainer.getRealEstateDataManager().getDwellings().size() + " dwellings in " +
                     (System.currentTimeMillis() - time) / 1000 + " seconds.");
+			timeTracker.getMetrics().endYear(year);
 
 			if (SiloUtil.modelStopper("check")) {
 			    break;
@@ -9,6 +9,8 @@ import de.tum.bgu.msm.data.job.JobDataManager;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.simulator.UpdateListener;
 
+import java.io.Serializable;
+
 /**
  * //TODO
  */
@@ -27,4 +29,18 @@ public interface DataContainer extends UpdateListener {
     Accessibility getAccessibility();
     
     CommutingTimeProbability getCommutingTimeProbability();
+
+    /**
+     * @return the state of additional data, e.g. of schools, that changes during the simulation and is stored in
+     * micro data snapshots, or null if there is none
+     */
+    default Serializable getSnapshotState() {
+        return null;
+    }
+
+    /**
+     * Restores the state returned by {@link #getSnapshotState()} when resuming from a snapshot.
+     */
+    default void restoreSnapshotState(Serializable state) {
+    }
 }
@@ -40,7 +40,11 @@ public class DefaultDataContainer implements DataContainer {
         this.realEstateDataManager = realEstateDataManager;
         this.jobDataManager = jobDataManager;
         this.householdDataManager = householdDataManager;
-        this.travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
+        if (travelTimes instanceof TravelTimesWrapper) {
+            this.travelTimes = (TravelTimesWrapper) travelTimes;
+        } else {
+            this.travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
+        }
         this.accessibility = accessibility;
         this.commutingTimeProbability = commutingTimeProbability;
         this.properties = properties;
@@ -68,7 +72,7 @@ public class DefaultDataContainer implements DataContainer {
 
     @Override
     public TravelTimes getTravelTimes() {
-        return travelTimes.getDelegate();
+        return travelTimes;
     }
 
     @Override
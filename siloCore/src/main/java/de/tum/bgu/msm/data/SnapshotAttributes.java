@@ -0,0 +1,54 @@
+package de.tum.bgu.msm.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Attributes of a use case specific entity class that are not part of the default interfaces, e.g. the nationality
+ * of a Munich person. Factories register these attributes such that micro data snapshots store and restore them
+ * next to the default attributes. Every attribute is stored as a double, so enums are stored by their ordinal.
+ *
+ * @param <T> the entity type, e.g. {@link de.tum.bgu.msm.data.person.Person}
+ */
+public final class SnapshotAttributes<T> {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<ToDoubleFunction<T>> getters = new ArrayList<>();
+    private final List<ObjDoubleConsumer<T>> setters = new ArrayList<>();
+
+    /**
+     * @return an empty set of attributes, used by factories of the default entity classes
+     */
+    public static <T> SnapshotAttributes<T> none() {
+        return new SnapshotAttributes<>();
+    }
+
+    /**
+     * Registers an attribute. The setter is applied right after the entity was created by the factory, before it
+     * is added to its household or data manager.
+     */
+    public SnapshotAttributes<T> add(String name, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Snapshot attribute " + name + " is already registered.");
+        }
+        names.add(name);
+        getters.add(getter);
+        setters.add(setter);
+        return this;
+    }
+
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    public double get(int attribute, T entity) {
+        return getters.get(attribute).applyAsDouble(entity);
+    }
+
+    public void set(int attribute, T entity, double value) {
+        setters.get(attribute).accept(entity, value);
+    }
+}
@@ -11,8 +11,8 @@ import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.household.Household;
 import de.tum.bgu.msm.data.household.HouseholdData;
 import de.tum.bgu.msm.data.household.HouseholdDataManager;
-import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.io.output.MicroDataAggregation;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
 import de.tum.bgu.msm.utils.SiloUtil;
@@ -22,6 +22,8 @@ import java.io.PrintWriter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 /**
  * Methods to summarize model results
@@ -113,25 +115,40 @@ public final class SummarizeData {
 
         final int highestZonalId = dataContainer.getGeoData().getZones().keySet()
                 .stream().mapToInt(Integer::intValue).max().getAsInt();
-        int[][] dds = new int[dwellingTypes.size()][highestZonalId + 1];
-        int[] prices = new int[highestZonalId + 1];
-        int[] jobs = new int[highestZonalId + 1];
-        int[] hhs = new int[highestZonalId + 1];
-        int[][] hhInc = new int[Properties.get().main.incomeBrackets.length + 1][highestZonalId + 1];
-        IndexedDoubleMatrix1D pop = getPopulationByZone(dataContainer);
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            int zone = dataContainer.getRealEstateDataManager().getDwelling(hh.getDwellingId()).getZoneId();
-            int incGroup = hh.getHouseholdType().getIncomeCategory().ordinal();
-            hhInc[incGroup][zone]++;
-            hhs[zone]++;
-        }
-        for (Dwelling dd : dataContainer.getRealEstateDataManager().getDwellings()) {
-            dds[dataContainer.getRealEstateDataManager().getDwellingTypes().indexOf(dd.getType())][dd.getZoneId()]++;
-            prices[dd.getZoneId()] += dd.getPrice();
-        }
-        for (Job jj : dataContainer.getJobDataManager().getJobs()) {
-            jobs[jj.getZoneId()]++;
-        }
+        final int incomeGroups = Properties.get().main.incomeBrackets.length + 1;
+
+        // one parallel pass per entity type, households are counted by income group followed by total and population
+        final MicroDataAggregation aggregation = new MicroDataAggregation(dataContainer);
+        final Supplier<int[][]> householdsByZone = aggregation.households(Collector.of(
+                () -> new int[incomeGroups + 2][highestZonalId + 1],
+                (counts, hh) -> {
+                    int zone = dataContainer.getRealEstateDataManager().getDwelling(hh.getDwellingId()).getZoneId();
+                    int incGroup = hh.getHouseholdType().getIncomeCategory().ordinal();
+                    counts[incGroup][zone]++;
+                    counts[incomeGroups][zone]++;
+                    counts[incomeGroups + 1][zone] += hh.getHhSize();
+                },
+                SummarizeData::add));
+        // dwellings are counted by type followed by the sum of prices
+        final Supplier<int[][]> dwellingsByZone = aggregation.dwellings(Collector.of(
+                () -> new int[dwellingTypes.size() + 1][highestZonalId + 1],
+                (counts, dd) -> {
+                    counts[dwellingTypes.indexOf(dd.getType())][dd.getZoneId()]++;
+                    counts[dwellingTypes.size()][dd.getZoneId()] += dd.getPrice();
+                },
+                SummarizeData::add));
+        final Supplier<int[][]> jobsByZone = aggregation.jobs(Collector.of(
+                () -> new int[1][highestZonalId + 1],
+                (counts, jj) -> counts[0][jj.getZoneId()]++,
+                SummarizeData::add));
+        aggregation.aggregate(year);
+
+        int[][] hhInc = householdsByZone.get();
+        int[] hhs = hhInc[incomeGroups];
+        int[] pop = hhInc[incomeGroups + 1];
+        int[][] dds = dwellingsByZone.get();
+        int[] prices = dds[dwellingTypes.size()];
+        int[] jobs = jobsByZone.get()[0];
 
 
         for (Zone zone : dataContainer.getGeoData().getZones().values()) {
@@ -149,7 +166,7 @@ public final class SummarizeData {
             double availLand = dataContainer.getRealEstateDataManager().getAvailableCapacityForConstruction(taz);
 //            Formatter f = new Formatter();
 //            f.format("%d,%f,%f,%d,%d,%d,%f,%f,%d", taz, autoAcc, transitAcc, pop[taz], hhs[taz], dds[taz], availLand, avePrice, jobs[taz]);
-            String txt = taz + "," + autoAcc + "," + transitAcc + "," + pop.getIndexed(taz) + "," + hhs[taz];
+            String txt = taz + "," + autoAcc + "," + transitAcc + "," + (double) pop[taz] + "," + hhs[taz];
             for (int inc = 0; inc <= Properties.get().main.incomeBrackets.length; inc++)
                 txt = txt.concat("," + hhInc[inc][taz]);
             for (DwellingType dt : dwellingTypes){
@@ -415,6 +432,15 @@ public final class SummarizeData {
         return popByZone;
     }
 
+    private static int[][] add(int[][] left, int[][] right) {
+        for (int i = 0; i < left.length; i++) {
+            for (int j = 0; j < left[i].length; j++) {
+                left[i][j] += right[i][j];
+            }
+        }
+        return left;
+    }
+
     @Deprecated
     public static IndexedDoubleMatrix1D getPopulationByZone(DataContainer dataContainer) {
         IndexedDoubleMatrix1D popByZone = new IndexedDoubleMatrix1D(dataContainer.getGeoData().getZones().values());
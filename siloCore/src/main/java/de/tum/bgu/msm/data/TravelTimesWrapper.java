@@ -2,6 +2,9 @@ package de.tum.bgu.msm.data;
 
 
 import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.travelTimes.BatchTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.models.ModelUpdateListener;
@@ -9,22 +12,52 @@ import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.properties.modules.TransportModelPropertiesModule;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
 import de.tum.bgu.msm.utils.TravelTimeUtil;
+import org.matsim.api.core.v01.TransportMode;
 
-public class TravelTimesWrapper implements TravelTimes, ModelUpdateListener {
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Wraps the travel times of a scenario. For skim travel times, the minimal travel times between zones and regions
+ * are calculated by {@link RegionalTravelTimes} and answered by this wrapper instead of the skim travel times.
+ */
+public class TravelTimesWrapper implements BatchTravelTimes, ModelUpdateListener {
 
     @Deprecated
     public TravelTimes getDelegate() {
         return delegate;
     }
 
+    /**
+     * Returns the wrapped travel times if the given travel times are a wrapper, the given travel times otherwise.
+     */
+    public static TravelTimes unwrap(TravelTimes travelTimes) {
+        if (travelTimes instanceof TravelTimesWrapper) {
+            return ((TravelTimesWrapper) travelTimes).delegate;
+        }
+        return travelTimes;
+    }
+
     private final TravelTimes delegate;
     private final Properties properties;
     private final GeoData geoData;
+    /**
+     * Regional travel times by mode, shared with all duplicates. Only set for skim travel times.
+     */
+    private final AtomicReference<Map<String, RegionalTravelTimes>> regionalTravelTimesByMode;
 
     public TravelTimesWrapper(TravelTimes travelTimes, Properties properties, GeoData geoData) {
+        this(travelTimes, properties, geoData, new AtomicReference<>());
+    }
+
+    private TravelTimesWrapper(TravelTimes travelTimes, Properties properties, GeoData geoData,
+                               AtomicReference<Map<String, RegionalTravelTimes>> regionalTravelTimesByMode) {
         delegate = travelTimes;
         this.properties = properties;
         this.geoData = geoData;
+        this.regionalTravelTimesByMode = regionalTravelTimesByMode;
     }
 
 
@@ -33,13 +66,29 @@ public class TravelTimesWrapper implements TravelTimes, ModelUpdateListener {
         return delegate.getTravelTime(origin, destination, timeOfDay_s, mode);
     }
 
+    @Override
+    public double[] getTravelTimes(Location origin, List<? extends Location> destinations, double timeOfDay_s, String mode) {
+        if (delegate instanceof BatchTravelTimes) {
+            return ((BatchTravelTimes) delegate).getTravelTimes(origin, destinations, timeOfDay_s, mode);
+        }
+        return BatchTravelTimes.super.getTravelTimes(origin, destinations, timeOfDay_s, mode);
+    }
+
     @Override
     public double getTravelTimeFromRegion(Region region, Zone zone, double v, String s) {
+        final Map<String, RegionalTravelTimes> regionalTravelTimes = regionalTravelTimesByMode.get();
+        if (regionalTravelTimes != null) {
+            return getRegionalTravelTimes(regionalTravelTimes, s).getTravelTimeFromRegion(region, zone);
+        }
         return delegate.getTravelTimeFromRegion(region, zone, v, s);
     }
 
     @Override
     public double getTravelTimeToRegion(Zone zone, Region region, double v, String s) {
+        final Map<String, RegionalTravelTimes> regionalTravelTimes = regionalTravelTimesByMode.get();
+        if (regionalTravelTimes != null) {
+            return getRegionalTravelTimes(regionalTravelTimes, s).getTravelTimeToRegion(zone, region);
+        }
         return delegate.getTravelTimeToRegion(zone, region, v, s);
     }
 
@@ -48,14 +97,17 @@ public class TravelTimesWrapper implements TravelTimes, ModelUpdateListener {
         return delegate.getPeakSkim(mode);
     }
 
+    /**
+     * Duplicates the wrapped travel times. The duplicate shares the regional travel times with this wrapper.
+     */
     @Override
     public TravelTimes duplicate() {
-        throw new RuntimeException("Not implemented for wrapper");
+        return new TravelTimesWrapper(delegate.duplicate(), properties, geoData, regionalTravelTimesByMode);
     }
 
     @Override
     public void setup() {
-        if (delegate instanceof SkimTravelTimes) {
+        if (delegate instanceof SkimTravelTimes || delegate instanceof MappedSkimTravelTimes) {
             updateSkims(properties.main.startYear);
         }
     }
@@ -72,16 +124,52 @@ public class TravelTimesWrapper implements TravelTimes, ModelUpdateListener {
         }
     }
 
+    /**
+     * Returns whether travel times may change at the end of the given year, either because new skims are
+     * read or because the transport model is run for the next year. Can be used to invalidate data derived
+     * from travel times.
+     */
+    public static boolean skimsMayChangeAtEndOfYear(int year, Properties properties) {
+        return (properties.accessibility.skimYears.contains(year) && year != properties.main.startYear)
+                || properties.transportModel.transportModelYears.contains(year + 1);
+    }
+
     @Override
     public void endSimulation() {
 
     }
 
+    /**
+     * Calculates the minimal car and transit travel times between every zone and region from the peak skims of the
+     * wrapped skim travel times. Has to be called whenever these skims have been updated.
+     */
+    public void updateRegionalTravelTimes() {
+        final Map<String, RegionalTravelTimes.Skim> skims = new LinkedHashMap<>();
+        skims.put(TransportMode.car, TravelTimeUtil.getPeakTravelTimes(delegate, TransportMode.car));
+        skims.put(TransportMode.pt, TravelTimeUtil.getPeakTravelTimes(delegate, TransportMode.pt));
+        regionalTravelTimesByMode.set(RegionalTravelTimes.calculate(skims,
+                geoData.getRegions().values(), geoData.getZones().values()));
+    }
+
     private void updateSkims(int year) {
         if (properties.transportModel.transportModelIdentifier != TransportModelPropertiesModule.TransportModelIdentifier.MATSIM) {
-            TravelTimeUtil.updateCarSkim((SkimTravelTimes) delegate, year, properties);
-            TravelTimeUtil.updateTransitSkim((SkimTravelTimes) delegate, year, properties);
-            ((SkimTravelTimes) delegate).updateRegionalTravelTimes(geoData.getRegions().values(), geoData.getZones().values());
+            if (delegate instanceof MappedSkimTravelTimes) {
+                TravelTimeUtil.updateCarSkim((MappedSkimTravelTimes) delegate, year, properties);
+                TravelTimeUtil.updateTransitSkim((MappedSkimTravelTimes) delegate, year, properties);
+                ((MappedSkimTravelTimes) delegate).updateRegionalTravelTimes(geoData.getRegions().values(), geoData.getZones().values());
+            } else {
+                TravelTimeUtil.updateCarSkim((SkimTravelTimes) delegate, year, properties);
+                TravelTimeUtil.updateTransitSkim((SkimTravelTimes) delegate, year, properties);
+                updateRegionalTravelTimes();
+            }
+        }
+    }
+
+    private static RegionalTravelTimes getRegionalTravelTimes(Map<String, RegionalTravelTimes> regionalTravelTimesByMode, String mode) {
+        final RegionalTravelTimes regionalTravelTimes = regionalTravelTimesByMode.get(mode);
+        if (regionalTravelTimes == null) {
+            throw new RuntimeException("No regional travel times available for mode " + mode);
         }
+        return regionalTravelTimes;
     }
-}
\ No newline at end of file
+}
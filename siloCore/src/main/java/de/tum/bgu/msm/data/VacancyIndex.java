@@ -0,0 +1,209 @@
+package de.tum.bgu.msm.data;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index of vacant objects (e.g. dwellings or jobs) that supports insertion, removal and
+ * random sampling in constant time. Objects are grouped by one or more integer keys
+ * (e.g. region, zone or type). Each group is stored as an array-backed set in which removal
+ * swaps the last element into the freed position, i.e. the order within a group is arbitrary.
+ * Key values of an object must not change while it is indexed.
+ */
+public final class VacancyIndex<T extends Id> {
+
+    private final List<Key> keys = new ArrayList<>();
+    private int size = 0;
+
+    /**
+     * Adds a key by which vacant objects are grouped. All keys must be added before the first object.
+     * @param keyFunction maps an object to its key value, e.g. its region id
+     * @return a handle to query the groups of this key
+     */
+    public Key addKey(ToIntFunction<? super T> keyFunction) {
+        if (size > 0) {
+            throw new IllegalStateException("Keys have to be added before the index is filled.");
+        }
+        Key key = new Key(keyFunction);
+        keys.add(key);
+        return key;
+    }
+
+    /**
+     * @return true if the object was added, false if it was already indexed
+     */
+    public boolean add(T object) {
+        if (keys.get(0).contains(object)) {
+            return false;
+        }
+        for (Key key : keys) {
+            key.add(object);
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the object was removed, false if it was not indexed
+     */
+    public boolean remove(T object) {
+        if (!keys.get(0).contains(object)) {
+            return false;
+        }
+        for (Key key : keys) {
+            key.remove(object);
+        }
+        size--;
+        return true;
+    }
+
+    public boolean contains(T object) {
+        return keys.get(0).contains(object);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (Key key : keys) {
+            key.groups.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * Grouping of the vacant objects by one key.
+     */
+    public final class Key {
+
+        private final ToIntFunction<? super T> keyFunction;
+        private final Map<Integer, Group<T>> groups = new HashMap<>();
+
+        private Key(ToIntFunction<? super T> keyFunction) {
+            this.keyFunction = keyFunction;
+        }
+
+        /**
+         * @return the number of vacant objects with the given key value
+         */
+        public int count(int value) {
+            Group<T> group = groups.get(value);
+            return group == null ? 0 : group.size;
+        }
+
+        /**
+         * @return an unmodifiable live view of the vacant objects with the given key value
+         */
+        public List<T> get(int value) {
+            Group<T> group = groups.get(value);
+            return group == null ? Collections.emptyList() : group.view;
+        }
+
+        /**
+         * Draws up to n distinct vacant objects with the given key value in random order without copying
+         * the group (partial Fisher-Yates shuffle on a virtual permutation). Takes O(n) time.
+         * @return a list of min(n, count(value)) objects
+         */
+        public List<T> sample(int value, int n, Random random) {
+            Group<T> group = groups.get(value);
+            if (group == null || n <= 0) {
+                return Collections.emptyList();
+            }
+            final int groupSize = group.size;
+            final int sampleSize = Math.min(n, groupSize);
+            final List<T> sample = new ArrayList<>(sampleSize);
+            final Map<Integer, Integer> swapped = new HashMap<>();
+            for (int i = 0; i < sampleSize; i++) {
+                int j = i + random.nextInt(groupSize - i);
+                int atJ = swapped.getOrDefault(j, j);
+                swapped.put(j, swapped.getOrDefault(i, i));
+                sample.add(group.get(atJ));
+            }
+            return sample;
+        }
+
+        /**
+         * @return a random vacant object with the given key value or null if there is none
+         */
+        public T sampleOne(int value, Random random) {
+            Group<T> group = groups.get(value);
+            if (group == null || group.size == 0) {
+                return null;
+            }
+            return group.get(random.nextInt(group.size));
+        }
+
+        /**
+         * @return the key values that currently have at least one vacant object
+         */
+        public Set<Integer> values() {
+            final Set<Integer> values = new HashSet<>();
+            for (Map.Entry<Integer, Group<T>> entry : groups.entrySet()) {
+                if (entry.getValue().size > 0) {
+                    values.add(entry.getKey());
+                }
+            }
+            return values;
+        }
+
+        private boolean contains(T object) {
+            Group<T> group = groups.get(keyFunction.applyAsInt(object));
+            return group != null && group.positions.containsKey(object.getId());
+        }
+
+        private void add(T object) {
+            groups.computeIfAbsent(keyFunction.applyAsInt(object), k -> new Group<>()).add(object);
+        }
+
+        private void remove(T object) {
+            groups.get(keyFunction.applyAsInt(object)).remove(object);
+        }
+    }
+
+    private static final class Group<T extends Id> {
+
+        private Object[] elements = new Object[8];
+        private int size = 0;
+        private final Map<Integer, Integer> positions = new HashMap<>();
+
+        private final List<T> view = new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return Group.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+
+        @SuppressWarnings("unchecked")
+        private T get(int index) {
+            return (T) elements[index];
+        }
+
+        private void add(T object) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            positions.put(object.getId(), size);
+            elements[size++] = object;
+        }
+
+        private void remove(T object) {
+            final int position = positions.remove(object.getId());
+            final int last = --size;
+            if (position != last) {
+                T moved = get(last);
+                elements[position] = moved;
+                positions.put(moved.getId(), position);
+            }
+            elements[last] = null;
+        }
+    }
+}
@@ -1,25 +1,19 @@
 package de.tum.bgu.msm.data.accessibility;
 
 import cern.jet.math.tdouble.DoubleFunctions;
-import de.tum.bgu.msm.data.Location;
 import de.tum.bgu.msm.data.Region;
 import de.tum.bgu.msm.data.Zone;
-import de.tum.bgu.msm.data.dwelling.Dwelling;
 import de.tum.bgu.msm.data.dwelling.DwellingData;
 import de.tum.bgu.msm.data.geo.GeoData;
-import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobData;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
-import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import de.tum.bgu.msm.utils.TravelTimeUtil;
 import org.apache.log4j.Logger;
 import org.matsim.api.core.v01.TransportMode;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Calculates and stores accessibilities
@@ -43,6 +37,10 @@ public class AccessibilityImpl implements Accessibility {
     private final float betaAuto;
     private final float alphaTransit;
     private final float betaTransit;
+    private final double travelTimeCutoff;
+    private final int numberOfThreads;
+
+    private HansenAccessibilityKernel kernel;
 
     public AccessibilityImpl(GeoData geoData, TravelTimes travelTimes, Properties properties,
                              DwellingData dwellingData, JobData jobData) {
@@ -52,6 +50,8 @@ public class AccessibilityImpl implements Accessibility {
         this.betaAuto = properties.accessibility.betaAuto;
         this.alphaTransit = properties.accessibility.alphaTransit;
         this.betaTransit = properties.accessibility.betaTransit;
+        this.travelTimeCutoff = properties.accessibility.travelTimeCutoff;
+        this.numberOfThreads = properties.main.numberOfThreads;
         this.dwellingData = dwellingData;
         this.jobData = jobData;
     }
@@ -61,6 +61,7 @@ public class AccessibilityImpl implements Accessibility {
         this.autoAccessibilities = new IndexedDoubleMatrix1D(geoData.getZones().values());
         this.transitAccessibilities = new IndexedDoubleMatrix1D(geoData.getZones().values());
         this.regionalAccessibilities = new IndexedDoubleMatrix1D(geoData.getRegions().values());
+        this.kernel = new HansenAccessibilityKernel(geoData.getZones().keySet(), numberOfThreads);
     }
 
     @Override
@@ -82,38 +83,16 @@ public class AccessibilityImpl implements Accessibility {
     public void calculateHansenAccessibilities(int year) {
 
         logger.info("  Calculating accessibilities for " + year);
-        final Map<Integer, List<Job>> jobsByZone = jobData.getJobs().stream().collect(Collectors.groupingBy(Location::getZoneId));
-        IndexedDoubleMatrix1D employment = new IndexedDoubleMatrix1D(geoData.getZones().values());
-        for(int zoneId : geoData.getZones().keySet()){
-            if (jobsByZone.keySet().contains(zoneId)){
-                employment.setIndexed(zoneId, jobsByZone.get(zoneId).size());
-            } else {
-                employment.setIndexed(zoneId, 0.);
-            }
+        final IndexedDoubleMatrix1D popDensity = new IndexedDoubleMatrix1D(geoData.getZones().values());
+        kernel.countByZone(dwellingData.getDwellings(), popDensity);
+        kernel.setOpportunities(jobData.getJobs());
 
-        }
-
-        final Map<Integer, List<Dwelling>> dwellingsByZone = dwellingData.getDwellings().stream().collect(Collectors.groupingBy(Location::getZoneId));
-        IndexedDoubleMatrix1D popDensity = new IndexedDoubleMatrix1D(geoData.getZones().values());
-        for(Map.Entry<Integer, List<Dwelling>> entry: dwellingsByZone.entrySet()) {
-            popDensity.setIndexed(entry.getKey(), entry.getValue().size());
-        }
-
-        logger.info("  Calculating zone zone accessibilities: auto");
-        final IndexedDoubleMatrix2D peakTravelTimeMatrixCar =
-                travelTimes.getPeakSkim(TransportMode.car);
-        final IndexedDoubleMatrix2D autoAccessZoneToZone =
-                calculateZoneToZoneAccessibilities(employment, peakTravelTimeMatrixCar, alphaAuto, betaAuto);
-        logger.info("  Calculating zone zone accessibilities: transit");
-        final IndexedDoubleMatrix2D peakTravelTimeMatrixTransit =
-                travelTimes.getPeakSkim(TransportMode.pt);
-        final IndexedDoubleMatrix2D transitAccessZoneToZone =
-                calculateZoneToZoneAccessibilities(employment,
-                        peakTravelTimeMatrixTransit, alphaTransit, betaTransit);
-
-        logger.info("  Aggregating zone accessibilities");
-        aggregateAccessibilities(autoAccessZoneToZone, transitAccessZoneToZone,
-                autoAccessibilities, transitAccessibilities, geoData.getZones().keySet());
+        logger.info("  Calculating zone accessibilities: auto");
+        kernel.calculate(TravelTimeUtil.getPeakTravelTimes(travelTimes, TransportMode.car),
+                alphaAuto, betaAuto, travelTimeCutoff, autoAccessibilities);
+        logger.info("  Calculating zone accessibilities: transit");
+        kernel.calculate(TravelTimeUtil.getPeakTravelTimes(travelTimes, TransportMode.pt),
+                alphaTransit, betaTransit, travelTimeCutoff, transitAccessibilities);
 
         logger.info("  Scaling zone accessibilities");
         scaleAccessibility(autoAccessibilities);
@@ -157,39 +136,6 @@ public class AccessibilityImpl implements Accessibility {
         accessibility.assign(DoubleFunctions.mult(sumScaleFactor));
     }
 
-    /**
-     * Aggregates the zone to zone accessibilities into the given vectors, only considering the given keys.
-     *
-     * @param autoAcessibilities     zone to zone accessibility matrix for auto
-     * @param transitAccessibilities zone to zone accessibility matrix for transit
-     * @param aggregatedAuto         vector to which the the aggregated auto accessibilities  will be written to
-     * @param aggregatedTransit      vector to which the the aggregated transit accessibilities will be written to
-     * @param keys                   zone ids that will be considered for aggregation
-     */
-    static void aggregateAccessibilities(IndexedDoubleMatrix2D autoAcessibilities, IndexedDoubleMatrix2D transitAccessibilities,
-                                         IndexedDoubleMatrix1D aggregatedAuto, IndexedDoubleMatrix1D aggregatedTransit, Collection<Integer> keys) {
-        keys.forEach(i -> {
-            aggregatedAuto.setIndexed(i, autoAcessibilities.viewRow(i).zSum());
-            aggregatedTransit.setIndexed(i, transitAccessibilities.viewRow(i).zSum());
-        });
-    }
-
-    /**
-     * Aggregates the zone to zone Hansen accessibilities into the given vectors, only considering the given keys.
-     * Formula for origin i to destinations j:
-     * accessibility_i = population_j^alpha * e^(beta * traveltime_ij)
-     *
-     * @param employment  a vector containing the employment by zone
-     * @param travelTimes zone to zone travel time matrix
-     * @param alpha       alpha parameter used for the hansen calculation
-     * @param beta        beta parameter used for the hansen calculation
-     */
-    static IndexedDoubleMatrix2D calculateZoneToZoneAccessibilities(IndexedDoubleMatrix1D employment, IndexedDoubleMatrix2D travelTimes, double alpha, double beta) {
-        final IndexedDoubleMatrix2D travelTimesCopy = travelTimes.copy();
-        return travelTimesCopy.forEachNonZero((origin, destination, travelTime) ->
-                travelTime > 0 ? Math.pow(employment.getIndexed(travelTimesCopy.getIdForInternalColumnIndex(destination)), alpha) * Math.exp(beta * travelTime) : 0);
-    }
-
     @Override
     public double getAutoAccessibilityForZone(Zone zone) {
     	// Can be combined with getTransitAccessibilityForZone into one method which get the mode
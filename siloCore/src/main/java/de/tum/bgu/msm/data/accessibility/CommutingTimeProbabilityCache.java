@@ -0,0 +1,138 @@
+package de.tum.bgu.msm.data.accessibility;
+
+import de.tum.bgu.msm.data.Region;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.travelTimes.TravelTimes;
+import de.tum.bgu.msm.models.ModelUpdateListener;
+import de.tum.bgu.msm.properties.Properties;
+import org.apache.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense zone x region tables of commuting time probabilities per mode. Tables are calculated on first
+ * use and kept until the travel times may have changed, i.e. after skims were updated or the transport
+ * model was run (see {@link TravelTimesWrapper#skimsMayChangeAtEndOfYear(int, Properties)}).
+ */
+public class CommutingTimeProbabilityCache implements ModelUpdateListener {
+
+    private static final Logger logger = Logger.getLogger(CommutingTimeProbabilityCache.class);
+
+    private final GeoData geoData;
+    private final TravelTimes travelTimes;
+    private final CommutingTimeProbability commutingTimeProbability;
+    private final Properties properties;
+
+    private int[] zoneIndex;
+    private int[] regionIndex;
+
+    /**
+     * Probability of commuting from a home zone to the closest zone of a region, by mode.
+     */
+    private final Map<String, float[][]> toRegionByMode = new ConcurrentHashMap<>();
+    /**
+     * Probability of commuting from the closest zone of a region to a work zone, by mode.
+     */
+    private final Map<String, float[][]> fromRegionByMode = new ConcurrentHashMap<>();
+
+    public CommutingTimeProbabilityCache(GeoData geoData, TravelTimes travelTimes,
+                                         CommutingTimeProbability commutingTimeProbability, Properties properties) {
+        this.geoData = geoData;
+        this.travelTimes = travelTimes;
+        this.commutingTimeProbability = commutingTimeProbability;
+        this.properties = properties;
+    }
+
+    @Override
+    public void setup() {
+    }
+
+    @Override
+    public void prepareYear(int year) {
+        if (year != properties.main.startYear && TravelTimesWrapper.skimsMayChangeAtEndOfYear(year - 1, properties)) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void endYear(int year) {
+    }
+
+    @Override
+    public void endSimulation() {
+    }
+
+    public void invalidate() {
+        toRegionByMode.clear();
+        fromRegionByMode.clear();
+    }
+
+    /**
+     * Probability of commuting from the given home zone to a job in the given region. Travel times
+     * to regions are rounded to minutes as done for job search.
+     */
+    public float getCommutingTimeProbabilityToRegion(Zone homeZone, Region region, String mode) {
+        final float[][] table = toRegionByMode.computeIfAbsent(mode, this::calculateToRegion);
+        return table[zoneIndex[homeZone.getZoneId()]][regionIndex[region.getId()]];
+    }
+
+    /**
+     * Probability of commuting from a dwelling in the given region to a job in the given work zone.
+     * Travel times from regions are truncated as done for the regional housing utility.
+     */
+    public float getCommutingTimeProbabilityFromRegion(Region region, Zone workZone, String mode) {
+        final float[][] table = fromRegionByMode.computeIfAbsent(mode, this::calculateFromRegion);
+        return table[zoneIndex[workZone.getZoneId()]][regionIndex[region.getId()]];
+    }
+
+    private float[][] calculateToRegion(String mode) {
+        logger.info("Calculating commuting time probabilities to regions for mode " + mode);
+        final float[][] table = createTable();
+        for (Zone zone : geoData.getZones().values()) {
+            final float[] row = table[zoneIndex[zone.getZoneId()]];
+            for (Region region : geoData.getRegions().values()) {
+                int travelTime_min = (int) ((travelTimes.getTravelTimeToRegion(zone, region,
+                        properties.transportModel.peakHour_s, mode) + 0.5) / 60.);
+                row[regionIndex[region.getId()]] = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, travelTime_min), mode);
+            }
+        }
+        return table;
+    }
+
+    private float[][] calculateFromRegion(String mode) {
+        logger.info("Calculating commuting time probabilities from regions for mode " + mode);
+        final float[][] table = createTable();
+        for (Zone zone : geoData.getZones().values()) {
+            final float[] row = table[zoneIndex[zone.getZoneId()]];
+            for (Region region : geoData.getRegions().values()) {
+                int travelTime = (int) travelTimes.getTravelTimeFromRegion(region, zone, properties.transportModel.peakHour_s, mode);
+                row[regionIndex[region.getId()]] = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, travelTime), mode);
+            }
+        }
+        return table;
+    }
+
+    private synchronized float[][] createTable() {
+        if (zoneIndex == null) {
+            zoneIndex = createIndex(geoData.getZones().keySet());
+            regionIndex = createIndex(geoData.getRegions().keySet());
+        }
+        return new float[geoData.getZones().size()][geoData.getRegions().size()];
+    }
+
+    private static int[] createIndex(Iterable<Integer> ids) {
+        int max = 0;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        final int[] index = new int[max + 1];
+        int i = 0;
+        for (int id : ids) {
+            index[id] = i++;
+        }
+        return index;
+    }
+}
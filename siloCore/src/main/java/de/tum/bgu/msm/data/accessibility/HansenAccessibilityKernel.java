@@ -0,0 +1,162 @@
+package de.tum.bgu.msm.data.accessibility;
+
+import de.tum.bgu.msm.data.Location;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
+import de.tum.bgu.msm.util.concurrent.ConcurrentExecutor;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Calculates Hansen accessibilities for a fixed set of zones. Formula for origin i to destinations j:
+ * accessibility_i = sum_j opportunities_j^alpha * e^(beta * traveltime_ij)
+ *
+ * Opportunities are counted into primitive histograms, the attraction opportunities^alpha is evaluated once
+ * per destination and only destinations with a non-zero attraction are visited. Rows are summed up directly
+ * (in parallel for large zone systems) without materializing a zone to zone accessibility matrix. All buffers
+ * are allocated once and reused for every calculation, so an instance must not be used by several threads at
+ * the same time.
+ */
+public final class HansenAccessibilityKernel {
+
+    /**
+     * Below this number of zones the rows are summed up in the calling thread.
+     */
+    private static final int MIN_ZONES_FOR_PARALLEL_CALCULATION = 500;
+
+    private final int[] zoneIds;
+    private final int[] indexById;
+    private final int numberOfThreads;
+
+    private final int[] counts;
+    private final int[] opportunities;
+    private final double[] attractions;
+    private final int[] destinations;
+    private final double[] accessibilities;
+
+    public HansenAccessibilityKernel(Collection<Integer> zoneIds, int numberOfThreads) {
+        this.zoneIds = zoneIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+        this.indexById = new int[this.zoneIds[this.zoneIds.length - 1] + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < this.zoneIds.length; i++) {
+            indexById[this.zoneIds[i]] = i;
+        }
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+        this.counts = new int[this.zoneIds.length];
+        this.opportunities = new int[this.zoneIds.length];
+        this.attractions = new double[this.zoneIds.length];
+        this.destinations = new int[this.zoneIds.length];
+        this.accessibilities = new double[this.zoneIds.length];
+    }
+
+    /**
+     * Counts the given locations by zone and writes the counts into the given vector. Locations in zones that are
+     * not known to this kernel are ignored.
+     */
+    public void countByZone(Collection<? extends Location> locations, IndexedDoubleMatrix1D countsByZone) {
+        countByZone(locations, counts);
+        for (int i = 0; i < zoneIds.length; i++) {
+            countsByZone.setIndexed(zoneIds[i], counts[i]);
+        }
+    }
+
+    /**
+     * Counts the opportunities (e.g. jobs) by zone that are used by all following calls of
+     * {@link #calculate(RegionalTravelTimes.Skim, double, double, double, IndexedDoubleMatrix1D)}.
+     */
+    public void setOpportunities(Collection<? extends Location> locations) {
+        countByZone(locations, opportunities);
+    }
+
+    /**
+     * Calculates the Hansen accessibility of every zone to the current opportunities and writes it into the given
+     * vector.
+     *
+     * @param travelTimes    zone to zone travel time matrix. Pairs without a positive travel time are skipped.
+     * @param alpha          alpha parameter used for the hansen calculation
+     * @param beta           beta parameter used for the hansen calculation
+     * @param cutoff         pairs with a travel time above this value are skipped. Use a non-positive value to
+     *                       consider all pairs.
+     * @param accessibility  vector to which the accessibilities will be written to
+     */
+    public void calculate(IndexedDoubleMatrix2D travelTimes, double alpha, double beta, double cutoff,
+                          IndexedDoubleMatrix1D accessibility) {
+        calculate(travelTimes::getIndexed, alpha, beta, cutoff, accessibility);
+    }
+
+    /**
+     * Calculates the Hansen accessibility of every zone to the current opportunities and writes it into the given
+     * vector. Travel times are looked up by zone pair, so skims that are not kept as a matrix need not be copied.
+     *
+     * @see #calculate(IndexedDoubleMatrix2D, double, double, double, IndexedDoubleMatrix1D)
+     */
+    public void calculate(RegionalTravelTimes.Skim travelTimes, double alpha, double beta, double cutoff,
+                          IndexedDoubleMatrix1D accessibility) {
+        final int numberOfDestinations = prepareDestinations(alpha);
+        final double maxTravelTime = cutoff > 0 ? cutoff : Double.POSITIVE_INFINITY;
+
+        if (numberOfThreads == 1 || zoneIds.length < MIN_ZONES_FOR_PARALLEL_CALCULATION) {
+            sumRows(0, zoneIds.length, numberOfDestinations, travelTimes, beta, maxTravelTime);
+        } else {
+            final int partitionSize = (zoneIds.length + numberOfThreads - 1) / numberOfThreads;
+            ConcurrentExecutor<Void> executor = ConcurrentExecutor.fixedPoolService(numberOfThreads);
+            for (int start = 0; start < zoneIds.length; start += partitionSize) {
+                final int from = start;
+                final int to = Math.min(start + partitionSize, zoneIds.length);
+                executor.addTaskToQueue(() -> {
+                    sumRows(from, to, numberOfDestinations, travelTimes, beta, maxTravelTime);
+                    return null;
+                });
+            }
+            executor.execute();
+        }
+
+        for (int i = 0; i < zoneIds.length; i++) {
+            accessibility.setIndexed(zoneIds[i], accessibilities[i]);
+        }
+    }
+
+    private void countByZone(Collection<? extends Location> locations, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (Location location : locations) {
+            final int zoneId = location.getZoneId();
+            if (zoneId >= 0 && zoneId < indexById.length && indexById[zoneId] >= 0) {
+                counts[indexById[zoneId]]++;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the attraction of every zone and collects the indices of all zones with a non-zero attraction.
+     *
+     * @return the number of destinations to visit
+     */
+    private int prepareDestinations(double alpha) {
+        int numberOfDestinations = 0;
+        for (int j = 0; j < zoneIds.length; j++) {
+            attractions[j] = Math.pow(opportunities[j], alpha);
+            if (attractions[j] != 0) {
+                destinations[numberOfDestinations++] = j;
+            }
+        }
+        return numberOfDestinations;
+    }
+
+    private void sumRows(int from, int to, int numberOfDestinations, RegionalTravelTimes.Skim travelTimes,
+                         double beta, double maxTravelTime) {
+        for (int i = from; i < to; i++) {
+            final int origin = zoneIds[i];
+            double sum = 0;
+            for (int k = 0; k < numberOfDestinations; k++) {
+                final int j = destinations[k];
+                final double travelTime = travelTimes.getTravelTime(origin, zoneIds[j]);
+                if (travelTime > 0 && travelTime <= maxTravelTime) {
+                    sum += attractions[j] * Math.exp(beta * travelTime);
+                }
+            }
+            accessibilities[i] = sum;
+        }
+    }
+}
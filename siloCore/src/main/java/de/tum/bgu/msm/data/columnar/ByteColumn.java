@@ -0,0 +1,33 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.Arrays;
+
+import static de.tum.bgu.msm.data.columnar.IntColumn.*;
+
+/**
+ * Paged column of primitive bytes, e.g. for enum ordinals and flags. See {@link IntColumn}.
+ */
+final class ByteColumn {
+
+    private volatile byte[][] pages = new byte[0][];
+
+    byte get(int row) {
+        return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    void set(int row, byte value) {
+        pages[row >>> PAGE_BITS][row & PAGE_MASK] = value;
+    }
+
+    synchronized void ensureCapacity(int rows) {
+        final byte[][] current = pages;
+        final int neededPages = (rows + PAGE_MASK) >>> PAGE_BITS;
+        if (neededPages > current.length) {
+            final byte[][] grown = Arrays.copyOf(current, neededPages);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new byte[PAGE_SIZE];
+            }
+            pages = grown;
+        }
+    }
+}
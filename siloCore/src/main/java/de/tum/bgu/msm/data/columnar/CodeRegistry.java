@@ -0,0 +1,35 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns small integer codes to a low number of distinct values (e.g. dwelling or job types) so that they
+ * can be stored in an {@link IntColumn}. Code 0 is reserved for null.
+ */
+final class CodeRegistry<T> {
+
+    private final Map<T, Integer> codes = new HashMap<>();
+    private volatile List<T> values = new ArrayList<>();
+
+    synchronized int encode(T value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            final List<T> grown = new ArrayList<>(values);
+            grown.add(value);
+            code = grown.size();
+            codes.put(value, code);
+            values = grown;
+        }
+        return code;
+    }
+
+    T decode(int code) {
+        return code == 0 ? null : values.get(code - 1);
+    }
+}
@@ -0,0 +1,265 @@
+package de.tum.bgu.msm.data.columnar;
+
+import de.tum.bgu.msm.data.dwelling.*;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Struct-of-arrays implementation of {@link DwellingData}. {@link Dwelling} objects are lightweight views on
+ * a row of primitive columns and have to be created by {@link #getDwellingFactory()}. Coordinates are stored
+ * as x and y only. Collections iterate in the same order as {@link DwellingDataImpl}. Rows of removed dwellings
+ * are reused after {@link #releaseRemovedObjects()}.
+ */
+public final class ColumnarDwellingData implements DwellingData {
+
+    private static final DwellingUsage[] USAGES = DwellingUsage.values();
+
+    private final DwellingTable dwellings = new DwellingTable();
+    private final DwellingFactory dwellingFactory = new ColumnarDwellingFactory();
+
+    public DwellingFactory getDwellingFactory() {
+        return dwellingFactory;
+    }
+
+    @Override
+    public Dwelling getDwelling(int dwellingId) {
+        return dwellings.get(dwellingId);
+    }
+
+    @Override
+    public Collection<Dwelling> getDwellings() {
+        return dwellings.values();
+    }
+
+    @Override
+    public void removeDwelling(int id) {
+        dwellings.remove(id);
+    }
+
+    @Override
+    public void addDwelling(Dwelling dwelling) {
+        if (dwelling instanceof DwellingView && ((DwellingView) dwelling).store() == this) {
+            dwellings.index(((DwellingView) dwelling).row());
+        } else {
+            throw new IllegalArgumentException("Dwelling " + dwelling.getId() + " was not created by the factory of this store.");
+        }
+    }
+
+    @Override
+    public void releaseRemovedObjects() {
+        dwellings.recycleRemovedRows();
+    }
+
+    private final class DwellingTable extends ColumnarTable<Dwelling> {
+
+        private final IntColumn zone = new IntColumn(0);
+        private final DoubleColumn x = new DoubleColumn();
+        private final DoubleColumn y = new DoubleColumn();
+        private final IntColumn household = new IntColumn(0);
+        private final IntColumn type = new IntColumn(0);
+        private final IntColumn bedrooms = new IntColumn(0);
+        private final IntColumn quality = new IntColumn(0);
+        private final IntColumn price = new IntColumn(0);
+        private final IntColumn yearBuilt = new IntColumn(0);
+        private final IntColumn floorSpace = new IntColumn(0);
+        private final ByteColumn usage = new ByteColumn();
+
+        private final CodeRegistry<DwellingType> types = new CodeRegistry<>();
+
+        /**
+         * Attribute maps by dwelling row, only allocated on demand
+         */
+        private final Map<Integer, Map<String, Object>> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        void ensureCapacity(int rows) {
+            zone.ensureCapacity(rows);
+            x.ensureCapacity(rows);
+            y.ensureCapacity(rows);
+            household.ensureCapacity(rows);
+            type.ensureCapacity(rows);
+            bedrooms.ensureCapacity(rows);
+            quality.ensureCapacity(rows);
+            price.ensureCapacity(rows);
+            yearBuilt.ensureCapacity(rows);
+            floorSpace.ensureCapacity(rows);
+            usage.ensureCapacity(rows);
+        }
+
+        @Override
+        void clearRow(int row) {
+            floorSpace.set(row, 0);
+            attributes.remove(row);
+        }
+
+        @Override
+        Dwelling createView(int row) {
+            return new DwellingView(row);
+        }
+
+        void setCoordinate(int row, Coordinate coordinate) {
+            x.set(row, coordinate == null ? Double.NaN : coordinate.x);
+            y.set(row, coordinate == null ? Double.NaN : coordinate.y);
+        }
+    }
+
+    private final class DwellingView implements Dwelling {
+
+        private final int row;
+        private final int generation;
+
+        private DwellingView(int row) {
+            this.row = row;
+            this.generation = dwellings.generation(row);
+        }
+
+        /**
+         * @return the row of this dwelling, which must not have been recycled since this view was created
+         */
+        private int row() {
+            return dwellings.checkRow(row, generation);
+        }
+
+        private ColumnarDwellingData store() {
+            return ColumnarDwellingData.this;
+        }
+
+        @Override
+        public Coordinate getCoordinate() {
+            final double x = dwellings.x.get(row());
+            return Double.isNaN(x) ? null : new Coordinate(x, dwellings.y.get(row()));
+        }
+
+        @Override
+        public int getZoneId() {
+            return dwellings.zone.get(row());
+        }
+
+        @Override
+        public int getId() {
+            return dwellings.getId(row());
+        }
+
+        @Override
+        public int getQuality() {
+            return dwellings.quality.get(row());
+        }
+
+        @Override
+        public int getResidentId() {
+            return dwellings.household.get(row());
+        }
+
+        @Override
+        public int getPrice() {
+            return dwellings.price.get(row());
+        }
+
+        @Override
+        public DwellingType getType() {
+            return dwellings.types.decode(dwellings.type.get(row()));
+        }
+
+        @Override
+        public int getBedrooms() {
+            return dwellings.bedrooms.get(row());
+        }
+
+        @Override
+        public int getYearBuilt() {
+            return dwellings.yearBuilt.get(row());
+        }
+
+        @Override
+        public void setResidentID(int residentID) {
+            dwellings.household.set(row(), residentID);
+        }
+
+        @Override
+        public void setQuality(int quality) {
+            dwellings.quality.set(row(), quality);
+        }
+
+        @Override
+        public void setPrice(int price) {
+            dwellings.price.set(row(), price);
+        }
+
+        @Override
+        public void setFloorSpace(int floorSpace) {
+            dwellings.floorSpace.set(row(), floorSpace);
+        }
+
+        @Override
+        public int getFloorSpace() {
+            return dwellings.floorSpace.get(row());
+        }
+
+        @Override
+        public void setCoordinate(Coordinate coordinate) {
+            dwellings.setCoordinate(row(), coordinate);
+        }
+
+        @Override
+        public void setUsage(DwellingUsage usage) {
+            dwellings.usage.set(row(), (byte) (usage == null ? 0 : usage.ordinal() + 1));
+        }
+
+        @Override
+        public DwellingUsage getUsage() {
+            final byte code = dwellings.usage.get(row());
+            return code == 0 ? null : USAGES[code - 1];
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return dwellings.attributes.computeIfAbsent(row(), k -> new HashMap<>());
+        }
+
+        @Override
+        public String toString() {
+            return "Attributes of dwelling  " + getId()
+                    + "\nLocated in zone         " + getZoneId()
+                    + "\nLocated at		        " + getCoordinate()
+                    + "\nOccupied by household   " + getResidentId()
+                    + "\nDwelling type           " + getType()
+                    + "\nNumber of bedrooms      " + getBedrooms()
+                    + "\nQuality (1 low, 4 high) " + getQuality()
+                    + "\nMonthly price in US$    " + getPrice()
+                    + "\nYear dwelling was built " + getYearBuilt();
+        }
+
+        @Override
+        public int hashCode() {
+            return getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Dwelling && ((Dwelling) o).getId() == getId();
+        }
+    }
+
+    private final class ColumnarDwellingFactory implements DwellingFactory {
+
+        @Override
+        public Dwelling createDwelling(int id, int zoneId, Coordinate coordinate, int hhId, DwellingType type,
+                                       int bedrooms, int quality, int price, int year) {
+            final int row = dwellings.allocateRow(id);
+            dwellings.zone.set(row, zoneId);
+            dwellings.setCoordinate(row, coordinate);
+            dwellings.household.set(row, hhId);
+            dwellings.type.set(row, dwellings.types.encode(type));
+            dwellings.bedrooms.set(row, bedrooms);
+            dwellings.quality.set(row, quality);
+            dwellings.price.set(row, price);
+            dwellings.yearBuilt.set(row, year);
+            dwellings.usage.set(row, (byte) (DwellingUsage.GROUP_QUARTER_OR_DEFAULT.ordinal() + 1));
+            return dwellings.view(row);
+        }
+    }
+}
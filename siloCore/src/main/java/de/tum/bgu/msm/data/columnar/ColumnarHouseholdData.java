@@ -0,0 +1,634 @@
+package de.tum.bgu.msm.data.columnar;
+
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdAggregates;
+import de.tum.bgu.msm.data.household.HouseholdData;
+import de.tum.bgu.msm.data.household.HouseholdFactory;
+import de.tum.bgu.msm.data.household.HouseholdImpl;
+import de.tum.bgu.msm.data.household.HouseholdType;
+import de.tum.bgu.msm.data.household.HouseholdUtil;
+import de.tum.bgu.msm.data.person.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Struct-of-arrays implementation of {@link HouseholdData}. Attributes of persons and households are kept in
+ * primitive columns and {@link Person} and {@link Household} objects are lightweight views on a row. Persons
+ * and households have to be created by the factories of this store, see {@link #getPersonFactory()} and
+ * {@link #getHouseholdFactory()}. Use case specific person or household implementations are not supported.
+ * <p>
+ * Households with a negative id (e.g. hypothetical households used to evaluate a move) are never stored and
+ * are created as regular {@link HouseholdImpl} objects.
+ * <p>
+ * Collections iterate in the same order as {@link de.tum.bgu.msm.data.household.HouseholdDataImpl}. Rows of
+ * removed persons and households are reused after {@link #releaseRemovedObjects()}.
+ */
+public final class ColumnarHouseholdData implements HouseholdData {
+
+    private static final int[] NO_MEMBERS = new int[0];
+    private static final int NO_HOUSEHOLD = -1;
+    private static final int OTHER_HOUSEHOLD = -2;
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final Occupation[] OCCUPATIONS = Occupation.values();
+    private static final PersonRole[] ROLES = PersonRole.values();
+    private static final PersonType[] PERSON_TYPES = PersonType.values();
+    private static final HouseholdType[] HOUSEHOLD_TYPES = HouseholdType.values();
+
+    private final PersonTable persons = new PersonTable();
+    private final HouseholdTable households = new HouseholdTable();
+
+    private final PersonFactory personFactory = new ColumnarPersonFactory();
+    private final HouseholdFactory householdFactory = new ColumnarHouseholdFactory();
+
+    public PersonFactory getPersonFactory() {
+        return personFactory;
+    }
+
+    public HouseholdFactory getHouseholdFactory() {
+        return householdFactory;
+    }
+
+    @Override
+    public Household getHousehold(int householdId) {
+        return households.get(householdId);
+    }
+
+    @Override
+    public Collection<Household> getHouseholds() {
+        return households.values();
+    }
+
+    @Override
+    public Person getPerson(int id) {
+        return persons.get(id);
+    }
+
+    @Override
+    public void removePerson(int id) {
+        persons.remove(id);
+    }
+
+    @Override
+    public Collection<Person> getPersons() {
+        return persons.values();
+    }
+
+    @Override
+    public void removeHousehold(int householdId) {
+        households.remove(householdId);
+    }
+
+    @Override
+    public void addPerson(Person person) {
+        persons.index(personRow(person));
+    }
+
+    @Override
+    public void addHousehold(Household household) {
+        households.index(householdRow(household));
+    }
+
+    @Override
+    public void releaseRemovedObjects() {
+        persons.recycleRemovedRows();
+        households.recycleRemovedRows();
+    }
+
+    private int personRow(Person person) {
+        if (person instanceof PersonView && ((PersonView) person).store() == this) {
+            return ((PersonView) person).row();
+        }
+        throw new IllegalArgumentException("Person " + person.getId() + " was not created by the factory of this store.");
+    }
+
+    private int householdRow(Household household) {
+        if (household instanceof HouseholdView && ((HouseholdView) household).store() == this) {
+            return ((HouseholdView) household).row();
+        }
+        throw new IllegalArgumentException("Household " + household.getId() + " was not created by the factory of this store.");
+    }
+
+    private static byte encode(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E> E decode(E[] values, byte code) {
+        return code == 0 ? null : values[code - 1];
+    }
+
+    private final class PersonTable extends ColumnarTable<Person> {
+
+        private final IntColumn age = new IntColumn(0);
+        private final ByteColumn gender = new ByteColumn();
+        private final ByteColumn occupation = new ByteColumn();
+        private final ByteColumn role = new ByteColumn();
+        private final ByteColumn type = new ByteColumn();
+        private final ByteColumn driverLicense = new ByteColumn();
+        private final IntColumn jobId = new IntColumn(0);
+        private final IntColumn income = new IntColumn(0);
+        private final IntColumn household = new IntColumn(NO_HOUSEHOLD);
+
+        /**
+         * Households of persons which are not stored in this store, by person row
+         */
+        private final Map<Integer, Household> otherHouseholds = new ConcurrentHashMap<>();
+
+        @Override
+        void ensureCapacity(int rows) {
+            age.ensureCapacity(rows);
+            gender.ensureCapacity(rows);
+            occupation.ensureCapacity(rows);
+            role.ensureCapacity(rows);
+            type.ensureCapacity(rows);
+            driverLicense.ensureCapacity(rows);
+            jobId.ensureCapacity(rows);
+            income.ensureCapacity(rows);
+            household.ensureCapacity(rows);
+        }
+
+        @Override
+        void clearRow(int row) {
+            driverLicense.set(row, (byte) 0);
+            household.set(row, NO_HOUSEHOLD);
+            otherHouseholds.remove(row);
+        }
+
+        @Override
+        Person createView(int row) {
+            return new PersonView(row);
+        }
+
+        int create(int id, int age, Gender gender, Occupation occupation, PersonRole role, int jobId, int income) {
+            final int row = allocateRow(id);
+            this.age.set(row, age);
+            this.gender.set(row, encode(gender));
+            this.occupation.set(row, encode(occupation));
+            this.role.set(row, encode(role));
+            this.jobId.set(row, jobId);
+            this.income.set(row, income);
+            updateType(row);
+            return row;
+        }
+
+        void updateType(int row) {
+            type.set(row, encode(PersonType.defineType(view(row))));
+        }
+    }
+
+    private final class HouseholdTable extends ColumnarTable<Household> {
+
+        private final IntColumn dwelling = new IntColumn(0);
+        private final IntColumn autos = new IntColumn(0);
+        private final ByteColumn type = new ByteColumn();
+        /**
+         * Person rows of the household members in insertion order
+         */
+        private final ObjectColumn<int[]> members = new ObjectColumn<>();
+        private final ObjectColumn<HouseholdAggregates> aggregates = new ObjectColumn<>();
+
+        /**
+         * Attribute maps by household row, only allocated on demand
+         */
+        private final Map<Integer, Map<String, Object>> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        void ensureCapacity(int rows) {
+            dwelling.ensureCapacity(rows);
+            autos.ensureCapacity(rows);
+            type.ensureCapacity(rows);
+            members.ensureCapacity(rows);
+            aggregates.ensureCapacity(rows);
+        }
+
+        @Override
+        void clearRow(int row) {
+            type.set(row, (byte) 0);
+            attributes.remove(row);
+        }
+
+        @Override
+        Household createView(int row) {
+            return new HouseholdView(row);
+        }
+
+        int create(int id, int dwellingId, int autos) {
+            final int row = allocateRow(id);
+            this.dwelling.set(row, dwellingId);
+            this.autos.set(row, autos);
+            this.members.set(row, NO_MEMBERS);
+            this.aggregates.set(row, new HouseholdAggregates(((HouseholdView) view(row)).members));
+            return row;
+        }
+
+        int indexOfMember(int row, int personId) {
+            final int[] rows = members.get(row);
+            for (int i = 0; i < rows.length; i++) {
+                if (persons.getId(rows[i]) == personId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void updateType(int row) {
+            aggregates.get(row).invalidate();
+            type.set(row, encode(HouseholdUtil.defineHouseholdType(view(row))));
+        }
+    }
+
+    private final class PersonView implements Person {
+
+        private final int row;
+        private final int generation;
+
+        private PersonView(int row) {
+            this.row = row;
+            this.generation = persons.generation(row);
+        }
+
+        /**
+         * @return the row of this person, which must not have been recycled since this view was created
+         */
+        private int row() {
+            return persons.checkRow(row, generation);
+        }
+
+        private ColumnarHouseholdData store() {
+            return ColumnarHouseholdData.this;
+        }
+
+        @Override
+        public void setHousehold(Household household) {
+            persons.otherHouseholds.remove(row());
+            if (household == null) {
+                persons.household.set(row(), NO_HOUSEHOLD);
+            } else if (household instanceof HouseholdView && ((HouseholdView) household).store() == store()) {
+                persons.household.set(row(), ((HouseholdView) household).row());
+            } else {
+                persons.otherHouseholds.put(row(), household);
+                persons.household.set(row(), OTHER_HOUSEHOLD);
+            }
+        }
+
+        @Override
+        public Household getHousehold() {
+            final int householdRow = persons.household.get(row());
+            if (householdRow >= 0) {
+                return households.view(householdRow);
+            } else if (householdRow == OTHER_HOUSEHOLD) {
+                return persons.otherHouseholds.get(row());
+            }
+            return null;
+        }
+
+        @Override
+        public void setRole(PersonRole pr) {
+            persons.role.set(row(), encode(pr));
+            invalidateHouseholdAggregates();
+        }
+
+        @Override
+        public void birthday() {
+            persons.age.set(row(), persons.age.get(row()) + 1);
+            persons.updateType(row());
+        }
+
+        @Override
+        public void setIncome(int newIncome) {
+            persons.income.set(row(), newIncome);
+            getHousehold().updateHouseholdType();
+        }
+
+        @Override
+        public void setWorkplace(int newWorkplace) {
+            persons.jobId.set(row(), newWorkplace);
+        }
+
+        @Override
+        public void setOccupation(Occupation newOccupation) {
+            persons.occupation.set(row(), encode(newOccupation));
+            invalidateHouseholdAggregates();
+        }
+
+        @Override
+        public int getId() {
+            return persons.getId(row());
+        }
+
+        @Override
+        public int getAge() {
+            return persons.age.get(row());
+        }
+
+        @Override
+        public Gender getGender() {
+            return decode(GENDERS, persons.gender.get(row()));
+        }
+
+        @Override
+        public Occupation getOccupation() {
+            return decode(OCCUPATIONS, persons.occupation.get(row()));
+        }
+
+        @Override
+        public int getAnnualIncome() {
+            return persons.income.get(row());
+        }
+
+        @Override
+        public PersonType getType() {
+            return decode(PERSON_TYPES, persons.type.get(row()));
+        }
+
+        @Override
+        public PersonRole getRole() {
+            return decode(ROLES, persons.role.get(row()));
+        }
+
+        @Override
+        public int getJobId() {
+            return persons.jobId.get(row());
+        }
+
+        @Override
+        public void setDriverLicense(boolean driverLicense) {
+            persons.driverLicense.set(row(), (byte) (driverLicense ? 1 : 0));
+            invalidateHouseholdAggregates();
+        }
+
+        private void invalidateHouseholdAggregates() {
+            final Household household = getHousehold();
+            if (household != null && household.getAggregates() != null) {
+                household.getAggregates().invalidate();
+            }
+        }
+
+        @Override
+        public boolean hasDriverLicense() {
+            return persons.driverLicense.get(row()) == 1;
+        }
+
+        @Override
+        public String toString() {
+            final Household household = getHousehold();
+            return "+++ Person " + getId()
+                    + "\nHousehold id         " + (household == null ? "null" : household.getId())
+                    + "\nAge                  " + getAge()
+                    + "\nGender               " + getGender()
+                    + "\nRole in household    " + getRole()
+                    + "\nOccupation           " + getOccupation()
+                    + "\nWorkplace ID         " + getJobId()
+                    + "\nIncome               " + getAnnualIncome()
+                    + "\nPerson type          " + getType().toString();
+        }
+
+        @Override
+        public int hashCode() {
+            return getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Person && ((Person) o).getId() == getId();
+        }
+    }
+
+    private final class HouseholdView implements Household {
+
+        private final int row;
+        private final int generation;
+        private final Members members;
+
+        private HouseholdView(int row) {
+            this.row = row;
+            this.generation = households.generation(row);
+            this.members = new Members(this);
+        }
+
+        /**
+         * @return the row of this household, which must not have been recycled since this view was created
+         */
+        private int row() {
+            return households.checkRow(row, generation);
+        }
+
+        private ColumnarHouseholdData store() {
+            return ColumnarHouseholdData.this;
+        }
+
+        @Override
+        public int getId() {
+            return households.getId(row());
+        }
+
+        @Override
+        public int getHhSize() {
+            return households.members.get(row()).length;
+        }
+
+        @Override
+        public int getDwellingId() {
+            return households.dwelling.get(row());
+        }
+
+        @Override
+        public int getAutos() {
+            return households.autos.get(row());
+        }
+
+        @Override
+        public Map<Integer, ? extends Person> getPersons() {
+            return members;
+        }
+
+        @Override
+        public HouseholdType getHouseholdType() {
+            return decode(HOUSEHOLD_TYPES, households.type.get(row()));
+        }
+
+        @Override
+        public void updateHouseholdType() {
+            households.updateType(row());
+        }
+
+        @Override
+        public void setDwelling(int id) {
+            households.dwelling.set(row(), id);
+        }
+
+        @Override
+        public void addPerson(Person person) {
+            if (person != null) {
+                final int personRow = personRow(person);
+                final int index = households.indexOfMember(row(), person.getId());
+                final int[] current = households.members.get(row());
+                final int[] updated;
+                if (index < 0) {
+                    updated = Arrays.copyOf(current, current.length + 1);
+                    updated[current.length] = personRow;
+                } else {
+                    updated = current.clone();
+                    updated[index] = personRow;
+                }
+                households.members.set(row(), updated);
+                updateHouseholdType();
+            }
+        }
+
+        @Override
+        public void removePerson(int personId) {
+            final int index = households.indexOfMember(row(), personId);
+            if (index >= 0) {
+                final int[] current = households.members.get(row());
+                final int[] updated = new int[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                households.members.set(row(), updated);
+            }
+            updateHouseholdType();
+        }
+
+        @Override
+        public void setAutos(int autos) {
+            households.autos.set(row(), autos);
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return households.attributes.computeIfAbsent(row(), k -> new HashMap<>());
+        }
+
+        @Override
+        public HouseholdAggregates getAggregates() {
+            return households.aggregates.get(row());
+        }
+
+        @Override
+        public String toString() {
+            return "Attributes of household " + getId()
+                    + "\nDwelling ID             " + getDwellingId()
+                    + "\nHousehold size          " + getHhSize();
+        }
+
+        @Override
+        public int hashCode() {
+            return getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Household && ((Household) o).getId() == getId();
+        }
+    }
+
+    /**
+     * Unmodifiable live map view of the household members by person id, in insertion order. Iterators work
+     * on the members at the time the iterator was created.
+     */
+    private final class Members extends AbstractMap<Integer, Person> {
+
+        private final HouseholdView household;
+
+        private Members(HouseholdView household) {
+            this.household = household;
+        }
+
+        @Override
+        public int size() {
+            return households.members.get(household.row()).length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Person get(Object key) {
+            if (key instanceof Integer) {
+                final int index = households.indexOfMember(household.row(), (Integer) key);
+                if (index >= 0) {
+                    return persons.view(households.members.get(household.row())[index]);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Set<Entry<Integer, Person>> entrySet() {
+            return new AbstractSet<Entry<Integer, Person>>() {
+                @Override
+                public Iterator<Entry<Integer, Person>> iterator() {
+                    final int[] rows = households.members.get(household.row());
+                    return new Iterator<Entry<Integer, Person>>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < rows.length;
+                        }
+
+                        @Override
+                        public Entry<Integer, Person> next() {
+                            if (next >= rows.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int personRow = rows[next++];
+                            return new AbstractMap.SimpleImmutableEntry<>(persons.getId(personRow), persons.view(personRow));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return Members.this.size();
+                }
+            };
+        }
+    }
+
+    private final class ColumnarPersonFactory implements PersonFactory {
+
+        @Override
+        public Person createPerson(int id, int age, Gender gender, Occupation occupation, PersonRole role,
+                                   int workplace, int income) {
+            return persons.view(persons.create(id, age, gender, occupation, role, workplace, income));
+        }
+
+        @Override
+        public Person giveBirth(Person parent, int id, Gender gender) {
+            return createPerson(id, 0, gender, Occupation.TODDLER, PersonRole.CHILD, 0, 0);
+        }
+
+        @Override
+        public Person duplicate(Person originalPerson, int nextPersonId) {
+            final Person duplicate = createPerson(nextPersonId,
+                    originalPerson.getAge(),
+                    originalPerson.getGender(),
+                    originalPerson.getOccupation(),
+                    originalPerson.getRole(),
+                    -1,
+                    originalPerson.getAnnualIncome());
+            duplicate.setDriverLicense(originalPerson.hasDriverLicense());
+            return duplicate;
+        }
+    }
+
+    private final class ColumnarHouseholdFactory implements HouseholdFactory {
+
+        @Override
+        public Household createHousehold(int id, int dwellingID, int autos) {
+            if (id < 0) {
+                return new HouseholdImpl(id, dwellingID, autos);
+            }
+            return households.view(households.create(id, dwellingID, autos));
+        }
+
+        @Override
+        public Household duplicate(Household original, int nextHouseholdId) {
+            return createHousehold(nextHouseholdId, original.getDwellingId(), original.getAutos());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package de.tum.bgu.msm.data.columnar;
+
+import de.tum.bgu.msm.data.job.Job;
+import de.tum.bgu.msm.data.job.JobData;
+import de.tum.bgu.msm.data.job.JobFactory;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Struct-of-arrays implementation of {@link JobData}. {@link Job} objects are lightweight views on a row of
+ * primitive columns and have to be created by {@link #getJobFactory()}. Jobs created this way have no start
+ * or working times, like {@link de.tum.bgu.msm.data.job.JobImpl}. Collections iterate in the same order as
+ * {@link de.tum.bgu.msm.data.job.JobDataImpl}. Rows of removed jobs are reused after
+ * {@link #releaseRemovedObjects()}.
+ */
+public final class ColumnarJobData implements JobData {
+
+    private final JobTable jobs = new JobTable();
+    private final JobFactory jobFactory = new ColumnarJobFactory();
+
+    public JobFactory getJobFactory() {
+        return jobFactory;
+    }
+
+    @Override
+    public Job get(int jobId) {
+        return jobs.get(jobId);
+    }
+
+    @Override
+    public Collection<Job> getJobs() {
+        return jobs.values();
+    }
+
+    @Override
+    public void removeJob(int id) {
+        jobs.remove(id);
+    }
+
+    @Override
+    public void addJob(Job jj) {
+        if (jj instanceof JobView && ((JobView) jj).store() == this) {
+            jobs.index(((JobView) jj).row());
+        } else {
+            throw new IllegalArgumentException("Job " + jj.getId() + " was not created by the factory of this store.");
+        }
+    }
+
+    @Override
+    public void releaseRemovedObjects() {
+        jobs.recycleRemovedRows();
+    }
+
+    private final class JobTable extends ColumnarTable<Job> {
+
+        private final IntColumn zone = new IntColumn(0);
+        private final DoubleColumn x = new DoubleColumn();
+        private final DoubleColumn y = new DoubleColumn();
+        private final IntColumn worker = new IntColumn(0);
+        private final IntColumn type = new IntColumn(0);
+
+        private final CodeRegistry<String> types = new CodeRegistry<>();
+
+        @Override
+        void ensureCapacity(int rows) {
+            zone.ensureCapacity(rows);
+            x.ensureCapacity(rows);
+            y.ensureCapacity(rows);
+            worker.ensureCapacity(rows);
+            type.ensureCapacity(rows);
+        }
+
+        @Override
+        void clearRow(int row) {
+        }
+
+        @Override
+        Job createView(int row) {
+            return new JobView(row);
+        }
+    }
+
+    private final class JobView implements Job {
+
+        private final int row;
+        private final int generation;
+
+        private JobView(int row) {
+            this.row = row;
+            this.generation = jobs.generation(row);
+        }
+
+        /**
+         * @return the row of this job, which must not have been recycled since this view was created
+         */
+        private int row() {
+            return jobs.checkRow(row, generation);
+        }
+
+        private ColumnarJobData store() {
+            return ColumnarJobData.this;
+        }
+
+        @Override
+        public int getId() {
+            return jobs.getId(row());
+        }
+
+        @Override
+        public int getWorkerId() {
+            return jobs.worker.get(row());
+        }
+
+        @Override
+        public String getType() {
+            return jobs.types.decode(jobs.type.get(row()));
+        }
+
+        @Override
+        public void setWorkerID(int personID) {
+            jobs.worker.set(row(), personID);
+        }
+
+        @Override
+        public Optional<Integer> getStartTimeInSeconds() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> getWorkingTimeInSeconds() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int getZoneId() {
+            return jobs.zone.get(row());
+        }
+
+        @Override
+        public Coordinate getCoordinate() {
+            final double x = jobs.x.get(row());
+            return Double.isNaN(x) ? null : new Coordinate(x, jobs.y.get(row()));
+        }
+
+        @Override
+        public String toString() {
+            return "Attributes of job       " + getId()
+                    + "\nLocated at         " + getCoordinate()
+                    + "\nFilled by person        " + getWorkerId()
+                    + "\nJob type                " + getType();
+        }
+
+        @Override
+        public int hashCode() {
+            return getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Job && ((Job) o).getId() == getId();
+        }
+    }
+
+    private final class ColumnarJobFactory implements JobFactory {
+
+        @Override
+        public Job createJob(int id, int zoneId, Coordinate coordinate, int workerId, String type) {
+            final int row = jobs.allocateRow(id);
+            jobs.zone.set(row, zoneId);
+            jobs.x.set(row, coordinate == null ? Double.NaN : coordinate.x);
+            jobs.y.set(row, coordinate == null ? Double.NaN : coordinate.y);
+            jobs.worker.set(row, workerId);
+            jobs.type.set(row, jobs.types.encode(type));
+            return jobs.view(row);
+        }
+    }
+}
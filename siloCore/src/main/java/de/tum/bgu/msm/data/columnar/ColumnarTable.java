@@ -0,0 +1,231 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rows of one entity type (e.g. persons) stored column wise. Every object created by a factory of the store
+ * occupies a row. An object is contained in the table once its id is indexed, i.e. the index maps its id to its row.
+ * <p>
+ * The ids of the contained objects are also kept in a concurrent hash set. Collections iterate over this set, so they
+ * iterate in the same order as the map based stores, which keeps simulation results independent of the store.
+ * </p>
+ * <p>
+ * Rows of removed objects keep their values until {@link #recycleRemovedRows()} is called, so views that are still
+ * referenced elsewhere remain valid until then. Afterwards, the rows are reused for new objects. Every reuse increments
+ * the generation of the row and gives the new object a new view, views check the generation of their row on every
+ * access, so using a view of a recycled object fails instead of reading the values of the new object.
+ * </p>
+ *
+ * @param <T> the view type of the rows
+ */
+abstract class ColumnarTable<T> {
+
+    private final IntColumn ids = new IntColumn(0);
+    private final IntColumn rowById = new IntColumn(-1);
+    private final IntColumn generations = new IntColumn(0);
+    private final ObjectColumn<T> views = new ObjectColumn<>();
+    private final Set<Integer> containedIds = ConcurrentHashMap.newKeySet();
+    private int rowCount = 0;
+
+    private int[] removedRows = new int[0];
+    private int removedCount = 0;
+    private int[] freeRows = new int[0];
+    private int freeCount = 0;
+
+    private final Collection<T> values = new AbstractCollection<T>() {
+        @Override
+        public Iterator<T> iterator() {
+            return new ContainedIterator();
+        }
+
+        @Override
+        public int size() {
+            return containedIds.size();
+        }
+    };
+
+    /**
+     * Provides a row for a new object with the given id, reusing the row of a recycled object if possible.
+     * The row is not indexed yet.
+     */
+    final synchronized int allocateRow(int id) {
+        final int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+            clearRow(row);
+            generations.set(row, generations.get(row) + 1);
+            views.set(row, null);
+        } else {
+            row = rowCount;
+            ids.ensureCapacity(row + 1);
+            generations.ensureCapacity(row + 1);
+            views.ensureCapacity(row + 1);
+            ensureCapacity(row + 1);
+            rowCount = row + 1;
+        }
+        ids.set(row, id);
+        return row;
+    }
+
+    /**
+     * Grows all columns of the table such that the given number of rows fit.
+     */
+    abstract void ensureCapacity(int rows);
+
+    /**
+     * Resets the values of a recycled row that are not set when a new object is created.
+     */
+    abstract void clearRow(int row);
+
+    abstract T createView(int row);
+
+    /**
+     * @return the view of the given row. Each object has a single view, which is created when it is first needed.
+     */
+    final T view(int row) {
+        T view = views.get(row);
+        if (view == null) {
+            view = createView(row);
+            views.set(row, view);
+        }
+        return view;
+    }
+
+    /**
+     * @return the number of times the given row has been reused
+     */
+    final int generation(int row) {
+        return generations.get(row);
+    }
+
+    /**
+     * @return the given row if it still holds the object of a view created in the given generation
+     * @throws IllegalStateException if the object has been removed and its row has been reused since
+     */
+    final int checkRow(int row, int generation) {
+        if (generations.get(row) != generation) {
+            throw new IllegalStateException("View of a removed object is used after its row has been reused for object "
+                    + ids.get(row) + ".");
+        }
+        return row;
+    }
+
+    final int getId(int row) {
+        return ids.get(row);
+    }
+
+    /**
+     * @return the row of the contained object with the given id or -1
+     */
+    final int rowOf(int id) {
+        if (id < 0 || id >= rowById.capacity()) {
+            return -1;
+        }
+        return rowById.get(id);
+    }
+
+    final T get(int id) {
+        final int row = rowOf(id);
+        return row < 0 ? null : view(row);
+    }
+
+    /**
+     * Indexes the given row by its id. An object with the same id that was contained before is replaced.
+     */
+    final synchronized void index(int row) {
+        final int id = ids.get(row);
+        if (id < 0) {
+            throw new IllegalArgumentException("Columnar data store does not support negative id " + id);
+        }
+        rowById.ensureCapacity(id + 1);
+        final int previous = rowById.get(id);
+        rowById.set(id, row);
+        if (previous >= 0 && previous != row) {
+            markRemoved(previous);
+        }
+        containedIds.add(id);
+    }
+
+    final synchronized void remove(int id) {
+        final int row = rowOf(id);
+        if (row >= 0) {
+            containedIds.remove(id);
+            rowById.set(id, -1);
+            markRemoved(row);
+        }
+    }
+
+    private void markRemoved(int row) {
+        if (removedCount == removedRows.length) {
+            removedRows = Arrays.copyOf(removedRows, Math.max(16, removedCount * 2));
+        }
+        removedRows[removedCount++] = row;
+    }
+
+    /**
+     * Releases the rows of the objects that were removed since the last call, so that they are reused for new
+     * objects. Views of these objects must not be used anymore afterwards, they fail once their row has been reused.
+     * Rows of objects that were added again in the meantime are kept.
+     */
+    final synchronized void recycleRemovedRows() {
+        final BitSet recycled = new BitSet();
+        for (int i = 0; i < removedCount; i++) {
+            final int row = removedRows[i];
+            if (!recycled.get(row) && rowOf(ids.get(row)) != row) {
+                recycled.set(row);
+                if (freeCount == freeRows.length) {
+                    freeRows = Arrays.copyOf(freeRows, Math.max(16, freeCount * 2));
+                }
+                freeRows[freeCount++] = row;
+            }
+        }
+        removedRows = new int[0];
+        removedCount = 0;
+    }
+
+    final Collection<T> values() {
+        return values;
+    }
+
+    /**
+     * Iterates the contained objects in the order of the id set. The iteration is weakly consistent and tolerates
+     * concurrent modification.
+     */
+    private final class ContainedIterator implements Iterator<T> {
+
+        private final Iterator<Integer> idIterator = containedIds.iterator();
+        private T next = advance();
+
+        private T advance() {
+            while (idIterator.hasNext()) {
+                final int row = rowOf(idIterator.next());
+                if (row >= 0) {
+                    return view(row);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final T view = next;
+            next = advance();
+            return view;
+        }
+    }
+}
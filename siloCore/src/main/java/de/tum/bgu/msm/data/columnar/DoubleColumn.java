@@ -0,0 +1,33 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.Arrays;
+
+import static de.tum.bgu.msm.data.columnar.IntColumn.*;
+
+/**
+ * Paged column of primitive doubles, e.g. for coordinates. See {@link IntColumn}.
+ */
+final class DoubleColumn {
+
+    private volatile double[][] pages = new double[0][];
+
+    double get(int row) {
+        return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    void set(int row, double value) {
+        pages[row >>> PAGE_BITS][row & PAGE_MASK] = value;
+    }
+
+    synchronized void ensureCapacity(int rows) {
+        final double[][] current = pages;
+        final int neededPages = (rows + PAGE_MASK) >>> PAGE_BITS;
+        if (neededPages > current.length) {
+            final double[][] grown = Arrays.copyOf(current, neededPages);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new double[PAGE_SIZE];
+            }
+            pages = grown;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Paged column of primitive ints. Pages are never moved once allocated, i.e. values of existing rows
+ * can be read and written by different threads while the column grows.
+ */
+final class IntColumn {
+
+    static final int PAGE_BITS = 14;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int defaultValue;
+    private volatile int[][] pages = new int[0][];
+
+    IntColumn(int defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    int get(int row) {
+        return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    void set(int row, int value) {
+        pages[row >>> PAGE_BITS][row & PAGE_MASK] = value;
+    }
+
+    int capacity() {
+        return pages.length << PAGE_BITS;
+    }
+
+    synchronized void ensureCapacity(int rows) {
+        final int[][] current = pages;
+        final int neededPages = (rows + PAGE_MASK) >>> PAGE_BITS;
+        if (neededPages > current.length) {
+            final int[][] grown = Arrays.copyOf(current, neededPages);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new int[PAGE_SIZE];
+                if (defaultValue != 0) {
+                    Arrays.fill(grown[i], defaultValue);
+                }
+            }
+            pages = grown;
+        }
+    }
+}
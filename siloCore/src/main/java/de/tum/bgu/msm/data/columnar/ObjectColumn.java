@@ -0,0 +1,34 @@
+package de.tum.bgu.msm.data.columnar;
+
+import java.util.Arrays;
+
+import static de.tum.bgu.msm.data.columnar.IntColumn.*;
+
+/**
+ * Paged column of object references, e.g. for small primitive arrays per row. See {@link IntColumn}.
+ */
+final class ObjectColumn<T> {
+
+    private volatile Object[][] pages = new Object[0][];
+
+    @SuppressWarnings("unchecked")
+    T get(int row) {
+        return (T) pages[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    void set(int row, T value) {
+        pages[row >>> PAGE_BITS][row & PAGE_MASK] = value;
+    }
+
+    synchronized void ensureCapacity(int rows) {
+        final Object[][] current = pages;
+        final int neededPages = (rows + PAGE_MASK) >>> PAGE_BITS;
+        if (neededPages > current.length) {
+            final Object[][] grown = Arrays.copyOf(current, neededPages);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new Object[PAGE_SIZE];
+            }
+            pages = grown;
+        }
+    }
+}
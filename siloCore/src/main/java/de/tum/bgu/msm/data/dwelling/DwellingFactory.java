@@ -1,6 +1,6 @@
 package de.tum.bgu.msm.data.dwelling;
 
-
+import de.tum.bgu.msm.data.SnapshotAttributes;
 import org.locationtech.jts.geom.Coordinate;
 
 public interface DwellingFactory {
@@ -9,4 +9,11 @@ public interface DwellingFactory {
                             int hhId, DwellingType type, int bedrooms,
                             int quality, int price, int year);
 
+    /**
+     * @return the attributes of the created dwellings that micro data snapshots store in addition to the default ones
+     */
+    default SnapshotAttributes<Dwelling> getSnapshotAttributes() {
+        return SnapshotAttributes.none();
+    }
+
 }
@@ -6,6 +6,7 @@ import de.tum.bgu.msm.models.ModelUpdateListener;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 public interface RealEstateDataManager extends ModelUpdateListener {
 
@@ -13,16 +14,41 @@ public interface RealEstateDataManager extends ModelUpdateListener {
 
     Map<Integer, Float> getRentPaymentsForIncomeGroup(IncomeCategory incomeCategory);
 
+    /**
+     * Overrides the shares of rent categories paid by households of the given income category, which are otherwise
+     * calculated from the dwellings present at setup. Used when resuming from a snapshot.
+     */
+    void setRentPaymentsForIncomeGroup(IncomeCategory incomeCategory, Map<Integer, Float> rentPayments);
+
     int getNextDwellingId();
 
+    int getHighestDwellingIdInUse();
+
+    /**
+     * Overrides the highest dwelling id in use, which is otherwise derived from the dwellings present at setup.
+     * Used when resuming from a snapshot, as dwellings with higher ids may have been removed before.
+     */
+    void setHighestDwellingIdInUse(int highestDwellingId);
+
     Map<Integer, Double> getInitialQualShares();
 
+    /**
+     * Overrides the shares of dwellings by quality level in the base year, which are otherwise calculated from the
+     * dwellings present at setup. Used when resuming from a snapshot.
+     */
+    void setInitialQualShares(Map<Integer, Double> initialQualShares);
+
     Map<Integer, Double> getUpdatedQualityShares();
 
     List<Dwelling> getListOfVacantDwellingsInRegion(int region);
 
     int getNumberOfVacantDDinRegion(int region);
 
+    /**
+     * Draws up to the given number of distinct vacant dwellings of the given region in random order.
+     */
+    List<Dwelling> sampleVacantDwellingsInRegion(int region, int numberOfDwellings, Random random);
+
     List<DwellingType> getDwellingTypes();
 
     Dwelling getDwelling(int dwellingId);
@@ -4,6 +4,7 @@ import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multiset;
 import com.pb.common.datafile.TableDataSet;
+import de.tum.bgu.msm.data.VacancyIndex;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.data.development.Development;
 import de.tum.bgu.msm.data.development.DevelopmentImpl;
@@ -11,8 +12,10 @@ import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.household.HouseholdData;
 import de.tum.bgu.msm.data.household.HouseholdUtil;
 import de.tum.bgu.msm.data.household.IncomeCategory;
+import de.tum.bgu.msm.io.output.ColumnarDwellingWriter;
 import de.tum.bgu.msm.io.output.DefaultDwellingWriter;
 import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.properties.modules.MainProperties;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
 
@@ -56,7 +59,8 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
     private int highestDwellingIdInUse;
     private static final Map<IncomeCategory, Map<Integer, Float>> ddPriceByIncomeCategory = new EnumMap<>(IncomeCategory.class);
 
-    private Map<Integer, List<Dwelling>> vacDwellingsByRegion = new LinkedHashMap<>();
+    private final VacancyIndex<Dwelling> vacantDwellings = new VacancyIndex<>();
+    private final VacancyIndex<Dwelling>.Key vacantDwellingsByRegion;
 
     private double[] avePrice;
     private double[] aveVac;
@@ -73,6 +77,8 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
         this.properties = properties;
 
         this.dwellingTypes = Lists.newArrayList(dwellingTypes);
+
+        this.vacantDwellingsByRegion = vacantDwellings.addKey(dd -> geoData.getZones().get(dd.getZoneId()).getRegion().getId());
     }
 
     @Override
@@ -90,6 +96,7 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
 
     @Override
     public void prepareYear(int year) {
+        dwellingData.releaseRemovedObjects();
         calculateRegionWidePriceAndVacancyByDwellingType();
         updatedQualityShares.clear();
         Map<Integer, List<Dwelling>> sortedDds = dwellingData.getDwellings().stream().collect(Collectors.groupingBy(Dwelling::getQuality));
@@ -108,8 +115,12 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
                 + properties.realEstate.dwellingsFinalFileName
                 + "_"
                 + properties.main.endYear
-                + ".csv";
-        new DefaultDwellingWriter(this).writeDwellings(filedd);
+                + properties.main.microDataOutputFormat.getFileExtension();
+        if (properties.main.microDataOutputFormat == MainProperties.MicroDataFormat.COLUMNAR) {
+            new ColumnarDwellingWriter(this, properties.main.compressColumnarOutput).writeDwellings(filedd);
+        } else {
+            new DefaultDwellingWriter(this).writeDwellings(filedd);
+        }
     }
 
     @Override
@@ -117,36 +128,61 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
         return ddPriceByIncomeCategory.get(incomeCategory);
     }
 
+    @Override
+    public void setRentPaymentsForIncomeGroup(IncomeCategory incomeCategory, Map<Integer, Float> rentPayments) {
+        ddPriceByIncomeCategory.put(incomeCategory, rentPayments);
+    }
+
     @Override
     public int getNextDwellingId() {
         // increase highestDwellingIdInUse by 1 and return value
         return ++highestDwellingIdInUse;
     }
 
+    @Override
+    public int getHighestDwellingIdInUse() {
+        return highestDwellingIdInUse;
+    }
+
+    @Override
+    public void setHighestDwellingIdInUse(int highestDwellingId) {
+        this.highestDwellingIdInUse = highestDwellingId;
+    }
+
     @Override
     public Map<Integer, Double> getInitialQualShares() {
         return initialQualityShares;
     }
 
+    @Override
+    public void setInitialQualShares(Map<Integer, Double> initialQualShares) {
+        initialQualityShares.clear();
+        initialQualityShares.putAll(initialQualShares);
+    }
+
     @Override
     public Map<Integer, Double> getUpdatedQualityShares() {
         return updatedQualityShares;
     }
 
     /**
-     * Return array with IDs of vacant dwellings in region
+     * Return an unmodifiable view of the vacant dwellings in region. The order of the dwellings is arbitrary.
      * @param region
      * @return
      */
     @Override
     public List<Dwelling> getListOfVacantDwellingsInRegion(int region) {
-        return Collections.unmodifiableList(vacDwellingsByRegion.getOrDefault(region,
-                new ArrayList<>()));
+        return vacantDwellingsByRegion.get(region);
     }
 
     @Override
     public int getNumberOfVacantDDinRegion(int region) {
-        return vacDwellingsByRegion.getOrDefault(region, new ArrayList<>()).size();
+        return vacantDwellingsByRegion.count(region);
+    }
+
+    @Override
+    public List<Dwelling> sampleVacantDwellingsInRegion(int region, int numberOfDwellings, Random random) {
+        return vacantDwellingsByRegion.sample(region, numberOfDwellings, random);
     }
 
     @Override
@@ -184,9 +220,7 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
         for (Dwelling dd : dwellingData.getDwellings()) {
             if (dd.getResidentId() == -1) {
                 int dwellingId = dd.getId();
-                int region = geoData.getZones().get(dd.getZoneId()).getRegion().getId();
-                vacDwellingsByRegion.putIfAbsent(region, new ArrayList<>());
-                vacDwellingsByRegion.get(region).add(dd);
+                vacantDwellings.add(dd);
                 if (dwellingId == SiloUtil.trackDd) {
                     SiloUtil.trackWriter.println("Added dwelling " + dwellingId + " to list of vacant dwelling.");
                 }
@@ -266,22 +300,16 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
     @Override
     public void removeDwellingFromVacancyList(int ddId) {
 
-        boolean found = false;
-
         Dwelling dwelling = dwellingData.getDwelling(ddId);
-        int region = geoData.getZones().get(dwelling.getZoneId()).getRegion().getId();
-        List<Dwelling> vacDwellings = vacDwellingsByRegion.get(region);
-        if (vacDwellings != null) {
-            found = vacDwellings.remove(dwelling);
-            if (ddId == SiloUtil.trackDd) {
-                SiloUtil.trackWriter.println("Removed dwelling " + ddId +
-                        " from list of vacant dwellings.");
-            }
+        boolean found = vacantDwellings.remove(dwelling);
+        if (found && ddId == SiloUtil.trackDd) {
+            SiloUtil.trackWriter.println("Removed dwelling " + ddId +
+                    " from list of vacant dwellings.");
         }
 
         if (!found) {
             logger.warn("Consistency error: Could not find vacant dwelling "
-                    + ddId + " in vacDwellingsByRegion.");
+                    + ddId + " in vacantDwellings.");
         }
     }
 
@@ -292,9 +320,7 @@ public class RealEstateDataManagerImpl implements RealEstateDataManager {
     @Override
     public void addDwellingToVacancyList(Dwelling dd) {
 
-        int region = geoData.getZones().get(dd.getZoneId()).getRegion().getId();
-        vacDwellingsByRegion.putIfAbsent(region, new ArrayList<>());
-        vacDwellingsByRegion.get(region).add(dd);
+        vacantDwellings.add(dd);
         if (dd.getId() == SiloUtil.trackDd) {
             SiloUtil.trackWriter.println("Added dwelling " + dd.getId() +
                     " to list of vacant dwellings.");
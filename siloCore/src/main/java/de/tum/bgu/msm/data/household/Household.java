@@ -28,4 +28,11 @@ public interface Household extends Id {
     void setAutos(int autos);
 
     Map<String, Object> getAttributes();
+
+    /**
+     * @return cached aggregates over the members of this household or null if they are not cached
+     */
+    default HouseholdAggregates getAggregates() {
+        return null;
+    }
 }
@@ -0,0 +1,83 @@
+package de.tum.bgu.msm.data.household;
+
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.person.PersonRole;
+
+import java.util.Map;
+
+/**
+ * Aggregates over the members of a household (workers, children, license holders and income) that are
+ * calculated in a single pass on first use and cached until they are invalidated. The owning household has
+ * to invalidate them whenever a member is added or removed or the occupation, role, income or driver's license
+ * of a member changes.
+ */
+public final class HouseholdAggregates {
+
+    private final Map<Integer, ? extends Person> persons;
+    private volatile Values values;
+
+    public HouseholdAggregates(Map<Integer, ? extends Person> persons) {
+        this.persons = persons;
+    }
+
+    public void invalidate() {
+        values = null;
+    }
+
+    public int getNumberOfWorkers() {
+        return values().workers;
+    }
+
+    public int getNumberOfChildren() {
+        return values().children;
+    }
+
+    public int getLicenseHolders() {
+        return values().licenseHolders;
+    }
+
+    public int getAnnualIncome() {
+        return values().income;
+    }
+
+    private Values values() {
+        Values current = values;
+        if (current == null) {
+            current = new Values(persons);
+            values = current;
+        }
+        return current;
+    }
+
+    private static final class Values {
+
+        private final int workers;
+        private final int children;
+        private final int licenseHolders;
+        private final int income;
+
+        private Values(Map<Integer, ? extends Person> persons) {
+            int workers = 0;
+            int children = 0;
+            int licenseHolders = 0;
+            int income = 0;
+            for (Person person : persons.values()) {
+                if (person.getOccupation() == Occupation.EMPLOYED) {
+                    workers++;
+                }
+                if (person.getRole() == PersonRole.CHILD) {
+                    children++;
+                }
+                if (person.hasDriverLicense()) {
+                    licenseHolders++;
+                }
+                income += person.getAnnualIncome();
+            }
+            this.workers = workers;
+            this.children = children;
+            this.licenseHolders = licenseHolders;
+            this.income = income;
+        }
+    }
+}
@@ -20,4 +20,11 @@ public interface HouseholdData {
     void addPerson(Person person);
 
     void addHousehold(Household household);
+
+    /**
+     * Called by the data manager at the start of each year. Stores may reuse the memory of objects that were removed
+     * before, so references to removed objects must not be kept across years.
+     */
+    default void releaseRemovedObjects() {
+    }
 }
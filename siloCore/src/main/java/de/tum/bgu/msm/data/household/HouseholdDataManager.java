@@ -12,6 +12,17 @@ public interface HouseholdDataManager extends ModelUpdateListener {
 
     float getAverageIncome(Gender gender, int age, Occupation occupation);
 
+    /**
+     * Returns the average income by gender, age and occupation that was calculated from the persons present at setup.
+     */
+    float[][][] getInitialIncomeDistribution();
+
+    /**
+     * Overrides the average income by gender, age and occupation, which is otherwise calculated from the persons
+     * present at setup. Used when resuming from a snapshot.
+     */
+    void setInitialIncomeDistribution(float[][][] incomeDistribution);
+
     Household getHouseholdFromId(int householdId);
 
     Collection<Household> getHouseholds();
@@ -36,6 +47,13 @@ public interface HouseholdDataManager extends ModelUpdateListener {
 
     int getHighestPersonIdInUse();
 
+    /**
+     * Overrides the highest household and person ids in use, which are otherwise derived from the households and
+     * persons present at setup. Used when resuming from a snapshot, as entities with higher ids may have been
+     * removed before.
+     */
+    void setHighestIdsInUse(int highestHouseholdId, int highestPersonId);
+
     /**
      * Creates and saves a memento for the given household by duplicating its current state. A household will
      * only be saved once per year. This implies that the memento of a household will, at the end of the year,
@@ -23,9 +23,12 @@ import de.tum.bgu.msm.data.person.Gender;
 import de.tum.bgu.msm.data.person.Occupation;
 import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.data.person.PersonFactory;
+import de.tum.bgu.msm.io.output.ColumnarHouseholdWriter;
+import de.tum.bgu.msm.io.output.ColumnarPersonWriter;
 import de.tum.bgu.msm.io.output.DefaultHouseholdWriter;
 import de.tum.bgu.msm.io.output.DefaultPersonWriter;
 import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.properties.modules.MainProperties;
 import de.tum.bgu.msm.util.concurrent.ConcurrentExecutor;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
@@ -79,6 +82,7 @@ public class HouseholdDataManagerImpl implements HouseholdDataManager {
 
     @Override
     public void prepareYear(int year) {
+        householdData.releaseRemovedObjects();
     }
 
     @Override
@@ -90,15 +94,20 @@ public class HouseholdDataManagerImpl implements HouseholdDataManager {
     @Override
     public void endSimulation() {
         final String outputDirectory = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName;
+        final MainProperties.MicroDataFormat format = properties.main.microDataOutputFormat;
         String filehh = outputDirectory +"/"+ properties.householdData.householdFinalFileName + "_"
                 + properties.main.endYear
-                + ".csv";
-        new DefaultHouseholdWriter(this).writeHouseholds(filehh);
-
+                + format.getFileExtension();
         String filepp = outputDirectory +"/"+ properties.householdData.personFinalFileName + "_"
                 + properties.main.endYear
-                + ".csv";
-        new DefaultPersonWriter(householdData).writePersons(filepp);
+                + format.getFileExtension();
+        if (format == MainProperties.MicroDataFormat.COLUMNAR) {
+            new ColumnarHouseholdWriter(this, properties.main.compressColumnarOutput).writeHouseholds(filehh);
+            new ColumnarPersonWriter(householdData, properties.main.compressColumnarOutput).writePersons(filepp);
+        } else {
+            new DefaultHouseholdWriter(this).writeHouseholds(filehh);
+            new DefaultPersonWriter(householdData).writePersons(filepp);
+        }
     }
 
     @Override
@@ -106,6 +115,16 @@ public class HouseholdDataManagerImpl implements HouseholdDataManager {
         return avgIncomeByGenderByAgeByOccupation[gender.ordinal()][age][occupation==Occupation.EMPLOYED?1:0];
     }
 
+    @Override
+    public float[][][] getInitialIncomeDistribution() {
+        return avgIncomeByGenderByAgeByOccupation;
+    }
+
+    @Override
+    public void setInitialIncomeDistribution(float[][][] incomeDistribution) {
+        this.avgIncomeByGenderByAgeByOccupation = incomeDistribution;
+    }
+
     @Override
     public Household getHouseholdFromId(int householdId) {
         return householdData.getHousehold(householdId);
@@ -182,6 +201,12 @@ public class HouseholdDataManagerImpl implements HouseholdDataManager {
         return highestPersonIdInUse;
     }
 
+    @Override
+    public void setHighestIdsInUse(int highestHouseholdId, int highestPersonId) {
+        this.highestHouseholdIdInUse = highestHouseholdId;
+        this.highestPersonIdInUse = highestPersonId;
+    }
+
     @Override
     public void removeHousehold(int householdId) {
         // remove household and add dwelling to vacancy list
@@ -1,8 +1,17 @@
 package de.tum.bgu.msm.data.household;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public interface HouseholdFactory {
 
     Household createHousehold(int id, int dwellingID, int autos);
 
     Household duplicate(Household original, int nextHouseholdId);
+
+    /**
+     * @return the attributes of the created households that micro data snapshots store in addition to the default ones
+     */
+    default SnapshotAttributes<Household> getSnapshotAttributes() {
+        return SnapshotAttributes.none();
+    }
 }
@@ -36,9 +36,10 @@ public class HouseholdImpl implements Household {
     private int dwellingId;
 
     private int autos;
-    private HouseholdType type;
+    private volatile HouseholdType type;
 
     private final Map<Integer, Person> persons;
+    private final HouseholdAggregates aggregates;
 
     private final Map<String, Object> attributes = new HashMap<>();
 
@@ -47,6 +48,7 @@ public class HouseholdImpl implements Household {
         this.dwellingId = dwellingID;
         this.autos = autos;
         persons = new LinkedHashMap<>(10);
+        aggregates = new HouseholdAggregates(persons);
     }
 
     @Override
@@ -76,12 +78,21 @@ public class HouseholdImpl implements Household {
 
     @Override
     public HouseholdType getHouseholdType() {
-        return type;
+        HouseholdType current = type;
+        if (current == null) {
+            current = HouseholdUtil.defineHouseholdType(this);
+            type = current;
+        }
+        return current;
     }
 
+    /**
+     * Invalidates the household type and the cached aggregates. Both are recalculated on next access.
+     */
     @Override
     public void updateHouseholdType() {
-        this.type = HouseholdUtil.defineHouseholdType(this);
+        aggregates.invalidate();
+        this.type = null;
     }
 
     @Override
@@ -113,6 +124,11 @@ public class HouseholdImpl implements Household {
         return attributes;
     }
 
+    @Override
+    public HouseholdAggregates getAggregates() {
+        return aggregates;
+    }
+
     @Override
     public String toString() {
         return  "Attributes of household " + hhId
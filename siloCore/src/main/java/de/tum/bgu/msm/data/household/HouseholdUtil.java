@@ -24,18 +24,34 @@ public class HouseholdUtil {
     }
 
     public static int getNumberOfWorkers(Household household) {
+        final HouseholdAggregates aggregates = household.getAggregates();
+        if (aggregates != null) {
+            return aggregates.getNumberOfWorkers();
+        }
         return (int) household.getPersons().values().stream().filter(p -> p.getOccupation() == Occupation.EMPLOYED).count();
     }
 
     public static int getNumberOfChildren(Household household) {
+        final HouseholdAggregates aggregates = household.getAggregates();
+        if (aggregates != null) {
+            return aggregates.getNumberOfChildren();
+        }
         return (int) household.getPersons().values().stream().filter(p -> p.getRole() == PersonRole.CHILD).count();
     }
 
     public static int getHHLicenseHolders(Household household) {
+        final HouseholdAggregates aggregates = household.getAggregates();
+        if (aggregates != null) {
+            return aggregates.getLicenseHolders();
+        }
         return (int) household.getPersons().values().stream().filter(Person::hasDriverLicense).count();
     }
 
     public static int getAnnualHhIncome(Household household) {
+        final HouseholdAggregates aggregates = household.getAggregates();
+        if (aggregates != null) {
+            return aggregates.getAnnualIncome();
+        }
         return household.getPersons().values().stream().mapToInt(Person::getAnnualIncome).sum();
     }
 
@@ -10,4 +10,11 @@ public interface JobData {
     void removeJob(int id);
 
     void addJob(Job jj);
+
+    /**
+     * Called by the data manager at the start of each year. Stores may reuse the memory of objects that were removed
+     * before, so references to removed objects must not be kept across years.
+     */
+    default void releaseRemovedObjects() {
+    }
 }
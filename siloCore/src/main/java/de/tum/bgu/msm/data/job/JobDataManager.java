@@ -2,6 +2,7 @@ package de.tum.bgu.msm.data.job;
 
 import de.tum.bgu.msm.data.Region;
 import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityCache;
 import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.models.ModelUpdateListener;
 
@@ -19,12 +20,26 @@ public interface JobDataManager extends ModelUpdateListener {
 
     List<Integer> getNextJobIds(int amount);
 
+    int getHighestJobIdInUse();
+
+    /**
+     * Overrides the highest job id in use, which is otherwise derived from the jobs present at setup.
+     * Used when resuming from a snapshot, as jobs with higher ids may have been removed before.
+     */
+    void setHighestJobIdInUse(int highestJobId);
+
     float getJobForecast(int year, int zone, String jobType);
 
     void quitJob(boolean makeJobAvailableToOthers, Person person);
 
     Job findVacantJob(Zone homeZone, Collection<Region> regions);
 
+    int getNumberOfVacantJobsInRegion(int region);
+
+    int getNumberOfVacantJobsInZone(int zone);
+
+    CommutingTimeProbabilityCache getCommutingTimeProbabilityCache();
+
     double getJobDensityInZone(int zone);
 
     int getJobDensityCategoryOfZone(int zone);
@@ -21,15 +21,19 @@ import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.Multiset;
 import com.pb.common.datafile.TableDataSet;
 import de.tum.bgu.msm.data.Region;
+import de.tum.bgu.msm.data.VacancyIndex;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
+import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityCache;
 import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.person.Occupation;
 import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
+import de.tum.bgu.msm.io.output.ColumnarJobWriter;
 import de.tum.bgu.msm.io.output.DefaultJobWriter;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.properties.modules.JobDataProperties;
+import de.tum.bgu.msm.properties.modules.MainProperties;
 import de.tum.bgu.msm.simulator.UpdateListener;
 import de.tum.bgu.msm.utils.SampleException;
 import de.tum.bgu.msm.utils.Sampler;
@@ -57,11 +61,17 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
 
     private final JobData jobData;
     private final TravelTimes travelTimes;
-    private final CommutingTimeProbability commutingTimeProbability;
+    private final CommutingTimeProbabilityCache commutingTimeProbabilityCache;
 
     private int highestJobIdInUse;
 
-    private final Map<Integer, List<Job>> vacantJobsByRegion = new LinkedHashMap<>();
+    private final VacancyIndex<Job> vacantJobs = new VacancyIndex<>();
+    private final VacancyIndex<Job>.Key vacantJobsByRegion;
+    private final VacancyIndex<Job>.Key vacantJobsByZone;
+    /**
+     * Vacant jobs are tracked once they have been identified during setup.
+     */
+    private boolean vacanciesIdentified = false;
     private final Map<Integer, Double> zonalJobDensity;
 
     private final Map<Integer, Map<Integer,Map<String,Float>>> jobsByYearByZoneByIndustry = new ConcurrentHashMap<>();
@@ -74,8 +84,11 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         this.jobFactory = jobFactory;
         this.jobData = jobData;
         this.travelTimes = travelTimes;
-        this.commutingTimeProbability = commutingTimeProbability;
+        this.commutingTimeProbabilityCache = new CommutingTimeProbabilityCache(geoData, travelTimes, commutingTimeProbability, properties);
         this.zonalJobDensity = new HashMap<>();
+
+        this.vacantJobsByRegion = vacantJobs.addKey(jj -> geoData.getZones().get(jj.getZoneId()).getRegion().getId());
+        this.vacantJobsByZone = vacantJobs.addKey(Job::getZoneId);
     }
 
     @Override
@@ -87,7 +100,9 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
 
     @Override
     public void prepareYear(int year) {
+        jobData.releaseRemovedObjects();
         calculateJobDensityByZone();
+        commutingTimeProbabilityCache.prepareYear(year);
     }
 
     @Override
@@ -99,8 +114,17 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         String filejj = outputDirectory
                 + properties.jobData.jobsFinalFileName
                 + "_"
-                + properties.main.endYear + ".csv";
-        new DefaultJobWriter(this).writeJobs(filejj);
+                + properties.main.endYear + properties.main.microDataOutputFormat.getFileExtension();
+        if (properties.main.microDataOutputFormat == MainProperties.MicroDataFormat.COLUMNAR) {
+            new ColumnarJobWriter(this, properties.main.compressColumnarOutput).writeJobs(filejj);
+        } else {
+            new DefaultJobWriter(this).writeJobs(filejj);
+        }
+    }
+
+    @Override
+    public CommutingTimeProbabilityCache getCommutingTimeProbabilityCache() {
+        return commutingTimeProbabilityCache;
     }
 
     @Override
@@ -114,7 +138,11 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
     }
     
     @Override
-    public void removeJob(int id) {
+    public synchronized void removeJob(int id) {
+        Job job = jobData.get(id);
+        if (job != null && vacanciesIdentified && vacantJobs.remove(job) && id == SiloUtil.trackJj) {
+            SiloUtil.trackWriter.println("Removed job " + id + " from list of vacant jobs.");
+        }
         jobData.removeJob(id);
     }
 
@@ -141,6 +169,16 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         return ids;
     }
 
+    @Override
+    public int getHighestJobIdInUse() {
+        return highestJobIdInUse;
+    }
+
+    @Override
+    public void setHighestJobIdInUse(int highestJobId) {
+        this.highestJobIdInUse = highestJobId;
+    }
+
     private void calculateEmploymentForecast() {
         if (properties.jobData.jobForecastMethod.equals(JobDataProperties.JobForecastMethod.INTERPOLATION)) {
             interpolateEmploymentForecast();
@@ -297,16 +335,10 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         logger.info("  Identifying vacant jobs");
         for (Job jj : jobData.getJobs()) {
             if (jj.getWorkerId() == -1) {
-                int region = geoData.getZones().get(jj.getZoneId()).getRegion().getId();
-
-                vacantJobsByRegion.putIfAbsent(region, new ArrayList<>());
-                vacantJobsByRegion.get(region).add(jj);
-
-                if (jj.getId() == SiloUtil.trackJj) {
-                    SiloUtil.trackWriter.println("Added job " + jj.getId() + " to list of vacant jobs.");
-                }
+                addJobToVacancyList(jj);
             }
         }
+        vacanciesIdentified = true;
     }
 
     /**
@@ -315,7 +347,7 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
      * @param person
      */
     @Override
-    public void quitJob(boolean makeJobAvailableToOthers, Person person) {
+    public synchronized void quitJob(boolean makeJobAvailableToOthers, Person person) {
         // <makeJobAvailableToOthers> is false if this job disappears from the job market
         if (person == null) {
             return;
@@ -332,12 +364,18 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         //todo: think about smarter retirement/social welfare algorithm to adjust income after employee leaves work.
     }
     
-    private int getNumberOfVacantJobsByRegion(int region) {
-        return vacantJobsByRegion.getOrDefault(region, Collections.EMPTY_LIST).size();
+    @Override
+    public int getNumberOfVacantJobsInRegion(int region) {
+        return vacantJobsByRegion.count(region);
     }
-    
+
+    @Override
+    public int getNumberOfVacantJobsInZone(int zone) {
+        return vacantJobsByZone.count(zone);
+    }
+
     @Override
-    public Job findVacantJob(Zone homeZone, Collection<Region> regions) {
+    public synchronized Job findVacantJob(Zone homeZone, Collection<Region> regions) {
         // select vacant job for person living in homeZone
 
         Sampler<Region> regionSampler = new Sampler<>(regions.size(), Region.class, SiloUtil.getRandomObject());
@@ -345,19 +383,17 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         if (homeZone != null) {
             // person has home location (i.e., is not inmigrating right now)
             for (Region reg : regions) {
-                int numberOfVacantJobs = getNumberOfVacantJobsByRegion(reg.getId());
+                int numberOfVacantJobs = getNumberOfVacantJobsInRegion(reg.getId());
                 if (numberOfVacantJobs > 0) {
-                    int travelTime_min = (int) ((travelTimes.getTravelTimeToRegion(homeZone, reg,
-                            properties.transportModel.peakHour_s, TransportMode.car) + 0.5) / 60.);
                     //todo make region probability sensitve to mode choice to find a vacant job
-                    final double prob = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, travelTime_min), TransportMode.car) * (double) numberOfVacantJobs;
+                    final double prob = commutingTimeProbabilityCache.getCommutingTimeProbabilityToRegion(homeZone, reg, TransportMode.car) * (double) numberOfVacantJobs;
                     regionSampler.incrementalAdd(reg, prob);
                 }
             }
             if (regionSampler.getCumulatedProbability() == 0) {
                 // could not find job in reasonable distance. Person will have to commute far and is likely to relocate in the future
                 for (Region reg : regions) {
-                    if (getNumberOfVacantJobsByRegion(reg.getId()) > 0) {
+                    if (getNumberOfVacantJobsInRegion(reg.getId()) > 0) {
                         int travelTime_min = (int) ((travelTimes.getTravelTimeToRegion(homeZone, reg,
                                 properties.transportModel.peakHour_s, TransportMode.car) + 0.5) / 60.);
                         final double prob = 1. / Math.max(1, travelTime_min);
@@ -368,7 +404,7 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
         } else {
             // person has no home location because (s)he is inmigrating right now and a dwelling has not been chosen yet
             for (Region reg : regions) {
-                int numberOfJobs = getNumberOfVacantJobsByRegion(reg.getId());
+                int numberOfJobs = getNumberOfVacantJobsInRegion(reg.getId());
                 if (numberOfJobs > 0) {
                     regionSampler.incrementalAdd(reg, (double) numberOfJobs);
                 }
@@ -386,8 +422,8 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
             e.printStackTrace();
         }
 
-        List<Job> eligibleJobs = vacantJobsByRegion.get(selectedRegion);
-        Job selectedJob = eligibleJobs.remove(SiloUtil.getRandomObject().nextInt(eligibleJobs.size()));
+        Job selectedJob = vacantJobsByRegion.sampleOne(selectedRegion, SiloUtil.getRandomObject());
+        vacantJobs.remove(selectedJob);
 
         if (selectedJob.getId() == SiloUtil.trackJj) {
             SiloUtil.trackWriter.println("Removed job " + selectedJob.getId() + " from list of vacant jobs.");
@@ -401,15 +437,10 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
      * @param job
      */
     private void addJobToVacancyList(Job job) {
-
-        int region = geoData.getZones().get(job.getZoneId()).getRegion().getId();
-        vacantJobsByRegion.putIfAbsent(region, new ArrayList<>());
-        vacantJobsByRegion.get(region).add(job);
-
-        if (job.getId() == SiloUtil.trackJj) {
+        if (vacantJobs.add(job) && job.getId() == SiloUtil.trackJj) {
             SiloUtil.trackWriter.println("Added job " + job.getId() + " to list of vacant jobs.");
         }
-        }
+    }
 
 
 
@@ -440,8 +471,11 @@ public class JobDataManagerImpl implements UpdateListener, JobDataManager {
     }
 
     @Override
-    public void addJob(Job jj) {
+    public synchronized void addJob(Job jj) {
         this.jobData.addJob(jj);
+        if (vacanciesIdentified && jj.getWorkerId() == -1) {
+            addJobToVacancyList(jj);
+        }
     }
 
     @Override
@@ -1,8 +1,15 @@
 package de.tum.bgu.msm.data.job;
 
-
+import de.tum.bgu.msm.data.SnapshotAttributes;
 import org.locationtech.jts.geom.Coordinate;
 
 public interface JobFactory {
     Job createJob(int id, int zoneId, Coordinate coordinate, int workerId, String type);
+
+    /**
+     * @return the attributes of the created jobs that micro data snapshots store in addition to the default ones
+     */
+    default SnapshotAttributes<Job> getSnapshotAttributes() {
+        return SnapshotAttributes.none();
+    }
 }
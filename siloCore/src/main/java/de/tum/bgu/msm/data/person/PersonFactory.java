@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.person;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public interface PersonFactory {
     Person createPerson(int id, int age, Gender gender, Occupation occupation, PersonRole role,
                         int workplace, int income);
@@ -7,4 +9,11 @@ public interface PersonFactory {
     Person giveBirth(Person parent, int id, Gender gender);
 
     Person duplicate(Person originalPerson, int nextPersonId);
+
+    /**
+     * @return the attributes of the created persons that micro data snapshots store in addition to the default ones
+     */
+    default SnapshotAttributes<Person> getSnapshotAttributes() {
+        return SnapshotAttributes.none();
+    }
 }
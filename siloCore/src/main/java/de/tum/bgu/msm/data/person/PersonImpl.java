@@ -48,6 +48,7 @@ public class PersonImpl implements Person {
     @Override
     public void setRole(PersonRole pr) {
         this.role = pr;
+        invalidateHouseholdAggregates();
     }
 
     @Override
@@ -70,6 +71,7 @@ public class PersonImpl implements Person {
     @Override
     public void setOccupation(Occupation newOccupation) {
         this.occupation = newOccupation;
+        invalidateHouseholdAggregates();
     }
 
     @Override
@@ -113,11 +115,20 @@ public class PersonImpl implements Person {
     }
 
     @Override
-    public void setDriverLicense(boolean driverLicense){ this.driverLicense = driverLicense;}
+    public void setDriverLicense(boolean driverLicense){
+        this.driverLicense = driverLicense;
+        invalidateHouseholdAggregates();
+    }
 
     @Override
     public boolean hasDriverLicense() { return driverLicense; }
 
+    private void invalidateHouseholdAggregates() {
+        if (household != null && household.getAggregates() != null) {
+            household.getAggregates().invalidate();
+        }
+    }
+
     @Override
     public String toString() {
         return "+++ Person " + id
@@ -0,0 +1,42 @@
+package de.tum.bgu.msm.data.travelTimes;
+
+import de.tum.bgu.msm.data.Location;
+
+import java.util.List;
+
+/**
+ * Travel times that can be queried for one origin and several destinations at once. Implementations may answer
+ * such a query with a single one-to-many search instead of one search per destination.
+ */
+public interface BatchTravelTimes extends TravelTimes {
+
+    /**
+     * Returns the travel times from the origin to every destination, in the order of the destinations.
+     */
+    default double[] getTravelTimes(Location origin, List<? extends Location> destinations, double timeOfDay_s, String mode) {
+        final double[] travelTimes = new double[destinations.size()];
+        for (int i = 0; i < travelTimes.length; i++) {
+            travelTimes[i] = getTravelTime(origin, destinations.get(i), timeOfDay_s, mode);
+        }
+        return travelTimes;
+    }
+
+    /**
+     * Returns the travel times from the origin to every destination, in a single query if the given travel times
+     * support it.
+     */
+    static double[] getTravelTimes(TravelTimes travelTimes, Location origin, List<? extends Location> destinations,
+                                   double timeOfDay_s, String mode) {
+        if (destinations.isEmpty()) {
+            return new double[0];
+        } else if (travelTimes instanceof BatchTravelTimes) {
+            return ((BatchTravelTimes) travelTimes).getTravelTimes(origin, destinations, timeOfDay_s, mode);
+        } else {
+            final double[] result = new double[destinations.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = travelTimes.getTravelTime(origin, destinations.get(i), timeOfDay_s, mode);
+            }
+            return result;
+        }
+    }
+}
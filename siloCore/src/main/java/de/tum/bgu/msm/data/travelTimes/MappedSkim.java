@@ -0,0 +1,295 @@
+package de.tum.bgu.msm.data.travelTimes;
+
+import de.tum.bgu.msm.data.Id;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only zone to zone skim that is stored as little-endian float32 or float64 values in a file and
+ * memory-mapped into the address space. The values are not held on the heap, all readers share the same pages of
+ * the operating system's file cache and reading is thread-safe. Float32 halves the size of the file but rounds the
+ * values, float64 keeps them exactly.
+ *
+ * File layout: a header (magic number, version, number of rows and columns, bytes per value, the size and
+ * modification time of the source file and the factor applied to the source values), followed by the row ids,
+ * the column ids and the values row by row.
+ */
+public final class MappedSkim {
+
+    private static final int MAGIC = 0x534B4D31;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + 3 * Long.BYTES;
+
+    /**
+     * Upper bound of a single mapping, as {@link FileChannel#map} is limited to 2 GB.
+     */
+    private static final long MAX_BYTES_PER_CHUNK = 1L << 30;
+
+    private final int rows;
+    private final int columns;
+    private final int[] rowIds;
+    private final int[] columnIds;
+    private final int[] rowIndexById;
+    private final int[] columnIndexById;
+    private final int valueBytes;
+    private final int rowsPerChunk;
+    private final ByteBuffer[] chunks;
+
+    private final long sourceLength;
+    private final long sourceLastModified;
+    private final double factor;
+
+    private MappedSkim(int[] rowIds, int[] columnIds, int valueBytes, int rowsPerChunk, ByteBuffer[] chunks,
+                       long sourceLength, long sourceLastModified, double factor) {
+        this.rows = rowIds.length;
+        this.columns = columnIds.length;
+        this.rowIds = rowIds;
+        this.columnIds = columnIds;
+        this.rowIndexById = indexById(rowIds);
+        this.columnIndexById = indexById(columnIds);
+        this.valueBytes = valueBytes;
+        this.rowsPerChunk = rowsPerChunk;
+        this.chunks = chunks;
+        this.sourceLength = sourceLength;
+        this.sourceLastModified = sourceLastModified;
+        this.factor = factor;
+    }
+
+    /**
+     * Writes the given matrix into a skim file with float32 values.
+     *
+     * @see #write(IndexedDoubleMatrix2D, Path, long, long, double, boolean)
+     */
+    public static void write(IndexedDoubleMatrix2D matrix, Path path,
+                             long sourceLength, long sourceLastModified, double factor) {
+        write(matrix, path, sourceLength, sourceLastModified, factor, false);
+    }
+
+    /**
+     * Writes the given matrix into a skim file. The file is written to a temporary file first and then moved to
+     * the given path, so that neither an interrupted conversion nor several runs converting the same skim at the
+     * same time leave a truncated skim behind.
+     *
+     * @param matrix             the skim to write
+     * @param path               the file to write to. Existing files are replaced.
+     * @param sourceLength       size in bytes of the file the skim was read from, or -1
+     * @param sourceLastModified modification time of the file the skim was read from, or -1
+     * @param factor             the factor that was applied to the values of the source file
+     * @param doublePrecision    whether to write float64 instead of float32 values
+     */
+    public static void write(IndexedDoubleMatrix2D matrix, Path path,
+                             long sourceLength, long sourceLastModified, double factor, boolean doublePrecision) {
+        final int valueBytes = doublePrecision ? Double.BYTES : Float.BYTES;
+        final int rows = matrix.rows();
+        final int columns = matrix.columns();
+        final int[] rowIds = new int[rows];
+        final int[] columnIds = new int[columns];
+        for (int i = 0; i < rows; i++) {
+            rowIds[i] = matrix.getIdForInternalRowIndex(i);
+        }
+        for (int j = 0; j < columns; j++) {
+            columnIds[j] = matrix.getIdForInternalColumnIndex(j);
+        }
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            final Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + Integer.BYTES * (rows + columns))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns).putInt(valueBytes);
+                header.putLong(sourceLength).putLong(sourceLastModified).putDouble(factor);
+                for (int id : rowIds) {
+                    header.putInt(id);
+                }
+                for (int id : columnIds) {
+                    header.putInt(id);
+                }
+                header.flip();
+                writeFully(channel, header);
+
+                final ByteBuffer row = ByteBuffer.allocate(valueBytes * columns).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < rows; i++) {
+                    row.clear();
+                    for (int j = 0; j < columns; j++) {
+                        if (doublePrecision) {
+                            row.putDouble(matrix.getIndexed(rowIds[i], columnIds[j]));
+                        } else {
+                            row.putFloat((float) matrix.getIndexed(rowIds[i], columnIds[j]));
+                        }
+                    }
+                    row.flip();
+                    writeFully(channel, row);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write skim file " + path, e);
+        }
+    }
+
+    /**
+     * Maps the given skim file read-only into memory.
+     */
+    public static MappedSkim open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new RuntimeException("File " + path + " is not a skim file of version " + VERSION);
+            }
+            final int rows = header.getInt();
+            final int columns = header.getInt();
+            final int valueBytes = header.getInt();
+            if (valueBytes != Float.BYTES && valueBytes != Double.BYTES) {
+                throw new RuntimeException("Skim file " + path + " has an invalid number of bytes per value: " + valueBytes);
+            }
+            final long sourceLength = header.getLong();
+            final long sourceLastModified = header.getLong();
+            final double factor = header.getDouble();
+
+            final ByteBuffer ids = ByteBuffer.allocate(Integer.BYTES * (rows + columns)).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, ids, HEADER_BYTES);
+            ids.flip();
+            final int[] rowIds = new int[rows];
+            final int[] columnIds = new int[columns];
+            for (int i = 0; i < rows; i++) {
+                rowIds[i] = ids.getInt();
+            }
+            for (int j = 0; j < columns; j++) {
+                columnIds[j] = ids.getInt();
+            }
+
+            final long dataOffset = HEADER_BYTES + (long) Integer.BYTES * (rows + columns);
+            final long bytesPerRow = (long) valueBytes * columns;
+            if (channel.size() < dataOffset + bytesPerRow * rows) {
+                throw new RuntimeException("Skim file " + path + " is truncated");
+            }
+            final int rowsPerChunk = (int) Math.max(1, Math.min(rows, MAX_BYTES_PER_CHUNK / Math.max(1, bytesPerRow)));
+            final ByteBuffer[] chunks = new ByteBuffer[rows == 0 ? 0 : (rows + rowsPerChunk - 1) / rowsPerChunk];
+            for (int c = 0; c < chunks.length; c++) {
+                final int rowsInChunk = Math.min(rowsPerChunk, rows - c * rowsPerChunk);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        dataOffset + c * rowsPerChunk * bytesPerRow, rowsInChunk * bytesPerRow)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedSkim(rowIds, columnIds, valueBytes, rowsPerChunk, chunks, sourceLength, sourceLastModified, factor);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not map skim file " + path, e);
+        }
+    }
+
+    public double getIndexed(int rowId, int columnId) {
+        final int row = lookup(rowIndexById, rowId);
+        final int column = lookup(columnIndexById, columnId);
+        final ByteBuffer chunk = chunks[row / rowsPerChunk];
+        final int offset = ((row % rowsPerChunk) * columns + column) * valueBytes;
+        return valueBytes == Double.BYTES ? chunk.getDouble(offset) : chunk.getFloat(offset);
+    }
+
+    /**
+     * Copies all values into a new on-heap matrix.
+     */
+    public IndexedDoubleMatrix2D toMatrix() {
+        return toMatrix(toKeys(rowIds), toKeys(columnIds));
+    }
+
+    /**
+     * Copies the values for the given rows and columns into a new on-heap matrix.
+     */
+    public IndexedDoubleMatrix2D toMatrix(Collection<? extends Id> rowKeys,
+                                          Collection<? extends Id> columnKeys) {
+        final IndexedDoubleMatrix2D matrix = new IndexedDoubleMatrix2D(rowKeys, columnKeys);
+        for (Id row : rowKeys) {
+            for (Id column : columnKeys) {
+                matrix.setIndexed(row.getId(), column.getId(), getIndexed(row.getId(), column.getId()));
+            }
+        }
+        return matrix;
+    }
+
+    public int[] getRowIds() {
+        return rowIds.clone();
+    }
+
+    public int[] getColumnIds() {
+        return columnIds.clone();
+    }
+
+    public long getSourceLength() {
+        return sourceLength;
+    }
+
+    public long getSourceLastModified() {
+        return sourceLastModified;
+    }
+
+    public double getFactor() {
+        return factor;
+    }
+
+    /**
+     * @return whether the values are stored as float64 instead of float32
+     */
+    public boolean isDoublePrecision() {
+        return valueBytes == Double.BYTES;
+    }
+
+    private static List<Id> toKeys(int[] ids) {
+        final List<Id> keys = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            keys.add(new Id() {
+                @Override
+                public int getId() {
+                    return id;
+                }
+            });
+        }
+        return keys;
+    }
+
+    private static int lookup(int[] indexById, int id) {
+        if (id < 0 || id >= indexById.length || indexById[id] < 0) {
+            throw new RuntimeException("Zone " + id + " is not part of the skim.");
+        }
+        return indexById[id];
+    }
+
+    private static int[] indexById(int[] ids) {
+        final int highestId = Arrays.stream(ids).max().orElse(-1);
+        final int[] indexById = new int[highestId + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < ids.length; i++) {
+            indexById[ids[i]] = i;
+        }
+        return indexById;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+}
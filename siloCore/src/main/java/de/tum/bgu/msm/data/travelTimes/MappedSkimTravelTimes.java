@@ -0,0 +1,116 @@
+package de.tum.bgu.msm.data.travelTimes;
+
+import de.tum.bgu.msm.data.Location;
+import de.tum.bgu.msm.data.Region;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import org.apache.log4j.Logger;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zone to zone travel times based on skims that are kept in memory-mapped float files (see {@link MappedSkim})
+ * instead of on-heap double matrices. OMX skims are converted once into the {@link SkimCache}, later years and
+ * runs map the converted file directly without reading the OMX file again.
+ *
+ * Skims are never modified once mapped, updating a mode replaces its skim as a whole. All duplicates therefore
+ * share the same skims and {@link #duplicate()} returns this instance.
+ */
+public class MappedSkimTravelTimes implements TravelTimes {
+
+    private static final Logger logger = Logger.getLogger(MappedSkimTravelTimes.class);
+
+    private final Map<String, MappedSkim> skimsByMode = new ConcurrentHashMap<>();
+    private final Map<String, RegionalTravelTimes> regionalTravelTimesByMode = new ConcurrentHashMap<>();
+    private final Map<String, SoftReference<IndexedDoubleMatrix2D>> peakSkimsByMode = new ConcurrentHashMap<>();
+
+    private volatile Collection<Zone> zones;
+
+    /**
+     * Replaces the skim of the given mode. Regional travel times have to be updated afterwards.
+     */
+    public void updateSkim(MappedSkim skim, String mode) {
+        skimsByMode.put(mode, skim);
+        peakSkimsByMode.remove(mode);
+    }
+
+    /**
+     * Updates the minimal travel times between every zone and region for all modes.
+     */
+    public void updateRegionalTravelTimes(Collection<Region> regions, Collection<Zone> zones) {
+        logger.info("Updating minimal zone to region travel times...");
+        this.zones = new ArrayList<>(zones);
+        final Map<String, RegionalTravelTimes.Skim> skims = new LinkedHashMap<>();
+        for (Map.Entry<String, MappedSkim> entry : skimsByMode.entrySet()) {
+            skims.put(entry.getKey(), entry.getValue()::getIndexed);
+        }
+        regionalTravelTimesByMode.putAll(RegionalTravelTimes.calculate(skims, regions, zones));
+    }
+
+    @Override
+    public double getTravelTime(Location origin, Location destination, double timeOfDay_s, String mode) {
+        return getSkim(mode).getIndexed(origin.getZoneId(), destination.getZoneId());
+    }
+
+    @Override
+    public double getTravelTimeFromRegion(Region region, Zone zone, double timeOfDay_s, String mode) {
+        return getRegionalTravelTimes(mode).getTravelTimeFromRegion(region, zone);
+    }
+
+    @Override
+    public double getTravelTimeToRegion(Zone zone, Region region, double timeOfDay_s, String mode) {
+        return getRegionalTravelTimes(mode).getTravelTimeToRegion(zone, region);
+    }
+
+    /**
+     * Returns the skim of the given mode as an on-heap matrix over all zones. The matrix is copied from the mapped
+     * skim on first use and may be dropped by the garbage collector when memory gets short.
+     */
+    @Override
+    public IndexedDoubleMatrix2D getPeakSkim(String mode) {
+        final SoftReference<IndexedDoubleMatrix2D> reference = peakSkimsByMode.get(mode);
+        IndexedDoubleMatrix2D matrix = reference == null ? null : reference.get();
+        if (matrix == null) {
+            if (zones == null) {
+                throw new RuntimeException("Regional travel times have to be updated before requesting a peak skim.");
+            }
+            matrix = getSkim(mode).toMatrix(zones, zones);
+            peakSkimsByMode.put(mode, new SoftReference<>(matrix));
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the skim of the given mode as a lookup by zone pair, which reads the mapped skim directly instead of
+     * copying it into a matrix like {@link #getPeakSkim(String)}.
+     */
+    public RegionalTravelTimes.Skim getPeakTravelTimes(String mode) {
+        return getSkim(mode)::getIndexed;
+    }
+
+    @Override
+    public TravelTimes duplicate() {
+        return this;
+    }
+
+    private MappedSkim getSkim(String mode) {
+        final MappedSkim skim = skimsByMode.get(mode);
+        if (skim == null) {
+            throw new RuntimeException("No skim available for mode " + mode);
+        }
+        return skim;
+    }
+
+    private RegionalTravelTimes getRegionalTravelTimes(String mode) {
+        final RegionalTravelTimes regionalTravelTimes = regionalTravelTimesByMode.get(mode);
+        if (regionalTravelTimes == null) {
+            throw new RuntimeException("No regional travel times available for mode " + mode);
+        }
+        return regionalTravelTimes;
+    }
+}
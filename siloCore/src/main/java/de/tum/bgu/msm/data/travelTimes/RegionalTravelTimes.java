@@ -0,0 +1,137 @@
+package de.tum.bgu.msm.data.travelTimes;
+
+import de.tum.bgu.msm.data.Region;
+import de.tum.bgu.msm.data.Zone;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Minimal travel times between every zone and every region of one mode, i.e. the travel time from the closest
+ * zone of a region to a zone and from a zone to the closest zone of a region.
+ *
+ * All modes are calculated in a single pass over the zones, which are processed in parallel. For every zone, its
+ * skim row and column are read once into contiguous buffers, from which the minima to and from every region are
+ * taken. Every zone writes only its own entries, so the result does not depend on the number of threads.
+ */
+public final class RegionalTravelTimes {
+
+    /**
+     * Zone to zone travel times of one mode.
+     */
+    @FunctionalInterface
+    public interface Skim {
+        double getTravelTime(int originZoneId, int destinationZoneId);
+    }
+
+    private final int[] zoneIndexById;
+    private final int[] regionIndexById;
+    /**
+     * Minimal travel times from the zones of a region to a zone, by region index and zone index.
+     */
+    private final double[][] fromRegion;
+    /**
+     * Minimal travel times from a zone to the zones of a region, by zone index and region index.
+     */
+    private final double[][] toRegion;
+
+    private RegionalTravelTimes(int[] zoneIndexById, int[] regionIndexById, double[][] fromRegion, double[][] toRegion) {
+        this.zoneIndexById = zoneIndexById;
+        this.regionIndexById = regionIndexById;
+        this.fromRegion = fromRegion;
+        this.toRegion = toRegion;
+    }
+
+    public double getTravelTimeFromRegion(Region region, Zone zone) {
+        return fromRegion[lookup(regionIndexById, region.getId(), "Region")][lookup(zoneIndexById, zone.getZoneId(), "Zone")];
+    }
+
+    public double getTravelTimeToRegion(Zone zone, Region region) {
+        return toRegion[lookup(zoneIndexById, zone.getZoneId(), "Zone")][lookup(regionIndexById, region.getId(), "Region")];
+    }
+
+    /**
+     * Calculates the regional travel times for all given skims.
+     *
+     * @param skimsByMode the zone to zone skims by mode
+     * @param regions     the regions to calculate travel times for
+     * @param zones       the zones to calculate travel times for
+     * @return the regional travel times by mode
+     */
+    public static Map<String, RegionalTravelTimes> calculate(Map<String, ? extends Skim> skimsByMode,
+                                                             Collection<Region> regions, Collection<Zone> zones) {
+        final String[] modes = skimsByMode.keySet().toArray(new String[0]);
+        final Skim[] skims = new Skim[modes.length];
+        for (int m = 0; m < modes.length; m++) {
+            skims[m] = skimsByMode.get(modes[m]);
+        }
+
+        final int[] zoneIds = zones.stream().mapToInt(Zone::getZoneId).toArray();
+        final int[] regionIds = regions.stream().mapToInt(Region::getId).toArray();
+        final int[] zoneIndexById = indexById(zoneIds);
+        final int[] regionIndexById = indexById(regionIds);
+
+        // zone indices of the members of every region
+        final int[][] members = new int[regionIds.length][];
+        int r = 0;
+        for (Region region : regions) {
+            members[r++] = region.getZones().stream().mapToInt(Zone::getZoneId)
+                    .filter(id -> id < zoneIndexById.length && zoneIndexById[id] >= 0)
+                    .map(id -> zoneIndexById[id])
+                    .toArray();
+        }
+
+        final double[][][] fromRegion = new double[modes.length][regionIds.length][zoneIds.length];
+        final double[][][] toRegion = new double[modes.length][zoneIds.length][regionIds.length];
+
+        IntStream.range(0, zoneIds.length).parallel().forEach(zone -> {
+            final double[] row = new double[zoneIds.length];
+            final double[] column = new double[zoneIds.length];
+            for (int m = 0; m < modes.length; m++) {
+                for (int other = 0; other < zoneIds.length; other++) {
+                    row[other] = skims[m].getTravelTime(zoneIds[zone], zoneIds[other]);
+                    column[other] = skims[m].getTravelTime(zoneIds[other], zoneIds[zone]);
+                }
+                for (int k = 0; k < regionIds.length; k++) {
+                    double minTo = Double.MAX_VALUE;
+                    double minFrom = Double.MAX_VALUE;
+                    for (int member : members[k]) {
+                        if (row[member] < minTo) {
+                            minTo = row[member];
+                        }
+                        if (column[member] < minFrom) {
+                            minFrom = column[member];
+                        }
+                    }
+                    toRegion[m][zone][k] = minTo;
+                    fromRegion[m][k][zone] = minFrom;
+                }
+            }
+        });
+
+        final Map<String, RegionalTravelTimes> result = new LinkedHashMap<>();
+        for (int m = 0; m < modes.length; m++) {
+            result.put(modes[m], new RegionalTravelTimes(zoneIndexById, regionIndexById, fromRegion[m], toRegion[m]));
+        }
+        return result;
+    }
+
+    private static int[] indexById(int[] ids) {
+        final int[] indexById = new int[Arrays.stream(ids).max().orElse(-1) + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < ids.length; i++) {
+            indexById[ids[i]] = i;
+        }
+        return indexById;
+    }
+
+    private static int lookup(int[] indexById, int id, String type) {
+        if (id < 0 || id >= indexById.length || indexById[id] < 0) {
+            throw new RuntimeException(type + " " + id + " is not part of the regional travel times.");
+        }
+        return indexById[id];
+    }
+}
@@ -0,0 +1,138 @@
+package de.tum.bgu.msm.data.travelTimes;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of skims converted from OMX files into {@link MappedSkim} files. Entries are keyed by the
+ * content hash of the OMX file, the matrix name, the factor and the precision of the values, so that years and
+ * scenario runs pointing to identical skims share a single entry no matter where the OMX files are located.
+ * <p>
+ * Content hashes are stored in sidecar files in the cache directory, keyed by path, size and modification time of
+ * the OMX file. An OMX file is therefore only read in full again if it was changed or moved.
+ * </p>
+ */
+public final class SkimCache {
+
+    private static final Logger logger = Logger.getLogger(SkimCache.class);
+
+    private static final Map<String, String> contentHashesByFile = new ConcurrentHashMap<>();
+
+    private final Path directory;
+
+    public SkimCache(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Returns the given OMX matrix as mapped skim with float32 values, converting it into the cache first if there
+     * is no entry yet.
+     *
+     * @see #getSkim(String, String, String, double, boolean)
+     */
+    public MappedSkim getSkim(String mode, String file, String matrixName, double factor) {
+        return getSkim(mode, file, matrixName, factor, false);
+    }
+
+    /**
+     * Returns the given OMX matrix as mapped skim, converting it into the cache first if there is no entry yet.
+     *
+     * @param mode            the mode of the skim, only used to read the OMX file
+     * @param file            the OMX file to read the skim from
+     * @param matrixName      the name of the matrix in the OMX file
+     * @param factor          factor every travel time is multiplied with
+     * @param doublePrecision whether to keep the values as float64. Float32 entries are half the size but round
+     *                        the travel times of the OMX file.
+     */
+    public MappedSkim getSkim(String mode, String file, String matrixName, double factor, boolean doublePrecision) {
+        final File source = new File(file);
+        final String precision = doublePrecision ? "float64" : "float32";
+        final Path entry = directory.resolve(hash(contentHash(source) + "|" + matrixName + "|" + factor + "|" + precision) + ".skim");
+        if (Files.exists(entry)) {
+            logger.info("Mapping " + mode + " skim " + matrixName + " of " + file + " from cache " + entry);
+        } else {
+            logger.info("Converting " + mode + " skim " + matrixName + " of " + file + " into cache " + entry);
+            final SkimTravelTimes omxReader = new SkimTravelTimes();
+            omxReader.readSkim(mode, file, matrixName, factor);
+            MappedSkim.write(omxReader.getPeakSkim(mode), entry, source.length(), source.lastModified(), factor, doublePrecision);
+        }
+        return MappedSkim.open(entry);
+    }
+
+    /**
+     * Returns the content hash of the given file. The hash is read from the sidecar file of the current path, size
+     * and modification time of the file if there is one and computed and stored otherwise.
+     */
+    private String contentHash(File file) {
+        final String key = file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+        return contentHashesByFile.computeIfAbsent(key, k -> {
+            final Path sidecar = directory.resolve("hashes").resolve(hash(k) + ".sha256");
+            try {
+                if (Files.exists(sidecar)) {
+                    final String stored = new String(Files.readAllBytes(sidecar), StandardCharsets.UTF_8).trim();
+                    if (!stored.isEmpty()) {
+                        return stored;
+                    }
+                }
+                final String contentHash = hashContent(file);
+                Files.createDirectories(sidecar.getParent());
+                final Path temporary = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+                Files.write(temporary, contentHash.getBytes(StandardCharsets.UTF_8));
+                Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING);
+                return contentHash;
+            } catch (IOException e) {
+                throw new RuntimeException("Could not access skim hash file " + sidecar, e);
+            }
+        });
+    }
+
+    private static String hashContent(File file) {
+        logger.info("Hashing skim file " + file);
+        final MessageDigest digest = newDigest();
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read skim file " + file, e);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String hash(String value) {
+        return toHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package de.tum.bgu.msm.events;
+
+import de.tum.bgu.msm.container.DataContainer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes an event to the event journal and creates it again when the journal is read.
+ * See {@link EventCodecs} for the codecs of the events of siloCore.
+ */
+public interface EventCodec<T extends MicroEvent> {
+
+    /**
+     * Writes the ids and attributes that identify the given event.
+     */
+    void encode(T event, DataOutput out) throws IOException;
+
+    /**
+     * Creates the event again. Events are decoded in the order in which they were created and at the same point of
+     * the year, so a codec may repeat changes that were made while the event was created, e.g. assign the next id.
+     */
+    T decode(DataInput in, DataContainer dataContainer) throws IOException;
+}
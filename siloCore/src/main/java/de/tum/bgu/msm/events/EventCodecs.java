@@ -0,0 +1,210 @@
+package de.tum.bgu.msm.events;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.dwelling.DwellingType;
+import de.tum.bgu.msm.data.dwelling.RealEstateDataManager;
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdDataManager;
+import de.tum.bgu.msm.events.impls.household.MigrationEvent;
+import de.tum.bgu.msm.events.impls.household.MoveEvent;
+import de.tum.bgu.msm.events.impls.person.*;
+import de.tum.bgu.msm.events.impls.realEstate.ConstructionEvent;
+import de.tum.bgu.msm.events.impls.realEstate.DemolitionEvent;
+import de.tum.bgu.msm.events.impls.realEstate.RenovationEvent;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registry of the {@link EventCodec}s used by the event journal. Codecs for the events of siloCore are registered
+ * by default. Use cases with events of their own, or with events that carry subclasses of the default entities,
+ * register their codecs before the simulation starts.
+ */
+public final class EventCodecs {
+
+    private static final Map<Class<? extends MicroEvent>, EventCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(BirthEvent.class, ofId(BirthEvent::getPersonId, BirthEvent::new));
+        register(BirthDayEvent.class, ofId(BirthDayEvent::getPersonId, BirthDayEvent::new));
+        register(DeathEvent.class, ofId(DeathEvent::getPersonId, DeathEvent::new));
+        register(DivorceEvent.class, ofId(DivorceEvent::getPersonId, DivorceEvent::new));
+        register(EducationEvent.class, ofId(EducationEvent::getPersonId, EducationEvent::new));
+        register(LeaveParentsEvent.class, ofId(LeaveParentsEvent::getPersonId, LeaveParentsEvent::new));
+        register(LicenseEvent.class, ofId(LicenseEvent::getPersonId, LicenseEvent::new));
+        register(MoveEvent.class, ofId(MoveEvent::getHouseholdId, MoveEvent::new));
+        register(DemolitionEvent.class, ofId(DemolitionEvent::getDwellingId, DemolitionEvent::new));
+        register(RenovationEvent.class, ofId(RenovationEvent::getDwellingId, RenovationEvent::new));
+        register(EmploymentEvent.class, new EmploymentCodec());
+        register(MarriageEvent.class, new MarriageCodec());
+        register(MigrationEvent.class, new MigrationCodec());
+        register(ConstructionEvent.class, new ConstructionCodec());
+    }
+
+    private EventCodecs() {
+    }
+
+    public static <T extends MicroEvent> void register(Class<T> eventClass, EventCodec<T> codec) {
+        CODECS.put(eventClass, codec);
+    }
+
+    /**
+     * @return the codec of the given event class or null if none is registered
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends MicroEvent> EventCodec<T> get(Class<T> eventClass) {
+        return (EventCodec<T>) CODECS.get(eventClass);
+    }
+
+    /**
+     * Returns a codec for events that are identified by a single id.
+     */
+    public static <T extends MicroEvent> EventCodec<T> ofId(ToIntFunction<T> id, IntFunction<T> constructor) {
+        return new EventCodec<T>() {
+            @Override
+            public void encode(T event, DataOutput out) throws IOException {
+                out.writeInt(id.applyAsInt(event));
+            }
+
+            @Override
+            public T decode(DataInput in, DataContainer dataContainer) throws IOException {
+                return constructor.apply(in.readInt());
+            }
+        };
+    }
+
+    private static final class EmploymentCodec implements EventCodec<EmploymentEvent> {
+
+        @Override
+        public void encode(EmploymentEvent event, DataOutput out) throws IOException {
+            out.writeInt(event.getPersonId());
+            out.writeByte(event.getType().ordinal());
+        }
+
+        @Override
+        public EmploymentEvent decode(DataInput in, DataContainer dataContainer) throws IOException {
+            final int personId = in.readInt();
+            return new EmploymentEvent(personId, EmploymentEvent.Type.values()[in.readByte()]);
+        }
+    }
+
+    private static final class MarriageCodec implements EventCodec<MarriageEvent> {
+
+        @Override
+        public void encode(MarriageEvent event, DataOutput out) throws IOException {
+            out.writeInt(event.getFirstId());
+            out.writeInt(event.getSecondId());
+        }
+
+        @Override
+        public MarriageEvent decode(DataInput in, DataContainer dataContainer) throws IOException {
+            final int firstId = in.readInt();
+            return new MarriageEvent(firstId, in.readInt());
+        }
+    }
+
+    /**
+     * Inmigrating households are duplicated again from the household they were duplicated from, which assigns the
+     * same household and person ids as in the journaled run.
+     */
+    private static final class MigrationCodec implements EventCodec<MigrationEvent> {
+
+        @Override
+        public void encode(MigrationEvent event, DataOutput out) throws IOException {
+            out.writeByte(event.getType().ordinal());
+            if (event.getType() == MigrationEvent.Type.IN) {
+                if (event.getTemplate() == null) {
+                    throw new IOException("Inmigrating household " + event.getHousehold().getId()
+                            + " was not duplicated from an existing household and cannot be journaled.");
+                }
+                out.writeInt(event.getTemplate().getId());
+            }
+            out.writeInt(event.getHousehold().getId());
+        }
+
+        @Override
+        public MigrationEvent decode(DataInput in, DataContainer dataContainer) throws IOException {
+            final MigrationEvent.Type type = MigrationEvent.Type.values()[in.readByte()];
+            final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
+            if (type == MigrationEvent.Type.IN) {
+                final Household template = householdDataManager.getHouseholdFromId(in.readInt());
+                final int id = in.readInt();
+                if (template == null) {
+                    throw new IOException("Household to duplicate for inmigrating household " + id + " does not exist.");
+                }
+                final Household household = householdDataManager.duplicateHousehold(template);
+                if (household.getId() != id) {
+                    throw new IOException("Inmigrating household got id " + household.getId() + " instead of " + id + ".");
+                }
+                return new MigrationEvent(household, type, template);
+            }
+            final int id = in.readInt();
+            final Household household = householdDataManager.getHouseholdFromId(id);
+            if (household == null) {
+                throw new IOException("Outmigrating household " + id + " does not exist.");
+            }
+            return new MigrationEvent(household, type);
+        }
+    }
+
+    /**
+     * Planned dwellings are created again with the same attributes, and the land they use is converted again.
+     */
+    private static final class ConstructionCodec implements EventCodec<ConstructionEvent> {
+
+        @Override
+        public void encode(ConstructionEvent event, DataOutput out) throws IOException {
+            final Dwelling dwelling = event.getDwelling();
+            out.writeInt(dwelling.getId());
+            out.writeInt(dwelling.getZoneId());
+            final Coordinate coordinate = dwelling.getCoordinate();
+            out.writeDouble(coordinate == null ? Double.NaN : coordinate.x);
+            out.writeDouble(coordinate == null ? Double.NaN : coordinate.y);
+            out.writeUTF(dwelling.getType().toString());
+            out.writeInt(dwelling.getBedrooms());
+            out.writeInt(dwelling.getQuality());
+            out.writeInt(dwelling.getPrice());
+            out.writeInt(dwelling.getYearBuilt());
+        }
+
+        @Override
+        public ConstructionEvent decode(DataInput in, DataContainer dataContainer) throws IOException {
+            final RealEstateDataManager realEstate = dataContainer.getRealEstateDataManager();
+            final int id = in.readInt();
+            final int zone = in.readInt();
+            final double x = in.readDouble();
+            final double y = in.readDouble();
+            final DwellingType type = findType(realEstate.getDwellingTypes(), in.readUTF());
+            final int bedrooms = in.readInt();
+            final int quality = in.readInt();
+            final int price = in.readInt();
+            final int yearBuilt = in.readInt();
+
+            final int nextId = realEstate.getNextDwellingId();
+            if (nextId != id) {
+                throw new IOException("Planned dwelling got id " + nextId + " instead of " + id + ".");
+            }
+            final Dwelling dwelling = realEstate.getDwellingFactory().createDwelling(id, zone,
+                    Double.isNaN(x) ? null : new Coordinate(x, y), -1, type, bedrooms, quality, price, yearBuilt);
+            realEstate.convertLand(zone, type.getAreaPerDwelling());
+            return new ConstructionEvent(dwelling);
+        }
+
+        private static DwellingType findType(List<DwellingType> types, String name) throws IOException {
+            for (DwellingType type : types) {
+                if (type.toString().equals(name)) {
+                    return type;
+                }
+            }
+            throw new IOException("Unknown dwelling type " + name + ".");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.tum.bgu.msm.events;
+
+/**
+ * Collects the data entities and shared resources a {@link MicroEvent} may read or modify
+ * once it is handled. Two events conflict if their footprints share at least one entity or resource.
+ * Non-conflicting events may be handled concurrently by the {@link de.tum.bgu.msm.simulator.Simulator}.
+ */
+public interface EventFootprint {
+
+    /**
+     * Shared data structures that are not bound to a single entity, e.g. vacancy lists or id counters.
+     */
+    enum SharedResource {
+        /**
+         * Person and household ids, household mementos and the registry of all persons and households.
+         */
+        POPULATION,
+        /**
+         * Vacant dwellings and the dwelling registry.
+         */
+        HOUSING_MARKET,
+        /**
+         * Vacant jobs and the job registry.
+         */
+        JOB_MARKET
+    }
+
+    /**
+     * Adds the person with the given id as well as its current household and the dwelling of this household.
+     */
+    void addPerson(int personId);
+
+    /**
+     * Adds the household with the given id and its current dwelling.
+     */
+    void addHousehold(int householdId);
+
+    void addDwelling(int dwellingId);
+
+    void addJob(int jobId);
+
+    void addResource(SharedResource resource);
+
+    /**
+     * Marks the event as conflicting with every other event.
+     */
+    void setExclusive();
+}
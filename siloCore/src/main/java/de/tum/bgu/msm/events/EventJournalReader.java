@@ -0,0 +1,238 @@
+package de.tum.bgu.msm.events;
+
+import de.tum.bgu.msm.container.DataContainer;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Reads event journals written by {@link EventJournalWriter}, e.g. to analyze which events were created and how
+ * they turned out. The journal is a record of a run, it does not hold the state changes of the events and a run
+ * cannot be repeated from it. Opening a journal only reads the headers of the year blocks. If a year was written more than once, e.g. by a run that was resumed from an earlier snapshot, the last
+ * block of this year is used.
+ */
+public final class EventJournalReader {
+
+    private final static Logger logger = Logger.getLogger(EventJournalReader.class);
+
+    private final String path;
+    private final Map<Integer, long[]> blocks;
+
+    private EventJournalReader(String path, Map<Integer, long[]> blocks) {
+        this.path = path;
+        this.blocks = blocks;
+    }
+
+    public static EventJournalReader open(String path) {
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            if (file.length() < 8 || file.readInt() != EventJournalWriter.MAGIC) {
+                throw new RuntimeException(path + " is not an event journal.");
+            }
+            final int version = file.readInt();
+            if (version != EventJournalWriter.VERSION) {
+                throw new RuntimeException("Unsupported version " + version + " of event journal " + path);
+            }
+            final Map<Integer, long[]> blocks = new TreeMap<>();
+            long position = 8;
+            while (position < file.length()) {
+                if (position + 8 > file.length()) {
+                    logger.warn("Ignoring incomplete block at the end of event journal " + path);
+                    break;
+                }
+                file.seek(position);
+                final int year = file.readInt();
+                final int length = file.readInt();
+                if (position + 8 + length > file.length()) {
+                    logger.warn("Ignoring incomplete block of year " + year + " at the end of event journal " + path);
+                    break;
+                }
+                blocks.put(year, new long[]{position + 8, length});
+                position += 8 + length;
+            }
+            logger.info("Read event journal " + path + " with the years " + blocks.keySet());
+            return new EventJournalReader(path, blocks);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read event journal " + path, e);
+        }
+    }
+
+    public boolean hasYear(int year) {
+        return blocks.containsKey(year);
+    }
+
+    public JournaledYear readYear(int year) {
+        final long[] block = blocks.get(year);
+        if (block == null) {
+            throw new IllegalArgumentException("Event journal " + path + " has no events for year " + year + ".");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            final byte[] bytes = new byte[(int) block[1]];
+            file.seek(block[0]);
+            file.readFully(bytes);
+            return new JournaledYear(year, new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read year " + year + " of event journal " + path, e);
+        }
+    }
+
+    /**
+     * The events of one year. The events of each class are decoded by {@link #decode}. Codecs that look up
+     * entities in the data container find them as they are at the time of decoding, and inmigrating households are
+     * duplicated into it again.
+     */
+    public static final class JournaledYear {
+
+        private final int year;
+        private final int[] microDataSummary;
+        private final String[] typeNames;
+        private final List<Run> runs = new ArrayList<>();
+        private final MicroEvent[] createdEvents;
+        private final int[] handlingOrder;
+        private final boolean[] success;
+        private final long[] seeds;
+        private final byte[] random;
+
+        private JournaledYear(int year, DataInputStream in) throws IOException {
+            this.year = year;
+            microDataSummary = new int[in.readInt()];
+            for (int i = 0; i < microDataSummary.length; i++) {
+                microDataSummary[i] = in.readInt();
+            }
+            typeNames = new String[in.readInt()];
+            for (int i = 0; i < typeNames.length; i++) {
+                typeNames[i] = in.readUTF();
+            }
+            createdEvents = new MicroEvent[in.readInt()];
+            final int runCount = in.readInt();
+            int start = 0;
+            for (int i = 0; i < runCount; i++) {
+                final int type = in.readInt();
+                final int count = in.readInt();
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                runs.add(new Run(typeNames[type], start, count, bytes));
+                start += count;
+            }
+            handlingOrder = new int[in.readInt()];
+            success = new boolean[handlingOrder.length];
+            seeds = new long[handlingOrder.length];
+            for (int i = 0; i < handlingOrder.length; i++) {
+                handlingOrder[i] = in.readInt();
+                success[i] = in.readBoolean();
+                seeds[i] = in.readLong();
+            }
+            random = new byte[in.readInt()];
+            in.readFully(random);
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * @return the summary of the micro data before the events were created in the journaled run
+         */
+        public int[] getMicroDataSummary() {
+            return Arrays.copyOf(microDataSummary, microDataSummary.length);
+        }
+
+        /**
+         * Creates the events of the given class again.
+         */
+        public <T extends MicroEvent> void decode(Class<T> eventClass, DataContainer dataContainer) {
+            final EventCodec<T> codec = EventCodecs.get(eventClass);
+            for (Run run : runs) {
+                if (run.typeName.equals(eventClass.getName())) {
+                    if (codec == null) {
+                        throw new RuntimeException("No event codec is registered for " + eventClass.getName()
+                                + ", see EventCodecs.");
+                    }
+                    try {
+                        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(run.bytes));
+                        for (int i = run.start; i < run.start + run.count; i++) {
+                            createdEvents[i] = codec.decode(in, dataContainer);
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException("Could not decode " + eventClass.getSimpleName()
+                                + " events of year " + year + " from the event journal.", e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the events in the order in which they were handled
+         */
+        public List<MicroEvent> getEvents() {
+            final List<MicroEvent> events = new ArrayList<>(handlingOrder.length);
+            for (int index : handlingOrder) {
+                if (createdEvents[index] == null) {
+                    throw new RuntimeException("The event journal of year " + year + " contains events of class "
+                            + typeOf(index) + ", for which no event model is registered.");
+                }
+                events.add(createdEvents[index]);
+            }
+            return events;
+        }
+
+        /**
+         * @return whether the event handled at the respective position was successful
+         */
+        public boolean[] getSuccess() {
+            return Arrays.copyOf(success, success.length);
+        }
+
+        /**
+         * @return the random seed of the event handled at the respective position
+         */
+        public long[] getSeeds() {
+            return Arrays.copyOf(seeds, seeds.length);
+        }
+
+        /**
+         * @return the model-wide random number generator as it was after the events had been created
+         */
+        public Random getRandom() {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(random))) {
+                return (Random) in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RuntimeException("Could not restore random number generator of year " + year
+                        + " from the event journal.", e);
+            }
+        }
+
+        private String typeOf(int index) {
+            for (Run run : runs) {
+                if (index >= run.start && index < run.start + run.count) {
+                    return run.typeName;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Run {
+
+        private final String typeName;
+        private final int start;
+        private final int count;
+        private final byte[] bytes;
+
+        private Run(String typeName, int start, int count, byte[] bytes) {
+            this.typeName = typeName;
+            this.start = start;
+            this.count = count;
+            this.bytes = bytes;
+        }
+    }
+}
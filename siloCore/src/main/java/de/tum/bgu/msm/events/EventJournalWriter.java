@@ -0,0 +1,193 @@
+package de.tum.bgu.msm.events;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Appends the events of each simulated year to a binary journal, which is read by {@link EventJournalReader}.
+ *
+ * A year is stored as one block: a summary of the micro data before the events were created, the events in the order
+ * in which the models created them, encoded by their {@link EventCodec}s, followed by the order in which they were
+ * handled with the outcome and the random seed of each event, and the state of the model-wide random number generator
+ * after the events were created. Each event draws all its random numbers from a generator seeded with its own seed,
+ * so the seed stands for all draws of the event.
+ * Blocks are flushed at the end of each year, so the journal is complete up to the last finished year if a run fails.
+ */
+public final class EventJournalWriter {
+
+    private final static Logger logger = Logger.getLogger(EventJournalWriter.class);
+
+    static final int MAGIC = 0x534a524e;
+    static final int VERSION = 2;
+
+    private final String path;
+    private final DataOutputStream out;
+
+    private EventJournalWriter(String path, DataOutputStream out) {
+        this.path = path;
+        this.out = out;
+    }
+
+    /**
+     * @param append add the years to an existing journal, e.g. of a resumed run. Blocks of years that are written
+     *               again replace the earlier ones when the journal is read.
+     */
+    public static EventJournalWriter open(String path, boolean append) {
+        final File file = new File(path);
+        final boolean header = !append || file.length() == 0;
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append), 1 << 16));
+            if (header) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+            logger.info("Writing event journal to " + path);
+            return new EventJournalWriter(path, out);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open event journal " + path, e);
+        }
+    }
+
+    /**
+     * Encodes the created events of a year. Events are encoded right after they were created, i.e. before handling
+     * other events may have changed the entities they carry.
+     * @param createdEvents the events in the order in which they were created
+     */
+    public static byte[] encode(List<? extends MicroEvent> createdEvents) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream block = new DataOutputStream(bytes);
+            writeEvents(createdEvents, block);
+            block.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not encode events for the event journal.", e);
+        }
+    }
+
+    /**
+     * Appends the events of a year.
+     * @param microDataSummary numbers that describe the micro data before the events were created
+     * @param events         the created events as returned by {@link #encode(List)}
+     * @param handlingOrder  the index of the created event handled at each position
+     * @param seeds          the random seed of the event handled at each position
+     * @param success        the outcome of the event handled at each position
+     * @param random         the model-wide random number generator after the events were created, see {@link #serialize}
+     */
+    public void writeYear(int year, int[] microDataSummary, byte[] events, int[] handlingOrder, long[] seeds,
+                          boolean[] success, byte[] random) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream block = new DataOutputStream(bytes);
+            block.writeInt(microDataSummary.length);
+            for (int value : microDataSummary) {
+                block.writeInt(value);
+            }
+            block.write(events);
+            block.writeInt(handlingOrder.length);
+            for (int i = 0; i < handlingOrder.length; i++) {
+                block.writeInt(handlingOrder[i]);
+                block.writeBoolean(success[i]);
+                block.writeLong(seeds[i]);
+            }
+            block.writeInt(random.length);
+            block.write(random);
+            block.flush();
+
+            out.writeInt(year);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write events of year " + year + " to event journal " + path, e);
+        }
+    }
+
+    /**
+     * Writes the names of the event classes and then the events as runs of consecutive events of the same class,
+     * such that the events of one class can be decoded without decoding the others.
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeEvents(List<? extends MicroEvent> events, DataOutputStream block) throws IOException {
+        final Map<Class<?>, Integer> typeIndices = new HashMap<>();
+        final List<String> typeNames = new ArrayList<>();
+        for (MicroEvent event : events) {
+            if (!typeIndices.containsKey(event.getClass())) {
+                if (EventCodecs.get(event.getClass()) == null) {
+                    throw new IOException("No event codec is registered for " + event.getClass().getName()
+                            + ", see EventCodecs.");
+                }
+                typeIndices.put(event.getClass(), typeNames.size());
+                typeNames.add(event.getClass().getName());
+            }
+        }
+        block.writeInt(typeNames.size());
+        for (String typeName : typeNames) {
+            block.writeUTF(typeName);
+        }
+
+        int runs = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (i == 0 || events.get(i).getClass() != events.get(i - 1).getClass()) {
+                runs++;
+            }
+        }
+        block.writeInt(events.size());
+        block.writeInt(runs);
+        final ByteArrayOutputStream runBytes = new ByteArrayOutputStream();
+        final DataOutputStream run = new DataOutputStream(runBytes);
+        int start = 0;
+        for (int i = 1; i <= events.size(); i++) {
+            if (i == events.size() || events.get(i).getClass() != events.get(start).getClass()) {
+                final Class<? extends MicroEvent> eventClass = events.get(start).getClass();
+                final EventCodec<MicroEvent> codec = (EventCodec<MicroEvent>) EventCodecs.get(eventClass);
+                runBytes.reset();
+                for (int j = start; j < i; j++) {
+                    codec.encode(events.get(j), run);
+                }
+                run.flush();
+                block.writeInt(typeIndices.get(eventClass));
+                block.writeInt(i - start);
+                block.writeInt(runBytes.size());
+                runBytes.writeTo(block);
+                start = i;
+            }
+        }
+    }
+
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close event journal " + path, e);
+        }
+    }
+
+    /**
+     * Serializes the given random number generator, which is restored by {@link EventJournalReader.JournaledYear#getRandom()}.
+     */
+    public static byte[] serialize(Random random) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize random number generator.", e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -2,4 +2,13 @@ package de.tum.bgu.msm.events;
 
 public interface MicroEvent {
 
+    /**
+     * Declares the entities and shared resources that may be touched when this event is handled.
+     * The footprint is evaluated against the current state of the data right before the event
+     * is scheduled. By default, an event is exclusive, i.e. it conflicts with every other event.
+     * @param footprint the footprint to be filled
+     */
+    default void declareFootprint(EventFootprint footprint) {
+        footprint.setExclusive();
+    }
 }
@@ -9,10 +9,19 @@ public class MigrationEvent implements MicroEvent {
 
     private final Household hh;
     private final Type type;
+    private final Household template;
 
     public MigrationEvent(Household hh, Type type) {
+        this(hh, type, null);
+    }
+
+    /**
+     * @param template the existing household the inmigrating household was duplicated from, if any
+     */
+    public MigrationEvent(Household hh, Type type, Household template) {
         this.hh = hh;
         this.type = type;
+        this.template = template;
     }
 
     public Household getHousehold() {
@@ -22,4 +31,8 @@ public class MigrationEvent implements MicroEvent {
     public Type getType() {
         return type;
     }
+
+    public Household getTemplate() {
+        return template;
+    }
 }
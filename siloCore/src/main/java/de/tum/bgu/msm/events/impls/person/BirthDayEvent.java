@@ -1,5 +1,6 @@
 package de.tum.bgu.msm.events.impls.person;
 
+import de.tum.bgu.msm.events.EventFootprint;
 import de.tum.bgu.msm.events.MicroEvent;
 
 public class BirthDayEvent implements MicroEvent {
@@ -13,4 +14,9 @@ public class BirthDayEvent implements MicroEvent {
     public int getPersonId() {
         return this.id;
     }
+
+    @Override
+    public void declareFootprint(EventFootprint footprint) {
+        footprint.addPerson(id);
+    }
 }
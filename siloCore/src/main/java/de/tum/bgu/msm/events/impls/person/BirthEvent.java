@@ -1,5 +1,6 @@
 package de.tum.bgu.msm.events.impls.person;
 
+import de.tum.bgu.msm.events.EventFootprint;
 import de.tum.bgu.msm.events.MicroEvent;
 
 public class BirthEvent implements MicroEvent {
@@ -12,4 +13,9 @@ public class BirthEvent implements MicroEvent {
     public int getPersonId() {
         return this.id;
     }
+
+    @Override
+    public void declareFootprint(EventFootprint footprint) {
+        footprint.addPerson(id);
+    }
 }
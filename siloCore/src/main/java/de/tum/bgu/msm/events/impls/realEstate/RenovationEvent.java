@@ -1,5 +1,6 @@
 package de.tum.bgu.msm.events.impls.realEstate;
 
+import de.tum.bgu.msm.events.EventFootprint;
 import de.tum.bgu.msm.events.MicroEvent;
 
 public class RenovationEvent implements MicroEvent {
@@ -12,4 +13,9 @@ public class RenovationEvent implements MicroEvent {
     public int getDwellingId() {
         return this.id;
     }
+
+    @Override
+    public void declareFootprint(EventFootprint footprint) {
+        footprint.addDwelling(id);
+    }
 }
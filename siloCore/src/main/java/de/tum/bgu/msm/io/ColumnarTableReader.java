@@ -0,0 +1,214 @@
+package de.tum.bgu.msm.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads tables written by {@link ColumnarTableWriter}. Opening a table only reads the footer with the column
+ * names and positions, each column is then read and decoded on its own when it is requested.
+ */
+public final class ColumnarTableReader {
+
+    private final Path path;
+    private final int rowCount;
+    private final Map<String, ColumnInfo> columns;
+
+    private ColumnarTableReader(Path path, int rowCount, Map<String, ColumnInfo> columns) {
+        this.path = path;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public static ColumnarTableReader open(String path) {
+        try {
+            return open(path, 0, Files.size(Paths.get(path)));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read columnar table " + path, e);
+        }
+    }
+
+    /**
+     * Opens a table that is stored in the given part of a file, e.g. as one of several tables written by
+     * {@link ColumnarTableWriter#write(java.io.DataOutputStream)}.
+     */
+    public static ColumnarTableReader open(String path, long start, long length) {
+        final Path file = Paths.get(path);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = read(channel, start, 8);
+            final ByteBuffer trailer = read(channel, start + length - 12, 12);
+            final long footerOffset = trailer.getLong();
+            if (header.getInt() != ColumnarTableWriter.MAGIC || trailer.getInt() != ColumnarTableWriter.MAGIC) {
+                throw new RuntimeException(path + " is not a columnar table.");
+            }
+            final int version = header.getInt();
+            if (version != ColumnarTableWriter.VERSION) {
+                throw new RuntimeException("Unsupported version " + version + " of columnar table " + path);
+            }
+
+            final ByteBuffer footer = read(channel, start + footerOffset, (int) (length - 12 - footerOffset));
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            final int rowCount = in.readInt();
+            final int columnCount = in.readInt();
+            final Map<String, ColumnInfo> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                final String name = in.readUTF();
+                columns.put(name, new ColumnInfo(in.readByte(), in.readBoolean(), start + in.readLong(), in.readInt(), in.readInt()));
+            }
+            return new ColumnarTableReader(file, rowCount, columns);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read columnar table " + path, e);
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.keySet()));
+    }
+
+    public boolean hasColumn(String name) {
+        return columns.containsKey(name);
+    }
+
+    public int[] readIntColumn(String name) {
+        try {
+            return decodeInts(open(name, ColumnarTableWriter.INT));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read column " + name + " of " + path, e);
+        }
+    }
+
+    public double[] readDoubleColumn(String name) {
+        try {
+            final DataInputStream in = open(name, ColumnarTableWriter.DOUBLE);
+            final double[] values = new double[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = in.readDouble();
+            }
+            return values;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read column " + name + " of " + path, e);
+        }
+    }
+
+    /**
+     * Returns the values of a string column. Equal values share the same string instance.
+     */
+    public String[] readStringColumn(String name) {
+        try {
+            final DataInputStream in = open(name, ColumnarTableWriter.STRING);
+            final String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+            final int[] codes = decodeInts(in);
+            final String[] values = new String[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = codes[i] < 0 ? null : dictionary[codes[i]];
+            }
+            return values;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read column " + name + " of " + path, e);
+        }
+    }
+
+    private DataInputStream open(String name, byte type) throws IOException {
+        final ColumnInfo column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Columnar table " + path + " has no column " + name + ".");
+        }
+        if (column.type != type) {
+            throw new IllegalArgumentException("Column " + name + " of " + path + " is of another type.");
+        }
+        final byte[] block;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            block = read(channel, column.offset, column.length).array();
+        }
+        if (!column.compressed) {
+            return new DataInputStream(new ByteArrayInputStream(block));
+        }
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            final byte[] raw = new byte[column.rawLength];
+            int inflated = 0;
+            while (inflated < raw.length) {
+                final int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Column " + name + " is truncated.");
+                }
+                inflated += n;
+            }
+            return new DataInputStream(new ByteArrayInputStream(raw));
+        } catch (DataFormatException e) {
+            throw new IOException("Column " + name + " is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int[] decodeInts(DataInputStream in) throws IOException {
+        final int[] values = new int[rowCount];
+        final byte encoding = in.readByte();
+        if (encoding == ColumnarTableWriter.RUN_LENGTH) {
+            final int runs = in.readInt();
+            int position = 0;
+            for (int i = 0; i < runs; i++) {
+                final int value = in.readInt();
+                final int length = in.readInt();
+                Arrays.fill(values, position, position + length, value);
+                position += length;
+            }
+        } else {
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = in.readInt();
+            }
+        }
+        return values;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class ColumnInfo {
+
+        private final byte type;
+        private final boolean compressed;
+        private final long offset;
+        private final int length;
+        private final int rawLength;
+
+        private ColumnInfo(byte type, boolean compressed, long offset, int length, int rawLength) {
+            this.type = type;
+            this.compressed = compressed;
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+        }
+    }
+}
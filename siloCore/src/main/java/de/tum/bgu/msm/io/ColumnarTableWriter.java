@@ -0,0 +1,296 @@
+package de.tum.bgu.msm.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a table column by column into a single binary file, which is read by {@link ColumnarTableReader}.
+ *
+ * Integer columns are run-length encoded if that is shorter than storing the plain values. String columns are
+ * dictionary encoded and their codes are stored like an integer column. Each column is compressed on its own, so that
+ * single columns can be read without touching the others. The positions of the columns are stored in a footer at the
+ * end of the file. All values are kept in memory until the table is written.
+ */
+public final class ColumnarTableWriter {
+
+    static final int MAGIC = 0x53434f4c;
+    static final int VERSION = 1;
+
+    static final byte INT = 0;
+    static final byte DOUBLE = 1;
+    static final byte STRING = 2;
+
+    static final byte PLAIN = 0;
+    static final byte RUN_LENGTH = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean compress;
+    private final List<Column> columns = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+
+    /**
+     * @param compress deflate each column, unless this does not make it shorter
+     */
+    public ColumnarTableWriter(boolean compress) {
+        this.compress = compress;
+    }
+
+    public IntColumn addIntColumn(String name) {
+        return addColumn(new IntColumn(name));
+    }
+
+    public DoubleColumn addDoubleColumn(String name) {
+        return addColumn(new DoubleColumn(name));
+    }
+
+    public StringColumn addStringColumn(String name) {
+        return addColumn(new StringColumn(name));
+    }
+
+    private <C extends Column> C addColumn(C column) {
+        if (!names.add(column.name)) {
+            throw new IllegalArgumentException("Column " + column.name + " is already defined.");
+        }
+        columns.add(column);
+        return column;
+    }
+
+    public void write(String path) {
+        final Path file = Paths.get(path);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+                write(out);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write columnar table " + path, e);
+        }
+    }
+
+    /**
+     * Writes the table to the given stream, e.g. as one of several tables of a file. All positions are stored
+     * relative to the beginning of the table, see {@link ColumnarTableReader#open(String, long, long)}.
+     *
+     * @return the number of bytes written
+     */
+    public long write(DataOutputStream out) throws IOException {
+        final int rowCount = columns.isEmpty() ? 0 : columns.get(0).size();
+        for (Column column : columns) {
+            if (column.size() != rowCount) {
+                throw new IllegalStateException("Column " + column.name + " has " + column.size()
+                        + " values instead of " + rowCount + ".");
+            }
+        }
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        long position = 8;
+
+        final long[] offsets = new long[columns.size()];
+        final int[] lengths = new int[columns.size()];
+        final int[] rawLengths = new int[columns.size()];
+        final boolean[] compressed = new boolean[columns.size()];
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        for (int i = 0; i < columns.size(); i++) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream data = new DataOutputStream(bytes);
+            columns.get(i).encode(data);
+            data.flush();
+            byte[] block = bytes.toByteArray();
+            rawLengths[i] = block.length;
+            if (compress) {
+                final byte[] deflated = deflate(deflater, block);
+                if (deflated.length < block.length) {
+                    block = deflated;
+                    compressed[i] = true;
+                }
+            }
+            offsets[i] = position;
+            lengths[i] = block.length;
+            out.write(block);
+            position += block.length;
+        }
+        deflater.end();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream footer = new DataOutputStream(bytes);
+        footer.writeInt(rowCount);
+        footer.writeInt(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            footer.writeUTF(columns.get(i).name);
+            footer.writeByte(columns.get(i).type);
+            footer.writeBoolean(compressed[i]);
+            footer.writeLong(offsets[i]);
+            footer.writeInt(lengths[i]);
+            footer.writeInt(rawLengths[i]);
+        }
+        footer.writeLong(position);
+        footer.writeInt(MAGIC);
+        footer.flush();
+        bytes.writeTo(out);
+        return position + bytes.size();
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] block) {
+        deflater.reset();
+        deflater.setInput(block);
+        deflater.finish();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(block.length / 2 + 64);
+        final byte[] buffer = new byte[1 << 16];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the values either plain or as pairs of value and run length, whichever is shorter.
+     */
+    private static void encodeInts(int[] values, int size, DataOutputStream out) throws IOException {
+        int runs = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                runs++;
+            }
+        }
+        if (2 * runs < size) {
+            out.writeByte(RUN_LENGTH);
+            out.writeInt(runs);
+            int start = 0;
+            for (int i = 1; i <= size; i++) {
+                if (i == size || values[i] != values[start]) {
+                    out.writeInt(values[start]);
+                    out.writeInt(i - start);
+                    start = i;
+                }
+            }
+        } else {
+            out.writeByte(PLAIN);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(values[i]);
+            }
+        }
+    }
+
+    static abstract class Column {
+
+        final String name;
+        final byte type;
+
+        private Column(String name, byte type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        abstract int size();
+
+        abstract void encode(DataOutputStream out) throws IOException;
+    }
+
+    public static final class IntColumn extends Column {
+
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private IntColumn(String name) {
+            super(name, INT);
+        }
+
+        public void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void encode(DataOutputStream out) throws IOException {
+            encodeInts(values, size, out);
+        }
+    }
+
+    public static final class DoubleColumn extends Column {
+
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int size;
+
+        private DoubleColumn(String name) {
+            super(name, DOUBLE);
+        }
+
+        public void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void encode(DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(values[i]);
+            }
+        }
+    }
+
+    /**
+     * String column that stores every distinct value once. Null values are allowed.
+     */
+    public static final class StringColumn extends Column {
+
+        private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+        private final IntColumn codes;
+
+        private StringColumn(String name) {
+            super(name, STRING);
+            this.codes = new IntColumn(name);
+        }
+
+        public void add(String value) {
+            if (value == null) {
+                codes.add(-1);
+            } else {
+                codes.add(dictionary.computeIfAbsent(value, v -> dictionary.size()));
+            }
+        }
+
+        @Override
+        int size() {
+            return codes.size();
+        }
+
+        @Override
+        void encode(DataOutputStream out) throws IOException {
+            out.writeInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                out.writeUTF(value);
+            }
+            codes.encode(out);
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package de.tum.bgu.msm.io;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.ModelContainer;
+import de.tum.bgu.msm.data.SnapshotAttributes;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.development.Development;
+import de.tum.bgu.msm.data.development.DevelopmentImpl;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.dwelling.DwellingFactory;
+import de.tum.bgu.msm.data.dwelling.DwellingType;
+import de.tum.bgu.msm.data.dwelling.DwellingUsage;
+import de.tum.bgu.msm.data.dwelling.RealEstateDataManager;
+import de.tum.bgu.msm.data.dwelling.RealEstateDataManagerImpl;
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdDataManager;
+import de.tum.bgu.msm.data.household.HouseholdFactory;
+import de.tum.bgu.msm.data.household.IncomeCategory;
+import de.tum.bgu.msm.data.job.Job;
+import de.tum.bgu.msm.data.job.JobDataManager;
+import de.tum.bgu.msm.data.job.JobFactory;
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.person.PersonFactory;
+import de.tum.bgu.msm.data.person.PersonRole;
+import de.tum.bgu.msm.models.AbstractModel;
+import de.tum.bgu.msm.models.EventModel;
+import de.tum.bgu.msm.models.ModelUpdateListener;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.apache.log4j.Logger;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Binary snapshot of the micro data, i.e. households, persons, dwellings, jobs and the development capacity of all
+ * zones, together with the highest ids in use, the random number generators of SILO and of all models and the
+ * distributions that are calculated from the base year data during setup. A snapshot of a year can replace the micro
+ * data input files of that year, which allows to resume a run from any simulated year with the same results as
+ * the uninterrupted run.
+ *
+ * The file holds one columnar table per entity type in the format of {@link ColumnarTableWriter}, i.e. integer
+ * columns are run-length encoded, strings are dictionary encoded and each column is compressed on its own. The
+ * tables use the column names of the columnar micro data files and can be read with {@link ColumnarTableReader}
+ * at the positions stored in the index at the end of the file. Besides the attributes of the default interfaces,
+ * each table stores the {@link SnapshotAttributes} registered by the factory of the entity type. Attributes that are
+ * derived from other data, e.g. the race of a household, are calculated again on reading. Further data that changes
+ * during the simulation, e.g. the occupancy of schools, is stored through {@link DataContainer#getSnapshotState()}.
+ */
+public final class MicroDataSnapshot {
+
+    private static final Logger logger = Logger.getLogger(MicroDataSnapshot.class);
+
+    private static final int MAGIC = 0x53494c4f;
+    private static final int VERSION = 3;
+
+    private static final int ZONES = 0;
+    private static final int DWELLINGS = 1;
+    private static final int HOUSEHOLDS = 2;
+    private static final int PERSONS = 3;
+    private static final int JOBS = 4;
+    private static final int TABLES = 5;
+
+    /**
+     * Prefix of the columns that hold the {@link SnapshotAttributes} of the factories.
+     */
+    private static final String ATTRIBUTE_PREFIX = "attribute.";
+
+    private final int year;
+    private final int[] highestIds;
+    private final byte[] state;
+    private final int[] zoneIds;
+    private final double[] developableAreas;
+    private final int[] dwellingCapacities;
+
+    private MicroDataSnapshot(int year, int[] highestIds, byte[] state,
+                              int[] zoneIds, double[] developableAreas, int[] dwellingCapacities) {
+        this.year = year;
+        this.highestIds = highestIds;
+        this.state = state;
+        this.zoneIds = zoneIds;
+        this.developableAreas = developableAreas;
+        this.dwellingCapacities = dwellingCapacities;
+    }
+
+    /**
+     * Returns the year whose beginning the snapshot represents.
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Writes the current state of the given data and model containers as the snapshot of the given year. The file is
+     * replaced only once the snapshot is complete.
+     */
+    public static void write(String path, int year, DataContainer dataContainer, ModelContainer modelContainer) {
+        logger.info("Writing micro data snapshot of year " + year + " to " + path);
+        final long time = System.currentTimeMillis();
+        final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
+        final RealEstateDataManager realEstateDataManager = dataContainer.getRealEstateDataManager();
+        final JobDataManager jobDataManager = dataContainer.getJobDataManager();
+
+        final List<Household> households = new ArrayList<>(householdDataManager.getHouseholds());
+        // persons are stored household by household to keep the order of the household members
+        final List<Person> persons = new ArrayList<>();
+        for (Household household : households) {
+            persons.addAll(household.getPersons().values());
+        }
+        if (persons.size() != householdDataManager.getPersons().size()) {
+            throw new RuntimeException("Snapshots require every person to be part of a household.");
+        }
+        final List<Dwelling> dwellings = new ArrayList<>(realEstateDataManager.getDwellings());
+        final List<Job> jobs = new ArrayList<>(jobDataManager.getJobs());
+        final List<Zone> zones = new ArrayList<>();
+        for (Zone zone : dataContainer.getGeoData().getZones().values()) {
+            if (zone.getDevelopment() != null) {
+                zones.add(zone);
+            }
+        }
+
+        final Path target = Paths.get(path);
+        final Path temporary = Paths.get(path + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(year);
+                out.writeInt(householdDataManager.getHighestHouseholdIdInUse());
+                out.writeInt(householdDataManager.getHighestPersonIdInUse());
+                out.writeInt(realEstateDataManager.getHighestDwellingIdInUse());
+                out.writeInt(jobDataManager.getHighestJobIdInUse());
+                final byte[] state = serializeState(dataContainer, modelContainer);
+                out.writeInt(state.length);
+                out.write(state);
+                long position = 8 * Integer.BYTES + state.length;
+
+                // the tables are built one after another to keep only one of them in memory
+                final long[] offsets = new long[TABLES];
+                final long[] lengths = new long[TABLES];
+                for (int table = 0; table < TABLES; table++) {
+                    final ColumnarTableWriter writer;
+                    switch (table) {
+                        case ZONES:
+                            writer = getZoneTable(zones);
+                            break;
+                        case DWELLINGS:
+                            writer = getDwellingTable(dwellings, realEstateDataManager.getDwellingFactory().getSnapshotAttributes());
+                            break;
+                        case HOUSEHOLDS:
+                            writer = getHouseholdTable(households, householdDataManager.getHouseholdFactory().getSnapshotAttributes());
+                            break;
+                        case PERSONS:
+                            writer = getPersonTable(persons, householdDataManager.getPersonFactory().getSnapshotAttributes());
+                            break;
+                        default:
+                            writer = getJobTable(jobs, jobDataManager.getFactory().getSnapshotAttributes());
+                    }
+                    offsets[table] = position;
+                    lengths[table] = writer.write(out);
+                    position += lengths[table];
+                }
+                for (int table = 0; table < TABLES; table++) {
+                    out.writeLong(offsets[table]);
+                    out.writeLong(lengths[table]);
+                }
+                out.writeLong(position);
+                out.writeInt(MAGIC);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write micro data snapshot " + path, e);
+        }
+        logger.info("Finished writing snapshot in " + (System.currentTimeMillis() - time) / 1000. + " seconds.");
+    }
+
+    /**
+     * Reads the snapshot at the given path and adds its households, persons, dwellings and jobs to the given data
+     * container, which must not hold any micro data yet. The development capacity, highest ids in use, random
+     * number generators and base year distributions are restored by {@link #restoreState(DataContainer, ModelContainer)}
+     * once the data container and the models are set up.
+     */
+    public static MicroDataSnapshot read(String path, DataContainer dataContainer) {
+        logger.info("Reading micro data snapshot " + path);
+        final long time = System.currentTimeMillis();
+        final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
+        final RealEstateDataManager realEstateDataManager = dataContainer.getRealEstateDataManager();
+        final JobDataManager jobDataManager = dataContainer.getJobDataManager();
+        if (!householdDataManager.getHouseholds().isEmpty() || !householdDataManager.getPersons().isEmpty()
+                || !realEstateDataManager.getDwellings().isEmpty() || !jobDataManager.getJobs().isEmpty()) {
+            throw new RuntimeException("Micro data has already been read. Micro data input files must not be read " +
+                    "when resuming from a snapshot.");
+        }
+
+        final Path file = Paths.get(path);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = read(channel, 0, 8 * Integer.BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new RuntimeException(path + " is not a micro data snapshot.");
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new RuntimeException("Snapshot " + path + " has version " + version + ", expected " + VERSION);
+            }
+            final int year = header.getInt();
+            final int[] highestIds = {header.getInt(), header.getInt(), header.getInt(), header.getInt()};
+            final byte[] state = read(channel, 8 * Integer.BYTES, header.getInt()).array();
+
+            final ByteBuffer trailer = read(channel, channel.size() - Long.BYTES - Integer.BYTES, Long.BYTES + Integer.BYTES);
+            final long indexPosition = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new RuntimeException("Snapshot " + path + " is incomplete.");
+            }
+            final ByteBuffer index = read(channel, indexPosition, TABLES * 2 * Long.BYTES);
+            final ColumnarTableReader[] tables = new ColumnarTableReader[TABLES];
+            for (int table = 0; table < TABLES; table++) {
+                tables[table] = ColumnarTableReader.open(path, index.getLong(), index.getLong());
+            }
+
+            final ColumnarTableReader zones = tables[ZONES];
+            final int[] zoneIds = zones.readIntColumn("zone");
+            final double[] developableAreas = zones.readDoubleColumn("developableArea");
+            final int[] dwellingCapacities = zones.readIntColumn("dwellingCapacity");
+
+            readDwellings(tables[DWELLINGS], realEstateDataManager);
+            readHouseholds(tables[HOUSEHOLDS], householdDataManager);
+            readPersons(tables[PERSONS], householdDataManager);
+            readJobs(tables[JOBS], jobDataManager);
+
+            logger.info("Finished reading snapshot of year " + year + " with " + householdDataManager.getHouseholds().size()
+                    + " households, " + householdDataManager.getPersons().size() + " persons, "
+                    + realEstateDataManager.getDwellings().size() + " dwellings and " + jobDataManager.getJobs().size()
+                    + " jobs in " + (System.currentTimeMillis() - time) / 1000. + " seconds.");
+            return new MicroDataSnapshot(year, highestIds, state, zoneIds, developableAreas, dwellingCapacities);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read micro data snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Restores the state that is otherwise initialized during setup: the development capacity of the zones, the
+     * highest ids in use, the random number generators of SILO and of the models and the distributions of dwelling
+     * quality, rents and incomes of the base year. Has to be called after the data container and all models have
+     * been set up, as the setup calculates these distributions from the resumed year's data instead.
+     */
+    @SuppressWarnings("unchecked")
+    public void restoreState(DataContainer dataContainer, ModelContainer modelContainer) {
+        final List<DwellingType> dwellingTypes = dataContainer.getRealEstateDataManager().getDwellingTypes();
+        for (int i = 0; i < zoneIds.length; i++) {
+            final Zone zone = dataContainer.getGeoData().getZones().get(zoneIds[i]);
+            if (zone == null || zone.getDevelopment() == null) {
+                throw new RuntimeException("Snapshot refers to zone " + zoneIds[i] + " without development data.");
+            }
+            final Development development = zone.getDevelopment();
+            final Map<DwellingType, Boolean> constraints = new HashMap<>();
+            for (DwellingType dwellingType : dwellingTypes) {
+                constraints.put(dwellingType, development.isThisDwellingTypeAllowed(dwellingType));
+            }
+            zone.setDevelopment(new DevelopmentImpl(developableAreas[i], dwellingCapacities[i],
+                    constraints, development.isUseDwellingCapacity()));
+        }
+
+        dataContainer.getHouseholdDataManager().setHighestIdsInUse(highestIds[0], highestIds[1]);
+        dataContainer.getRealEstateDataManager().setHighestDwellingIdInUse(highestIds[2]);
+        dataContainer.getJobDataManager().setHighestJobIdInUse(highestIds[3]);
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            SiloUtil.setRandomObject((Random) in.readObject());
+
+            final String[] modelKeys = (String[]) in.readObject();
+            final Random[] modelRandoms = (Random[]) in.readObject();
+            final Map<String, AbstractModel> models = getModelsWithRandom(modelContainer);
+            if (!Arrays.asList(modelKeys).equals(new ArrayList<>(models.keySet()))) {
+                throw new RuntimeException("Snapshot was written with models " + Arrays.toString(modelKeys)
+                        + ", but the run uses " + models.keySet());
+            }
+            for (int i = 0; i < modelKeys.length; i++) {
+                models.get(modelKeys[i]).setRandom(modelRandoms[i]);
+            }
+
+            final RealEstateDataManager realEstateDataManager = dataContainer.getRealEstateDataManager();
+            realEstateDataManager.setInitialQualShares((Map<Integer, Double>) in.readObject());
+            final Map<IncomeCategory, Map<Integer, Float>> rentPayments = (Map<IncomeCategory, Map<Integer, Float>>) in.readObject();
+            for (Map.Entry<IncomeCategory, Map<Integer, Float>> entry : rentPayments.entrySet()) {
+                realEstateDataManager.setRentPaymentsForIncomeGroup(entry.getKey(), entry.getValue());
+            }
+            RealEstateDataManagerImpl.largestNoBedrooms = in.readInt();
+            dataContainer.getHouseholdDataManager().setInitialIncomeDistribution((float[][][]) in.readObject());
+            final Serializable containerState = (Serializable) in.readObject();
+            if (containerState != null) {
+                dataContainer.restoreSnapshotState(containerState);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Could not restore random number generators and base year distributions from snapshot.", e);
+        }
+    }
+
+    /**
+     * Serializes everything that can not be stored column wise in a single stream, such that random number generators
+     * shared by several models are restored as shared generators.
+     */
+    private static byte[] serializeState(DataContainer dataContainer, ModelContainer modelContainer) throws IOException {
+        final Map<String, AbstractModel> models = getModelsWithRandom(modelContainer);
+        final Random[] modelRandoms = new Random[models.size()];
+        int i = 0;
+        for (AbstractModel model : models.values()) {
+            modelRandoms[i++] = model.getRandom();
+        }
+        final RealEstateDataManager realEstateDataManager = dataContainer.getRealEstateDataManager();
+        final Map<IncomeCategory, Map<Integer, Float>> rentPayments = new EnumMap<>(IncomeCategory.class);
+        for (IncomeCategory incomeCategory : IncomeCategory.values()) {
+            final Map<Integer, Float> payments = realEstateDataManager.getRentPaymentsForIncomeGroup(incomeCategory);
+            if (payments != null) {
+                rentPayments.put(incomeCategory, new HashMap<>(payments));
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(SiloUtil.getRandomObject());
+            out.writeObject(models.keySet().toArray(new String[0]));
+            out.writeObject(modelRandoms);
+            out.writeObject(new HashMap<>(realEstateDataManager.getInitialQualShares()));
+            out.writeObject(rentPayments);
+            out.writeInt(RealEstateDataManagerImpl.largestNoBedrooms);
+            out.writeObject(dataContainer.getHouseholdDataManager().getInitialIncomeDistribution());
+            out.writeObject(dataContainer.getSnapshotState());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the models of the given container that draw from their own random number generator, keyed by their
+     * class name and the number of previous models of the same class. Models that are registered several times are
+     * only included once.
+     */
+    private static Map<String, AbstractModel> getModelsWithRandom(ModelContainer modelContainer) {
+        final List<Object> candidates = new ArrayList<>();
+        for (EventModel eventModel : modelContainer.getEventModels().values()) {
+            candidates.add(eventModel);
+        }
+        for (ModelUpdateListener listener : modelContainer.getModelUpdateListeners()) {
+            candidates.add(listener);
+        }
+        final Set<Object> included = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Map<String, Integer> occurrences = new HashMap<>();
+        final Map<String, AbstractModel> models = new LinkedHashMap<>();
+        for (Object candidate : candidates) {
+            if (candidate instanceof AbstractModel && included.add(candidate)
+                    && ((AbstractModel) candidate).getRandom() != null) {
+                final String name = candidate.getClass().getName();
+                final int occurrence = occurrences.merge(name, 1, Integer::sum);
+                models.put(name + "#" + occurrence, (AbstractModel) candidate);
+            }
+        }
+        return models;
+    }
+
+    private static ColumnarTableWriter getZoneTable(List<Zone> zones) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(true);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("zone");
+        final ColumnarTableWriter.DoubleColumn developableArea = table.addDoubleColumn("developableArea");
+        final ColumnarTableWriter.IntColumn dwellingCapacity = table.addIntColumn("dwellingCapacity");
+        for (Zone zone : zones) {
+            id.add(zone.getZoneId());
+            developableArea.add(zone.getDevelopment().getDevelopableArea());
+            dwellingCapacity.add(zone.getDevelopment().getDwellingCapacity());
+        }
+        return table;
+    }
+
+    private static ColumnarTableWriter getDwellingTable(List<Dwelling> dwellings, SnapshotAttributes<Dwelling> attributes) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(true);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn zone = table.addIntColumn("zone");
+        final ColumnarTableWriter.StringColumn type = table.addStringColumn("type");
+        final ColumnarTableWriter.IntColumn hhID = table.addIntColumn("hhID");
+        final ColumnarTableWriter.IntColumn bedrooms = table.addIntColumn("bedrooms");
+        final ColumnarTableWriter.IntColumn quality = table.addIntColumn("quality");
+        final ColumnarTableWriter.IntColumn monthlyCost = table.addIntColumn("monthlyCost");
+        final ColumnarTableWriter.IntColumn yearBuilt = table.addIntColumn("yearBuilt");
+        final ColumnarTableWriter.IntColumn floorSpace = table.addIntColumn("floorSpace");
+        final ColumnarTableWriter.IntColumn usage = table.addIntColumn("usage");
+        final ColumnarTableWriter.DoubleColumn coordX = table.addDoubleColumn("coordX");
+        final ColumnarTableWriter.DoubleColumn coordY = table.addDoubleColumn("coordY");
+        for (Dwelling dd : dwellings) {
+            id.add(dd.getId());
+            zone.add(dd.getZoneId());
+            type.add(dd.getType().toString());
+            hhID.add(dd.getResidentId());
+            bedrooms.add(dd.getBedrooms());
+            quality.add(dd.getQuality());
+            monthlyCost.add(dd.getPrice());
+            yearBuilt.add(dd.getYearBuilt());
+            floorSpace.add(dd.getFloorSpace());
+            usage.add(dd.getUsage().ordinal());
+            coordX.add(dd.getCoordinate() == null ? Double.NaN : dd.getCoordinate().x);
+            coordY.add(dd.getCoordinate() == null ? Double.NaN : dd.getCoordinate().y);
+        }
+        addAttributes(table, dwellings, attributes);
+        return table;
+    }
+
+    private static ColumnarTableWriter getHouseholdTable(List<Household> households, SnapshotAttributes<Household> attributes) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(true);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn dwelling = table.addIntColumn("dwelling");
+        final ColumnarTableWriter.IntColumn autos = table.addIntColumn("autos");
+        for (Household hh : households) {
+            id.add(hh.getId());
+            dwelling.add(hh.getDwellingId());
+            autos.add(hh.getAutos());
+        }
+        addAttributes(table, households, attributes);
+        return table;
+    }
+
+    private static ColumnarTableWriter getPersonTable(List<Person> persons, SnapshotAttributes<Person> attributes) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(true);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn hhid = table.addIntColumn("hhid");
+        final ColumnarTableWriter.IntColumn age = table.addIntColumn("age");
+        final ColumnarTableWriter.IntColumn gender = table.addIntColumn("gender");
+        final ColumnarTableWriter.StringColumn relationShip = table.addStringColumn("relationShip");
+        final ColumnarTableWriter.IntColumn occupation = table.addIntColumn("occupation");
+        final ColumnarTableWriter.IntColumn driversLicense = table.addIntColumn("driversLicense");
+        final ColumnarTableWriter.IntColumn workplace = table.addIntColumn("workplace");
+        final ColumnarTableWriter.IntColumn income = table.addIntColumn("income");
+        for (Person pp : persons) {
+            id.add(pp.getId());
+            hhid.add(pp.getHousehold().getId());
+            age.add(pp.getAge());
+            gender.add(pp.getGender().getCode());
+            relationShip.add(pp.getRole().name());
+            occupation.add(pp.getOccupation().getCode());
+            driversLicense.add(pp.hasDriverLicense() ? 1 : 0);
+            workplace.add(pp.getJobId());
+            income.add(pp.getAnnualIncome());
+        }
+        addAttributes(table, persons, attributes);
+        return table;
+    }
+
+    private static ColumnarTableWriter getJobTable(List<Job> jobs, SnapshotAttributes<Job> attributes) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(true);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn zone = table.addIntColumn("zone");
+        final ColumnarTableWriter.IntColumn personId = table.addIntColumn("personId");
+        final ColumnarTableWriter.StringColumn type = table.addStringColumn("type");
+        final ColumnarTableWriter.DoubleColumn coordX = table.addDoubleColumn("coordX");
+        final ColumnarTableWriter.DoubleColumn coordY = table.addDoubleColumn("coordY");
+        for (Job jj : jobs) {
+            id.add(jj.getId());
+            zone.add(jj.getZoneId());
+            personId.add(jj.getWorkerId());
+            type.add(jj.getType());
+            coordX.add(jj.getCoordinate() == null ? Double.NaN : jj.getCoordinate().x);
+            coordY.add(jj.getCoordinate() == null ? Double.NaN : jj.getCoordinate().y);
+        }
+        addAttributes(table, jobs, attributes);
+        return table;
+    }
+
+    private static <T> void addAttributes(ColumnarTableWriter table, List<T> entities, SnapshotAttributes<T> attributes) {
+        for (int attribute = 0; attribute < attributes.getNames().size(); attribute++) {
+            final ColumnarTableWriter.DoubleColumn column = table.addDoubleColumn(ATTRIBUTE_PREFIX + attributes.getNames().get(attribute));
+            for (T entity : entities) {
+                column.add(attributes.get(attribute, entity));
+            }
+        }
+    }
+
+    private static void readDwellings(ColumnarTableReader table, RealEstateDataManager realEstateDataManager) {
+        final int count = table.getRowCount();
+        final Map<String, DwellingType> typesByName = new HashMap<>();
+        for (DwellingType type : realEstateDataManager.getDwellingTypes()) {
+            typesByName.put(type.toString(), type);
+        }
+        final int[] ids = table.readIntColumn("id");
+        final int[] zones = table.readIntColumn("zone");
+        final String[] typeNames = table.readStringColumn("type");
+        final int[] residents = table.readIntColumn("hhID");
+        final int[] bedrooms = table.readIntColumn("bedrooms");
+        final int[] qualities = table.readIntColumn("quality");
+        final int[] prices = table.readIntColumn("monthlyCost");
+        final int[] yearsBuilt = table.readIntColumn("yearBuilt");
+        final int[] floorSpaces = table.readIntColumn("floorSpace");
+        final int[] usages = table.readIntColumn("usage");
+        final double[] x = table.readDoubleColumn("coordX");
+        final double[] y = table.readDoubleColumn("coordY");
+
+        final DwellingFactory factory = realEstateDataManager.getDwellingFactory();
+        final SnapshotAttributes<Dwelling> attributes = factory.getSnapshotAttributes();
+        final double[][] attributeValues = getAttributes(table, attributes, "dwelling");
+        for (int i = 0; i < count; i++) {
+            final DwellingType type = typesByName.get(typeNames[i]);
+            if (type == null) {
+                throw new RuntimeException("Snapshot refers to unknown dwelling type " + typeNames[i]);
+            }
+            final Dwelling dwelling = factory.createDwelling(ids[i], zones[i], toCoordinate(x[i], y[i]), residents[i],
+                    type, bedrooms[i], qualities[i], prices[i], yearsBuilt[i]);
+            dwelling.setFloorSpace(floorSpaces[i]);
+            dwelling.setUsage(DwellingUsage.valueOf(usages[i]));
+            setAttributes(dwelling, i, attributes, attributeValues);
+            realEstateDataManager.addDwelling(dwelling);
+        }
+    }
+
+    private static void readHouseholds(ColumnarTableReader table, HouseholdDataManager householdDataManager) {
+        final int count = table.getRowCount();
+        final int[] ids = table.readIntColumn("id");
+        final int[] dwellings = table.readIntColumn("dwelling");
+        final int[] autos = table.readIntColumn("autos");
+
+        final HouseholdFactory factory = householdDataManager.getHouseholdFactory();
+        final SnapshotAttributes<Household> attributes = factory.getSnapshotAttributes();
+        final double[][] attributeValues = getAttributes(table, attributes, "household");
+        for (int i = 0; i < count; i++) {
+            final Household household = factory.createHousehold(ids[i], dwellings[i], autos[i]);
+            setAttributes(household, i, attributes, attributeValues);
+            householdDataManager.addHousehold(household);
+        }
+    }
+
+    private static void readPersons(ColumnarTableReader table, HouseholdDataManager householdDataManager) {
+        final int count = table.getRowCount();
+        final int[] ids = table.readIntColumn("id");
+        final int[] households = table.readIntColumn("hhid");
+        final int[] ages = table.readIntColumn("age");
+        final int[] genders = table.readIntColumn("gender");
+        final String[] roles = table.readStringColumn("relationShip");
+        final int[] occupations = table.readIntColumn("occupation");
+        final int[] licenses = table.readIntColumn("driversLicense");
+        final int[] jobs = table.readIntColumn("workplace");
+        final int[] incomes = table.readIntColumn("income");
+
+        final PersonFactory factory = householdDataManager.getPersonFactory();
+        final SnapshotAttributes<Person> attributes = factory.getSnapshotAttributes();
+        final double[][] attributeValues = getAttributes(table, attributes, "person");
+        for (int i = 0; i < count; i++) {
+            final Household household = householdDataManager.getHouseholdFromId(households[i]);
+            if (household == null) {
+                throw new RuntimeException("Person " + ids[i] + " refers to non existing household " + households[i] + "!");
+            }
+            final Person person = factory.createPerson(ids[i], ages[i], Gender.valueOf(genders[i]),
+                    Occupation.valueOf(occupations[i]), PersonRole.valueOf(roles[i]), jobs[i], incomes[i]);
+            setAttributes(person, i, attributes, attributeValues);
+            householdDataManager.addPerson(person);
+            householdDataManager.addPersonToHousehold(person, household);
+            person.setDriverLicense(licenses[i] == 1);
+        }
+    }
+
+    private static void readJobs(ColumnarTableReader table, JobDataManager jobDataManager) {
+        final int count = table.getRowCount();
+        final int[] ids = table.readIntColumn("id");
+        final int[] zones = table.readIntColumn("zone");
+        final int[] workers = table.readIntColumn("personId");
+        final String[] types = table.readStringColumn("type");
+        final double[] x = table.readDoubleColumn("coordX");
+        final double[] y = table.readDoubleColumn("coordY");
+
+        final JobFactory factory = jobDataManager.getFactory();
+        final SnapshotAttributes<Job> attributes = factory.getSnapshotAttributes();
+        final double[][] attributeValues = getAttributes(table, attributes, "job");
+        for (int i = 0; i < count; i++) {
+            final Job job = factory.createJob(ids[i], zones[i], toCoordinate(x[i], y[i]), workers[i], types[i]);
+            setAttributes(job, i, attributes, attributeValues);
+            jobDataManager.addJob(job);
+        }
+    }
+
+    /**
+     * Reads the values of the given attributes, which must be the attributes the snapshot was written with.
+     */
+    private static <T> double[][] getAttributes(ColumnarTableReader table, SnapshotAttributes<T> attributes, String entity) {
+        final List<String> names = new ArrayList<>();
+        for (String column : table.getColumnNames()) {
+            if (column.startsWith(ATTRIBUTE_PREFIX)) {
+                names.add(column.substring(ATTRIBUTE_PREFIX.length()));
+            }
+        }
+        if (!names.equals(attributes.getNames())) {
+            throw new RuntimeException("Snapshot stores " + entity + " attributes " + names
+                    + ", but the " + entity + " factory registers " + attributes.getNames());
+        }
+        final double[][] values = new double[names.size()][];
+        for (int attribute = 0; attribute < values.length; attribute++) {
+            values[attribute] = table.readDoubleColumn(ATTRIBUTE_PREFIX + names.get(attribute));
+        }
+        return values;
+    }
+
+    private static <T> void setAttributes(T entity, int index, SnapshotAttributes<T> attributes, double[][] values) {
+        for (int attribute = 0; attribute < values.length; attribute++) {
+            attributes.set(attribute, entity, values[attribute][index]);
+        }
+    }
+
+    private static Coordinate toCoordinate(double x, double y) {
+        return Double.isNaN(x) ? null : new Coordinate(x, y);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of snapshot.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
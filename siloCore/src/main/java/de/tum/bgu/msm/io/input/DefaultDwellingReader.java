@@ -1,13 +1,14 @@
 package de.tum.bgu.msm.io.input;
 
 import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.utils.ParallelCsvReader;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
 import org.locationtech.jts.geom.Coordinate;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class DefaultDwellingReader implements DwellingReader {
 
@@ -21,13 +22,10 @@ public class DefaultDwellingReader implements DwellingReader {
     @Override
     public void readData(String path) {
         logger.info("Reading dwelling micro data from ascii file");
-        String recString = "";
         int recCount = 0;
-        try {
-            BufferedReader in = new BufferedReader(new FileReader(path));
-            recString = in.readLine();
+        try (ParallelCsvReader in = new ParallelCsvReader(path)) {
 
-            String[] header = recString.split(",");
+            String[] header = in.getHeader();
             int posId = SiloUtil.findPositionInArray("id", header);
             int posZone = SiloUtil.findPositionInArray("zone", header);
             int posHh = SiloUtil.findPositionInArray("hhID", header);
@@ -46,24 +44,31 @@ public class DefaultDwellingReader implements DwellingReader {
                 logger.warn("No coords given in dwelling input file. Models using microlocations will not work.");
             }
 
+            in.intColumn(posId).intColumn(posZone).intColumn(posHh).stringColumn(posType).intColumn(posCosts)
+                    .intColumn(posRooms).intColumn(posQuality).intColumn(posYear);
+            if (posCoordX >= 0 && posCoordY >= 0) {
+                in.doubleColumn(posCoordX).doubleColumn(posCoordY);
+            }
+            Map<String, DwellingType> typesByValue = new HashMap<>();
+
             int noCoordCounter = 0;
-            while ((recString = in.readLine()) != null) {
+            ParallelCsvReader.Rows rows = in.rows();
+            while (rows.next()) {
                 recCount++;
-                String[] lineElements = recString.split(",");
-                int id = Integer.parseInt(lineElements[posId]);
-                int zoneId = Integer.parseInt(lineElements[posZone]);
-                int hhId = Integer.parseInt(lineElements[posHh]);
-                String tp = lineElements[posType].replace("\"", "");
-                DwellingType type = DefaultDwellingTypeImpl.valueOf(tp);
-                int price = Integer.parseInt(lineElements[posCosts]);
-                int area = Integer.parseInt(lineElements[posRooms]);
-                int quality = Integer.parseInt(lineElements[posQuality]);
-                int yearBuilt = Integer.parseInt(lineElements[posYear]);
+                int id = rows.getInt(posId);
+                int zoneId = rows.getInt(posZone);
+                int hhId = rows.getInt(posHh);
+                DwellingType type = typesByValue.computeIfAbsent(rows.getString(posType),
+                        tp -> DefaultDwellingTypeImpl.valueOf(tp.replace("\"", "")));
+                int price = rows.getInt(posCosts);
+                int area = rows.getInt(posRooms);
+                int quality = rows.getInt(posQuality);
+                int yearBuilt = rows.getInt(posYear);
 
                 Coordinate coordinate = null;
                 if (posCoordX >= 0 && posCoordY >= 0) {
                     try {
-                        coordinate = new Coordinate(Double.parseDouble(lineElements[posCoordX]), Double.parseDouble(lineElements[posCoordY]));
+                        coordinate = new Coordinate(rows.getDouble(posCoordX), rows.getDouble(posCoordY));
                     } catch (Exception e) {
                         noCoordCounter++;
                     }
@@ -81,7 +86,7 @@ public class DefaultDwellingReader implements DwellingReader {
             }
         } catch (IOException e) {
             logger.fatal("IO Exception caught reading synpop dwelling file: " + path);
-            logger.fatal("recCount = " + recCount + ", recString = <" + recString + ">");
+            logger.fatal("recCount = " + recCount);
         }
         logger.info("Finished reading " + recCount + " dwellings.");
     }
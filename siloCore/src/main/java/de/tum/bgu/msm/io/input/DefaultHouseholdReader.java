@@ -3,11 +3,10 @@ package de.tum.bgu.msm.io.input;
 import de.tum.bgu.msm.data.household.Household;
 import de.tum.bgu.msm.data.household.HouseholdDataManager;
 import de.tum.bgu.msm.data.household.HouseholdFactory;
+import de.tum.bgu.msm.utils.ParallelCsvReader;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 
 public class DefaultHouseholdReader implements HouseholdReader{
@@ -24,25 +23,23 @@ public class DefaultHouseholdReader implements HouseholdReader{
     public void readData(String fileName) {
         logger.info("Reading household micro data from ascii file");
 
-        String recString = "";
         int recCount = 0;
-        try {
-            BufferedReader in = new BufferedReader(new FileReader(fileName));
-            recString = in.readLine();
+        try (ParallelCsvReader in = new ParallelCsvReader(fileName)) {
 
             // read header
-            String[] header = recString.split(",");
+            String[] header = in.getHeader();
             int posId = SiloUtil.findPositionInArray("id", header);
             int posDwell = SiloUtil.findPositionInArray("dwelling", header);
             int posAutos = SiloUtil.findPositionInArray("autos", header);
+            in.intColumn(posId).intColumn(posDwell).intColumn(posAutos);
 
             // read line
-            while ((recString = in.readLine()) != null) {
+            ParallelCsvReader.Rows rows = in.rows();
+            while (rows.next()) {
                 recCount++;
-                String[] lineElements = recString.split(",");
-                int id = Integer.parseInt(lineElements[posId]);
-                int dwellingID = Integer.parseInt(lineElements[posDwell]);
-                int autos = Integer.parseInt(lineElements[posAutos]);
+                int id = rows.getInt(posId);
+                int dwellingID = rows.getInt(posDwell);
+                int autos = rows.getInt(posAutos);
 
                 Household hh = factory.createHousehold(id, dwellingID, autos);  // this automatically puts it in id->household map in Household class
                 householdData.addHousehold(hh);
@@ -53,7 +50,7 @@ public class DefaultHouseholdReader implements HouseholdReader{
             }
         } catch (IOException e) {
             logger.fatal("IO Exception caught reading synpop household file: " + fileName);
-            logger.fatal("recCount = " + recCount + ", recString = <" + recString + ">");
+            logger.fatal("recCount = " + recCount);
         }
         logger.info("Finished reading " + recCount + " households.");
 
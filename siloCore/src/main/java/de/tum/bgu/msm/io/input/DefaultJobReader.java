@@ -1,13 +1,14 @@
 package de.tum.bgu.msm.io.input;
 
 import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.utils.ParallelCsvReader;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
 import org.locationtech.jts.geom.Coordinate;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class DefaultJobReader implements JobReader {
 
@@ -22,15 +23,12 @@ public class DefaultJobReader implements JobReader {
     public void readData(String fileName) {
 
         logger.info("Reading job micro data from ascii file");
-        JobFactory factory = JobUtils.getFactory();
-        String recString = "";
+        JobFactory factory = jobData.getFactory();
         int recCount = 0;
-        try {
-            BufferedReader in = new BufferedReader(new FileReader(fileName));
-            recString = in.readLine();
+        try (ParallelCsvReader in = new ParallelCsvReader(fileName)) {
 
             // read header
-            String[] header = recString.split(",");
+            String[] header = in.getHeader();
             int posId = SiloUtil.findPositionInArray("id", header);
             int posZone = SiloUtil.findPositionInArray("zone", header);
             int posWorker = SiloUtil.findPositionInArray("personId", header);
@@ -45,22 +43,28 @@ public class DefaultJobReader implements JobReader {
                 logger.warn("No coords given in dwelling input file. Models using microlocations will not work.");
             }
 
+            in.intColumn(posId).intColumn(posZone).intColumn(posWorker).stringColumn(posType);
+            if (posCoordX >= 0 && posCoordY >= 0) {
+                in.doubleColumn(posCoordX).doubleColumn(posCoordY);
+            }
+            Map<String, String> typesByValue = new HashMap<>();
+
             int noCoordCounter = 0;
 
 
             // read line
-            while ((recString = in.readLine()) != null) {
+            ParallelCsvReader.Rows rows = in.rows();
+            while (rows.next()) {
                 recCount++;
-                String[] lineElements = recString.split(",");
-                int id = Integer.parseInt(lineElements[posId]);
-                int zoneId = Integer.parseInt(lineElements[posZone]);
-                int worker = Integer.parseInt(lineElements[posWorker]);
-                String type = lineElements[posType].replace("\"", "");
+                int id = rows.getInt(posId);
+                int zoneId = rows.getInt(posZone);
+                int worker = rows.getInt(posWorker);
+                String type = typesByValue.computeIfAbsent(rows.getString(posType), tp -> tp.replace("\"", ""));
 
                 Coordinate coordinate = null;
                 if (posCoordX >= 0 && posCoordY >= 0) {
                     try {
-                        coordinate = new Coordinate(Double.parseDouble(lineElements[posCoordX]), Double.parseDouble(lineElements[posCoordY]));
+                        coordinate = new Coordinate(rows.getDouble(posCoordX), rows.getDouble(posCoordY));
                     } catch (Exception e) {
                         noCoordCounter++;
                     }
@@ -79,7 +83,7 @@ public class DefaultJobReader implements JobReader {
             }
         } catch (IOException e) {
             logger.fatal("IO Exception caught reading synpop job file: " + fileName, new RuntimeException());
-            logger.fatal("recCount = " + recCount + ", recString = <" + recString + ">", new RuntimeException());
+            logger.fatal("recCount = " + recCount, new RuntimeException());
         }
         logger.info("Finished reading " + recCount + " jobs.");
     }
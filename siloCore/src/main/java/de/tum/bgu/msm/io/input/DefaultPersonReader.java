@@ -3,12 +3,13 @@ package de.tum.bgu.msm.io.input;
 import de.tum.bgu.msm.data.household.HouseholdDataManager;
 import de.tum.bgu.msm.data.household.Household;
 import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.utils.ParallelCsvReader;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class DefaultPersonReader implements PersonReader{
 
@@ -23,15 +24,12 @@ public class DefaultPersonReader implements PersonReader{
     public void readData(String path) {
         logger.info("Reading person micro data from ascii file");
 
-        PersonFactory ppFactory = PersonUtils.getFactory();
-        String recString = "";
+        PersonFactory ppFactory = householdDataManager.getPersonFactory();
         int recCount = 0;
-        try {
-            BufferedReader in = new BufferedReader(new FileReader(path));
-            recString = in.readLine();
+        try (ParallelCsvReader in = new ParallelCsvReader(path)) {
 
             // read header
-            String[] header = recString.split(",");
+            String[] header = in.getHeader();
             int posId = SiloUtil.findPositionInArray("id", header);
             int posHhId = SiloUtil.findPositionInArray("hhID",header);
             int posAge = SiloUtil.findPositionInArray("age",header);
@@ -41,21 +39,25 @@ public class DefaultPersonReader implements PersonReader{
             int posWorkplace = SiloUtil.findPositionInArray("workplace",header);
             int posIncome = SiloUtil.findPositionInArray("income",header);
             int posDriver = SiloUtil.findPositionInArray("driversLicense", header);
+            in.intColumn(posId).intColumn(posHhId).intColumn(posAge).intColumn(posGender)
+                    .stringColumn(posRelShp).intColumn(posOccupation).intColumn(posWorkplace)
+                    .intColumn(posIncome).stringColumn(posDriver);
+            Map<String, PersonRole> rolesByValue = new HashMap<>();
 
             // read line
-            while ((recString = in.readLine()) != null) {
+            ParallelCsvReader.Rows rows = in.rows();
+            while (rows.next()) {
                 recCount++;
-                String[] lineElements = recString.split(",");
-                int id         = Integer.parseInt(lineElements[posId]);
-                int hhid       = Integer.parseInt(lineElements[posHhId]);
-                int age        = Integer.parseInt(lineElements[posAge]);
-                Gender gender     = Gender.valueOf(Integer.parseInt(lineElements[posGender]));
-                String relShp  = lineElements[posRelShp].replace("\"", "");
-                PersonRole pr  = PersonRole.valueOf(relShp.toUpperCase());
-                Occupation occupation = Occupation.valueOf(Integer.parseInt(lineElements[posOccupation]));
-                int workplace  = Integer.parseInt(lineElements[posWorkplace]);
-                int income     = Integer.parseInt(lineElements[posIncome]);
-                boolean license = Boolean.parseBoolean(lineElements[posDriver]);
+                int id         = rows.getInt(posId);
+                int hhid       = rows.getInt(posHhId);
+                int age        = rows.getInt(posAge);
+                Gender gender     = Gender.valueOf(rows.getInt(posGender));
+                PersonRole pr  = rolesByValue.computeIfAbsent(rows.getString(posRelShp),
+                        relShp -> PersonRole.valueOf(relShp.replace("\"", "").toUpperCase()));
+                Occupation occupation = Occupation.valueOf(rows.getInt(posOccupation));
+                int workplace  = rows.getInt(posWorkplace);
+                int income     = rows.getInt(posIncome);
+                boolean license = Boolean.parseBoolean(rows.getString(posDriver));
                 //todo temporary assign driving license since this is not in the current SP version
                 //boolean license = MicroDataManager.obtainLicense(gender, age);
                 Household household = householdDataManager.getHouseholdFromId(hhid);
@@ -74,7 +76,7 @@ public class DefaultPersonReader implements PersonReader{
             }
         } catch (IOException e) {
             logger.fatal("IO Exception caught reading synpop household file: " + path);
-            logger.fatal("recCount = " + recCount + ", recString = <" + recString + ">");
+            logger.fatal("recCount = " + recCount);
         }
         logger.info("Finished reading " + recCount + " persons.");
     }
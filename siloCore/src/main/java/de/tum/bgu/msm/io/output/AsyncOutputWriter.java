@@ -0,0 +1,349 @@
+package de.tum.bgu.msm.io.output;
+
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes text output on a background thread so that the simulation does not wait for the disk.
+ *
+ * Records are encoded straight into a bounded ring of byte chunks. Full chunks are handed to a single shared I/O
+ * thread, which writes them in order and returns them to the ring. Callers only wait if all chunks of a writer are
+ * still pending, i.e. if the disk falls far behind. {@link #flush()} and {@link #close()} wait until everything
+ * written so far is on disk. Files ending with ".gz" are compressed. Writers that are still open when SILO
+ * terminates are closed by {@link #closeAll()}.
+ *
+ * All methods are thread safe, a record is never interleaved with records of other threads.
+ */
+public final class AsyncOutputWriter implements Closeable {
+
+    private final static Logger logger = Logger.getLogger(AsyncOutputWriter.class);
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int NUMBER_OF_CHUNKS = 16;
+    private static final int MAX_INT_LENGTH = 11;
+    private static final int MAX_LONG_LENGTH = 20;
+
+    private static final Set<AsyncOutputWriter> OPEN_WRITERS = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService IO_THREAD = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "silo-output-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private final OutputStream out;
+
+    private final ArrayBlockingQueue<byte[]> freeChunks = new ArrayBlockingQueue<>(NUMBER_OF_CHUNKS);
+    private final Semaphore availableChunks = new Semaphore(NUMBER_OF_CHUNKS - 1);
+    private byte[] chunk = new byte[CHUNK_SIZE];
+    private int position;
+    private char highSurrogate;
+
+    private volatile IOException failure;
+    private boolean closed;
+
+    private AsyncOutputWriter(Path path, OutputStream out) {
+        this.path = path;
+        this.out = out;
+    }
+
+    /**
+     * Opens the given file for writing and creates missing parent directories. The file is gzip compressed if its
+     * name ends with ".gz".
+     */
+    public static AsyncOutputWriter open(Path path, boolean append) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            OutputStream out = append
+                    ? Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newOutputStream(path);
+            if (path.getFileName().toString().endsWith(".gz")) {
+                out = new GZIPOutputStream(out, CHUNK_SIZE, true);
+            }
+            final AsyncOutputWriter writer = new AsyncOutputWriter(path, out);
+            OPEN_WRITERS.add(writer);
+            return writer;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open file " + path, e);
+        }
+    }
+
+    /**
+     * Closes all writers that are still open. Called whenever SILO terminates, regardless of whether it completed
+     * successfully or crashed.
+     */
+    public static void closeAll() {
+        for (AsyncOutputWriter writer : new ArrayList<>(OPEN_WRITERS)) {
+            try {
+                writer.close();
+            } catch (RuntimeException e) {
+                logger.error("Could not close " + writer.path, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the given values as one comma separated line.
+     */
+    public synchronized void writeRecord(int... values) {
+        checkOpen();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                putByte((byte) ',');
+            }
+            putInt(values[i]);
+        }
+        putByte((byte) '\n');
+    }
+
+    /**
+     * Writes the given values as one comma separated line.
+     */
+    public synchronized void writeRecord(long... values) {
+        checkOpen();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                putByte((byte) ',');
+            }
+            putLong(values[i]);
+        }
+        putByte((byte) '\n');
+    }
+
+    public synchronized void writeLine(CharSequence line) {
+        checkOpen();
+        for (int i = 0; i < line.length(); i++) {
+            putChar(line.charAt(i));
+        }
+        putByte((byte) '\n');
+    }
+
+    public synchronized void write(char[] chars, int offset, int length) {
+        checkOpen();
+        for (int i = offset; i < offset + length; i++) {
+            putChar(chars[i]);
+        }
+    }
+
+    /**
+     * Returns a print writer that writes through this writer without further buffering. Flushing or closing the
+     * print writer flushes or closes this writer.
+     */
+    public PrintWriter asPrintWriter() {
+        return new PrintWriter(new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) {
+                AsyncOutputWriter.this.write(chars, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                AsyncOutputWriter.this.flush();
+            }
+
+            @Override
+            public void close() {
+                AsyncOutputWriter.this.close();
+            }
+        });
+    }
+
+    /**
+     * Waits until everything written so far has been passed to the file system.
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        submitChunk();
+        waitFor(IO_THREAD.submit(() -> {
+            if (failure == null) {
+                out.flush();
+            }
+            return null;
+        }));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        OPEN_WRITERS.remove(this);
+        try {
+            submitChunk();
+        } finally {
+            waitFor(IO_THREAD.submit(() -> {
+                out.close();
+                return null;
+            }));
+        }
+    }
+
+    private void putByte(byte b) {
+        if (position == chunk.length) {
+            submitChunk();
+        }
+        chunk[position++] = b;
+    }
+
+    private void putInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            putLong(value);
+            return;
+        }
+        if (position + MAX_INT_LENGTH > chunk.length) {
+            submitChunk();
+        }
+        if (value < 0) {
+            chunk[position++] = '-';
+            value = -value;
+        }
+        final int end = position + digits(value);
+        int index = end;
+        do {
+            chunk[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private void putLong(long value) {
+        if (position + MAX_LONG_LENGTH > chunk.length) {
+            submitChunk();
+        }
+        if (value < 0) {
+            chunk[position++] = '-';
+        } else {
+            value = -value;
+        }
+        // digits are taken from the negative value, which also covers Long.MIN_VALUE
+        final int start = position;
+        do {
+            chunk[position++] = (byte) ('0' - value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            final byte digit = chunk[i];
+            chunk[i] = chunk[j];
+            chunk[j] = digit;
+        }
+    }
+
+    private void putChar(char c) {
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                putCodePoint(Character.toCodePoint(high, c));
+                return;
+            }
+            putByte((byte) '?');
+        }
+        if (c < 0x80) {
+            putByte((byte) c);
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            putByte((byte) '?');
+        } else {
+            putCodePoint(c);
+        }
+    }
+
+    private void putCodePoint(int codePoint) {
+        if (codePoint < 0x800) {
+            putByte((byte) (0xc0 | (codePoint >> 6)));
+        } else if (codePoint < 0x10000) {
+            putByte((byte) (0xe0 | (codePoint >> 12)));
+            putByte((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        } else {
+            putByte((byte) (0xf0 | (codePoint >> 18)));
+            putByte((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+            putByte((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        }
+        putByte((byte) (0x80 | (codePoint & 0x3f)));
+    }
+
+    /**
+     * Hands the current chunk to the I/O thread and continues with a free one.
+     */
+    private void submitChunk() {
+        checkFailure();
+        if (position == 0) {
+            return;
+        }
+        final byte[] full = chunk;
+        final int length = position;
+        availableChunks.acquireUninterruptibly();
+        IO_THREAD.execute(() -> {
+            try {
+                if (failure == null) {
+                    out.write(full, 0, length);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                freeChunks.offer(full);
+                availableChunks.release();
+            }
+        });
+        final byte[] free = freeChunks.poll();
+        chunk = free != null ? free : new byte[CHUNK_SIZE];
+        position = 0;
+    }
+
+    private void waitFor(Future<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing " + path, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not write " + path, e.getCause());
+        }
+        checkFailure();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Writer for " + path + " is already closed.");
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new RuntimeException("Could not write " + path, failure);
+        }
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
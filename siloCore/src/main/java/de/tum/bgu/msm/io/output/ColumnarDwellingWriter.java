@@ -0,0 +1,62 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.dwelling.RealEstateDataManager;
+import de.tum.bgu.msm.io.ColumnarTableWriter;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the same dwelling attributes as the {@link DefaultDwellingWriter} into a columnar table. Missing
+ * coordinates are stored as NaN.
+ */
+public class ColumnarDwellingWriter implements DwellingWriter {
+
+    private final static Logger logger = Logger.getLogger(ColumnarDwellingWriter.class);
+
+    private final RealEstateDataManager realEstateDataManager;
+    private final boolean compress;
+
+    public ColumnarDwellingWriter(RealEstateDataManager realEstateDataManager, boolean compress) {
+        this.realEstateDataManager = realEstateDataManager;
+        this.compress = compress;
+    }
+
+    @Override
+    public void writeDwellings(String path) {
+        logger.info("  Writing dwelling file to " + path);
+        final ColumnarTableWriter table = new ColumnarTableWriter(compress);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn zone = table.addIntColumn("zone");
+        final ColumnarTableWriter.StringColumn type = table.addStringColumn("type");
+        final ColumnarTableWriter.IntColumn hhID = table.addIntColumn("hhID");
+        final ColumnarTableWriter.IntColumn bedrooms = table.addIntColumn("bedrooms");
+        final ColumnarTableWriter.IntColumn quality = table.addIntColumn("quality");
+        final ColumnarTableWriter.IntColumn monthlyCost = table.addIntColumn("monthlyCost");
+        final ColumnarTableWriter.IntColumn yearBuilt = table.addIntColumn("yearBuilt");
+        final ColumnarTableWriter.DoubleColumn coordX = table.addDoubleColumn("coordX");
+        final ColumnarTableWriter.DoubleColumn coordY = table.addDoubleColumn("coordY");
+        for (Dwelling dd : realEstateDataManager.getDwellings()) {
+            id.add(dd.getId());
+            zone.add(dd.getZoneId());
+            type.add(String.valueOf(dd.getType()));
+            hhID.add(dd.getResidentId());
+            bedrooms.add(dd.getBedrooms());
+            quality.add(dd.getQuality());
+            monthlyCost.add(dd.getPrice());
+            yearBuilt.add(dd.getYearBuilt());
+            if (dd.getCoordinate() != null) {
+                coordX.add(dd.getCoordinate().x);
+                coordY.add(dd.getCoordinate().y);
+            } else {
+                coordX.add(Double.NaN);
+                coordY.add(Double.NaN);
+            }
+            if (dd.getId() == SiloUtil.trackDd) {
+                SiloUtil.trackingFile("Writing dd " + dd.getId() + " to micro data file.");
+                SiloUtil.trackWriter.println(dd.toString());
+            }
+        }
+        table.write(path);
+    }
+}
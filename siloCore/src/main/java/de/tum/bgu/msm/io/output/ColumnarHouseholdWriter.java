@@ -0,0 +1,44 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdDataManager;
+import de.tum.bgu.msm.io.ColumnarTableWriter;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the same household attributes as the {@link DefaultHouseholdWriter} into a columnar table.
+ */
+public class ColumnarHouseholdWriter implements HouseholdWriter {
+
+    private final static Logger logger = Logger.getLogger(ColumnarHouseholdWriter.class);
+
+    private final HouseholdDataManager householdData;
+    private final boolean compress;
+
+    public ColumnarHouseholdWriter(HouseholdDataManager householdData, boolean compress) {
+        this.householdData = householdData;
+        this.compress = compress;
+    }
+
+    @Override
+    public void writeHouseholds(String path) {
+        logger.info("  Writing household file to " + path);
+        final ColumnarTableWriter table = new ColumnarTableWriter(compress);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn dwelling = table.addIntColumn("dwelling");
+        final ColumnarTableWriter.IntColumn hhSize = table.addIntColumn("hhSize");
+        final ColumnarTableWriter.IntColumn autos = table.addIntColumn("autos");
+        for (Household hh : householdData.getHouseholds()) {
+            if (hh.getId() == SiloUtil.trackHh) {
+                SiloUtil.trackingFile("Writing hh " + hh.getId() + " to micro data file.");
+                SiloUtil.trackWriter.println(hh.toString());
+            }
+            id.add(hh.getId());
+            dwelling.add(hh.getDwellingId());
+            hhSize.add(hh.getHhSize());
+            autos.add(hh.getAutos());
+        }
+        table.write(path);
+    }
+}
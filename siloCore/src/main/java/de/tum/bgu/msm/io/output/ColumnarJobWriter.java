@@ -0,0 +1,50 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.data.job.Job;
+import de.tum.bgu.msm.data.job.JobDataManager;
+import de.tum.bgu.msm.io.ColumnarTableWriter;
+import de.tum.bgu.msm.utils.SiloUtil;
+
+/**
+ * Writes the same job attributes as the {@link DefaultJobWriter} into a columnar table. Missing coordinates are
+ * stored as NaN.
+ */
+public class ColumnarJobWriter implements JobWriter {
+
+    private final JobDataManager jobDataManager;
+    private final boolean compress;
+
+    public ColumnarJobWriter(JobDataManager jobDataManager, boolean compress) {
+        this.jobDataManager = jobDataManager;
+        this.compress = compress;
+    }
+
+    @Override
+    public void writeJobs(String path) {
+        final ColumnarTableWriter table = new ColumnarTableWriter(compress);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn zone = table.addIntColumn("zone");
+        final ColumnarTableWriter.IntColumn personId = table.addIntColumn("personId");
+        final ColumnarTableWriter.StringColumn type = table.addStringColumn("type");
+        final ColumnarTableWriter.DoubleColumn coordX = table.addDoubleColumn("coordX");
+        final ColumnarTableWriter.DoubleColumn coordY = table.addDoubleColumn("coordY");
+        for (Job jj : jobDataManager.getJobs()) {
+            id.add(jj.getId());
+            zone.add(jj.getZoneId());
+            personId.add(jj.getWorkerId());
+            type.add(jj.getType());
+            if (jj.getCoordinate() != null) {
+                coordX.add(jj.getCoordinate().x);
+                coordY.add(jj.getCoordinate().y);
+            } else {
+                coordX.add(Double.NaN);
+                coordY.add(Double.NaN);
+            }
+            if (jj.getId() == SiloUtil.trackJj) {
+                SiloUtil.trackingFile("Writing jj " + jj.getId() + " to micro data file.");
+                SiloUtil.trackWriter.println(jj.toString());
+            }
+        }
+        table.write(path);
+    }
+}
@@ -0,0 +1,59 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdData;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.io.ColumnarTableWriter;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the same person attributes as the {@link DefaultPersonWriter} into a columnar table. Persons are written
+ * household by household, so that the household ids form runs. The driver's license is stored as 0 or 1.
+ */
+public class ColumnarPersonWriter implements PersonWriter {
+
+    private final static Logger logger = Logger.getLogger(ColumnarPersonWriter.class);
+
+    private final HouseholdData householdData;
+    private final boolean compress;
+
+    public ColumnarPersonWriter(HouseholdData householdData, boolean compress) {
+        this.householdData = householdData;
+        this.compress = compress;
+    }
+
+    @Override
+    public void writePersons(String path) {
+        logger.info("  Writing person file to " + path);
+        final ColumnarTableWriter table = new ColumnarTableWriter(compress);
+        final ColumnarTableWriter.IntColumn id = table.addIntColumn("id");
+        final ColumnarTableWriter.IntColumn hhid = table.addIntColumn("hhid");
+        final ColumnarTableWriter.IntColumn age = table.addIntColumn("age");
+        final ColumnarTableWriter.IntColumn gender = table.addIntColumn("gender");
+        final ColumnarTableWriter.StringColumn relationShip = table.addStringColumn("relationShip");
+        final ColumnarTableWriter.IntColumn occupation = table.addIntColumn("occupation");
+        final ColumnarTableWriter.IntColumn driversLicense = table.addIntColumn("driversLicense");
+        final ColumnarTableWriter.IntColumn workplace = table.addIntColumn("workplace");
+        final ColumnarTableWriter.IntColumn income = table.addIntColumn("income");
+        for (Household hh : householdData.getHouseholds()) {
+            for (Person pp : hh.getPersons().values()) {
+                id.add(pp.getId());
+                hhid.add(hh.getId());
+                age.add(pp.getAge());
+                gender.add(pp.getGender().getCode());
+                relationShip.add(pp.getRole().toString());
+                occupation.add(pp.getOccupation().getCode());
+                driversLicense.add(pp.hasDriverLicense() ? 1 : 0);
+                workplace.add(pp.getJobId());
+                income.add(pp.getAnnualIncome());
+
+                if (pp.getId() == SiloUtil.trackPp) {
+                    SiloUtil.trackingFile("Writing pp " + pp.getId() + " to micro data file.");
+                    SiloUtil.trackWriter.println(pp.toString());
+                }
+            }
+        }
+        table.write(path);
+    }
+}
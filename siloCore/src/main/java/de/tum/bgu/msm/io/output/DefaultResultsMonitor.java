@@ -1,33 +1,24 @@
 package de.tum.bgu.msm.io.output;
 
-import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
-import com.google.common.math.Quantiles;
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.data.Region;
-import de.tum.bgu.msm.data.Zone;
-import de.tum.bgu.msm.data.dwelling.Dwelling;
 import de.tum.bgu.msm.data.dwelling.DwellingType;
 import de.tum.bgu.msm.data.geo.GeoData;
-import de.tum.bgu.msm.data.household.Household;
 import de.tum.bgu.msm.data.household.HouseholdType;
 import de.tum.bgu.msm.data.household.HouseholdUtil;
-import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobType;
-import de.tum.bgu.msm.data.person.Gender;
-import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.events.MicroEvent;
 import de.tum.bgu.msm.properties.Properties;
 import org.apache.log4j.Logger;
-import org.matsim.api.core.v01.TransportMode;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 public class DefaultResultsMonitor implements ResultsMonitor {
 
@@ -35,6 +26,10 @@ public class DefaultResultsMonitor implements ResultsMonitor {
     private PrintWriter resultWriter;
     private DataContainer dataContainer;
     private Properties properties;
+    private MicroDataAggregation aggregation;
+    private MicroDataSummary summary;
+    private Supplier<HousingCosts> housingCostsByIncomeGroup;
+    private Supplier<int[][]> jobsByTypeAndRegion;
 
     public DefaultResultsMonitor(DataContainer dataContainer, Properties properties) {
         this.dataContainer = dataContainer;
@@ -44,18 +39,39 @@ public class DefaultResultsMonitor implements ResultsMonitor {
 
     @Override
     public void setup() {
+        setup(new MicroDataAggregation(dataContainer));
+    }
+
+    @Override
+    public void setup(MicroDataAggregation aggregation) {
+        this.aggregation = aggregation;
+        this.summary = aggregation.getSummary();
+        this.housingCostsByIncomeGroup = aggregation.households(Collector.of(
+                HousingCosts::new,
+                (costs, hh) -> costs.add(HouseholdUtil.getAnnualHhIncome(hh),
+                        dataContainer.getRealEstateDataManager().getDwelling(hh.getDwellingId()).getPrice()),
+                HousingCosts::combine));
+        this.jobsByTypeAndRegion = aggregation.jobs(Collector.of(
+                () -> new int[JobType.getNumberOfJobTypes()][dataContainer.getGeoData().getRegions().keySet()
+                        .stream().mapToInt(Integer::intValue).max().getAsInt() + 1],
+                (counts, job) -> counts[JobType.getOrdinal(job.getType())][dataContainer.getGeoData().getZones().get(job.getZoneId()).getRegion().getId()]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        for (int j = 0; j < left[i].length; j++) {
+                            left[i][j] += right[i][j];
+                        }
+                    }
+                    return left;
+                }));
 
         String pathname = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/" + "resultFile.csv";
-        try {
-            resultWriter = new PrintWriter(new File(pathname));
-        } catch (FileNotFoundException e) {
-            logger.error("Cannot write the result file: " + pathname, e);
-        }
+        resultWriter = AsyncOutputWriter.open(Paths.get(pathname), false).asPrintWriter();
     }
 
 
     @Override
     public void endYear(int year, Multiset<Class<? extends MicroEvent>> eventCounter) {
+        aggregation.aggregate(year);
         resultWriter.println("Year " + year);
         summarizePopulationByAgeAndGender();
         summarizeHouseholdsByType();
@@ -75,12 +91,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
 
 
     private void summarizePopulationByAgeAndGender() {
-        int pers[][] = new int[2][101];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            Gender gender = per.getGender();
-            int age = Math.min(per.getAge(), 100);
-            pers[gender.ordinal()][age] += 1;
-        }
+        int pers[][] = summary.getPersonsByGenderAndAge();
         resultWriter.println("Age,Men,Women");
         for (int i = 0; i <= 100; i++) {
             String row = i + "," + pers[0][i] + "," + pers[1][i];
@@ -103,10 +114,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
 //    }
 
     private void summarizeHouseholdsByType() {
-        int hht[] = new int[HouseholdType.values().length + 1];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            hht[hh.getHouseholdType().ordinal()]++;
-        }
+        int hht[] = summary.getHouseholdsByType();
         resultWriter.println("hhByType,hh");
         for (HouseholdType ht : HouseholdType.values()) {
             String row = ht + "," + hht[ht.ordinal()];
@@ -127,11 +135,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
 //    }
 
     private void summarizeHouseholdsBySize() {
-        int hhs[] = new int[10];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            int hhSize = Math.min(hh.getHhSize(), 10);
-            hhs[hhSize - 1]++;
-        }
+        int hhs[] = summary.getHouseholdsBySize();
 
         String row = "hhBySize";
         for (int i : hhs) row = row + "," + i;
@@ -139,42 +143,19 @@ public class DefaultResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeAverageHouseholdSize() {
-        String row = "AveHHSize," + dataContainer.getHouseholdDataManager().getHouseholds().stream().mapToInt(h -> h.getPersons().size()).average().getAsDouble();
+        String row = "AveHHSize," + summary.getAverageHouseholdSize();
         resultWriter.println(row);
     }
 
     private void summarizeHouseholdIncome() {
-        List<Integer> incomes = dataContainer.getHouseholdDataManager().getHouseholds().stream().map(h -> h.getPersons().values().stream().mapToInt(p -> p.getAnnualIncome()).sum()).collect(Collectors.toList());
-        double aveHHincome = incomes.stream().mapToDouble(i -> i).average().getAsDouble();
-        double medianHhIncome = Quantiles.median().compute(incomes);
+        double aveHHincome = summary.getAverageHouseholdIncome();
+        double medianHhIncome = summary.getMedianHouseholdIncome();
         String row = "AveHHInc," + aveHHincome + ",MedianHHInc," + medianHhIncome;
         resultWriter.println(row);
     }
 
     private void summarizeLabourParticipationRates() {
-        float[][][] labP = new float[2][2][5];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            int age = per.getAge();
-            Gender gender = per.getGender();
-            boolean employed = per.getJobId() > 0;
-            int ageGroup = 0;
-            if (age >= 65) {
-                ageGroup = 4;
-            } else if (age >= 50) {
-                ageGroup = 3;
-            } else if (age >= 30) {
-                ageGroup = 2;
-            } else if (age >= 18) {
-                ageGroup = 1;
-            }
-
-            if (employed) {
-                labP[1][gender.ordinal()][ageGroup]++;
-            } else {
-                labP[0][gender.ordinal()][ageGroup]++;
-            }
-
-        }
+        float[][][] labP = summary.getLabourParticipation();
         String[] grp = {"<18", "18-29", "30-49", "50-64", ">=65"};
         resultWriter.println("laborParticipationRateByAge,male,female");
         for (int ag = 0; ag < 5; ag++) {
@@ -185,22 +166,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeAverageCommutingDistanceByRegion() {
-        float[][] commDist = new float[2][dataContainer.getGeoData().getRegions().keySet().stream().mapToInt(Integer::intValue).max().getAsInt() + 1];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            boolean employed = per.getJobId() > 0;
-            if (employed) {
-                Zone zone = null;
-                Household household = dataContainer.getHouseholdDataManager().getHouseholdFromId(per.getHousehold().getId());
-                Dwelling dwelling = dataContainer.getRealEstateDataManager().getDwelling(household.getDwellingId());
-                if (dwelling != null) {
-                    zone = dataContainer.getGeoData().getZones().get(dwelling.getZoneId());
-                }
-                Zone destination = dataContainer.getGeoData().getZones().get(dataContainer.getJobDataManager().getJobFromId(per.getJobId()).getZoneId());
-                double ds = dataContainer.getTravelTimes().getPeakSkim(TransportMode.car).getIndexed(zone.getZoneId(), destination.getZoneId());
-                commDist[0][zone.getRegion().getId()] += ds;
-                commDist[1][zone.getRegion().getId()]++;
-            }
-        }
+        float[][] commDist = summary.getCommuteTimesByRegion();
         resultWriter.println("aveCommuteDistByRegion,minutes");
         for (int i : dataContainer.getGeoData().getRegions().keySet()) {
             resultWriter.println(i + "," + commDist[0][i] / commDist[1][i]);
@@ -208,10 +174,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeCarOwnership() {
-        int[] carOwnership = new int[4];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            carOwnership[hh.getAutos()]++;
-        }
+        int[] carOwnership = summary.getCarOwnership();
         resultWriter.println("carOwnershipLevel,households");
         resultWriter.println("0cars," + carOwnership[0]);
         resultWriter.println("1car," + carOwnership[1]);
@@ -230,14 +193,10 @@ public class DefaultResultsMonitor implements ResultsMonitor {
 
 
         List<DwellingType> dwellingTypes = dataContainer.getRealEstateDataManager().getDwellingTypes();
+        int[] countsByDwellingType = summary.getDwellingsByType();
 
-        Multiset<DwellingType> countsByDwellingType = HashMultiset.create(dwellingTypes.size());
-
-        for (Dwelling dd : dataContainer.getRealEstateDataManager().getDwellings()) {
-            countsByDwellingType.add(dd.getType());
-        }
         for (DwellingType dt : dwellingTypes) {
-            resultWriter.println("CountOfDD," + dt.toString() + "," + countsByDwellingType.count(dt));
+            resultWriter.println("CountOfDD," + dt.toString() + "," + countsByDwellingType[dwellingTypes.indexOf(dt)]);
         }
         for (DwellingType dt : dwellingTypes) {
             double avePrice = dataContainer.getRealEstateDataManager().getAveragePriceByDwellingType()[dwellingTypes.indexOf(dt)];
@@ -276,16 +235,9 @@ public class DefaultResultsMonitor implements ResultsMonitor {
         for (int i = 0; i < 10; i++) header = header.concat(",rent_" + ((i + 1) * 250));
         header = header.concat(",averageRent");
         resultWriter.println(header);
-        int[][] rentByIncome = new int[10][10];
-        long [] rents = new long[10];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            int hhInc = HouseholdUtil.getAnnualHhIncome(hh);
-            int rent = dataContainer.getRealEstateDataManager().getDwelling(hh.getDwellingId()).getPrice();
-            int incCat = Math.min((hhInc / 10000), 9);
-            int rentCat = Math.min((rent / 250), 9);
-            rentByIncome[incCat][rentCat]++;
-            rents[incCat] += rent;
-        }
+        HousingCosts housingCosts = housingCostsByIncomeGroup.get();
+        int[][] rentByIncome = housingCosts.rentByIncome;
+        long [] rents = housingCosts.rents;
         for (int i = 0; i < 10; i++) {
             String line = String.valueOf((i + 1) * 10000);
             int countThisIncome = 0;
@@ -308,11 +260,7 @@ public class DefaultResultsMonitor implements ResultsMonitor {
         }
         resultWriter.println(txt + ",total");
         Map<Integer, Region> regions = dataContainer.getGeoData().getRegions();
-        final int highestId = regions.keySet().stream().mapToInt(Integer::intValue).max().getAsInt();
-        int[][] jobsByTypeAndRegion = new int[JobType.getNumberOfJobTypes()][highestId + 1];
-        for (Job job : dataContainer.getJobDataManager().getJobs()) {
-            jobsByTypeAndRegion[JobType.getOrdinal(job.getType())][dataContainer.getGeoData().getZones().get(job.getZoneId()).getRegion().getId()]++;
-        }
+        int[][] jobsByTypeAndRegion = this.jobsByTypeAndRegion.get();
 
         for (int region : regions.keySet()) {
             StringBuilder line = new StringBuilder(String.valueOf(region));
@@ -342,4 +290,30 @@ public class DefaultResultsMonitor implements ResultsMonitor {
         resultWriter.close();
     }
 
+    /**
+     * Number of households by income and rent category and sum of rents by income category.
+     */
+    private static final class HousingCosts {
+
+        private final int[][] rentByIncome = new int[10][10];
+        private final long[] rents = new long[10];
+
+        private void add(int hhInc, int rent) {
+            int incCat = Math.min((hhInc / 10000), 9);
+            int rentCat = Math.min((rent / 250), 9);
+            rentByIncome[incCat][rentCat]++;
+            rents[incCat] += rent;
+        }
+
+        private HousingCosts combine(HousingCosts other) {
+            for (int i = 0; i < 10; i++) {
+                for (int r = 0; r < 10; r++) {
+                    rentByIncome[i][r] += other.rentByIncome[i][r];
+                }
+                rents[i] += other.rents[i];
+            }
+            return this;
+        }
+    }
+
 }
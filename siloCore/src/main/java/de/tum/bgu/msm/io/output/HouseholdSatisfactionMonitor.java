@@ -10,9 +10,8 @@ import de.tum.bgu.msm.models.relocation.moves.MovesModelImpl;
 import de.tum.bgu.msm.properties.Properties;
 import org.apache.log4j.Logger;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.HashMap;
 
 
@@ -43,15 +42,8 @@ public class HouseholdSatisfactionMonitor implements ResultsMonitor {
 
         if (enabled) {
             String pathname = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/siloResults/";
-            try {
-                File file = new File(pathname + "hhSatisfactionByRegion.csv");
-                file.getParentFile().mkdirs();
-                printWriter = new PrintWriter(file);
-                printWriter.println("year,zone,region,hh_count,hh_ave_satisfaction");
-            } catch (
-                    FileNotFoundException e) {
-                logger.error("Cannot write the result file: " + pathname, e);
-            }
+            printWriter = AsyncOutputWriter.open(Paths.get(pathname + "hhSatisfactionByRegion.csv"), false).asPrintWriter();
+            printWriter.println("year,zone,region,hh_count,hh_ave_satisfaction");
         }
 
 
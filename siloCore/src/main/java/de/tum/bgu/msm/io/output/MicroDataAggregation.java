@@ -0,0 +1,167 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.job.Job;
+import de.tum.bgu.msm.data.person.Person;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Aggregates the micro data for several results monitors with a single parallel pass per entity type and year.
+ *
+ * Monitors register {@link Collector}s for persons, households, dwellings or jobs during setup and read the
+ * results of the current year from the returned suppliers after {@link #aggregate(int)}. All collectors of an
+ * entity type are combined into one collector: every thread feeds its share of the entities to all of them, and
+ * the partial results of the threads are merged with the collectors' combiners. Entities are passed in the
+ * iteration order of the data manager, so the results of order sensitive collectors do not depend on the threads.
+ */
+public final class MicroDataAggregation {
+
+    private final DataContainer dataContainer;
+
+    private final Pass<Person> persons = new Pass<>();
+    private final Pass<Household> households = new Pass<>();
+    private final Pass<Dwelling> dwellings = new Pass<>();
+    private final Pass<Job> jobs = new Pass<>();
+
+    private volatile int year;
+    private Integer aggregatedYear;
+    private MicroDataSummary summary;
+
+    public MicroDataAggregation(DataContainer dataContainer) {
+        this.dataContainer = dataContainer;
+    }
+
+    public <R> Supplier<R> persons(Collector<? super Person, ?, R> collector) {
+        return persons.register(collector);
+    }
+
+    public <R> Supplier<R> households(Collector<? super Household, ?, R> collector) {
+        return households.register(collector);
+    }
+
+    public <R> Supplier<R> dwellings(Collector<? super Dwelling, ?, R> collector) {
+        return dwellings.register(collector);
+    }
+
+    public <R> Supplier<R> jobs(Collector<? super Job, ?, R> collector) {
+        return jobs.register(collector);
+    }
+
+    /**
+     * Returns the summary shared by all monitors of this aggregation, which is registered on first use.
+     */
+    public synchronized MicroDataSummary getSummary() {
+        if (summary == null) {
+            summary = new MicroDataSummary(this, dataContainer);
+        }
+        return summary;
+    }
+
+    /**
+     * Returns the year that is being or was last aggregated. Collectors may use it to skip the entities of years they
+     * do not report.
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Runs all registered collectors on the current micro data, unless this has already been done for the given year.
+     */
+    public synchronized void aggregate(int year) {
+        if (aggregatedYear != null && aggregatedYear == year) {
+            return;
+        }
+        this.year = year;
+        persons.run(dataContainer.getHouseholdDataManager().getPersons());
+        households.run(dataContainer.getHouseholdDataManager().getHouseholds());
+        dwellings.run(dataContainer.getRealEstateDataManager().getDwellings());
+        jobs.run(dataContainer.getJobDataManager().getJobs());
+        aggregatedYear = year;
+    }
+
+    private static final class Pass<T> {
+
+        private final List<Collector<? super T, Object, ?>> collectors = new ArrayList<>();
+        private final List<Result<Object>> results = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        private <R> Supplier<R> register(Collector<? super T, ?, R> collector) {
+            final Result<R> result = new Result<>();
+            collectors.add((Collector<? super T, Object, ?>) collector);
+            results.add((Result<Object>) result);
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void run(Collection<? extends T> entities) {
+            if (collectors.isEmpty()) {
+                return;
+            }
+            final int size = collectors.size();
+            final Supplier<Object>[] suppliers = new Supplier[size];
+            final BiConsumer<Object, ? super T>[] accumulators = new BiConsumer[size];
+            final BinaryOperator<Object>[] combiners = new BinaryOperator[size];
+            for (int i = 0; i < size; i++) {
+                suppliers[i] = collectors.get(i).supplier();
+                accumulators[i] = collectors.get(i).accumulator();
+                combiners[i] = collectors.get(i).combiner();
+            }
+
+            // a list splits in iteration order, unlike the concurrent maps of the data managers
+            final Object[] containers = new ArrayList<T>(entities).parallelStream().collect(Collector.of(
+                    () -> {
+                        final Object[] partial = new Object[size];
+                        for (int i = 0; i < size; i++) {
+                            partial[i] = suppliers[i].get();
+                        }
+                        return partial;
+                    },
+                    (partial, entity) -> {
+                        for (int i = 0; i < size; i++) {
+                            accumulators[i].accept(partial[i], entity);
+                        }
+                    },
+                    (left, right) -> {
+                        for (int i = 0; i < size; i++) {
+                            left[i] = combiners[i].apply(left[i], right[i]);
+                        }
+                        return left;
+                    }));
+
+            for (int i = 0; i < size; i++) {
+                final Function<Object, ?> finisher = collectors.get(i).finisher();
+                results.get(i).set(finisher.apply(containers[i]));
+            }
+        }
+    }
+
+    private static final class Result<R> implements Supplier<R> {
+
+        private volatile boolean available;
+        private volatile R value;
+
+        private void set(R value) {
+            this.value = value;
+            this.available = true;
+        }
+
+        @Override
+        public R get() {
+            if (!available) {
+                throw new IllegalStateException("Micro data has not been aggregated yet.");
+            }
+            return value;
+        }
+    }
+}
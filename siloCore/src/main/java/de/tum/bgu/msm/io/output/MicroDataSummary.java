@@ -0,0 +1,271 @@
+package de.tum.bgu.msm.io.output;
+
+import com.google.common.math.Quantiles;
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.dwelling.DwellingType;
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdType;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
+import de.tum.bgu.msm.utils.TravelTimeUtil;
+import org.matsim.api.core.v01.TransportMode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Yearly summary of persons, households and dwellings that is shared by the default results monitors, see
+ * {@link MicroDataAggregation#getSummary()}. All values are collected in the aggregation's single pass per
+ * entity type and are identical to summarizing the entities one after another.
+ */
+public final class MicroDataSummary {
+
+    private static final int MAX_AGE = 100;
+    private static final int AGE_GROUPS = 5;
+    private static final int MAX_HOUSEHOLD_SIZE = 10;
+    private static final int MAX_AUTOS = 3;
+
+    private final DataContainer dataContainer;
+
+    private final Supplier<int[][]> personsByGenderAndAge;
+    private final Supplier<float[][][]> labourParticipation;
+    private final Supplier<float[][]> commuteTimesByRegion;
+    private final Supplier<int[]> householdsByType;
+    private final Supplier<int[]> householdsBySize;
+    private final Supplier<Double> averageHouseholdSize;
+    private final Supplier<double[]> householdIncome;
+    private final Supplier<int[]> carOwnership;
+    private final Supplier<int[]> dwellingsByType;
+
+    MicroDataSummary(MicroDataAggregation aggregation, DataContainer dataContainer) {
+        this.dataContainer = dataContainer;
+
+        personsByGenderAndAge = aggregation.persons(Collector.of(
+                () -> new int[2 * (MAX_AGE + 1)],
+                (counts, pp) -> counts[pp.getGender().ordinal() * (MAX_AGE + 1) + Math.min(pp.getAge(), MAX_AGE)]++,
+                MicroDataSummary::add,
+                counts -> new int[][]{Arrays.copyOfRange(counts, 0, MAX_AGE + 1),
+                        Arrays.copyOfRange(counts, MAX_AGE + 1, 2 * (MAX_AGE + 1))}));
+
+        labourParticipation = aggregation.persons(Collector.of(
+                () -> new int[2 * 2 * AGE_GROUPS],
+                (counts, pp) -> counts[((pp.getJobId() > 0 ? 1 : 0) * 2 + pp.getGender().ordinal()) * AGE_GROUPS + getAgeGroup(pp.getAge())]++,
+                MicroDataSummary::add,
+                counts -> {
+                    final float[][][] labP = new float[2][2][AGE_GROUPS];
+                    for (int i = 0; i < counts.length; i++) {
+                        labP[i / (2 * AGE_GROUPS)][(i / AGE_GROUPS) % 2][i % AGE_GROUPS] = counts[i];
+                    }
+                    return labP;
+                }));
+
+        commuteTimesByRegion = aggregation.persons(Collector.of(
+                IntList::new,
+                this::addCommute,
+                IntList::addAll,
+                this::sumCommuteTimes));
+
+        householdsByType = aggregation.households(Collector.of(
+                () -> new int[HouseholdType.values().length + 1],
+                (counts, hh) -> counts[hh.getHouseholdType().ordinal()]++,
+                MicroDataSummary::add));
+
+        householdsBySize = aggregation.households(Collector.of(
+                () -> new int[MAX_HOUSEHOLD_SIZE],
+                (counts, hh) -> counts[Math.min(hh.getHhSize(), MAX_HOUSEHOLD_SIZE) - 1]++,
+                MicroDataSummary::add));
+
+        averageHouseholdSize = aggregation.households(Collector.of(
+                () -> new long[2],
+                (sum, hh) -> {
+                    sum[0] += hh.getPersons().size();
+                    sum[1]++;
+                },
+                (left, right) -> {
+                    left[0] += right[0];
+                    left[1] += right[1];
+                    return left;
+                },
+                sum -> (double) sum[0] / sum[1]));
+
+        householdIncome = aggregation.households(Collector.of(
+                IntList::new,
+                (incomes, hh) -> incomes.add(hh.getPersons().values().stream().mapToInt(Person::getAnnualIncome).sum()),
+                IntList::addAll,
+                incomes -> {
+                    final int[] values = incomes.toArray();
+                    return new double[]{Arrays.stream(values).asDoubleStream().average().getAsDouble(),
+                            Quantiles.median().compute(values)};
+                }));
+
+        carOwnership = aggregation.households(Collector.of(
+                () -> new int[MAX_AUTOS + 1],
+                (counts, hh) -> counts[hh.getAutos()]++,
+                MicroDataSummary::add));
+
+        final List<DwellingType> dwellingTypes = dataContainer.getRealEstateDataManager().getDwellingTypes();
+        dwellingsByType = aggregation.dwellings(Collector.of(
+                () -> new int[dwellingTypes.size()],
+                (counts, dd) -> {
+                    final int index = dwellingTypes.indexOf(dd.getType());
+                    if (index >= 0) {
+                        counts[index]++;
+                    }
+                },
+                MicroDataSummary::add));
+    }
+
+    /**
+     * Returns the number of persons by gender ordinal and age, ages above 100 are counted as 100.
+     */
+    public int[][] getPersonsByGenderAndAge() {
+        return personsByGenderAndAge.get();
+    }
+
+    /**
+     * Returns the number of persons by employment (0 unemployed, 1 employed), gender ordinal and age group
+     * (below 18, 18-29, 30-49, 50-64, 65 and above).
+     */
+    public float[][][] getLabourParticipation() {
+        return labourParticipation.get();
+    }
+
+    /**
+     * Returns the sum of car commute times (index 0) and the number of commuters (index 1) by home region id.
+     */
+    public float[][] getCommuteTimesByRegion() {
+        return commuteTimesByRegion.get();
+    }
+
+    public int[] getHouseholdsByType() {
+        return householdsByType.get();
+    }
+
+    /**
+     * Returns the number of households by size minus one, households with ten or more persons are counted last.
+     */
+    public int[] getHouseholdsBySize() {
+        return householdsBySize.get();
+    }
+
+    public double getAverageHouseholdSize() {
+        return averageHouseholdSize.get();
+    }
+
+    public double getAverageHouseholdIncome() {
+        return householdIncome.get()[0];
+    }
+
+    public double getMedianHouseholdIncome() {
+        return householdIncome.get()[1];
+    }
+
+    /**
+     * Returns the number of households by number of autos.
+     */
+    public int[] getCarOwnership() {
+        return carOwnership.get();
+    }
+
+    /**
+     * Returns the number of dwellings by the index of their type in the real estate manager's dwelling types.
+     */
+    public int[] getDwellingsByType() {
+        return dwellingsByType.get();
+    }
+
+    /**
+     * Adds home and job zone of employed persons, the travel times are summed up sequentially afterwards.
+     */
+    private void addCommute(IntList commutes, Person pp) {
+        if (pp.getJobId() > 0) {
+            Zone zone = null;
+            final Household household = dataContainer.getHouseholdDataManager().getHouseholdFromId(pp.getHousehold().getId());
+            final Dwelling dwelling = dataContainer.getRealEstateDataManager().getDwelling(household.getDwellingId());
+            if (dwelling != null) {
+                zone = dataContainer.getGeoData().getZones().get(dwelling.getZoneId());
+            }
+            final Zone destination = dataContainer.getGeoData().getZones().get(
+                    dataContainer.getJobDataManager().getJobFromId(pp.getJobId()).getZoneId());
+            commutes.add(zone.getZoneId());
+            commutes.add(destination.getZoneId());
+            commutes.add(zone.getRegion().getId());
+        }
+    }
+
+    private float[][] sumCommuteTimes(IntList commutes) {
+        final int highestRegionId = dataContainer.getGeoData().getRegions().keySet().stream()
+                .mapToInt(Integer::intValue).max().getAsInt();
+        final float[][] commDist = new float[2][highestRegionId + 1];
+        if (commutes.size() > 0) {
+            final RegionalTravelTimes.Skim skim = TravelTimeUtil.getPeakTravelTimes(dataContainer.getTravelTimes(), TransportMode.car);
+            for (int i = 0; i < commutes.size(); i += 3) {
+                final int region = commutes.get(i + 2);
+                commDist[0][region] += skim.getTravelTime(commutes.get(i), commutes.get(i + 1));
+                commDist[1][region]++;
+            }
+        }
+        return commDist;
+    }
+
+    private static int getAgeGroup(int age) {
+        if (age >= 65) {
+            return 4;
+        } else if (age >= 50) {
+            return 3;
+        } else if (age >= 30) {
+            return 2;
+        } else if (age >= 18) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static int[] add(int[] left, int[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    /**
+     * Growable list of primitive ints.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[64];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private IntList addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,34 +1,24 @@
 package de.tum.bgu.msm.io.output;
 
-import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
-import com.google.common.math.Quantiles;
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.data.Region;
-import de.tum.bgu.msm.data.Zone;
-import de.tum.bgu.msm.data.dwelling.Dwelling;
 import de.tum.bgu.msm.data.dwelling.DwellingType;
 import de.tum.bgu.msm.data.geo.GeoData;
-import de.tum.bgu.msm.data.household.Household;
 import de.tum.bgu.msm.data.household.HouseholdType;
 import de.tum.bgu.msm.data.household.HouseholdUtil;
 import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobType;
-import de.tum.bgu.msm.data.person.Gender;
-import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.events.MicroEvent;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.apache.log4j.Logger;
-import org.matsim.api.core.v01.TransportMode;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class MultiFileResultsMonitor implements ResultsMonitor {
 
@@ -46,6 +36,8 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
     private PrintWriter ddCountW;
     private PrintWriter landRegionW;
     private PrintWriter eventCountW;
+    private MicroDataAggregation aggregation;
+    private MicroDataSummary summary;
 
     public MultiFileResultsMonitor(DataContainer dataContainer, Properties properties) {
         this.dataContainer = dataContainer;
@@ -55,30 +47,37 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
 
     @Override
     public void setup() {
+        setup(new MicroDataAggregation(dataContainer));
+    }
+
+    @Override
+    public void setup(MicroDataAggregation aggregation) {
+        this.aggregation = aggregation;
+        this.summary = aggregation.getSummary();
 
         String pathname = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/siloResults/";
-        try {
-            File file = new File(pathname + "popYear.csv");
-            file.getParentFile().mkdirs();
-            popYearW = new PrintWriter(file);
-            hhTypeW = new PrintWriter(new File(pathname + "hhType.csv"));
-            hhSizeW = new PrintWriter(new File(pathname + "hhSize.csv"));
-            hhAveSizeW = new PrintWriter(new File(pathname + "aveHhSize.csv"));
-            hhAveIncomeW = new PrintWriter(new File(pathname + "hhAveIncome.csv"));
-            labourParticipationRateW = new PrintWriter(new File(pathname + "labourParticipationRate.csv"));
-            commutingDistanceW = new PrintWriter(new File(pathname + "commutingDistance.csv"));
-            carOwnW = new PrintWriter(new File(pathname + "carOwnership.csv"));
-            ddCountW = new PrintWriter(new File(pathname + "dwellings.csv"));
-            landRegionW = new PrintWriter(new File(pathname + "landRegions.csv"));
-            eventCountW = new PrintWriter(new File(pathname + "eventCounts.csv"));
-        } catch (FileNotFoundException e) {
-            logger.error("Cannot write the result file: " + pathname, e);
-        }
+        popYearW = openResultFile(pathname + "popYear.csv");
+        hhTypeW = openResultFile(pathname + "hhType.csv");
+        hhSizeW = openResultFile(pathname + "hhSize.csv");
+        hhAveSizeW = openResultFile(pathname + "aveHhSize.csv");
+        hhAveIncomeW = openResultFile(pathname + "hhAveIncome.csv");
+        labourParticipationRateW = openResultFile(pathname + "labourParticipationRate.csv");
+        commutingDistanceW = openResultFile(pathname + "commutingDistance.csv");
+        carOwnW = openResultFile(pathname + "carOwnership.csv");
+        ddCountW = openResultFile(pathname + "dwellings.csv");
+        landRegionW = openResultFile(pathname + "landRegions.csv");
+        eventCountW = openResultFile(pathname + "eventCounts.csv");
+    }
+
+
+    private static PrintWriter openResultFile(String fileName) {
+        return AsyncOutputWriter.open(Paths.get(fileName), false).asPrintWriter();
     }
 
 
     @Override
     public void endYear(int year, Multiset<Class<? extends MicroEvent>> eventCounter) {
+        aggregation.aggregate(year);
         summarizePopulationByAgeAndGender(year);
         summarizeHouseholdsByType(year);
         summarizeHouseholdsBySize(year);
@@ -108,12 +107,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
 
 
     private void summarizePopulationByAgeAndGender(int year) {
-        int pers[][] = new int[2][101];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            Gender gender = per.getGender();
-            int age = Math.min(per.getAge(), 100);
-            pers[gender.ordinal()][age] += 1;
-        }
+        int pers[][] = summary.getPersonsByGenderAndAge();
         if (year == properties.main.baseYear) {
             popYearW.println("year,age,men,women");
         }
@@ -138,10 +132,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
 //    }
 
     private void summarizeHouseholdsByType(int year) {
-        int hht[] = new int[HouseholdType.values().length + 1];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            hht[hh.getHouseholdType().ordinal()]++;
-        }
+        int hht[] = summary.getHouseholdsByType();
         if (year == properties.main.baseYear) {
             hhTypeW.println("year,type,count");
         }
@@ -165,11 +156,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
 //    }
 
     private void summarizeHouseholdsBySize(int year) {
-        int hhs[] = new int[10];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            int hhSize = Math.min(hh.getHhSize(), 10);
-            hhs[hhSize - 1]++;
-        }
+        int hhs[] = summary.getHouseholdsBySize();
 
         if (year == properties.main.baseYear) {
             hhSizeW.println("year,size,count");
@@ -190,14 +177,13 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
         if (year == properties.main.baseYear) {
             hhAveSizeW.println("year,size");
         }
-        String row = year + "," + dataContainer.getHouseholdDataManager().getHouseholds().stream().mapToInt(h -> h.getPersons().size()).average().getAsDouble();
+        String row = year + "," + summary.getAverageHouseholdSize();
         hhAveSizeW.println(row);
     }
 
     private void summarizeHouseholdIncome(int year) {
-        List<Integer> incomes = dataContainer.getHouseholdDataManager().getHouseholds().stream().map(h -> h.getPersons().values().stream().mapToInt(p -> p.getAnnualIncome()).sum()).collect(Collectors.toList());
-        double aveHHincome = incomes.stream().mapToDouble(i -> i).average().getAsDouble();
-        double medianHhIncome = Quantiles.median().compute(incomes);
+        double aveHHincome = summary.getAverageHouseholdIncome();
+        double medianHhIncome = summary.getMedianHouseholdIncome();
         if (year == properties.main.baseYear) {
             hhAveIncomeW.println("year,variable,value");
         }
@@ -210,29 +196,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeLabourParticipationRates(int year) {
-        float[][][] labP = new float[2][2][5];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            int age = per.getAge();
-            Gender gender = per.getGender();
-            boolean employed = per.getJobId() > 0;
-            int ageGroup = 0;
-            if (age >= 65) {
-                ageGroup = 4;
-            } else if (age >= 50) {
-                ageGroup = 3;
-            } else if (age >= 30) {
-                ageGroup = 2;
-            } else if (age >= 18) {
-                ageGroup = 1;
-            }
-
-            if (employed) {
-                labP[1][gender.ordinal()][ageGroup]++;
-            } else {
-                labP[0][gender.ordinal()][ageGroup]++;
-            }
-
-        }
+        float[][][] labP = summary.getLabourParticipation();
         if (year == properties.main.baseYear) {
             labourParticipationRateW.println("year,group,male,female");
         }
@@ -246,22 +210,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeAverageCommutingDistanceByRegion(int year) {
-        float[][] commDist = new float[2][dataContainer.getGeoData().getRegions().keySet().stream().mapToInt(Integer::intValue).max().getAsInt() + 1];
-        for (Person per : dataContainer.getHouseholdDataManager().getPersons()) {
-            boolean employed = per.getJobId() > 0;
-            if (employed) {
-                Zone zone = null;
-                Household household = dataContainer.getHouseholdDataManager().getHouseholdFromId(per.getHousehold().getId());
-                Dwelling dwelling = dataContainer.getRealEstateDataManager().getDwelling(household.getDwellingId());
-                if (dwelling != null) {
-                    zone = dataContainer.getGeoData().getZones().get(dwelling.getZoneId());
-                }
-                Zone destination = dataContainer.getGeoData().getZones().get(dataContainer.getJobDataManager().getJobFromId(per.getJobId()).getZoneId());
-                double ds = dataContainer.getTravelTimes().getPeakSkim(TransportMode.car).getIndexed(zone.getZoneId(), destination.getZoneId());
-                commDist[0][zone.getRegion().getId()] += ds;
-                commDist[1][zone.getRegion().getId()]++;
-            }
-        }
+        float[][] commDist = summary.getCommuteTimesByRegion();
 
         if (year == properties.main.baseYear) {
             commutingDistanceW.println("year,region,time");
@@ -273,10 +222,7 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
     }
 
     private void summarizeCarOwnership(int year) {
-        int[] carOwnership = new int[4];
-        for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()) {
-            carOwnership[hh.getAutos()]++;
-        }
+        int[] carOwnership = summary.getCarOwnership();
 
         if (year == properties.main.baseYear) {
             carOwnW.println("year,carOwnershipLevel,households");
@@ -306,16 +252,12 @@ public class MultiFileResultsMonitor implements ResultsMonitor {
 
 
         List<DwellingType> dwellingTypes = dataContainer.getRealEstateDataManager().getDwellingTypes();
+        int[] countsByDwellingType = summary.getDwellingsByType();
 
-        Multiset<DwellingType> countsByDwellingType = HashMultiset.create(dwellingTypes.size());
-
-        for (Dwelling dd : dataContainer.getRealEstateDataManager().getDwellings()) {
-            countsByDwellingType.add(dd.getType());
-        }
         for (DwellingType dt : dwellingTypes) {
             double aveVac = dataContainer.getRealEstateDataManager().getAverageVacancyByDwellingType()[dwellingTypes.indexOf(dt)];
             double avePrice = dataContainer.getRealEstateDataManager().getAveragePriceByDwellingType()[dwellingTypes.indexOf(dt)];
-            ddCountW.println(year + "," + dt.toString() + "," + countsByDwellingType.count(dt) + "," + avePrice + "," + aveVac);
+            ddCountW.println(year + "," + dt.toString() + "," + countsByDwellingType[dwellingTypes.indexOf(dt)] + "," + avePrice + "," + aveVac);
         }
     }
 
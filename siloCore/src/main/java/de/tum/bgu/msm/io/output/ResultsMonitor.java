@@ -6,6 +6,14 @@ import de.tum.bgu.msm.events.MicroEvent;
 public interface ResultsMonitor {
     void setup();
 
+    /**
+     * Sets up the monitor with the aggregation that is shared by all monitors of a simulation. Monitors that
+     * summarize the micro data register their collectors here instead of scanning the micro data on their own.
+     */
+    default void setup(MicroDataAggregation aggregation) {
+        setup();
+    }
+
     void endYear(int year, Multiset<Class<? extends MicroEvent>> eventCounter);
 
     void endSimulation();
@@ -1,61 +1,65 @@
 package de.tum.bgu.msm.io.output;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
+/**
+ * Writes one csv file per year. Records are written asynchronously by an {@link AsyncOutputWriter}, so tracking
+ * records from within event handling does not wait for the disk.
+ */
 public class YearByYearCsvModelTracker {
 
     private final Path rootDirectory;
     private final String baseFileName;
     private final String header;
+    private final String extension;
 
-    private BufferedWriter currentWriter;
+    private AsyncOutputWriter currentWriter;
 
     public YearByYearCsvModelTracker(Path rootDirectory, String baseFileName, String header) {
+        this(rootDirectory, baseFileName, header, false);
+    }
+
+    /**
+     * @param compress write gzip compressed files ending with ".csv.gz"
+     */
+    public YearByYearCsvModelTracker(Path rootDirectory, String baseFileName, String header, boolean compress) {
         this.rootDirectory = rootDirectory;
         this.baseFileName = baseFileName;
         this.header = header;
-        try {
-            Files.createDirectories(rootDirectory);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
+        this.extension = compress ? ".csv.gz" : ".csv";
     }
 
     public void newYear(int currentYear) {
-        try {
-            if(currentWriter != null) {
-                currentWriter.flush();
-                currentWriter.close();
-            }
-            currentWriter = Files.newBufferedWriter(rootDirectory.resolve(baseFileName+currentYear+".csv"));
-            currentWriter.write(header);
-            currentWriter.newLine();
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (currentWriter != null) {
+            currentWriter.close();
+        }
+        currentWriter = AsyncOutputWriter.open(rootDirectory.resolve(baseFileName + currentYear + extension), false);
+        currentWriter.writeLine(header);
+    }
+
+    /**
+     * Waits until all records of the current year have been written.
+     */
+    public void flush() {
+        if (currentWriter != null) {
+            currentWriter.flush();
         }
     }
 
     public void end() {
-        try {
-            if (currentWriter != null) {
-                currentWriter.flush();
-                currentWriter.close();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (currentWriter != null) {
+            currentWriter.close();
         }
     }
 
     public void trackRecord(String record) {
-        try {
-            currentWriter.write(record);
-            currentWriter.newLine();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        currentWriter.writeLine(record);
+    }
+
+    /**
+     * Tracks a record of integer fields without building an intermediate string.
+     */
+    public void trackRecord(int... fields) {
+        currentWriter.writeRecord(fields);
     }
 }
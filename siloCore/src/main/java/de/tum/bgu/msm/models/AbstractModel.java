@@ -2,6 +2,7 @@ package de.tum.bgu.msm.models;
 
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.simulator.EventScopedRandom;
 import de.tum.bgu.msm.simulator.UpdateListener;
 import org.apache.log4j.Logger;
 
@@ -18,7 +19,7 @@ public class AbstractModel implements UpdateListener {
     public AbstractModel(DataContainer dataContainer, Properties properties, Random random) {
         this.dataContainer = dataContainer;
         this.properties = properties;
-        this.random = random;
+        this.random = EventScopedRandom.wrap(random);
     }
 
     @Override
@@ -41,6 +42,21 @@ public class AbstractModel implements UpdateListener {
 
     }
 
+    /**
+     * @return the random number generator of this model, or null if the model has none
+     */
+    public Random getRandom() {
+        return random == null ? null : ((EventScopedRandom) random).getDelegate();
+    }
+
+    /**
+     * Replaces the random number generator of this model, e.g. by the one stored in a snapshot to continue a run
+     * with the same sequence of random numbers.
+     */
+    public void setRandom(Random random) {
+        ((EventScopedRandom) this.random).setDelegate(random);
+    }
+
     public void logCurrentRandomState() {
         logger.info(this.getClass().getSimpleName() + " | random: " + random.nextDouble());
     }
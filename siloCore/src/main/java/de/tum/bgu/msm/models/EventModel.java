@@ -24,4 +24,16 @@ public interface EventModel<T extends MicroEvent> extends UpdateListener {
      */
     boolean handleEvent(T event);
 
+    /**
+     * Returns whether this model may handle events concurrently with other events whose
+     * {@link MicroEvent#declareFootprint footprints} do not conflict. A model may only return
+     * true if handling an event touches no data beyond the event's footprint, it draws random numbers
+     * only from its model random and all strategies it calls are thread-safe. Data that is shared with
+     * other events, such as id counters or vacancy lists, may only be changed after
+     * {@link de.tum.bgu.msm.simulator.EventOrder#awaitTurn()}.
+     * @return false by default, i.e. events of this model are always handled exclusively
+     */
+    default boolean supportsConcurrentHandling() {
+        return false;
+    }
 }
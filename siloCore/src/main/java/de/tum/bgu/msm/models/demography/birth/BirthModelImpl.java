@@ -24,6 +24,7 @@ import de.tum.bgu.msm.data.person.*;
 import de.tum.bgu.msm.events.impls.person.BirthEvent;
 import de.tum.bgu.msm.models.AbstractModel;
 import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.simulator.EventOrder;
 import de.tum.bgu.msm.utils.SiloUtil;
 
 import java.util.ArrayList;
@@ -95,6 +96,11 @@ public class BirthModelImpl extends AbstractModel implements BirthModel {
         return chooseBirth(event.getPersonId());
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {}
 
@@ -122,14 +128,16 @@ public class BirthModelImpl extends AbstractModel implements BirthModel {
     }
 
     void giveBirth(Person person) {
-        final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
-        final Household household = person.getHousehold();
-        householdDataManager.saveHouseholdMemento(household);
-        final int id = householdDataManager.getNextPersonId();
         Gender gender = MALE;
         if (random.nextDouble() <= getProbabilityForGirl()) {
             gender = FEMALE;
         }
+        // person ids and household mementos are shared with other events
+        EventOrder.awaitTurn();
+        final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
+        final Household household = person.getHousehold();
+        householdDataManager.saveHouseholdMemento(household);
+        final int id = householdDataManager.getNextPersonId();
         final Person child = factory.giveBirth(person, id, gender);
         householdDataManager.addPerson(child);
         householdDataManager.addPersonToHousehold(child, household);
@@ -18,12 +18,12 @@ public class DefaultBirthStrategy extends JavaScriptCalculator <Double> implemen
     }
 
     @Override
-    public double calculateBirthProbability(int personAge, int numberOfChildren) {
+    public synchronized double calculateBirthProbability(int personAge, int numberOfChildren) {
         return super.calculate("calculateBirthProbability", personAge, numberOfChildren);
     }
 
     @Override
-    public double getProbabilityForGirl() {
+    public synchronized double getProbabilityForGirl() {
         return super.calculate("probabilityForAGirl");
     }
 
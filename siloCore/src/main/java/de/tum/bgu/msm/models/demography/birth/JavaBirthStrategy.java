@@ -0,0 +1,50 @@
+package de.tum.bgu.msm.models.demography.birth;
+
+/**
+ * Java implementation of the default birth probabilities defined in BirthProbabilityCalc. Avoids the
+ * script engine on the hot path. {@link DefaultBirthStrategy} remains the reference implementation.
+ */
+public class JavaBirthStrategy implements BirthStrategy {
+
+    private static final int MIN_AGE = 14;
+    private static final int MAX_AGE = 50;
+    private static final double PROBABILITY_FOR_GIRL = 0.4867;
+
+    /**
+     * Births per 1,000 women by number of existing children (0, 1, 2, 3+) and age (14 or younger to 50+)
+     */
+    private static final double[][] BIRTHS_PER_1000_WOMEN = {
+            {
+                0.0, 1.5, 4.4, 9.2, 16.2, 26.7, 34.3, 41.4, 47.1, 53.8, 61.5, 75.8, 89.0, 104.4, 114.4, 124.7,
+                127.8, 127.0, 116.1, 101.9, 86.6, 72.5, 60.3, 46.9, 35.6, 27.6, 20.7, 13.6, 8.5, 4.9, 2.7, 1.6,
+                0.9, 0.4, 0.2, 0.1, 0.0
+            }, {
+                0.0, 0.02, 0.2, 0.7, 2.4, 5.5, 9.5, 15.2, 20.5, 24.0, 29.4, 36.1, 43.5, 52.1, 62.6, 72.9, 84.2,
+                91.9, 96.9, 98.5, 94.0, 86.3, 76.0, 62.2, 49.0, 36.9, 27.1, 17.7, 10.5, 5.8, 2.8, 1.6, 0.7, 0.3,
+                0.2, 0.1, 0.0
+            }, {
+                0.0, 0.0, 0.01, 0.04, 0.2, 0.7, 1.4, 2.9, 4.9, 6.7, 8.9, 10.3, 13.5, 15.3, 17.5, 21.3, 24.1,
+                27.1, 29.8, 31.8, 32.0, 32.3, 30.9, 27.3, 23.7, 19.3, 14.2, 9.7, 6.3, 3.6, 1.8, 1.0, 0.4, 0.25,
+                0.1, 0.05, 0.0
+            }, {
+                0.0, 0.0, 0.0, 0.0, 0.02, 0.06, 0.2, 0.5, 1.0, 2.0, 2.8, 4.0, 5.3, 6.3, 7.3, 9.5, 10.7, 12.2,
+                13.9, 14.0, 14.3, 15.1, 15.1, 14.7, 13.2, 11.6, 9.9, 7.2, 5.0, 3.5, 2.0, 0.9, 0.5, 0.2, 0.1,
+                0.05, 0.0
+            }
+    };
+
+    @Override
+    public double calculateBirthProbability(int personAge, int numberOfChildren) {
+        if (personAge < 0) {
+            throw new RuntimeException("Undefined negative person age!" + personAge);
+        }
+        final int children = numberOfChildren >= 0 && numberOfChildren < 3 ? numberOfChildren : 3;
+        final int age = Math.max(MIN_AGE, Math.min(personAge, MAX_AGE));
+        return BIRTHS_PER_1000_WOMEN[children][age - MIN_AGE] / 1000.;
+    }
+
+    @Override
+    public double getProbabilityForGirl() {
+        return PROBABILITY_FOR_GIRL;
+    }
+}
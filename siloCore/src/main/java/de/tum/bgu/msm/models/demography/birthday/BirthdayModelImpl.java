@@ -41,6 +41,11 @@ public class BirthdayModelImpl extends AbstractModel implements BirthdayModel {
         return checkBirthday(event);
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {
 
@@ -9,6 +9,7 @@ import de.tum.bgu.msm.data.person.PersonRole;
 import de.tum.bgu.msm.events.impls.person.DeathEvent;
 import de.tum.bgu.msm.models.AbstractModel;
 import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.simulator.EventOrder;
 import de.tum.bgu.msm.utils.SiloUtil;
 
 import java.util.ArrayList;
@@ -53,6 +54,11 @@ public class DeathModelImpl extends AbstractModel implements DeathModel {
         return false;
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {
     }
@@ -90,19 +96,32 @@ public class DeathModelImpl extends AbstractModel implements DeathModel {
     boolean die(Person person) {
         final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
         final Household hhOfPersonToDie = person.getHousehold();
+        // the household is part of the event's footprint and can be examined before the event awaits its turn
+        final Person widow = person.getRole() == PersonRole.MARRIED ?
+                HouseholdUtil.findMostLikelyPartner(person, hhOfPersonToDie) : null;
+        boolean othersPresent = false;
+        boolean onlyChildrenLeft = true;
+        for (Person pp : hhOfPersonToDie.getPersons().values()) {
+            if (pp.getId() != person.getId()) {
+                othersPresent = true;
+                onlyChildrenLeft &= pp.getAge() < 16;
+            }
+        }
+        onlyChildrenLeft &= othersPresent;
+
+        // ids of household mementos, vacant dwellings and vacant jobs are shared with other events
+        EventOrder.awaitTurn();
         householdDataManager.saveHouseholdMemento(hhOfPersonToDie);
 
         if (person.getJobId() > 0) {
             dataContainer.getJobDataManager().quitJob(true, person);
         }
 
-        if (person.getRole() == PersonRole.MARRIED) {
-            Person widow = HouseholdUtil.findMostLikelyPartner(person, hhOfPersonToDie);
+        if (widow != null) {
             widow.setRole(PersonRole.SINGLE);
         }
         householdDataManager.removePerson(person.getId());
 
-        final boolean onlyChildrenLeft = HouseholdUtil.checkIfNoAdultsPresent(hhOfPersonToDie);
         if (onlyChildrenLeft) {
             for (Person pp : hhOfPersonToDie.getPersons().values()) {
                 if (pp.getId() == SiloUtil.trackPp || hhOfPersonToDie.getId() == SiloUtil.trackHh) {
@@ -16,7 +16,7 @@ public class DefaultDeathStrategy extends JavaScriptCalculator <Double> implemen
     }
 
     @Override
-    public double calculateDeathProbability(Person person) {
+    public synchronized double calculateDeathProbability(Person person) {
         final int age = Math.min(person.getAge(), 100);
         return super.calculate("calculateDeathProbability", age, person.getGender());
     }
@@ -0,0 +1,62 @@
+package de.tum.bgu.msm.models.demography.death;
+
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Person;
+
+/**
+ * Java implementation of the default death probabilities defined in DeathProbabilityCalc. Avoids the
+ * script engine on the hot path. {@link DefaultDeathStrategy} remains the reference implementation.
+ */
+public class JavaDeathStrategy implements DeathStrategy {
+
+    /**
+     * Death probabilities by age (0 to 100+)
+     */
+    private static final double[] MALE = {
+            0.0035171, 0.00027502, 0.00015091, 0.00014069, 0.00010809, 0.00009131, 0.00009202, 0.00008643,
+            0.00007416, 0.00009636, 0.00006965, 0.00008112, 0.00008548, 0.00009094, 0.0001113, 0.00015519,
+            0.0002484, 0.00028661, 0.00039548, 0.00043643, 0.00044619, 0.00046719, 0.00042421, 0.00047249,
+            0.00047635, 0.00050404, 0.00050092, 0.0005178, 0.00054553, 0.00058138, 0.00061109, 0.00068366,
+            0.00069727, 0.00072194, 0.00079542, 0.00088198, 0.00087339, 0.00090841, 0.00103223, 0.00111491,
+            0.00121116, 0.00132725, 0.00147968, 0.00167684, 0.00177439, 0.00208116, 0.00225744, 0.00252991,
+            0.00284653, 0.00322336, 0.00358139, 0.00401607, 0.00458896, 0.00515636, 0.00573763, 0.0063011,
+            0.00692544, 0.00770856, 0.0085539, 0.0093556, 0.01019652, 0.01112414, 0.01209984, 0.01304853,
+            0.01418555, 0.01517552, 0.01653495, 0.01763878, 0.0191729, 0.0203515, 0.0225967, 0.02443693,
+            0.02602427, 0.02879558, 0.03114641, 0.03455648, 0.03832184, 0.04207809, 0.04778889, 0.05345579,
+            0.06034223, 0.06781989, 0.07752174, 0.08744924, 0.09782105, 0.10956122, 0.12161384, 0.13417285,
+            0.14930005, 0.16468568, 0.18283321, 0.20731584, 0.22726903, 0.25312663, 0.26403672, 0.28962417,
+            0.29922388, 0.3221297, 0.36464002, 0.38783601, 0.410106
+    };
+
+    private static final double[] FEMALE = {
+            0.00300213, 0.00025727, 0.00011624, 0.00011728, 0.00009002, 0.00007165, 0.00006568, 0.00005983,
+            0.00006457, 0.00005999, 0.00005817, 0.00006773, 0.0000829, 0.00007989, 0.0001079, 0.00012969,
+            0.00015128, 0.00014984, 0.00019652, 0.00019595, 0.00019742, 0.00017717, 0.00016509, 0.00023189,
+            0.00019089, 0.00020002, 0.00020167, 0.00021866, 0.0002504, 0.00027532, 0.00028406, 0.00032232,
+            0.00033938, 0.00037054, 0.00039259, 0.00042245, 0.00046718, 0.00047345, 0.00057037, 0.00063424,
+            0.00067117, 0.00074618, 0.00084868, 0.00092229, 0.00104142, 0.00111667, 0.00131667, 0.00146544,
+            0.00158135, 0.00182147, 0.00200394, 0.00230274, 0.00251072, 0.00285827, 0.00307015, 0.00336385,
+            0.00369889, 0.00397935, 0.00437658, 0.0048601, 0.00528491, 0.00565687, 0.00607161, 0.00665744,
+            0.00739817, 0.00800149, 0.00894147, 0.00945906, 0.01036727, 0.01103579, 0.0121908, 0.01321404,
+            0.01404266, 0.01565656, 0.01706556, 0.01949607, 0.02229552, 0.02521566, 0.0293381, 0.03394772,
+            0.03932066, 0.04476366, 0.05229102, 0.0598285, 0.06915059, 0.07888544, 0.09096688, 0.1036328,
+            0.11780892, 0.13386588, 0.15159724, 0.17091808, 0.19095998, 0.21782221, 0.2312695, 0.25224087,
+            0.26084948, 0.29312636, 0.32154264, 0.35354396, 0.3780599
+    };
+
+    @Override
+    public double calculateDeathProbability(Person person) {
+        final int age = Math.min(person.getAge(), 100);
+        if (age < 0) {
+            throw new RuntimeException("Undefined negative person age!" + age);
+        }
+        final Gender gender = person.getGender();
+        if (gender == Gender.MALE) {
+            return MALE[age];
+        } else if (gender == Gender.FEMALE) {
+            return FEMALE[age];
+        } else {
+            throw new RuntimeException("Undefined personSex: " + gender);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.tum.bgu.msm.models.demography.divorce;
+
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.utils.ProbabilityTable;
+
+/**
+ * Evaluates a divorce strategy once for every age and gender and serves probabilities from a table.
+ * The wrapped strategy must only depend on age and gender (e.g. the person type) of the person.
+ * Persons older than the tabulated ages are passed on to the wrapped strategy.
+ */
+public class TabulatedDivorceStrategy implements DivorceStrategy {
+
+    private static final int MAX_AGE = 100;
+
+    private final DivorceStrategy delegate;
+    private final ProbabilityTable table;
+
+    public TabulatedDivorceStrategy(DivorceStrategy delegate) {
+        this.delegate = delegate;
+        this.table = ProbabilityTable.tabulateByAgeAndGender(MAX_AGE, delegate::calculateDivorceProbability);
+    }
+
+    @Override
+    public double calculateDivorceProbability(Person per) {
+        final int age = per.getAge();
+        final int gender = per.getGender().ordinal();
+        if (table.contains(age, gender)) {
+            return table.get(age, gender);
+        }
+        return delegate.calculateDivorceProbability(per);
+    }
+}
@@ -20,12 +20,12 @@ public class DefaultDriversLicenseStrategy extends JavaScriptCalculator<Double>
 
 
     @Override
-    public double calculateChangeDriversLicenseProbability(Person person) {
+    public synchronized double calculateChangeDriversLicenseProbability(Person person) {
         return super.calculate("calculateChangeDriversLicenseProbability", person.getType());
     }
 
     @Override
-    public double calculateCreateDriversLicenseProbability(Person pp) {
+    public synchronized double calculateCreateDriversLicenseProbability(Person pp) {
         return super.calculate("calculateCreateDriversLicenseProbability", pp.getType());
     }
 }
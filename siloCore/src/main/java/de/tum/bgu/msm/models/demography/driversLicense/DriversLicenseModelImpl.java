@@ -55,6 +55,11 @@ public class DriversLicenseModelImpl extends AbstractModel implements DriversLic
         return false;
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {
     }
@@ -0,0 +1,44 @@
+package de.tum.bgu.msm.models.demography.driversLicense;
+
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.utils.ProbabilityTable;
+
+/**
+ * Evaluates a drivers license strategy once for every age and gender and serves probabilities from
+ * tables. The wrapped strategy must only depend on age and gender (e.g. the person type) of the person.
+ * Persons older than the tabulated ages are passed on to the wrapped strategy.
+ */
+public class TabulatedDriversLicenseStrategy implements DriversLicenseStrategy {
+
+    private static final int MAX_AGE = 100;
+
+    private final DriversLicenseStrategy delegate;
+    private final ProbabilityTable changeTable;
+    private final ProbabilityTable createTable;
+
+    public TabulatedDriversLicenseStrategy(DriversLicenseStrategy delegate) {
+        this.delegate = delegate;
+        this.changeTable = ProbabilityTable.tabulateByAgeAndGender(MAX_AGE, delegate::calculateChangeDriversLicenseProbability);
+        this.createTable = ProbabilityTable.tabulateByAgeAndGender(MAX_AGE, delegate::calculateCreateDriversLicenseProbability);
+    }
+
+    @Override
+    public double calculateChangeDriversLicenseProbability(Person pp) {
+        final int age = pp.getAge();
+        final int gender = pp.getGender().ordinal();
+        if (changeTable.contains(age, gender)) {
+            return changeTable.get(age, gender);
+        }
+        return delegate.calculateChangeDriversLicenseProbability(pp);
+    }
+
+    @Override
+    public double calculateCreateDriversLicenseProbability(Person pp) {
+        final int age = pp.getAge();
+        final int gender = pp.getGender().ordinal();
+        if (createTable.contains(age, gender)) {
+            return createTable.get(age, gender);
+        }
+        return delegate.calculateCreateDriversLicenseProbability(pp);
+    }
+}
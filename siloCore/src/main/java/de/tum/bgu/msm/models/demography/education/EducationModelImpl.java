@@ -44,6 +44,11 @@ public class EducationModelImpl extends AbstractModel implements EducationModel
         return false;
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {
     }
@@ -0,0 +1,32 @@
+package de.tum.bgu.msm.models.demography.leaveParentalHousehold;
+
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.utils.ProbabilityTable;
+
+/**
+ * Evaluates a leave parental household strategy once for every age and gender and serves probabilities
+ * from a table. The wrapped strategy must only depend on age and gender (e.g. the person type) of the person.
+ * Persons older than the tabulated ages are passed on to the wrapped strategy.
+ */
+public class TabulatedLeaveParentalHouseholdStrategy implements LeaveParentalHouseholdStrategy {
+
+    private static final int MAX_AGE = 100;
+
+    private final LeaveParentalHouseholdStrategy delegate;
+    private final ProbabilityTable table;
+
+    public TabulatedLeaveParentalHouseholdStrategy(LeaveParentalHouseholdStrategy delegate) {
+        this.delegate = delegate;
+        this.table = ProbabilityTable.tabulateByAgeAndGender(MAX_AGE, delegate::calculateLeaveParentsProbability);
+    }
+
+    @Override
+    public double calculateLeaveParentsProbability(Person person) {
+        final int age = person.getAge();
+        final int gender = person.getGender().ordinal();
+        if (table.contains(age, gender)) {
+            return table.get(age, gender);
+        }
+        return delegate.calculateLeaveParentsProbability(person);
+    }
+}
@@ -22,8 +22,15 @@ public class JobMarketUpdateImpl extends AbstractModel implements JobMarketUpdat
     private JobFactory factory;
 
     public JobMarketUpdateImpl(DataContainer dataContainer, Properties properties, Random rnd) {
+        this(dataContainer, properties, rnd, JobUtils.getFactory());
+    }
+
+    /**
+     * @param factory factory for new jobs. Has to match the job data, e.g. the factory of a columnar data store.
+     */
+    public JobMarketUpdateImpl(DataContainer dataContainer, Properties properties, Random rnd, JobFactory factory) {
         super(dataContainer, properties, rnd);
-        factory = JobUtils.getFactory();
+        this.factory = factory;
     }
 
     @Override
@@ -14,10 +14,12 @@ import de.tum.bgu.msm.events.impls.realEstate.ConstructionEvent;
 import de.tum.bgu.msm.models.AbstractModel;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.utils.SiloUtil;
+import de.tum.bgu.msm.utils.WeightedSelectionTree;
 import org.apache.log4j.Logger;
 import org.locationtech.jts.geom.Coordinate;
 
 import java.util.*;
+import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -126,48 +128,43 @@ public class ConstructionModelImpl extends AbstractModel implements Construction
 
         for (DwellingType dt : sortedDwellingTypes) {
             int dto = dwellingTypes.indexOf(dt);
+            // zone choice over all zones for demand that cannot be realized in its own region. Only built when
+            // needed and kept up to date while land is converted for this dwelling type.
+            ZoneChoice alternativeZoneChoice = null;
             for (int region : geoData.getRegions().keySet()) {
                 int unrealizedDwellings = 0;
                 int demand = (int) (existingDwellings[dto][region] * demandByRegion[dto][region] + 0.5);
                 if (demand == 0) {
                     continue;
                 }
-                int[] zonesInThisRegion = geoData.getRegions().get(region).getZones().stream().mapToInt(Zone::getZoneId).toArray();
-                double[] prob = new double[SiloUtil.getHighestVal(zonesInThisRegion) + 1];
+                int[] zonesInThisRegion = geoData.getRegions().get(region).getZones().stream().mapToInt(Zone::getZoneId).sorted().toArray();
+                ZoneChoice zoneChoice = new ZoneChoice(zonesInThisRegion,
+                        zone -> calculateZoneWeight(realEstate, dt, dto, zone, utilitiesByDwellingTypeByZone));
                 // walk through every dwelling to be built
                 for (int i = 1; i <= demand; i++) {
-                    double probSum = 0;
-                    for (int zone : zonesInThisRegion) {
-                        Development development = dataContainer.getGeoData().getZones().get(zone).getDevelopment();
-                        boolean useDwellingsAsCapacity = development.isUseDwellingCapacity();
-                        double availableLand = realEstate.getAvailableCapacityForConstruction(zone);
-                        if ((useDwellingsAsCapacity && availableLand == 0) ||                              // capacity by dwellings is use
-                                (!useDwellingsAsCapacity && availableLand < dt.getAreaPerDwelling()) ||  // not enough land available?
-                                !development.isThisDwellingTypeAllowed(dt)) {                 // construction of this dwelling type allowed in this zone?
-                            prob[zone] = 0.;
-                        } else {
-                            prob[zone] = betaForZoneChoice * availableLand * utilitiesByDwellingTypeByZone[dto][zone];
-                            probSum += prob[zone];
-                        }
+                    int zone = zoneChoice.select();
+                    if (zone < 0) {
+                        // no capacity left in this region, which will not change for the remaining dwellings
+                        unrealizedDwellings += demand - i + 1;
+                        break;
                     }
-                    if (probSum == 0) {
-                        unrealizedDwellings++;
-                        continue;
-                    }
-                    for (int zone : zonesInThisRegion) {
-                        prob[zone] = prob[zone] / probSum;
-                    }
-                    int zone = SiloUtil.select(prob, random);
                     events.add(createNewDwelling(realEstate, aveSizeByTypeAndRegion, avePriceByTypeAndZone,
                             avePriceByTypeAndRegion, dt, dto, region, zone));
+                    zoneChoice.update(zone);
+                    if (alternativeZoneChoice != null) {
+                        alternativeZoneChoice.update(zone);
+                    }
                 }
                 for (int i = 1; i <= unrealizedDwellings; i++) {
-                    int zone = allocateUnrealizedDemandInDifferentRegion(realEstate, dt, dto,
-                            avePriceByTypeAndZone, avePriceByTypeAndRegion, utilitiesByDwellingTypeByZone);
+                    if (alternativeZoneChoice == null) {
+                        alternativeZoneChoice = createAlternativeZoneChoice(realEstate, dt, dto, utilitiesByDwellingTypeByZone);
+                    }
+                    int zone = alternativeZoneChoice.select();
 
                     if (zone > -1) {
                         events.add(createNewDwelling(realEstate, aveSizeByTypeAndRegion, avePriceByTypeAndZone,
                                 avePriceByTypeAndRegion, dt, dto, region, zone));
+                        alternativeZoneChoice.update(zone);
                     } else {
                         unrealizedDemandCounter++;
                     }
@@ -267,36 +264,78 @@ public class ConstructionModelImpl extends AbstractModel implements Construction
         return (new ConstructionEvent(plannedDwelling));
     }
 
-    private int allocateUnrealizedDemandInDifferentRegion(RealEstateDataManager realEstate, DwellingType dt, int dto,
-                                                          double[][] avePriceByTypeAndZone, double[][] avePriceByTypeAndRegion, double[][] utilitiesByDwellingTypeByZone) {
-        // Due to limited available land or zoning, not all demand can be realized in all zones. Find an alternative
-        // region where demand can be built
-        int selectedZone = 1;
-        double probSum = 0;
-        double[] prob = new double[geoData.getZones().keySet().stream().max(Comparator.naturalOrder()).get() + 1];
-        for (Map.Entry<Integer, Zone> zone : geoData.getZones().entrySet()) {
-            double availableLand = realEstate.getAvailableCapacityForConstruction(zone.getValue().getId());
-            if (availableLand < dt.getAreaPerDwelling()) {
-                continue;
+    /**
+     * Due to limited available land or zoning, not all demand can be realized in all zones. Creates a zone
+     * choice over all zones to find an alternative region where demand can be built.
+     */
+    private ZoneChoice createAlternativeZoneChoice(RealEstateDataManager realEstate, DwellingType dt, int dto,
+                                                   double[][] utilitiesByDwellingTypeByZone) {
+        int[] zones = geoData.getZones().keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        return new ZoneChoice(zones, zone -> {
+            if (realEstate.getAvailableCapacityForConstruction(zone) < dt.getAreaPerDwelling()) {
+                return 0.;
             }
-            Development development = zone.getValue().getDevelopment();
-            boolean useDwellingsAsCapacity = development.isUseDwellingCapacity();
-            if ((useDwellingsAsCapacity && availableLand == 0) ||                              // capacity by dwellings is use
-                    (!useDwellingsAsCapacity && availableLand < dt.getAreaPerDwelling()) ||  // not enough land available?
-                    !development.isThisDwellingTypeAllowed(dt)) {                 // construction of this dwelling type allowed in this zone?
-                prob[zone.getValue().getId()] = 0.;
-            } else {
-                prob[zone.getValue().getId()] = betaForZoneChoice * availableLand * utilitiesByDwellingTypeByZone[dto][zone.getValue().getId()];
-                probSum += prob[zone.getValue().getId()];
+            return calculateZoneWeight(realEstate, dt, dto, zone, utilitiesByDwellingTypeByZone);
+        });
+    }
+
+    /**
+     * Weight of a zone in the choice where to build a dwelling of the given type. Zones without sufficient
+     * capacity or in which the dwelling type is not allowed have a weight of zero.
+     */
+    private double calculateZoneWeight(RealEstateDataManager realEstate, DwellingType dt, int dto, int zone,
+                                       double[][] utilitiesByDwellingTypeByZone) {
+        Development development = geoData.getZones().get(zone).getDevelopment();
+        boolean useDwellingsAsCapacity = development.isUseDwellingCapacity();
+        double availableLand = realEstate.getAvailableCapacityForConstruction(zone);
+        if ((useDwellingsAsCapacity && availableLand == 0) ||                              // capacity by dwellings is use
+                (!useDwellingsAsCapacity && availableLand < dt.getAreaPerDwelling()) ||  // not enough land available?
+                !development.isThisDwellingTypeAllowed(dt)) {                 // construction of this dwelling type allowed in this zone?
+            return 0.;
+        }
+        double weight = betaForZoneChoice * availableLand * utilitiesByDwellingTypeByZone[dto][zone];
+        // undefined utilities, e.g. for dwelling types without any prices, make a zone unavailable
+        return weight > 0 && !Double.isInfinite(weight) ? weight : 0.;
+    }
+
+    /**
+     * Weighted choice among zones in O(log zones) per dwelling. Only the weight of a zone in which land was
+     * converted has to be updated. Draws consume one random number like {@link SiloUtil#select(double[], Random)}.
+     */
+    private final class ZoneChoice {
+
+        private final int[] zones;
+        private final Map<Integer, Integer> indexByZone = new HashMap<>();
+        private final IntToDoubleFunction weightFunction;
+        private final WeightedSelectionTree tree;
+
+        private ZoneChoice(int[] zones, IntToDoubleFunction weightFunction) {
+            this.zones = zones;
+            this.weightFunction = weightFunction;
+            double[] weights = new double[zones.length];
+            for (int i = 0; i < zones.length; i++) {
+                indexByZone.put(zones[i], i);
+                weights[i] = weightFunction.applyAsDouble(zones[i]);
             }
+            this.tree = new WeightedSelectionTree(weights);
         }
-        if (probSum == 0) {
-            return -1;
+
+        /**
+         * @return the selected zone or -1 if no zone has a positive weight
+         */
+        private int select() {
+            if (tree.getTotalWeight() <= 0) {
+                return -1;
+            }
+            return zones[tree.select(tree.getTotalWeight() * random.nextFloat())];
         }
-        for (Map.Entry<Integer, Zone> zone : geoData.getZones().entrySet()) {
-            prob[zone.getValue().getId()] = prob[zone.getValue().getId()] / probSum;
+
+        private void update(int zone) {
+            Integer index = indexByZone.get(zone);
+            if (index != null) {
+                tree.setWeight(index, weightFunction.applyAsDouble(zone));
+            }
         }
-        return SiloUtil.select(prob, random);
     }
 
 
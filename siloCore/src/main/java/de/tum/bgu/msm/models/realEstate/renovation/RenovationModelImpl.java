@@ -6,7 +6,8 @@ import de.tum.bgu.msm.data.dwelling.RealEstateDataManager;
 import de.tum.bgu.msm.events.impls.realEstate.RenovationEvent;
 import de.tum.bgu.msm.models.AbstractModel;
 import de.tum.bgu.msm.properties.Properties;
-import de.tum.bgu.msm.utils.SiloUtil;
+import de.tum.bgu.msm.utils.FixedWeightsSampler;
+import de.tum.bgu.msm.utils.SampleException;
 
 import java.util.*;
 
@@ -19,6 +20,11 @@ public class RenovationModelImpl extends AbstractModel implements RenovationMode
 
     private final RenovationStrategy strategy;
     private double[][] renovationProbability;
+    /**
+     * Samplers of the quality change by current quality. The quality shares only change once a year,
+     * so the probabilities are fixed for all dwellings of a year.
+     */
+    private final List<FixedWeightsSampler<DdQualityChange>> qualityChangeSamplers = new ArrayList<>();
 
     private enum DdQualityChange {
         DECREASE_2 {
@@ -69,7 +75,18 @@ public class RenovationModelImpl extends AbstractModel implements RenovationMode
     }
 
     @Override
-    public void prepareYear(int year) {}
+    public void prepareYear(int year) {
+        qualityChangeSamplers.clear();
+        for (int quality = 1; quality <= properties.main.qualityLevels; quality++) {
+            final Map<DdQualityChange, Double> probabilities = getProbabilities(quality);
+            final double[] weights = new double[DdQualityChange.values().length];
+            for (DdQualityChange change : DdQualityChange.values()) {
+                weights[change.ordinal()] = probabilities.get(change);
+            }
+            qualityChangeSamplers.add(FixedWeightsSampler.create(DdQualityChange.values(), weights, random,
+                    properties.main.aliasSampling));
+        }
+    }
 
     @Override
     public Collection<RenovationEvent> getEventsForCurrentYear(int year) {
@@ -88,13 +105,22 @@ public class RenovationModelImpl extends AbstractModel implements RenovationMode
         Dwelling dd = realEstateDataManager.getDwelling(event.getDwellingId());
         if (dd != null) {
             int currentQuality = dd.getQuality();
-            DdQualityChange change = SiloUtil.select(getProbabilities(currentQuality), random);
-            dd.setQuality(currentQuality + change.getChange());
-            return true;
+            try {
+                DdQualityChange change = qualityChangeSamplers.get(currentQuality - 1).sampleObject();
+                dd.setQuality(currentQuality + change.getChange());
+                return true;
+            } catch (SampleException e) {
+                throw new RuntimeException(e);
+            }
         }
         return false;
     }
 
+    @Override
+    public boolean supportsConcurrentHandling() {
+        return true;
+    }
+
     @Override
     public void endYear(int year) {
 
@@ -108,7 +108,7 @@ public class InOutMigrationImpl extends AbstractModel implements InOutMigration
         while (createdInmigrants < inmigrants) {
             Household hh = hhs[(int) (hhs.length * this.random.nextDouble())];
             Household inmigratingHousehold = householdDataManager.duplicateHousehold(hh);
-            events.add(new MigrationEvent(inmigratingHousehold, MigrationEvent.Type.IN));
+            events.add(new MigrationEvent(inmigratingHousehold, MigrationEvent.Type.IN, hh));
             createdInmigrants += inmigratingHousehold.getHhSize();
         }
     }
@@ -5,6 +5,7 @@ import de.tum.bgu.msm.data.Region;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
+import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityCache;
 import de.tum.bgu.msm.data.dwelling.Dwelling;
 import de.tum.bgu.msm.data.dwelling.RealEstateDataManager;
 import de.tum.bgu.msm.data.dwelling.RealEstateDataManagerImpl;
@@ -17,14 +18,17 @@ import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobDataManager;
 import de.tum.bgu.msm.data.person.Occupation;
 import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.travelTimes.BatchTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
 import org.apache.log4j.Logger;
 import org.matsim.api.core.v01.TransportMode;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static de.tum.bgu.msm.data.dwelling.RealEstateUtils.RENT_CATEGORIES;
@@ -123,25 +127,32 @@ public class CarAndTransitHousingStrategyImpl implements HousingStrategy {
         double travelCostUtility = 1; //do not have effect at the moment;
         double factorForThisZone;
         JobDataManager jobDataManager = dataContainer.getJobDataManager();
-        double workDistanceUtility = 1;
+        final List<Job> jobs = new ArrayList<>();
         for (Person pp: hh.getPersons().values()) {
             if (pp.getOccupation() == Occupation.EMPLOYED && pp.getJobId() != -2) {
-                final Job job = jobDataManager.getJobFromId(pp.getJobId());
-                if(carToWorkersRatio == 0.) {
-                    int ptTime = (int) travelTimes.getTravelTime(dwelling, job, properties.transportModel.peakHour_s, TransportMode.pt);
-                    factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime), TransportMode.pt);
-                } else if( carToWorkersRatio == 1.) {
-                    int carTime = (int) travelTimes.getTravelTime(dwelling, job,  properties.transportModel.peakHour_s, TransportMode.car);
-                    factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
-                } else {
-                    int carTime = (int) travelTimes.getTravelTime(dwelling, job,  properties.transportModel.peakHour_s, TransportMode.car);
-                    int ptTime = (int) travelTimes.getTravelTime(dwelling, job,  properties.transportModel.peakHour_s, TransportMode.pt);
-                    double factorCar = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
-                    double factorPt = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime), TransportMode.pt);
-                    factorForThisZone= factorCar * carToWorkersRatio + (1 - carToWorkersRatio) * factorPt;
-                }
-                workDistanceUtility *= factorForThisZone;
+                jobs.add(jobDataManager.getJobFromId(pp.getJobId()));
+            }
+        }
+        final double[] carTimes = carToWorkersRatio == 0. ? null : BatchTravelTimes.getTravelTimes(travelTimes,
+                dwelling, jobs, properties.transportModel.peakHour_s, TransportMode.car);
+        final double[] ptTimes = carToWorkersRatio == 1. ? null : BatchTravelTimes.getTravelTimes(travelTimes,
+                dwelling, jobs, properties.transportModel.peakHour_s, TransportMode.pt);
+        double workDistanceUtility = 1;
+        for (int i = 0; i < jobs.size(); i++) {
+            if(carToWorkersRatio == 0.) {
+                int ptTime = (int) ptTimes[i];
+                factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime), TransportMode.pt);
+            } else if( carToWorkersRatio == 1.) {
+                int carTime = (int) carTimes[i];
+                factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
+            } else {
+                int carTime = (int) carTimes[i];
+                int ptTime = (int) ptTimes[i];
+                double factorCar = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
+                double factorPt = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime), TransportMode.pt);
+                factorForThisZone= factorCar * carToWorkersRatio + (1 - carToWorkersRatio) * factorPt;
             }
+            workDistanceUtility *= factorForThisZone;
         }
         return dwellingUtilityStrategy.calculateSelectDwellingUtility(ht, ddSizeUtility, ddPriceUtility,
                 ddQualityUtility, ddAutoAccessibilityUtility,
@@ -176,17 +187,14 @@ public class CarAndTransitHousingStrategyImpl implements HousingStrategy {
                 final Job job = jobDataManager.getJobFromId(pp.getJobId());
                 if(job != null) {
                     Zone workZone = geoData.getZones().get(job.getZoneId());
+                    final CommutingTimeProbabilityCache cache = jobDataManager.getCommutingTimeProbabilityCache();
                     if(carToWorkersRatio <= 0.) {
-                        int ptTime = (int) travelTimes.getTravelTimeFromRegion(region, workZone, properties.transportModel.peakHour_s, TransportMode.pt);
-                        thisRegionFactor = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime), TransportMode.pt);
+                        thisRegionFactor = cache.getCommutingTimeProbabilityFromRegion(region, workZone, TransportMode.pt);
                     } else if( carToWorkersRatio >= 1.) {
-                        int carTime = (int) travelTimes.getTravelTimeFromRegion(region, workZone,properties.transportModel.peakHour_s, TransportMode.car);
-                        thisRegionFactor = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
+                        thisRegionFactor = cache.getCommutingTimeProbabilityFromRegion(region, workZone, TransportMode.car);
                     } else {
-                        int carTime = (int) travelTimes.getTravelTimeFromRegion(region, workZone, properties.transportModel.peakHour_s, TransportMode.car);
-                        int ptTime = (int) travelTimes.getTravelTimeFromRegion(region, workZone, properties.transportModel.peakHour_s, TransportMode.pt);
-                        double factorCar = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, carTime), TransportMode.car);
-                        double factorPt = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, ptTime),TransportMode.pt);
+                        double factorCar = cache.getCommutingTimeProbabilityFromRegion(region, workZone, TransportMode.car);
+                        double factorPt = cache.getCommutingTimeProbabilityFromRegion(region, workZone, TransportMode.pt);
 
                         thisRegionFactor= factorCar * carToWorkersRatio + (1 - carToWorkersRatio) * factorPt;
                     }
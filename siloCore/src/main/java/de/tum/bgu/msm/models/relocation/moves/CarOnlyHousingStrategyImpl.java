@@ -16,14 +16,17 @@ import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobDataManager;
 import de.tum.bgu.msm.data.person.Occupation;
 import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.travelTimes.BatchTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
 import org.apache.log4j.Logger;
 import org.matsim.api.core.v01.TransportMode;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static de.tum.bgu.msm.data.dwelling.RealEstateUtils.RENT_CATEGORIES;
@@ -119,17 +122,22 @@ public class CarOnlyHousingStrategyImpl implements HousingStrategy {
         double travelCostUtility = 1; //do not have effect at the moment;
 
         JobDataManager jobDataManager = dataContainer.getJobDataManager();
-        double workDistanceUtility = 1;
+        final List<Job> jobs = new ArrayList<>();
         for (Person pp: hh.getPersons().values()) {
             if (pp.getOccupation() == Occupation.EMPLOYED && pp.getJobId() != -2) {
                 final Job job = jobDataManager.getJobFromId(pp.getJobId());
                 if(job != null) {
-                    int expectedCommuteTime = (int) travelTimes.getTravelTime(dwelling, job, properties.transportModel.peakHour_s, TransportMode.car);
-                    double factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, expectedCommuteTime), TransportMode.car);
-                    workDistanceUtility *= factorForThisZone;
+                    jobs.add(job);
                 }
             }
         }
+        double workDistanceUtility = 1;
+        for (double travelTime : BatchTravelTimes.getTravelTimes(travelTimes, dwelling, jobs,
+                properties.transportModel.peakHour_s, TransportMode.car)) {
+            int expectedCommuteTime = (int) travelTime;
+            double factorForThisZone = commutingTimeProbability.getCommutingTimeProbability(Math.max(1, expectedCommuteTime), TransportMode.car);
+            workDistanceUtility *= factorForThisZone;
+        }
         return dwellingUtilityStrategy.calculateSelectDwellingUtility(ht, ddSizeUtility, ddPriceUtility,
                 ddQualityUtility, ddAutoAccessibilityUtility,
                 0, workDistanceUtility);
@@ -0,0 +1,152 @@
+package de.tum.bgu.msm.models.relocation.moves;
+
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.household.Household;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates the candidate dwellings of household dwelling searches. The candidates of one search are
+ * scored as a batch that is split among persistent worker threads and the calling thread.
+ * Every worker uses its own duplicate of the housing strategy and writes into its own slots of the
+ * {@link DwellingSearch} result buffer, i.e. no locking or busy waiting is involved.
+ */
+final class DwellingEvaluator {
+
+    private final HousingStrategy housingStrategy;
+    private final int numberOfWorkers;
+
+    private ExecutorService[] workers;
+    private HousingStrategy[] workerStrategies;
+
+    /**
+     * @param housingStrategy the strategy used by the calling thread. Workers use duplicates of it.
+     * @param numberOfWorkers number of background worker threads. If 0, all candidates are
+     *                        evaluated on the calling thread.
+     */
+    DwellingEvaluator(HousingStrategy housingStrategy, int numberOfWorkers) {
+        this.housingStrategy = housingStrategy;
+        this.numberOfWorkers = Math.max(0, numberOfWorkers);
+    }
+
+    int getNumberOfWorkers() {
+        return numberOfWorkers;
+    }
+
+    /**
+     * Duplicates the housing strategy for every worker, e.g. after the strategy was prepared for a new year.
+     */
+    void refreshStrategies() {
+        final HousingStrategy[] strategies = new HousingStrategy[numberOfWorkers];
+        for (int i = 0; i < numberOfWorkers; i++) {
+            strategies[i] = housingStrategy.duplicate();
+        }
+        workerStrategies = strategies;
+    }
+
+    /**
+     * Calculates the selection probability of all candidates of the given search.
+     */
+    void evaluate(Household household, DwellingSearch search) {
+        final int size = search.size;
+        if (numberOfWorkers == 0 || size < 2) {
+            score(housingStrategy, household, search, 0, size);
+            return;
+        }
+        if (workers == null) {
+            startWorkers();
+        }
+
+        final int numberOfPartitions = Math.min(size, numberOfWorkers + 1);
+        final int partitionSize = (size + numberOfPartitions - 1) / numberOfPartitions;
+        final List<Future<?>> futures = new ArrayList<>(numberOfPartitions);
+        // the first partition is evaluated on the calling thread, each other partition by a dedicated worker
+        int worker = 0;
+        for (int start = partitionSize; start < size; start += partitionSize) {
+            final int from = start;
+            final int to = Math.min(size, start + partitionSize);
+            final HousingStrategy strategy = workerStrategies[worker];
+            futures.add(workers[worker++].submit(() -> score(strategy, household, search, from, to)));
+        }
+        score(housingStrategy, household, search, 0, partitionSize);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while evaluating dwellings.", e.getCause());
+        }
+    }
+
+    void shutdown() {
+        if (workers != null) {
+            for (ExecutorService worker : workers) {
+                worker.shutdown();
+            }
+            workers = null;
+        }
+    }
+
+    private void startWorkers() {
+        if (workerStrategies == null) {
+            refreshStrategies();
+        }
+        workers = new ExecutorService[numberOfWorkers];
+        for (int i = 0; i < numberOfWorkers; i++) {
+            final String name = "silo-dwelling-evaluation-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void score(HousingStrategy strategy, Household household, DwellingSearch search, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final int slot = search.slots[i];
+            final double util = strategy.calculateHousingUtility(household, search.dwellings[slot]);
+            search.probabilities[slot] = strategy.calculateSelectDwellingProbability(util);
+        }
+    }
+
+    /**
+     * Result buffer of a single dwelling search. Each candidate occupies a fixed slot, slots
+     * without a candidate keep a probability of 0.
+     */
+    static final class DwellingSearch {
+
+        private final Dwelling[] dwellings;
+        private final double[] probabilities;
+        private final int[] slots;
+        private int size = 0;
+
+        DwellingSearch(int capacity) {
+            this.dwellings = new Dwelling[capacity];
+            this.probabilities = new double[capacity];
+            this.slots = new int[capacity];
+        }
+
+        void addCandidate(int slot, Dwelling dwelling) {
+            dwellings[slot] = dwelling;
+            slots[size++] = slot;
+        }
+
+        Dwelling[] getDwellings() {
+            return dwellings;
+        }
+
+        double[] getProbabilities() {
+            return probabilities;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package de.tum.bgu.msm.models.relocation.moves;
+
+/**
+ * Java implementation of the default dwelling selection probability defined in SelectDwellingCalc.
+ * Avoids the script engine on the hot path. {@link DefaultDwellingProbabilityStrategy} remains the
+ * reference implementation.
+ */
+public class JavaDwellingProbabilityStrategy implements DwellingProbabilityStrategy {
+
+    @Override
+    public double calculateSelectDwellingProbability(double dwellingUtility) {
+        return 1.0 * Math.exp(0.5 * dwellingUtility);
+    }
+}
@@ -0,0 +1,58 @@
+package de.tum.bgu.msm.models.relocation.moves;
+
+import de.tum.bgu.msm.data.household.HouseholdType;
+
+/**
+ * Java implementation of the default dwelling utility defined in DwellingUtilityCalc. Avoids the
+ * script engine on the hot path. {@link DwellingUtilityStrategyImpl} remains the reference implementation.
+ */
+public class JavaDwellingUtilityStrategy implements DwellingUtilityStrategy {
+
+    /**
+     * Weights alpha (size), beta (auto accessibility), gamma (transit accessibility), delta (optional factors)
+     * and epsilon (price) by household type
+     */
+    private static final double[][] WEIGHTS = new double[HouseholdType.values().length][];
+
+    static {
+        setWeights(HouseholdType.SIZE_1_INC_LOW, 0.12, 0.25, 0.3, 0.2, 0.35);
+        setWeights(HouseholdType.SIZE_2_INC_LOW, 0.14, 0.25, 0.3, 0.2, 0.35);
+        setWeights(HouseholdType.SIZE_3_INC_LOW, 0.16, 0.25, 0.3, 0.2, 0.35);
+        setWeights(HouseholdType.SIZE_4_INC_LOW, 0.18, 0.25, 0.3, 0.2, 0.35);
+        setWeights(HouseholdType.SIZE_1_INC_MEDIUM, 0.17, 0.2, 0.25, 0.35, 0.3);
+        setWeights(HouseholdType.SIZE_2_INC_MEDIUM, 0.19, 0.2, 0.25, 0.35, 0.3);
+        setWeights(HouseholdType.SIZE_3_INC_MEDIUM, 0.21, 0.2, 0.25, 0.35, 0.3);
+        setWeights(HouseholdType.SIZE_4_INC_MEDIUM, 0.23, 0.2, 0.25, 0.35, 0.3);
+        setWeights(HouseholdType.SIZE_1_INC_HIGH, 0.22, 0.15, 0.15, 0.5, 0.1);
+        setWeights(HouseholdType.SIZE_2_INC_HIGH, 0.24, 0.15, 0.15, 0.5, 0.1);
+        setWeights(HouseholdType.SIZE_3_INC_HIGH, 0.26, 0.15, 0.15, 0.5, 0.1);
+        setWeights(HouseholdType.SIZE_4_INC_HIGH, 0.28, 0.15, 0.15, 0.5, 0.1);
+        setWeights(HouseholdType.SIZE_1_INC_VERY_HIGH, 0.27, 0.12, 0.08, 0.6, 0.05);
+        setWeights(HouseholdType.SIZE_2_INC_VERY_HIGH, 0.29, 0.12, 0.08, 0.6, 0.05);
+        setWeights(HouseholdType.SIZE_3_INC_VERY_HIGH, 0.31, 0.12, 0.08, 0.6, 0.05);
+        setWeights(HouseholdType.SIZE_4_INC_VERY_HIGH, 0.33, 0.12, 0.08, 0.6, 0.05);
+    }
+
+    private static void setWeights(HouseholdType ht, double alpha, double beta, double gamma, double delta, double epsilon) {
+        WEIGHTS[ht.ordinal()] = new double[]{alpha, beta, gamma, delta, epsilon};
+    }
+
+    @Override
+    public double calculateSelectDwellingUtility(HouseholdType ht, double ddSizeUtility, double ddPriceUtility,
+                                                 double ddQualityUtility, double ddAutoAccessibilityUtility,
+                                                 double transitAccessibilityUtility, double ddWorkDistanceUtility) {
+        final double[] weights = ht == null ? null : WEIGHTS[ht.ordinal()];
+        if (weights == null) {
+            throw new RuntimeException("The household type is not defined!");
+        }
+        final double alpha = weights[0];
+        final double beta = weights[1];
+        final double gamma = weights[2];
+        final double delta = weights[3];
+        final double epsilon = weights[4];
+        final double optFactors = alpha * ddSizeUtility + beta * ddAutoAccessibilityUtility
+                + gamma * transitAccessibilityUtility + (1.0 - alpha - beta - gamma) * ddQualityUtility;
+        return Math.pow(optFactors, delta) * Math.pow(ddPriceUtility, epsilon)
+                * Math.pow(ddWorkDistanceUtility, (1 - delta - epsilon));
+    }
+}
@@ -0,0 +1,13 @@
+package de.tum.bgu.msm.models.relocation.moves;
+
+/**
+ * Java implementation of the default moving probability defined in MovesOrNotCalc. Avoids the
+ * script engine on the hot path. {@link DefaultMovesStrategy} remains the reference implementation.
+ */
+public class JavaMovesStrategy implements MovesStrategy {
+
+    @Override
+    public double getMovingProbability(double householdSatisfaction, double currentDwellingUtility) {
+        return 1 - 1 / (1 + 0.03 * Math.exp(10 * (householdSatisfaction - currentDwellingUtility)));
+    }
+}
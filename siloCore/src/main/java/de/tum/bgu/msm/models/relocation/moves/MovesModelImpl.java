@@ -24,10 +24,7 @@ import org.apache.log4j.Logger;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CyclicBarrier;
 
 /**
  * @author Nico
@@ -48,6 +45,7 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
     private final HousingStrategy housingStrategy;
 
     private final boolean threaded;
+    private final DwellingEvaluator dwellingEvaluator;
 
     private final Map<HouseholdType, Double> averageHousingSatisfaction = new ConcurrentHashMap<>();
     private final Map<Integer, Double> satisfactionByHousehold = new ConcurrentHashMap<>();
@@ -68,7 +66,10 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
 //        }
         this.movesStrategy = movesStrategy;
         this.housingStrategy = housingStrategy;
-        this.threaded = properties.transportModel.travelTimeImplIdentifier == TransportModelPropertiesModule.TravelTimeImplIdentifier.MATSIM;
+        this.threaded = properties.transportModel.travelTimeImplIdentifier == TransportModelPropertiesModule.TravelTimeImplIdentifier.MATSIM
+                || properties.moves.parallelDwellingEvaluation;
+        final int workers = threaded ? Math.max(properties.main.numberOfThreads - 1, 1) : 0;
+        this.dwellingEvaluator = new DwellingEvaluator(housingStrategy, workers);
     }
 
     @Override
@@ -76,7 +77,7 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
         housingStrategy.setup();
         String header = new StringJoiner(",").add("hh").add("oldDdd").add("newDd").add("oldZone").add("newZone").toString();
         Path basePath = Paths.get(properties.main.baseDirectory).resolve("scenOutput").resolve(properties.main.scenarioName).resolve("siloResults/relocation");
-        relocationTracker = new YearByYearCsvModelTracker(basePath, "relocation", header);
+        relocationTracker = new YearByYearCsvModelTracker(basePath, "relocation", header, properties.main.compressModelTrackers);
     }
 
     @Override
@@ -95,9 +96,8 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
             events.add(new MoveEvent(hh.getId()));
         }
         if (threaded) {
-            final int threads = Math.max(properties.main.numberOfThreads - 1, 1);
-            UtilityUtils.startThreads(housingStrategy, threads);
-            logger.info("Started " + threads + " background threads for dwelling utility evaluation");
+            dwellingEvaluator.refreshStrategies();
+            logger.info("Using " + dwellingEvaluator.getNumberOfWorkers() + " background threads for dwelling utility evaluation");
         }
 
         return events;
@@ -105,11 +105,12 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
 
     @Override
     public void endYear(int year) {
-        UtilityUtils.endYear();
+        relocationTracker.flush();
     }
 
     @Override
     public void endSimulation() {
+        dwellingEvaluator.shutdown();
         relocationTracker.end();
 //        try {
 //            fileWriter.close();
@@ -147,13 +148,7 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
             dataContainer.getHouseholdDataManager().saveHouseholdMemento(household);
             int oldZoneId = dataContainer.getRealEstateDataManager().getDwelling(idOldDd).getZoneId();
             int newZoneId = dataContainer.getRealEstateDataManager().getDwelling(idNewDD).getZoneId();
-            relocationTracker.trackRecord(new StringJoiner(",")
-                    .add(String.valueOf(hhId))
-                    .add(String.valueOf(idOldDd))
-                    .add(String.valueOf(idNewDD))
-                    .add(String.valueOf(oldZoneId))
-                    .add(String.valueOf(newZoneId))
-                    .toString());
+            relocationTracker.trackRecord(hhId, idOldDd, idNewDD, oldZoneId, newZoneId);
             moveHousehold(household, idOldDd, idNewDD);
             if (hhId == SiloUtil.trackHh) {
                 SiloUtil.trackWriter.println("Household " + hhId + " has moved to dwelling " +
@@ -198,45 +193,28 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
         }
 
         // Step 2: select vacant dwelling in selected region
-        List<Dwelling> vacantDwellings
-                = new ArrayList<>(dataContainer.getRealEstateDataManager().getListOfVacantDwellingsInRegion(selectedRegion.getId()));
+        /** No household will evaluate more than {@link MAX_NUMBER_DWELLINGS} dwellings */
+        List<Dwelling> vacantDwellings = dataContainer.getRealEstateDataManager()
+                .sampleVacantDwellingsInRegion(selectedRegion.getId(), MAX_NUMBER_DWELLINGS, this.random);
         if (vacantDwellings.isEmpty()) {
             return -1;
         }
 
-        /** No household will evaluate more than {@link MAX_NUMBER_DWELLINGS} dwellings */
-        int maxNumberOfDwellings = Math.min(MAX_NUMBER_DWELLINGS, vacantDwellings.size());
+        int maxNumberOfDwellings = vacantDwellings.size();
 
-        UtilityUtils.reset();
+        final DwellingEvaluator.DwellingSearch search = new DwellingEvaluator.DwellingSearch(MAX_NUMBER_DWELLINGS);
 
-        Collections.shuffle(vacantDwellings, this.random);
         for (int i = 0; i < maxNumberOfDwellings; i++) {
             Dwelling dwelling = vacantDwellings.get(i);
             if (housingStrategy.isHouseholdEligibleToLiveHere(household, dwelling)) {
-                if (threaded) {
-                    UtilityUtils.queue.add(new UtilityTask(i, dwelling, household));
-                } else {
-                    double util = housingStrategy.calculateHousingUtility(household, dwelling);
-                    double prob = housingStrategy.calculateSelectDwellingProbability(util);
-                    UtilityUtils.probabilities[i] = prob;
-                    UtilityUtils.dwellings[i] = dwelling;
-                }
+                search.addCandidate(i, dwelling);
             } else {
                 maxNumberOfDwellings--;
             }
         }
+        dwellingEvaluator.evaluate(household, search);
 
-
-        if (threaded) {
-            try {
-                UtilityUtils.barrier.await();
-                UtilityUtils.barrier.await();
-            } catch (InterruptedException | BrokenBarrierException e) {
-                e.printStackTrace();
-            }
-        }
-
-        Sampler<Dwelling> sampler = new Sampler<>(UtilityUtils.dwellings, UtilityUtils.probabilities, this.random);
+        Sampler<Dwelling> sampler = new Sampler<>(search.getDwellings(), search.getProbabilities(), this.random);
         try {
             return sampler.sampleObject().getId();
         } catch (SampleException e) {
@@ -330,110 +308,6 @@ public class MovesModelImpl extends AbstractModel implements MovesModel {
         }
     }
 
-    private static class UtilityTask {
-        private final int id;
-        private final Dwelling dwelling;
-        private final Household household;
-
-        private UtilityTask(int id, Dwelling dwelling, Household household) {
-            this.id = id;
-            this.dwelling = dwelling;
-            this.household = household;
-        }
-    }
-
-    private static class UtilityUtils extends Thread {
-
-        /**
-         * The queue that each thread listens to to poll for new dwelling evaluations.
-         * Tasks are put into the queue from the main thread inside the searchForNewDwelling method
-         */
-        private static final Queue<UtilityTask> queue = new ConcurrentLinkedQueue<>();
-
-        private static CyclicBarrier barrier;
-
-        /**
-         * boolean that is used to stop threads once they're running.
-         */
-        private static boolean run = false;
-
-        /**
-         * static array that is used to store probabilities of dwelling evaluations accessed
-         * from different threads
-         */
-        private static double[] probabilities;
-
-        /**
-         * static array that is used to store dwellings of evaluations accessed
-         * from different threads
-         */
-        private static Dwelling[] dwellings;
-
-        /**
-         * the strategy for each thread that is used for dwelling evaluation
-         */
-        private HousingStrategy strategy;
-
-        private UtilityUtils(HousingStrategy strategy) {
-            this.strategy = strategy;
-        }
-
-        /**
-         * reset static probability and dwelling arrays for the next dwelling search.
-         * reset the job counter.
-         */
-        private static void reset() {
-            probabilities = new double[MAX_NUMBER_DWELLINGS];
-            dwellings = new Dwelling[MAX_NUMBER_DWELLINGS];
-        }
-
-        /**
-         * start the given number of background threads with the given housing strategy.
-         * The strategy will be duplicated for each thread to ensure thread-safety.
-         */
-        private static void startThreads(HousingStrategy strategy, int threads) {
-            run = true;
-            barrier = new CyclicBarrier(threads +1);
-            for (int i = 0; i < threads; i++) {
-                new UtilityUtils(strategy.duplicate()).start();
-            }
-        }
-
-        /**
-         * stop the background threads from running
-         */
-        private static void endYear() {
-            run = false;
-        }
-
-        /**
-         * when running, a thread polls the queue for utility tasks. for each task
-         * a dwelling has to be evaluated. after the evaluation, the probabilities
-         * are stored in the static array that is shared among the threads and the
-         * jobcounter is incremented
-         */
-        @Override
-        public void run() {
-            while (run) {
-                final UtilityTask poll = queue.poll();
-                if (poll != null) {
-                    final Dwelling dwelling = poll.dwelling;
-                    final double util = strategy.calculateHousingUtility(poll.household, dwelling);
-                    double probability = strategy.calculateSelectDwellingProbability(util);
-                    final int i = poll.id;
-                    probabilities[i] = probability;
-                    dwellings[i] = dwelling;
-                } else {
-                    try {
-                        barrier.await();
-                    } catch (InterruptedException | BrokenBarrierException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }
-    }
-
     public HashMap<Integer, Integer> getHouseholdsByZone() {
         return householdsByZone;
     }
@@ -25,6 +25,12 @@ public class AccessibilityProperties {
     public final float betaAuto;
     public final float alphaTransit;
     public final float betaTransit;
+
+    /**
+     * Zone pairs with a travel time (in minutes) above this value do not contribute to the Hansen accessibilities.
+     * Default = -1, i.e. all zone pairs are considered.
+     */
+    public final double travelTimeCutoff;
     public final String htsWorkTLFD;
 
     /**
@@ -42,6 +48,15 @@ public class AccessibilityProperties {
     public final double skimFileFactorTransit;
     public final Set<Integer> skimYears;
 
+    /**
+     * Whether OMX skims read for SKIM travel times are converted into the skim cache and read from there in later
+     * years and runs. Skims for MAPPED_SKIM travel times are always read through the cache.
+     * Default = false.
+     */
+    public final boolean cacheSkims;
+
+    private final String skimCacheDirectory;
+
     public AccessibilityProperties(ResourceBundle bundle, int startYear) {
         PropertiesUtil.newPropertySubmodule("Accessibility properties");
         this.bundle = bundle;
@@ -50,6 +65,7 @@ public class AccessibilityProperties {
         betaAuto = (float) PropertiesUtil.getDoubleProperty(bundle, "auto.accessibility.beta", -0.3);
         alphaTransit = (float) PropertiesUtil.getDoubleProperty(bundle, "transit.accessibility.a", 1.2);
         betaTransit = (float) PropertiesUtil.getDoubleProperty(bundle, "transit.accessibility.b", -0.3);
+        travelTimeCutoff = PropertiesUtil.getDoubleProperty(bundle, "accessibility.travel.time.cutoff", -1);
 
         PropertiesUtil.newPropertySubmodule("Accessibility - travel time distribution");
         htsWorkTLFD = PropertiesUtil.getStringProperty(bundle, "hts.work.tlfd", "input/hts_work_tripLengthFrequencyDistribution.csv");
@@ -71,12 +87,21 @@ public class AccessibilityProperties {
         skimFileFactorCar = PropertiesUtil.getDoubleProperty(bundle, "skims.factor.car", 1.);
         transitPeakSkim = PropertiesUtil.getStringProperty(bundle,"transit.peak.time.matrix.name", "travelTimeTransit");
         skimFileFactorTransit = PropertiesUtil.getDoubleProperty(bundle, "skims.factor.transit", 1.);
+        cacheSkims = PropertiesUtil.getBooleanProperty(bundle, "skims.cache", false);
+        skimCacheDirectory = PropertiesUtil.getStringProperty(bundle, "skims.cache.directory", "scenOutput/skimCache/");
     }
 
     public String autoSkimFile(int year) {
         return Properties.get().main.baseDirectory + "skims/" +  PropertiesUtil.getStringProperty(bundle, AUTO_PEAK_SKIM + year);
     }
 
+    /**
+     * Directory of the skim cache. It is shared by all scenarios of the base directory.
+     */
+    public String skimCacheDirectory() {
+        return Properties.get().main.baseDirectory + skimCacheDirectory;
+    }
+
     public String transitSkimFile(int year) {
         return Properties.get().main.baseDirectory + "skims/" +  PropertiesUtil.getStringProperty(bundle, TRANSIT_PEAK_SKIM + year);
     }
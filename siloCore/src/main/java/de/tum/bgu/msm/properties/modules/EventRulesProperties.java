@@ -25,6 +25,16 @@ public class EventRulesProperties {
     public final boolean dwellingDemolition;
     public final boolean dwellingConstruction;
 
+    /**
+     * Handle non-conflicting events concurrently. Events are still handled in their shuffled order, events of models
+     * that do not support concurrent handling wait for all preceding events. Each event draws from a random number
+     * generator seeded for this event only, and the results equal handling the events one after another in the same
+     * order with the same seeds, regardless of the number of threads. Without parallel processing and without the
+     * event journal, events draw from the model randoms instead, so results differ from such a sequential run.
+     */
+    public final boolean parallelEventProcessing;
+    public final int parallelEventBatchSize;
+
     public EventRulesProperties(ResourceBundle bundle) {
         PropertiesUtil.newPropertySubmodule("Event rule properties");
         allDemography = PropertiesUtil.getBooleanProperty(bundle, "event.all.demography", true);
@@ -45,5 +55,7 @@ public class EventRulesProperties {
         dwellingChangeQuality = PropertiesUtil.getBooleanProperty(bundle, "event.ddChangeQual", true);
         dwellingDemolition = PropertiesUtil.getBooleanProperty(bundle, "event.ddDemolition", true);
         dwellingConstruction = PropertiesUtil.getBooleanProperty(bundle, "event.ddConstruction", true);
+        parallelEventProcessing = PropertiesUtil.getBooleanProperty(bundle, "event.parallel.processing", false);
+        parallelEventBatchSize = PropertiesUtil.getIntProperty(bundle, "event.parallel.batch.size", 10000);
     }
 }
@@ -26,6 +26,12 @@ public class MainProperties {
      */
     public final boolean trackTime;
 
+    /**
+     * Port of the local endpoint that publishes the runtime metrics of each year in the Prometheus text format.
+     * Disabled by default (-1).
+     */
+    public final int metricsPrometheusPort;
+
     /**
      * Path of the base directory. Set to the properties path by default.
      */
@@ -76,6 +82,54 @@ public class MainProperties {
      */
     public final double scaleFactor;
 
+    /**
+     * Draw repeatedly from fixed weights with the alias method, which takes constant time per draw. The draws are
+     * not identical to the default cumulative sampling, so results differ from runs without alias sampling.
+     */
+    public final boolean aliasSampling;
+
+    /**
+     * Keep households, persons, dwellings and jobs in column-wise primitive arrays instead of one object per
+     * entity. Use cases only use the columnar store for entities that rely on the default person, household,
+     * dwelling and job classes.
+     */
+    public final boolean columnarDataStore;
+
+    /**
+     * Years for which a binary snapshot of the micro data is written to the scenario output folder. The snapshot of a
+     * year holds the state at the beginning of that year, i.e. after all previous years have been simulated.
+     */
+    public final Set<Integer> snapshotYears;
+
+    /**
+     * Snapshot file, relative to the base directory, to resume the run from instead of the micro data input files.
+     * Empty by default. Only supported by use cases that rely on the default person, household, dwelling and job classes.
+     */
+    public final String resumeSnapshotFile;
+
+    /**
+     * Write the events of each year with their outcomes and random seeds to scenOutput/scenarioName/eventJournal.bin.
+     * Events are then handled with random numbers drawn from a generator of their own, as with parallel event
+     * processing, so results differ from a sequential run without the journal.
+     */
+    public final boolean writeEventJournal;
+
+    /**
+     * Write the year by year model tracker files, such as the relocation tracker, gzip compressed.
+     */
+    public final boolean compressModelTrackers;
+
+    /**
+     * Format of the final micro data files. CSV by default. COLUMNAR writes binary tables that store each attribute as
+     * a separately compressed column, see {@link de.tum.bgu.msm.io.ColumnarTableReader}.
+     */
+    public final MicroDataFormat microDataOutputFormat;
+
+    /**
+     * Compress each column of the columnar micro data files.
+     */
+    public final boolean compressColumnarOutput;
+
     @Deprecated
     public final String prestoZoneFile;
     @Deprecated
@@ -99,6 +153,21 @@ public class MainProperties {
     @Deprecated
     public final String scalingControlTotals;
 
+    public enum MicroDataFormat {
+        CSV(".csv"),
+        COLUMNAR(".col");
+
+        private final String fileExtension;
+
+        MicroDataFormat(String fileExtension) {
+            this.fileExtension = fileExtension;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
     public MainProperties(String propertiesBasePath, ResourceBundle bundle) {
 
         PropertiesUtil.newPropertySubmodule("Main properties");
@@ -119,6 +188,7 @@ public class MainProperties {
 
         PropertiesUtil.newPropertySubmodule("Main - runtime tracking");
         trackTime = PropertiesUtil.getBooleanProperty(bundle, "track.time", true);
+        metricsPrometheusPort = PropertiesUtil.getIntProperty(bundle, "metrics.prometheus.port", -1);
 
         PropertiesUtil.newPropertySubmodule("Main - dwelling and income input data");
         incomeBrackets = PropertiesUtil.getIntPropertyArray(bundle,"income.brackets.hh.types", new int[]{20000,40000,60000}); //munich implementation
@@ -143,5 +213,19 @@ public class MainProperties {
         numberOfThreads = PropertiesUtil.getIntProperty(bundle, "number.of.threads", Runtime.getRuntime().availableProcessors());
 
         scaleFactor = PropertiesUtil.getDoubleProperty(bundle, "scale.factor", 1.);
+
+        aliasSampling = PropertiesUtil.getBooleanProperty(bundle, "alias.sampling", false);
+
+        PropertiesUtil.newPropertySubmodule("Main - data store");
+        columnarDataStore = PropertiesUtil.getBooleanProperty(bundle, "columnar.data.store", false);
+        snapshotYears = Arrays.stream(PropertiesUtil.getIntPropertyArray(bundle, "snapshot.years", new int[] {-1}))
+                .boxed().filter(i -> i > 0).collect(Collectors.toSet());
+        resumeSnapshotFile = PropertiesUtil.getStringProperty(bundle, "resume.snapshot.file", "");
+        writeEventJournal = PropertiesUtil.getBooleanProperty(bundle, "event.journal", false);
+
+        PropertiesUtil.newPropertySubmodule("Main - output");
+        compressModelTrackers = PropertiesUtil.getBooleanProperty(bundle, "compress.model.trackers", false);
+        microDataOutputFormat = MicroDataFormat.valueOf(PropertiesUtil.getStringProperty(bundle, "micro.data.output.format", "CSV").toUpperCase());
+        compressColumnarOutput = PropertiesUtil.getBooleanProperty(bundle, "columnar.output.compression", true);
     }
 }
@@ -17,6 +17,11 @@ public final class MovesProperties {
 
     public final boolean trackRelocations;
 
+    /**
+     * Evaluate candidate dwellings of a household search in parallel. Always enabled if MATSim travel times are used.
+     */
+    public final boolean parallelDwellingEvaluation;
+
     public enum PopulationControlTotalMethod {
         POPULATION, MIGRATION, RATE;
     }
@@ -34,6 +39,7 @@ public final class MovesProperties {
         provideLowIncomeSubsidy = PropertiesUtil.getBooleanProperty(bundle, "provide.housing.subsidy.to.low.inc", false);
 
         trackRelocations = PropertiesUtil.getBooleanProperty(bundle, "track.relocations", true);
+        parallelDwellingEvaluation = PropertiesUtil.getBooleanProperty(bundle, "relocation.parallel.dwelling.evaluation", false);
 
     }
 }
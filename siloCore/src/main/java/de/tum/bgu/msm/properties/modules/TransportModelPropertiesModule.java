@@ -44,15 +44,22 @@ public class TransportModelPropertiesModule {
      */
     public final double matsimScaleFactor;
 
+    /**
+     * Approximate MATSim car travel times by the travel times between the network nodes nearest to origin and
+     * destination at the start of 15 minute departure time bins. Faster, but without access and egress.
+     */
+    public final boolean matsimNodeToNodeCarTravelTimes;
+
     public enum TransportModelIdentifier {
         MITO_MATSIM, MATSIM, NONE;
     }
 
     /**
-     * Identifier for which data structure to use for travel times.
+     * Identifier for which data structure to use for travel times. MAPPED_SKIM reads the same skims as SKIM but
+     * keeps them in memory-mapped float files instead of on the heap.
      */
     public enum TravelTimeImplIdentifier {
-        MATSIM, SKIM;
+        MATSIM, SKIM, MAPPED_SKIM;
     }
 
     public TransportModelPropertiesModule(ResourceBundle bundle) {
@@ -64,7 +71,7 @@ public class TransportModelPropertiesModule {
         PropertiesUtil.newPropertySubmodule("Transport model identifier (MITO_MATSIM, MATSIM, NONE, or empty)");
         transportModelIdentifier = TransportModelIdentifier.valueOf(PropertiesUtil.getStringProperty(bundle, "transport.model", "NONE").toUpperCase());
 
-        PropertiesUtil.newPropertySubmodule("Travel time data structure identifier (MATSIM or SKIM)");
+        PropertiesUtil.newPropertySubmodule("Travel time data structure identifier (MATSIM, SKIM or MAPPED_SKIM)");
         travelTimeImplIdentifier = TravelTimeImplIdentifier.valueOf(PropertiesUtil.getStringProperty(bundle, "travel.time", "SKIM").toUpperCase());
 
         if(transportModelIdentifier == TransportModelIdentifier.NONE && travelTimeImplIdentifier == TravelTimeImplIdentifier.MATSIM) {
@@ -78,6 +85,7 @@ public class TransportModelPropertiesModule {
         matsimInitialEventsFile = PropertiesUtil.getStringProperty(bundle, "matsim.initial.events", null);
         // 1.0 is also the default for flow and storage cap scaling in MATSim; setting the default to 1.0 here is more consistent. dz, dec'19
         matsimScaleFactor = PropertiesUtil.getDoubleProperty(bundle, "matsim.scale.factor", 1.);
+        matsimNodeToNodeCarTravelTimes = PropertiesUtil.getBooleanProperty(bundle, "matsim.car.travel.times.node.to.node", false);
     }
 
 }
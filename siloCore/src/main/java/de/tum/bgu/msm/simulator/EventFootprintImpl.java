@@ -0,0 +1,114 @@
+package de.tum.bgu.msm.simulator;
+
+import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdDataManager;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.events.EventFootprint;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Footprint that encodes every entity or resource as a long key of the form [entity type | id].
+ * Persons and households are resolved against the current household data, if household data is given.
+ */
+final class EventFootprintImpl implements EventFootprint {
+
+    private static final long PERSON = 1L << 32;
+    private static final long HOUSEHOLD = 2L << 32;
+    private static final long DWELLING = 3L << 32;
+    private static final long JOB = 4L << 32;
+    private static final long RESOURCE = 5L << 32;
+
+    private final HouseholdDataManager householdDataManager;
+
+    private long[] keys = new long[16];
+    private int size = 0;
+    private boolean exclusive = false;
+
+    EventFootprintImpl(HouseholdDataManager householdDataManager) {
+        this.householdDataManager = householdDataManager;
+    }
+
+    void reset() {
+        size = 0;
+        exclusive = false;
+    }
+
+    boolean isExclusive() {
+        return exclusive;
+    }
+
+    /**
+     * Registers the event at the given position as the last event that touches the keys of this footprint.
+     * @param lastEvents the position of the last event for each key, which is updated
+     * @return the positions of the preceding events that share a key with this footprint
+     */
+    int[] register(Map<Long, Integer> lastEvents, int position) {
+        int[] predecessors = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final Integer predecessor = lastEvents.put(keys[i], position);
+            if (predecessor != null && predecessor != position) {
+                predecessors[count++] = predecessor;
+            }
+        }
+        return count == size ? predecessors : Arrays.copyOf(predecessors, count);
+    }
+
+    @Override
+    public void addPerson(int personId) {
+        add(PERSON, personId);
+        if (householdDataManager == null) {
+            return;
+        }
+        final Person person = householdDataManager.getPersonFromId(personId);
+        if (person != null && person.getHousehold() != null) {
+            addHousehold(person.getHousehold());
+        }
+    }
+
+    @Override
+    public void addHousehold(int householdId) {
+        final Household household = householdDataManager != null ? householdDataManager.getHouseholdFromId(householdId) : null;
+        if (household != null) {
+            addHousehold(household);
+        } else {
+            add(HOUSEHOLD, householdId);
+        }
+    }
+
+    private void addHousehold(Household household) {
+        add(HOUSEHOLD, household.getId());
+        if (household.getDwellingId() > 0) {
+            add(DWELLING, household.getDwellingId());
+        }
+    }
+
+    @Override
+    public void addDwelling(int dwellingId) {
+        add(DWELLING, dwellingId);
+    }
+
+    @Override
+    public void addJob(int jobId) {
+        add(JOB, jobId);
+    }
+
+    @Override
+    public void addResource(SharedResource resource) {
+        add(RESOURCE, resource.ordinal());
+    }
+
+    @Override
+    public void setExclusive() {
+        exclusive = true;
+    }
+
+    private void add(long type, int id) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size++] = type | (id & 0xffffffffL);
+    }
+}
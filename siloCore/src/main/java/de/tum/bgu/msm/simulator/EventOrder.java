@@ -0,0 +1,81 @@
+package de.tum.bgu.msm.simulator;
+
+/**
+ * Keeps changes to data that is shared beyond an event's {@link de.tum.bgu.msm.events.EventFootprint footprint},
+ * such as id counters, household mementos, vacancy lists or the job market, in the order of the events.
+ * <p>
+ * While the {@link Simulator} handles a batch of events concurrently, an event that calls {@link #awaitTurn()} waits
+ * until all events that precede it in the batch have been handled. The rest of the event, which only touches its
+ * own footprint, runs concurrently. Models should therefore do as much of an event as possible before they await
+ * their turn. Shared data is therefore changed in the same order regardless of the number of
+ * threads. Outside of parallel event processing, {@link #awaitTurn()} returns immediately.
+ * </p>
+ */
+public final class EventOrder {
+
+    private static final ThreadLocal<EventOrder> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> POSITION = new ThreadLocal<>();
+
+    private final boolean[] handled;
+    private int handledPrefix = 0;
+
+    EventOrder(int numberOfEvents) {
+        this.handled = new boolean[numberOfEvents];
+    }
+
+    /**
+     * Waits until all events that precede the event handled by this thread have been handled.
+     */
+    public static void awaitTurn() {
+        final EventOrder order = CURRENT.get();
+        if (order != null) {
+            order.await(POSITION.get());
+        }
+    }
+
+    static void bind(EventOrder order, int position) {
+        CURRENT.set(order);
+        POSITION.set(position);
+    }
+
+    static void release() {
+        CURRENT.remove();
+        POSITION.remove();
+    }
+
+    private synchronized void await(int position) {
+        while (handledPrefix < position) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for preceding events.", e);
+            }
+        }
+    }
+
+    /**
+     * Waits until the event at the given position has been handled.
+     */
+    synchronized void awaitHandled(int position) {
+        while (!handled[position]) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a conflicting event.", e);
+            }
+        }
+    }
+
+    /**
+     * Marks the event at the given position as handled, also if handling it failed.
+     */
+    synchronized void markHandled(int position) {
+        handled[position] = true;
+        while (handledPrefix < handled.length && handled[handledPrefix]) {
+            handledPrefix++;
+        }
+        notifyAll();
+    }
+}
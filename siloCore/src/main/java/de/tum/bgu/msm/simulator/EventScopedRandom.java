@@ -0,0 +1,119 @@
+package de.tum.bgu.msm.simulator;
+
+import java.util.Random;
+
+/**
+ * Random number generator used by the models. Unless events are handled in parallel or journaled, all draws
+ * are delegated to the wrapped generator, i.e. results are identical to using the wrapped generator directly.
+ * Otherwise the {@link Simulator} binds each event it handles to a generator that is seeded for this event only.
+ * All draws of the handling thread are then taken from this event generator, which makes the outcome independent
+ * of the order in which concurrent events are handled.
+ */
+public final class EventScopedRandom extends Random {
+
+    private static final ThreadLocal<Random> EVENT_RANDOM = new ThreadLocal<>();
+
+    private volatile Random delegate;
+
+    private EventScopedRandom(Random delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the given random. Returns the given random if it is already event scoped.
+     */
+    public static Random wrap(Random random) {
+        if (random == null || random instanceof EventScopedRandom) {
+            return random;
+        }
+        return new EventScopedRandom(random);
+    }
+
+    /**
+     * @return the random bound to the event that is currently handled by this thread or
+     * null if no event is bound.
+     */
+    public static Random current() {
+        return EVENT_RANDOM.get();
+    }
+
+    /**
+     * @return the wrapped generator that is used while no event is bound
+     */
+    public Random getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Replaces the wrapped generator, e.g. by one that was restored from a snapshot.
+     */
+    public void setDelegate(Random delegate) {
+        this.delegate = delegate;
+    }
+
+    static void bind(Random eventRandom) {
+        EVENT_RANDOM.set(eventRandom);
+    }
+
+    static void release() {
+        EVENT_RANDOM.remove();
+    }
+
+    private Random target() {
+        final Random eventRandom = EVENT_RANDOM.get();
+        return eventRandom != null ? eventRandom : delegate;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        //called from the super constructor before the delegate is set
+        if (delegate != null) {
+            delegate.setSeed(seed);
+        }
+    }
+
+    @Override
+    protected int next(int bits) {
+        return target().nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        target().nextBytes(bytes);
+    }
+
+    @Override
+    public int nextInt() {
+        return target().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return target().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return target().nextLong();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return target().nextBoolean();
+    }
+
+    @Override
+    public float nextFloat() {
+        return target().nextFloat();
+    }
+
+    @Override
+    public double nextDouble() {
+        return target().nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return target().nextGaussian();
+    }
+}
@@ -0,0 +1,218 @@
+package de.tum.bgu.msm.simulator;
+
+import com.google.common.math.LongMath;
+import de.tum.bgu.msm.data.household.HouseholdDataManager;
+import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.models.EventModel;
+import de.tum.bgu.msm.utils.metrics.SiloMetrics;
+import org.apache.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles the events of a simulation period on a pool of worker threads.
+ * <p>
+ * Events are handled in their (shuffled) order. Events of models that do not
+ * {@link EventModel#supportsConcurrentHandling() support concurrent handling} and events with an exclusive
+ * {@link de.tum.bgu.msm.events.EventFootprint} act as barriers: they are handled on their own after all preceding
+ * events and before all following events. The events between two barriers are split into batches of consecutive
+ * events, which are handled concurrently. Workers start the events of a batch in their order. An event whose
+ * footprint conflicts with preceding events of the batch waits until these are handled, all other events may
+ * overtake each other.
+ * </p>
+ * Each event draws its random numbers from a generator that is seeded for this event only
+ * (see {@link EventScopedRandom}) and changes shared data in the order of the events (see {@link EventOrder}).
+ * Events that are handled concurrently therefore neither see nor change each other's data, and the outcome for a
+ * given random seed is the same as if the events were handled one after another in their order with the same seeds,
+ * regardless of the number of threads.
+ */
+final class ParallelEventProcessor {
+
+    private final static Logger logger = Logger.getLogger(ParallelEventProcessor.class);
+
+    /**
+     * Batches smaller than this are handled on the calling thread.
+     */
+    private static final int MIN_EVENTS_PER_THREAD = 64;
+
+    private final Map<Class<? extends MicroEvent>, EventModel> models;
+    private final EventFootprintImpl footprint;
+    private final int numberOfThreads;
+    private final int maxBatchSize;
+    private final SiloMetrics metrics;
+
+    private final ThreadLocal<Random> eventRandoms = ThreadLocal.withInitial(Random::new);
+    private ExecutorService executor;
+
+    private int concurrentBatches;
+    private int concurrentlyHandledEvents;
+
+    ParallelEventProcessor(Map<Class<? extends MicroEvent>, EventModel> models, HouseholdDataManager householdDataManager,
+                           int numberOfThreads, int maxBatchSize) {
+        this(models, householdDataManager, numberOfThreads, maxBatchSize, new SiloMetrics());
+    }
+
+    /**
+     * @param metrics records the time it takes to handle each event on the thread that handles it
+     */
+    ParallelEventProcessor(Map<Class<? extends MicroEvent>, EventModel> models, HouseholdDataManager householdDataManager,
+                           int numberOfThreads, int maxBatchSize, SiloMetrics metrics) {
+        this.models = models;
+        this.footprint = new EventFootprintImpl(householdDataManager);
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Handles all given events.
+     * @param events the events in the order in which they would be handled sequentially
+     * @param seeds random seed for each event
+     * @return whether the event at the respective index was successful
+     */
+    boolean[] process(List<MicroEvent> events, long[] seeds) {
+        final boolean[] success = new boolean[events.size()];
+        concurrentBatches = 0;
+        concurrentlyHandledEvents = 0;
+
+        final int[] batch = new int[maxBatchSize];
+        final int[][] predecessors = new int[maxBatchSize][];
+        final Map<Long, Integer> lastEvents = new HashMap<>();
+        int batchSize = 0;
+        int barriers = 0;
+        int batches = 0;
+        for (int i = 0; i < events.size(); i++) {
+            final MicroEvent event = events.get(i);
+            boolean barrier = !models.get(event.getClass()).supportsConcurrentHandling();
+            if (!barrier) {
+                footprint.reset();
+                event.declareFootprint(footprint);
+                barrier = footprint.isExclusive();
+            }
+            if (barrier) {
+                handleBatch(events, seeds, batch, predecessors, batchSize, success);
+                batches += batchSize > 0 ? 1 : 0;
+                batchSize = 0;
+                lastEvents.clear();
+                handle(events, seeds, new int[]{i}, 0, 1, success);
+                barriers++;
+            } else {
+                predecessors[batchSize] = footprint.register(lastEvents, batchSize);
+                batch[batchSize++] = i;
+                if (batchSize == maxBatchSize) {
+                    handleBatch(events, seeds, batch, predecessors, batchSize, success);
+                    batches++;
+                    batchSize = 0;
+                    lastEvents.clear();
+                }
+            }
+            if (LongMath.isPowerOfTwo(i + 1)) {
+                logger.info("Handled " + (i + 1 - batchSize) + " events.");
+            }
+        }
+        handleBatch(events, seeds, batch, predecessors, batchSize, success);
+        batches += batchSize > 0 ? 1 : 0;
+        logger.info("Handled " + events.size() + " events in " + batches + " batches and " + barriers
+                + " events on their own, " + concurrentlyHandledEvents + " events concurrently in "
+                + concurrentBatches + " batches.");
+        return success;
+    }
+
+    private void handleBatch(List<MicroEvent> events, long[] seeds, int[] batch, int[][] predecessors, int batchSize,
+                             boolean[] success) {
+        if (batchSize < numberOfThreads * MIN_EVENTS_PER_THREAD) {
+            handle(events, seeds, batch, 0, batchSize, success);
+        } else {
+            handleConcurrently(events, seeds, batch, predecessors, batchSize, success);
+            concurrentBatches++;
+            concurrentlyHandledEvents += batchSize;
+        }
+    }
+
+    /**
+     * @return the number of batches of the last call to {@link #process} that were handled concurrently
+     */
+    int getConcurrentBatches() {
+        return concurrentBatches;
+    }
+
+    /**
+     * @return the number of events of the last call to {@link #process} that were handled in concurrent batches
+     */
+    int getConcurrentlyHandledEvents() {
+        return concurrentlyHandledEvents;
+    }
+
+    private void handleConcurrently(List<MicroEvent> events, long[] seeds, int[] batch, int[][] predecessors,
+                                    int batchSize, boolean[] success) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+                Thread thread = new Thread(runnable, "silo-event-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        // events are started in batch order, so all events an event waits for have been started and the first
+        // event that has not been handled never waits
+        final EventOrder order = new EventOrder(batchSize);
+        final AtomicInteger next = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<>(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            tasks.add(() -> {
+                try {
+                    for (int position = next.getAndIncrement(); position < batchSize; position = next.getAndIncrement()) {
+                        EventOrder.bind(order, position);
+                        try {
+                            for (int predecessor : predecessors[position]) {
+                                order.awaitHandled(predecessor);
+                            }
+                            handle(events, seeds, batch, position, position + 1, success);
+                        } finally {
+                            order.markHandled(position);
+                        }
+                    }
+                } finally {
+                    EventOrder.release();
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while handling events in parallel.", e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(List<MicroEvent> events, long[] seeds, int[] batch, int from, int to, boolean[] success) {
+        final Random eventRandom = eventRandoms.get();
+        try {
+            for (int i = from; i < to; i++) {
+                final int index = batch[i];
+                final MicroEvent event = events.get(index);
+                eventRandom.setSeed(seeds[index]);
+                EventScopedRandom.bind(eventRandom);
+                final long start = System.nanoTime();
+                success[index] = models.get(event.getClass()).handleEvent(event);
+                metrics.recordEvent(event.getClass(), System.nanoTime() - start, success[index]);
+            }
+        } finally {
+            EventScopedRandom.release();
+        }
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
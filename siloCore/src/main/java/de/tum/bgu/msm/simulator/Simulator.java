@@ -3,13 +3,18 @@ package de.tum.bgu.msm.simulator;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
 import com.google.common.math.LongMath;
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.events.EventJournalWriter;
 import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.io.output.MicroDataAggregation;
 import de.tum.bgu.msm.io.output.ResultsMonitor;
 import de.tum.bgu.msm.models.AbstractModel;
 import de.tum.bgu.msm.models.EventModel;
 import de.tum.bgu.msm.models.ModelUpdateListener;
+import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.utils.SiloUtil;
 import de.tum.bgu.msm.utils.TimeTracker;
+import de.tum.bgu.msm.utils.metrics.SiloMetrics;
 import org.apache.log4j.Logger;
 
 import java.util.*;
@@ -33,8 +38,61 @@ public final class Simulator {
 
     private Set<ResultsMonitor> resultsMonitors = new HashSet<>() ;
 
+    /**
+     * Summarizes the micro data for all results monitors at once, null if no data container is known.
+     */
+    private final MicroDataAggregation aggregation;
+
+    /**
+     * Handles events concurrently if parallel event processing is enabled, null otherwise.
+     */
+    private final ParallelEventProcessor parallelEventProcessor;
+
+    /**
+     * Random seed of each event of the current year if events are handled in parallel or journaled, null otherwise.
+     * Each event then draws its random numbers from a generator seeded with its own seed, so results do not depend
+     * on the number of threads and the seed stands for all draws of the event in the event journal. Without seeds,
+     * events draw from the model randoms as they always did.
+     */
+    private long[] eventSeeds;
+
+    private final DataContainer dataContainer;
+
+    /**
+     * Writes the events of each year to the event journal, null if the journal is not written.
+     */
+    private final EventJournalWriter journalWriter;
+    private int[] microDataSummary;
+    private byte[] journaledEvents;
+    private int[] handlingOrder;
+    private byte[] journaledRandom;
+
     public Simulator(TimeTracker timeTracker) {
         this.timeTracker = timeTracker;
+        this.parallelEventProcessor = null;
+        this.aggregation = null;
+        this.dataContainer = null;
+        this.journalWriter = null;
+    }
+
+    public Simulator(TimeTracker timeTracker, DataContainer dataContainer, Properties properties) {
+        this.timeTracker = timeTracker;
+        this.dataContainer = dataContainer;
+        if (properties.eventRules.parallelEventProcessing) {
+            this.parallelEventProcessor = new ParallelEventProcessor(models, dataContainer.getHouseholdDataManager(),
+                    properties.main.numberOfThreads, properties.eventRules.parallelEventBatchSize, timeTracker.getMetrics());
+            logger.info("Events will be processed in parallel using " + properties.main.numberOfThreads + " threads.");
+        } else {
+            this.parallelEventProcessor = null;
+        }
+        this.aggregation = new MicroDataAggregation(dataContainer);
+
+        final String journal = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/eventJournal.bin";
+        if (properties.main.writeEventJournal) {
+            this.journalWriter = EventJournalWriter.open(journal, !properties.main.resumeSnapshotFile.isEmpty());
+        } else {
+            this.journalWriter = null;
+        }
     }
 
     public <T extends MicroEvent> void registerEventModel(Class<T> klass, EventModel<T> model) {
@@ -67,14 +125,18 @@ public final class Simulator {
         }
 
         for (ResultsMonitor resultsMonitor : resultsMonitors){
-            resultsMonitor.setup();
+            if (aggregation != null) {
+                resultsMonitor.setup(aggregation);
+            } else {
+                resultsMonitor.setup();
+            }
         }
 
     }
 
     public void simulate(int year) {
         prepareYear(year);
-        processEvents();
+        processEvents(year);
         finishYear(year);
     }
 
@@ -85,7 +147,11 @@ public final class Simulator {
             modelUpdateListener.prepareYear(year);
             timeTracker.recordAndReset("PreparationFor" + modelUpdateListener.getClass().getSimpleName());
         }
+        eventCounter.clear();
         logger.info("  Preparing and creating events");
+        if (journalWriter != null) {
+            microDataSummary = summarizeMicroData();
+        }
         for(EventModel<MicroEvent> model: models.values()) {
             model.prepareYear(year);
             events.addAll(model.getEventsForCurrentYear(year));
@@ -93,27 +159,98 @@ public final class Simulator {
         }
         logger.info("  Created " + events.size() + " events to simulate.");
         logger.info("  Shuffling events...");
-        Collections.shuffle(events, SiloUtil.getRandomObject());
-        eventCounter.clear();
+        if (journalWriter != null) {
+            journaledEvents = EventJournalWriter.encode(events);
+            // shuffling the indices gives the same order as shuffling the events and tells which event went where
+            final List<Integer> order = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order, SiloUtil.getRandomObject());
+            final List<MicroEvent> createdEvents = new ArrayList<>(events);
+            handlingOrder = new int[order.size()];
+            for (int i = 0; i < handlingOrder.length; i++) {
+                handlingOrder[i] = order.get(i);
+                events.set(i, createdEvents.get(handlingOrder[i]));
+            }
+        } else {
+            Collections.shuffle(events, SiloUtil.getRandomObject());
+        }
+        if (parallelEventProcessor != null || journalWriter != null) {
+            // seeds are drawn in event order such that they do not depend on the order of processing
+            final Random random = SiloUtil.getRandomObject();
+            eventSeeds = new long[events.size()];
+            for (int i = 0; i < eventSeeds.length; i++) {
+                eventSeeds[i] = random.nextLong();
+            }
+        }
+        if (journalWriter != null) {
+            journaledRandom = EventJournalWriter.serialize(SiloUtil.getRandomObject());
+        }
+    }
+
+    /**
+     * @return the numbers of households, persons, dwellings and jobs and the highest ids in use, which are stored
+     * in the event journal to tell the micro data the events of a year were created for
+     */
+    private int[] summarizeMicroData() {
+        return new int[]{
+                dataContainer.getHouseholdDataManager().getHouseholds().size(),
+                dataContainer.getHouseholdDataManager().getPersons().size(),
+                dataContainer.getRealEstateDataManager().getDwellings().size(),
+                dataContainer.getJobDataManager().getJobs().size(),
+                dataContainer.getHouseholdDataManager().getHighestHouseholdIdInUse(),
+                dataContainer.getHouseholdDataManager().getHighestPersonIdInUse(),
+                dataContainer.getRealEstateDataManager().getHighestDwellingIdInUse(),
+                dataContainer.getJobDataManager().getHighestJobIdInUse()};
     }
 
-    private void processEvents() {
+    private void processEvents(int year) {
         logger.info("  Processing events...");
-        int counter = 0;
-        for (MicroEvent e: events) {
-            if (LongMath.isPowerOfTwo(counter)) {
-                logger.info("Handled " + counter + " events.");
+        final boolean[] success;
+        if (parallelEventProcessor != null) {
+            success = parallelEventProcessor.process(events, eventSeeds);
+        } else {
+            success = handle(events, eventSeeds);
+        }
+        for (int i = 0; i < success.length; i++) {
+            if (success[i]) {
+                eventCounter.add(events.get(i).getClass());
             }
-//            timeTracker.reset();
-            Class<? extends MicroEvent> klass= e.getClass();
+        }
+        if (journalWriter != null) {
+            journalWriter.writeYear(year, microDataSummary, journaledEvents, handlingOrder, eventSeeds, success, journaledRandom);
+        }
+    }
 
-            boolean success = this.models.get(klass).handleEvent(e);
-            if(success) {
-                eventCounter.add(klass);
+    /**
+     * Handles the events one after another.
+     * @param seeds random seed for each event or null if events draw from the model randoms
+     */
+    @SuppressWarnings("unchecked")
+    private boolean[] handle(List<MicroEvent> events, long[] seeds) {
+        final SiloMetrics metrics = timeTracker.getMetrics();
+        final boolean[] success = new boolean[events.size()];
+        final Random eventRandom = seeds != null ? new Random() : null;
+        try {
+            for (int i = 0; i < success.length; i++) {
+                if (LongMath.isPowerOfTwo(i)) {
+                    logger.info("Handled " + i + " events.");
+                }
+                final MicroEvent e = events.get(i);
+                if (eventRandom != null) {
+                    eventRandom.setSeed(seeds[i]);
+                    EventScopedRandom.bind(eventRandom);
+                }
+                final long start = System.nanoTime();
+                Class<? extends MicroEvent> klass = e.getClass();
+                success[i] = this.models.get(klass).handleEvent(e);
+                metrics.recordEvent(klass, System.nanoTime() - start, success[i]);
             }
-            counter++;
-//            timeTracker.record(klass.getSimpleName());
+        } finally {
+            EventScopedRandom.release();
         }
+        return success;
     }
 
     private void finishYear(int year) {
@@ -124,14 +261,28 @@ public final class Simulator {
             model.endYear(year);
         }
 
+        if (aggregation != null) {
+            aggregation.aggregate(year);
+        }
         for (ResultsMonitor resultsMonitor : resultsMonitors){
             resultsMonitor.endYear(year, eventCounter);
         }
 
         events.clear();
+        eventSeeds = null;
+        journaledEvents = null;
+        handlingOrder = null;
+        journaledRandom = null;
+        microDataSummary = null;
     }
 
     public void endSimulation() {
+        if (parallelEventProcessor != null) {
+            parallelEventProcessor.shutdown();
+        }
+        if (journalWriter != null) {
+            journalWriter.close();
+        }
         for(ModelUpdateListener modelUpdateListener : modelUpdateListeners) {
             modelUpdateListener.endSimulation();
         }
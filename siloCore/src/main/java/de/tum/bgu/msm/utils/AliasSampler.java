@@ -0,0 +1,143 @@
+package de.tum.bgu.msm.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples from fixed weights with the alias method of Walker, built as described by Vose. Building the tables
+ * takes O(n), every draw afterwards takes O(1) with a single random number. Draws follow the same distribution
+ * as {@link Sampler} but are not identical for the same random numbers. Use this sampler when the same weights
+ * are sampled many times.
+ * <p>
+ * The tables are immutable and sampling is not synchronized. The sampler is bound to its random number generator,
+ * which must not be shared between threads. Use {@link #copy(Random)} to obtain a sampler for another thread
+ * that shares the tables.
+ */
+public final class AliasSampler<T> implements FixedWeightsSampler<T> {
+
+    private final List<T> objects;
+    private final double[] acceptance;
+    private final int[] alias;
+    private final double sum;
+    private final Random random;
+
+    public AliasSampler(T[] objects, double[] probabilities, Random random) {
+        this(Arrays.asList(objects), probabilities, random);
+    }
+
+    public AliasSampler(List<T> objects, double[] probabilities, Random random) {
+        if (objects.size() != probabilities.length) {
+            throw new IllegalArgumentException("Got " + objects.size() + " objects but "
+                    + probabilities.length + " probabilities.");
+        }
+        final int n = probabilities.length;
+        this.objects = new ArrayList<>(objects);
+        this.acceptance = new double[n];
+        this.alias = new int[n];
+        this.random = random;
+
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            if (probabilities[i] < 0 || Double.isNaN(probabilities[i])) {
+                throw new IllegalArgumentException("Invalid probability " + probabilities[i] + " at index " + i);
+            }
+            sum += probabilities[i];
+        }
+        this.sum = sum;
+        if (sum > 0) {
+            buildTables(probabilities);
+        }
+    }
+
+    private AliasSampler(AliasSampler<T> sampler, Random random) {
+        this.objects = sampler.objects;
+        this.acceptance = sampler.acceptance;
+        this.alias = sampler.alias;
+        this.sum = sampler.sum;
+        this.random = random;
+    }
+
+    /**
+     * Scales the probabilities to an average of one and pairs every column below one with a column above one,
+     * which fills up the remainder of the smaller column.
+     */
+    private void buildTables(double[] probabilities) {
+        final int n = probabilities.length;
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        int mostLikely = 0;
+        for (int i = 0; i < n; i++) {
+            if (probabilities[i] > probabilities[mostLikely]) {
+                mostLikely = i;
+            }
+            scaled[i] = probabilities[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            final int less = small[--smallSize];
+            final int more = large[--largeSize];
+            acceptance[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // remaining columns are full up to rounding errors
+        while (largeSize > 0) {
+            final int index = large[--largeSize];
+            acceptance[index] = 1;
+            alias[index] = index;
+        }
+        while (smallSize > 0) {
+            final int index = small[--smallSize];
+            acceptance[index] = probabilities[index] > 0 ? 1 : 0;
+            alias[index] = mostLikely;
+        }
+    }
+
+    /**
+     * Returns a sampler with the same tables that draws from the given random number generator.
+     */
+    @Override
+    public AliasSampler<T> copy(Random random) {
+        return new AliasSampler<>(this, random);
+    }
+
+    @Override
+    public T sampleObject() throws SampleException {
+        return objects.get(sampleIndex());
+    }
+
+    @Override
+    public int sampleIndex() throws SampleException {
+        if (sum <= 0) {
+            throw new SampleException("Could not sample an object from " + objects.size()
+                    + " objects with a sum of probabilities of " + sum);
+        }
+        final double position = random.nextDouble() * acceptance.length;
+        final int column = Math.min((int) position, acceptance.length - 1);
+        return position - column < acceptance[column] ? column : alias[column];
+    }
+
+    @Override
+    public double getCumulatedProbability() {
+        return sum;
+    }
+
+    @Override
+    public int getNumberOfObjects() {
+        return objects.size();
+    }
+}
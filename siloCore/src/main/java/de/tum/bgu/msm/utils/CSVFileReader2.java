@@ -15,6 +15,7 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
     private char delimiter = 44;
     private String pattern = ",(?=(?:[^\"]*\"[^\"]*\")*(?![^\"]*\"))";
     private Pattern regexPattern;
+    private boolean customPattern = false;
     private int columnCount;
     private int rowCount;
     private List columnData;
@@ -30,6 +31,7 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
         this.delimiter = delimiter;
         this.pattern = Character.toString(delimiter) + this.pattern.substring(1);
         this.regexPattern = Pattern.compile(this.pattern);
+        this.customPattern = this.customPattern || ".$|()[{^?*+\\\"".indexOf(delimiter) >= 0;
     }
 
     public char getDelimiter() {
@@ -41,6 +43,7 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
     }
 
     public void setPattern(String pattern) {
+        this.customPattern = true;
         this.pattern = pattern;
         this.regexPattern = Pattern.compile(pattern);
     }
@@ -593,7 +596,9 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
                 tokens[i] = tokens[i].substring(0, tokens[i].length() - 1);
             }
 
-            tokens[i] = tokens[i].replaceAll("\"\"", "\"");
+            if (tokens[i].indexOf("\"\"") >= 0) {
+                tokens[i] = tokens[i].replace("\"\"", "\"");
+            }
         }
 
         return tokens;
@@ -601,7 +606,7 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
 
 
     private int[] determineColumnTypes(String line) {
-        String[] tokens = this.regexPattern.split(line);
+        String[] tokens = this.customPattern ? this.regexPattern.split(line) : this.splitOutsideQuotes(line);
         int[] columnTypes = new int[tokens.length];
 
         for(int i = 0; i < tokens.length; ++i) {
@@ -619,4 +624,37 @@ public class CSVFileReader2 extends TableDataFileReader2 implements DataTypes {
 
         return columnTypes;
     }
+
+    /**
+     * Splits the line at every delimiter that is followed by an even number of quotes, which is what the default
+     * pattern matches, without evaluating the pattern's lookahead for every character.
+     */
+    private String[] splitOutsideQuotes(String line) {
+        int quotesAfter = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotesAfter++;
+            }
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                quotesAfter--;
+            } else if (c == this.delimiter && quotesAfter % 2 == 0) {
+                tokens.add(line.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (tokens.isEmpty()) {
+            return new String[]{line};
+        }
+        tokens.add(line.substring(start));
+        int size = tokens.size();
+        while (size > 0 && tokens.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return tokens.subList(0, size).toArray(new String[0]);
+    }
 }
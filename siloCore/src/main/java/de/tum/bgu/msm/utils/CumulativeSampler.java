@@ -0,0 +1,94 @@
+package de.tum.bgu.msm.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples from fixed weights by a binary search over their prefix sums, i.e. in O(log n) per draw. Given the
+ * same random number generator, draws are identical to the ones of {@link Sampler} with the same weights.
+ * <p>
+ * The prefix sums are immutable and sampling is not synchronized. The sampler is bound to its random number
+ * generator, which must not be shared between threads. Use {@link #copy(Random)} to obtain a sampler for
+ * another thread that shares the prefix sums.
+ */
+public final class CumulativeSampler<T> implements FixedWeightsSampler<T> {
+
+    private final List<T> objects;
+    private final double[] cumulatedProbabilities;
+    private final Random random;
+
+    public CumulativeSampler(T[] objects, double[] probabilities, Random random) {
+        this(Arrays.asList(objects), probabilities, random);
+    }
+
+    public CumulativeSampler(List<T> objects, double[] probabilities, Random random) {
+        if (objects.size() != probabilities.length) {
+            throw new IllegalArgumentException("Got " + objects.size() + " objects but "
+                    + probabilities.length + " probabilities.");
+        }
+        this.objects = new ArrayList<>(objects);
+        this.cumulatedProbabilities = new double[probabilities.length];
+        this.random = random;
+        double sum = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            if (probabilities[i] < 0 || Double.isNaN(probabilities[i])) {
+                throw new IllegalArgumentException("Invalid probability " + probabilities[i] + " at index " + i);
+            }
+            sum += probabilities[i];
+            cumulatedProbabilities[i] = sum;
+        }
+    }
+
+    private CumulativeSampler(CumulativeSampler<T> sampler, Random random) {
+        this.objects = sampler.objects;
+        this.cumulatedProbabilities = sampler.cumulatedProbabilities;
+        this.random = random;
+    }
+
+    /**
+     * Returns a sampler with the same prefix sums that draws from the given random number generator.
+     */
+    @Override
+    public CumulativeSampler<T> copy(Random random) {
+        return new CumulativeSampler<>(this, random);
+    }
+
+    @Override
+    public T sampleObject() throws SampleException {
+        return objects.get(sampleIndex());
+    }
+
+    @Override
+    public int sampleIndex() throws SampleException {
+        final double sum = getCumulatedProbability();
+        final double selPos = sum * random.nextDouble();
+        // first index with a cumulated probability above the selected position
+        int low = 0;
+        int high = cumulatedProbabilities.length - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (cumulatedProbabilities[mid] > selPos) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (cumulatedProbabilities.length == 0 || !(cumulatedProbabilities[low] > selPos)) {
+            throw new SampleException("Could not sample an object from " + cumulatedProbabilities.length
+                    + " objects with a sum of probabilities of " + sum + ". Selected weight: " + selPos);
+        }
+        return low;
+    }
+
+    @Override
+    public double getCumulatedProbability() {
+        return cumulatedProbabilities.length == 0 ? 0 : cumulatedProbabilities[cumulatedProbabilities.length - 1];
+    }
+
+    @Override
+    public int getNumberOfObjects() {
+        return objects.size();
+    }
+}
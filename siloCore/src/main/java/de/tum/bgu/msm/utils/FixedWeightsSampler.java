@@ -0,0 +1,34 @@
+package de.tum.bgu.msm.utils;
+
+import java.util.Random;
+
+/**
+ * Sampler over weights that do not change after it was built, see {@link CumulativeSampler} and {@link AliasSampler}.
+ */
+public interface FixedWeightsSampler<T> {
+
+    /**
+     * Creates a sampler that draws from the cumulative weights, i.e. exactly as {@link Sampler}, or with the alias
+     * method, which is faster for many draws but does not give identical draws for the same random numbers.
+     */
+    static <T> FixedWeightsSampler<T> create(T[] objects, double[] probabilities, Random random, boolean alias) {
+        if (alias) {
+            return new AliasSampler<>(objects, probabilities, random);
+        } else {
+            return new CumulativeSampler<>(objects, probabilities, random);
+        }
+    }
+
+    /**
+     * Returns a sampler with the same weights that draws from the given random number generator.
+     */
+    FixedWeightsSampler<T> copy(Random random);
+
+    T sampleObject() throws SampleException;
+
+    int sampleIndex() throws SampleException;
+
+    double getCumulatedProbability();
+
+    int getNumberOfObjects();
+}
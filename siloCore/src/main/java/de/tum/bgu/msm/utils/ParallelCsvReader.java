@@ -0,0 +1,586 @@
+package de.tum.bgu.msm.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads comma separated files with a header line, such as the synthetic population, in parallel. Plain files are
+ * memory-mapped, files ending with .gz are decompressed into memory. The data is split into chunks at line
+ * boundaries which are parsed on the common fork-join pool, while the rows are handed out in file order.
+ *
+ * Only the columns declared with {@link #intColumn}, {@link #doubleColumn} and {@link #stringColumn} are parsed.
+ * Numbers are parsed from the bytes directly, strings are decoded once per distinct value and chunk. Fields are
+ * split at every comma, like {@link String#split} does, and values that cannot be parsed raise the same exceptions
+ * as {@link Integer#parseInt} and {@link Double#parseDouble} when they are requested from the {@link Rows}.
+ *
+ * Usage:
+ * <pre>
+ * try (ParallelCsvReader reader = new ParallelCsvReader(path)) {
+ *     int posId = SiloUtil.findPositionInArray("id", reader.getHeader());
+ *     reader.intColumn(posId);
+ *     ParallelCsvReader.Rows rows = reader.rows();
+ *     while (rows.next()) {
+ *         int id = rows.getInt(posId);
+ *     }
+ * }
+ * </pre>
+ */
+public final class ParallelCsvReader implements Closeable {
+
+    private static final int TARGET_CHUNK_BYTES = 4 << 20;
+    private static final int BOUNDARY_SEARCH_BYTES = 64 << 10;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Marks fields that are missing in a row.
+     */
+    private static final String MISSING = new String("");
+
+    private enum ColumnType {SKIP, INT, DOUBLE, STRING}
+
+    private final Charset charset = Charset.defaultCharset();
+    private final FileChannel channel;
+    private final String[] header;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final ColumnType[] types;
+
+    /**
+     * Opens the given file and reads its header.
+     */
+    public ParallelCsvReader(String path) throws IOException {
+        final ByteSource source;
+        if (path.endsWith(".gz")) {
+            channel = null;
+            source = new ArraySource(decompress(path));
+        } else {
+            channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            source = new ChannelSource(channel);
+        }
+
+        final long headerEnd = findLineEnd(source, 0);
+        if (source.size() == 0) {
+            throw new IOException("File " + path + " is empty.");
+        }
+        header = decodeLine(source.map(0, headerEnd)).split(",");
+        types = new ColumnType[header.length];
+        Arrays.fill(types, ColumnType.SKIP);
+
+        final long bodyStart = Math.min(headerEnd + 1, source.size());
+        final long bodySize = source.size() - bodyStart;
+        final long numberOfChunks = Math.max(1, bodySize / TARGET_CHUNK_BYTES);
+        long start = bodyStart;
+        for (long c = 1; c <= numberOfChunks && start < source.size(); c++) {
+            long end = c == numberOfChunks ? source.size() :
+                    Math.min(source.size(), findLineEnd(source, Math.max(start, bodyStart + bodySize * c / numberOfChunks)) + 1);
+            while (end - start > MAX_CHUNK_BYTES) {
+                final long split = Math.min(end, findLineEnd(source, start + MAX_CHUNK_BYTES / 2) + 1);
+                chunks.add(source.map(start, split));
+                start = split;
+            }
+            if (end > start) {
+                chunks.add(source.map(start, end));
+            }
+            start = end;
+        }
+    }
+
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    /**
+     * Parses the column at the given position as int. Negative positions are ignored.
+     */
+    public ParallelCsvReader intColumn(int position) {
+        return declare(position, ColumnType.INT);
+    }
+
+    /**
+     * Parses the column at the given position as double. Negative positions are ignored.
+     */
+    public ParallelCsvReader doubleColumn(int position) {
+        return declare(position, ColumnType.DOUBLE);
+    }
+
+    /**
+     * Reads the column at the given position as string. Negative positions are ignored.
+     */
+    public ParallelCsvReader stringColumn(int position) {
+        return declare(position, ColumnType.STRING);
+    }
+
+    /**
+     * Starts parsing and returns the rows in file order. Columns have to be declared before.
+     */
+    public Rows rows() {
+        return new Rows(types.clone());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private ParallelCsvReader declare(int position, ColumnType type) {
+        if (position >= types.length) {
+            throw new ArrayIndexOutOfBoundsException(position);
+        }
+        if (position >= 0) {
+            types[position] = type;
+        }
+        return this;
+    }
+
+    private String decodeLine(ByteBuffer line) {
+        int end = line.limit();
+        if (end > 0 && line.get(end - 1) == '\r') {
+            end--;
+        }
+        final byte[] bytes = new byte[end];
+        line.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Returns the position of the first line feed at or after the given position, or the size of the source.
+     */
+    private static long findLineEnd(ByteSource source, long from) throws IOException {
+        long position = from;
+        while (position < source.size()) {
+            final long end = Math.min(source.size(), position + BOUNDARY_SEARCH_BYTES);
+            final ByteBuffer window = source.map(position, end);
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position = end;
+        }
+        return source.size();
+    }
+
+    private static byte[] decompress(String path) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(Paths.get(path)), 1 << 16)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+            final byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Cursor over all rows of the file. Not thread-safe.
+     */
+    public final class Rows {
+
+        private final ColumnType[] types;
+        private final Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        private final int maxPending = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+        private int nextChunk = 0;
+        private Chunk chunk;
+        private int row = -1;
+
+        private Rows(ColumnType[] types) {
+            this.types = types;
+            fill();
+        }
+
+        /**
+         * Advances to the next row and returns whether there is one.
+         */
+        public boolean next() {
+            while (chunk == null || ++row >= chunk.rows) {
+                if (pending.isEmpty()) {
+                    chunk = null;
+                    return false;
+                }
+                try {
+                    chunk = pending.poll().get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new RuntimeException(e);
+                }
+                row = -1;
+                fill();
+            }
+            return true;
+        }
+
+        public int getInt(int position) {
+            final Column column = column(position, ColumnType.INT);
+            if (column.invalid != null && column.invalid[row] != null) {
+                if (column.invalid[row] == MISSING) {
+                    throw new ArrayIndexOutOfBoundsException(position);
+                }
+                return Integer.parseInt(column.invalid[row]);
+            }
+            return column.ints[row];
+        }
+
+        public double getDouble(int position) {
+            final Column column = column(position, ColumnType.DOUBLE);
+            if (column.invalid != null && column.invalid[row] != null) {
+                if (column.invalid[row] == MISSING) {
+                    throw new ArrayIndexOutOfBoundsException(position);
+                }
+                return Double.parseDouble(column.invalid[row]);
+            }
+            return column.doubles[row];
+        }
+
+        public String getString(int position) {
+            final Column column = column(position, ColumnType.STRING);
+            if (column.strings[row] == MISSING) {
+                throw new ArrayIndexOutOfBoundsException(position);
+            }
+            return column.strings[row];
+        }
+
+        private Column column(int position, ColumnType type) {
+            if (position < 0 || position >= types.length || types[position] != type) {
+                throw new ArrayIndexOutOfBoundsException(position);
+            }
+            return chunk.columns[position];
+        }
+
+        private void fill() {
+            while (pending.size() < maxPending && nextChunk < chunks.size()) {
+                final ByteBuffer buffer = chunks.get(nextChunk++);
+                pending.add(ForkJoinPool.commonPool().submit(() -> parse(buffer.duplicate(), types)));
+            }
+        }
+    }
+
+    private Chunk parse(ByteBuffer buffer, ColumnType[] types) {
+        final int limit = buffer.limit();
+        int rows = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                rows++;
+            }
+        }
+        if (limit > 0 && buffer.get(limit - 1) != '\n') {
+            rows++;
+        }
+
+        final Chunk chunk = new Chunk(rows, types);
+        final StringCache strings = new StringCache(charset);
+        final boolean[] seen = new boolean[types.length];
+        int lineStart = 0;
+        for (int row = 0; row < rows; row++) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            final int nextLine = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            Arrays.fill(seen, false);
+            int field = 0;
+            int fieldStart = lineStart;
+            int lastNonEmptyField = -1;
+            for (int i = lineStart; i <= lineEnd; i++) {
+                if (i == lineEnd || buffer.get(i) == ',') {
+                    if (field < types.length && types[field] != ColumnType.SKIP) {
+                        chunk.columns[field].parse(buffer, fieldStart, i, row, types[field], strings);
+                        seen[field] = true;
+                    }
+                    if (i > fieldStart) {
+                        lastNonEmptyField = field;
+                    }
+                    field++;
+                    fieldStart = i + 1;
+                }
+            }
+            // like String.split, drop trailing empty fields unless the line has a single field only
+            final int fields = field == 1 ? 1 : lastNonEmptyField + 1;
+            for (int position = 0; position < types.length; position++) {
+                if (types[position] != ColumnType.SKIP && (!seen[position] || position >= fields)) {
+                    chunk.columns[position].setInvalid(row, MISSING);
+                }
+            }
+            lineStart = nextLine;
+        }
+        return chunk;
+    }
+
+    private static final class Chunk {
+
+        private final int rows;
+        private final Column[] columns;
+
+        private Chunk(int rows, ColumnType[] types) {
+            this.rows = rows;
+            this.columns = new Column[types.length];
+            for (int position = 0; position < types.length; position++) {
+                if (types[position] != ColumnType.SKIP) {
+                    columns[position] = new Column(rows, types[position]);
+                }
+            }
+        }
+    }
+
+    private static final class Column {
+
+        private final int rows;
+        private int[] ints;
+        private double[] doubles;
+        private String[] strings;
+        /**
+         * Raw values of fields that could not be parsed, allocated on first use.
+         */
+        private String[] invalid;
+
+        private Column(int rows, ColumnType type) {
+            this.rows = rows;
+            switch (type) {
+                case INT:
+                    ints = new int[rows];
+                    break;
+                case DOUBLE:
+                    doubles = new double[rows];
+                    break;
+                case STRING:
+                    strings = new String[rows];
+                    break;
+                default:
+                    throw new IllegalArgumentException(type.name());
+            }
+        }
+
+        private void parse(ByteBuffer buffer, int start, int end, int row, ColumnType type, StringCache cache) {
+            switch (type) {
+                case INT:
+                    if (!parseInt(buffer, start, end, row)) {
+                        final String raw = cache.get(buffer, start, end);
+                        try {
+                            ints[row] = Integer.parseInt(raw);
+                        } catch (NumberFormatException e) {
+                            setInvalid(row, raw);
+                        }
+                    }
+                    break;
+                case DOUBLE:
+                    if (!parseDouble(buffer, start, end, row)) {
+                        final String raw = cache.get(buffer, start, end);
+                        try {
+                            doubles[row] = Double.parseDouble(raw);
+                        } catch (NumberFormatException e) {
+                            setInvalid(row, raw);
+                        }
+                    }
+                    break;
+                case STRING:
+                    strings[row] = cache.get(buffer, start, end);
+                    break;
+                default:
+                    throw new IllegalArgumentException(type.name());
+            }
+        }
+
+        private void setInvalid(int row, String raw) {
+            if (strings != null) {
+                strings[row] = raw;
+                return;
+            }
+            if (invalid == null) {
+                invalid = new String[rows];
+            }
+            invalid[row] = raw;
+        }
+
+        /**
+         * Parses plain integers of up to nine digits. Everything else is left to {@link Integer#parseInt}.
+         */
+        private boolean parseInt(ByteBuffer buffer, int start, int end, int row) {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+            if (i == end || end - i > 9) {
+                return false;
+            }
+            int value = 0;
+            for (; i < end; i++) {
+                final int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return false;
+                }
+                value = value * 10 + digit;
+            }
+            ints[row] = negative ? -value : value;
+            return true;
+        }
+
+        /**
+         * Parses plain decimals of up to 15 significant digits, for which a single division by a power of ten is
+         * exactly rounded. Everything else is left to {@link Double#parseDouble}.
+         */
+        private boolean parseDouble(ByteBuffer buffer, int start, int end, int row) {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int significantDigits = 0;
+            int decimals = -1;
+            for (; i < end; i++) {
+                final byte b = buffer.get(i);
+                if (b == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (b >= '0' && b <= '9') {
+                    digits++;
+                    if (mantissa > 0 || b != '0') {
+                        if (++significantDigits > 15) {
+                            return false;
+                        }
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                } else {
+                    return false;
+                }
+            }
+            if (digits == 0 || decimals >= POWERS_OF_TEN.length) {
+                return false;
+            }
+            final double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+            doubles[row] = negative ? -value : value;
+            return true;
+        }
+    }
+
+    /**
+     * Decodes every distinct field value only once per chunk, as long as there are few distinct values.
+     */
+    private static final class StringCache {
+
+        private static final int SLOTS = 512;
+
+        private final Charset charset;
+        private final byte[][] keys = new byte[SLOTS][];
+        private final String[] values = new String[SLOTS];
+        private int size = 0;
+
+        private StringCache(Charset charset) {
+            this.charset = charset;
+        }
+
+        private String get(ByteBuffer buffer, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+            while (keys[slot] != null) {
+                if (equals(keys[slot], buffer, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & (SLOTS - 1);
+            }
+            final byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = buffer.get(i);
+            }
+            final String value = new String(bytes, charset);
+            if (size < SLOTS / 2) {
+                keys[slot] = bytes;
+                values[slot] = value;
+                size++;
+            }
+            return value;
+        }
+
+        private static boolean equals(byte[] key, ByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private interface ByteSource {
+        long size() throws IOException;
+
+        ByteBuffer map(long start, long end) throws IOException;
+    }
+
+    private static final class ChannelSource implements ByteSource {
+
+        private final FileChannel channel;
+        private final long size;
+
+        private ChannelSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public ByteBuffer map(long start, long end) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+    }
+
+    private static final class ArraySource implements ByteSource {
+
+        private final byte[] bytes;
+
+        private ArraySource(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public ByteBuffer map(long start, long end) {
+            return ByteBuffer.wrap(bytes, (int) start, (int) (end - start)).slice();
+        }
+    }
+}
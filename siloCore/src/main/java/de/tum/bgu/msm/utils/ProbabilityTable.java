@@ -0,0 +1,98 @@
+package de.tum.bgu.msm.utils;
+
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.person.PersonFactoryImpl;
+import de.tum.bgu.msm.data.person.PersonRole;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Two-dimensional table of probabilities over a small discrete input domain. The function is evaluated
+ * once for every combination of inputs when the table is created and lookups are served from a
+ * primitive array. Inputs outside of the declared domain, and inputs for which the function failed during
+ * tabulation, have to be handled by the caller, see {@link #contains(int, int)}.
+ */
+public final class ProbabilityTable {
+
+    @FunctionalInterface
+    public interface IntIntToDoubleFunction {
+        double applyAsDouble(int first, int second);
+    }
+
+    private final int minFirst;
+    private final int minSecond;
+    private final int sizeFirst;
+    private final int sizeSecond;
+    private final double[] values;
+
+    private ProbabilityTable(int minFirst, int maxFirst, int minSecond, int maxSecond) {
+        this.minFirst = minFirst;
+        this.minSecond = minSecond;
+        this.sizeFirst = maxFirst - minFirst + 1;
+        this.sizeSecond = maxSecond - minSecond + 1;
+        if (sizeFirst <= 0 || sizeSecond <= 0) {
+            throw new IllegalArgumentException("Empty domain for probability table.");
+        }
+        this.values = new double[sizeFirst * sizeSecond];
+    }
+
+    /**
+     * Tabulates the function for all first inputs in [minFirst, maxFirst] and second inputs in [minSecond, maxSecond].
+     */
+    public static ProbabilityTable tabulate(int minFirst, int maxFirst, int minSecond, int maxSecond,
+                                            IntIntToDoubleFunction function) {
+        final ProbabilityTable table = new ProbabilityTable(minFirst, maxFirst, minSecond, maxSecond);
+        for (int first = minFirst; first <= maxFirst; first++) {
+            for (int second = minSecond; second <= maxSecond; second++) {
+                double value;
+                try {
+                    value = function.applyAsDouble(first, second);
+                } catch (RuntimeException e) {
+                    value = Double.NaN;
+                }
+                table.values[table.index(first, second)] = value;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Tabulates a person based function by age (first input, 0 to maxAge) and gender ordinal (second input).
+     * The function is evaluated for template persons, i.e. it must only depend on the age and gender of
+     * the person (or attributes derived from those, such as the {@link de.tum.bgu.msm.data.person.PersonType}).
+     */
+    public static ProbabilityTable tabulateByAgeAndGender(int maxAge, ToDoubleFunction<Person> function) {
+        final PersonFactoryImpl factory = new PersonFactoryImpl();
+        final Gender[] genders = Gender.values();
+        return tabulate(0, maxAge, 0, genders.length - 1, (age, gender) -> {
+            final Person template = factory.createPerson(-1, age, genders[gender], Occupation.UNEMPLOYED,
+                    PersonRole.SINGLE, -1, 0);
+            return function.applyAsDouble(template);
+        });
+    }
+
+    /**
+     * @return true if a tabulated value exists for the given inputs
+     */
+    public boolean contains(int first, int second) {
+        return first >= minFirst && first - minFirst < sizeFirst
+                && second >= minSecond && second - minSecond < sizeSecond
+                && !Double.isNaN(values[index(first, second)]);
+    }
+
+    /**
+     * @throws ArrayIndexOutOfBoundsException if the inputs are not within the domain of the table
+     */
+    public double get(int first, int second) {
+        if (!contains(first, second)) {
+            throw new ArrayIndexOutOfBoundsException("Inputs (" + first + ", " + second + ") out of table domain.");
+        }
+        return values[index(first, second)];
+    }
+
+    private int index(int first, int second) {
+        return (first - minFirst) * sizeSecond + (second - minSecond);
+    }
+}
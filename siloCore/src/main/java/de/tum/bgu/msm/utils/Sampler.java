@@ -131,6 +131,22 @@ public final class Sampler<T> {
         return new Sampler<>(objects, java.util.Arrays.copyOf(probabilities, probabilities.length), new Random(random.nextInt()), sum);
     }
 
+    /**
+     * Returns an {@link AliasSampler} over the current objects and probabilities, for many draws from
+     * the same weights. Later changes to this sampler are not reflected.
+     */
+    public AliasSampler<T> toAliasSampler(Random random) {
+        return new AliasSampler<>(objects, probabilities, random);
+    }
+
+    /**
+     * Returns a {@link CumulativeSampler} over the current objects and probabilities. Later changes
+     * to this sampler are not reflected.
+     */
+    public CumulativeSampler<T> toCumulativeSampler(Random random) {
+        return new CumulativeSampler<>(objects, probabilities, random);
+    }
+
     /**
      * Returns the number of objects that have already been added to the sampler.
      * @return
@@ -7,8 +7,10 @@ import com.pb.common.matrix.Matrix;
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.container.ModelContainer;
 import de.tum.bgu.msm.data.SummarizeData;
+import de.tum.bgu.msm.io.output.AsyncOutputWriter;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.properties.PropertiesUtil;
+import de.tum.bgu.msm.simulator.EventScopedRandom;
 import omx.OmxMatrix;
 import omx.hdf5.OmxHdf5Datatype;
 import org.apache.commons.lang3.SystemUtils;
@@ -170,22 +172,35 @@ public class SiloUtil {
 
 
     public static Random getRandomObject() {
+        final Random eventRandom = EventScopedRandom.current();
+        if (eventRandom != null) {
+            // events handled in parallel or journaled draw from their own random
+            return eventRandom;
+        }
         if(rand == null) {
             rand = new Random(42);
         }
         return rand;
     }
 
+    /**
+     * Replaces the model-wide random number generator, e.g. by the one stored in a snapshot to continue a run
+     * with the same sequence of random numbers.
+     */
+    public static void setRandomObject(Random random) {
+        rand = random;
+    }
+
     public static Random provideNewRandom() {
         return new Random(getRandomObject().nextInt());
     }
 
     public static float getRandomNumberAsFloat() {
-        return rand.nextFloat();
+        return getRandomObject().nextFloat();
     }
 
     public static double getRandomNumberAsDouble() {
-        return rand.nextDouble();
+        return getRandomObject().nextDouble();
     }
 
 
@@ -346,7 +361,7 @@ public class SiloUtil {
     @Deprecated
     public static int select (double[] probabilities) {
         // select item based on probabilities (for zero-based double array)
-       return select(probabilities, getSum(probabilities), rand);
+       return select(probabilities, getSum(probabilities), getRandomObject());
     }
 
     @Deprecated
@@ -357,7 +372,7 @@ public class SiloUtil {
     @Deprecated
     public static int select (double[] probabilities, double sumProb) {
         // select item based on probabilities (for zero-based double array)
-        return select(probabilities, getSum(probabilities), rand);
+        return select(probabilities, getSum(probabilities), getRandomObject());
     }
 
     @Deprecated
@@ -448,7 +463,7 @@ public class SiloUtil {
     }
 
     public static <T> T select(Map<T, ? extends Number> mappedProbabilities, double sum) {
-       return select(mappedProbabilities, sum, rand);
+       return select(mappedProbabilities, sum, getRandomObject());
     }
 
 
@@ -1083,6 +1098,8 @@ public class SiloUtil {
         trackingFile("close");
         SummarizeData.resultFileSpatial("close");
         SummarizeData.resultFileSpatial_2("close");
+        timeTracker.getMetrics().close();
+        AsyncOutputWriter.closeAll();
         float endTime = rounder(((System.currentTimeMillis() - startTime) / 60000), 1);
         int hours = (int) (endTime / 60);
         int min = (int) (endTime - 60 * hours);
@@ -1,24 +1,47 @@
 package de.tum.bgu.msm.utils;
 
-import cern.colt.Timer;
 import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
 import com.google.common.collect.Table;
+import de.tum.bgu.msm.utils.metrics.SiloMetrics;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the run time of the model phases of each year for the time tracker file. All durations are also passed to
+ * the {@link SiloMetrics} of the run, which additionally records the handling of single events.
+ */
 public class TimeTracker {
 
+    private static final double NANOS_PER_MINUTE = 60e9;
+
+    private final SiloMetrics metrics;
+
     private int currentYear;
-    private final Multiset<String> currentYearRecords = HashMultiset.create();
-    private final Timer timer = new Timer().start();
-    private final Table<Integer, String, Integer> timeRecords = HashBasedTable.create();
+    private final Map<String, Long> currentYearRecords = new LinkedHashMap<>();
+    private long start = System.nanoTime();
+    private final Table<Integer, String, Long> timeRecords = HashBasedTable.create();
+
+    public TimeTracker() {
+        this(new SiloMetrics());
+    }
+
+    public TimeTracker(SiloMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SiloMetrics getMetrics() {
+        return metrics;
+    }
 
     public void reset() {
-        timer.reset().start();
+        start = System.nanoTime();
     }
 
     public void record(String identifier) {
-        currentYearRecords.add(identifier, (int) timer.millis());
+        final long nanos = System.nanoTime() - start;
+        currentYearRecords.merge(identifier, nanos, Long::sum);
+        metrics.recordPhase(identifier, nanos);
     }
 
     public void recordAndReset(String identifier) {
@@ -31,8 +54,8 @@ public class TimeTracker {
     }
 
     public void endYear() {
-        for(String identifier: currentYearRecords.elementSet()) {
-            timeRecords.put(currentYear, identifier, currentYearRecords.count(identifier));
+        for(Map.Entry<String, Long> record: currentYearRecords.entrySet()) {
+            timeRecords.put(currentYear, record.getKey(), record.getValue());
         }
         currentYearRecords.clear();
     }
@@ -48,9 +71,9 @@ public class TimeTracker {
         for(Integer year: timeRecords.rowKeySet()) {
             builder.append(year);
             for(String identifier: timeRecords.columnKeySet()) {
-                Integer millis = timeRecords.get(year, identifier);
-                if(millis != null) {
-                    builder.append(",").append(millis / 60000.);
+                Long nanos = timeRecords.get(year, identifier);
+                if(nanos != null) {
+                    builder.append(",").append(nanos / NANOS_PER_MINUTE);
                 } else {
                     builder.append(",").append(0);
                 }
@@ -1,21 +1,69 @@
 package de.tum.bgu.msm.utils;
 
+import de.tum.bgu.msm.data.TravelTimesWrapper;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.SkimCache;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.properties.Properties;
-import org.apache.log4j.Logger;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
 import org.matsim.api.core.v01.TransportMode;
 
 public class TravelTimeUtil {
 
+    /**
+     * Returns the peak hour travel times of the given mode as a lookup by zone pair. Mapped skims are read directly,
+     * all other travel times through their peak skim matrix.
+     */
+    public static RegionalTravelTimes.Skim getPeakTravelTimes(TravelTimes travelTimes, String mode) {
+        final TravelTimes unwrapped = TravelTimesWrapper.unwrap(travelTimes);
+        if (unwrapped instanceof MappedSkimTravelTimes) {
+            return ((MappedSkimTravelTimes) unwrapped).getPeakTravelTimes(mode);
+        }
+        final IndexedDoubleMatrix2D peakSkim = travelTimes.getPeakSkim(mode);
+        return peakSkim::getIndexed;
+    }
+
+    /**
+     * Reads the transit skim of the given year. If skims are cached, the skim is taken from the cache in double
+     * precision, so that the travel times are the same as when reading the OMX file.
+     */
     public static void updateTransitSkim(SkimTravelTimes travelTimes, int year, Properties properties) {
         final String transitSkimFile = properties.accessibility.transitSkimFile(year);
-        travelTimes.readSkim(TransportMode.pt, transitSkimFile,
-                properties.accessibility.transitPeakSkim, properties.accessibility.skimFileFactorTransit);
+        if (properties.accessibility.cacheSkims) {
+            travelTimes.updateSkimMatrix(new SkimCache(properties.accessibility.skimCacheDirectory()).getSkim(TransportMode.pt, transitSkimFile,
+                    properties.accessibility.transitPeakSkim, properties.accessibility.skimFileFactorTransit, true).toMatrix(), TransportMode.pt);
+        } else {
+            travelTimes.readSkim(TransportMode.pt, transitSkimFile,
+                    properties.accessibility.transitPeakSkim, properties.accessibility.skimFileFactorTransit);
+        }
     }
 
+    /**
+     * Reads the car skim of the given year. If skims are cached, the skim is taken from the cache in double
+     * precision, so that the travel times are the same as when reading the OMX file.
+     */
     public static void updateCarSkim(SkimTravelTimes travelTimes, int year, Properties properties) {
         final String carSkimFile = properties.accessibility.autoSkimFile(year);
-        travelTimes.readSkim(TransportMode.car, carSkimFile,
-                properties.accessibility.autoPeakSkim, properties.accessibility.skimFileFactorCar);
+        if (properties.accessibility.cacheSkims) {
+            travelTimes.updateSkimMatrix(new SkimCache(properties.accessibility.skimCacheDirectory()).getSkim(TransportMode.car, carSkimFile,
+                    properties.accessibility.autoPeakSkim, properties.accessibility.skimFileFactorCar, true).toMatrix(), TransportMode.car);
+        } else {
+            travelTimes.readSkim(TransportMode.car, carSkimFile,
+                    properties.accessibility.autoPeakSkim, properties.accessibility.skimFileFactorCar);
+        }
+    }
+
+    public static void updateTransitSkim(MappedSkimTravelTimes travelTimes, int year, Properties properties) {
+        final String transitSkimFile = properties.accessibility.transitSkimFile(year);
+        travelTimes.updateSkim(new SkimCache(properties.accessibility.skimCacheDirectory()).getSkim(TransportMode.pt, transitSkimFile,
+                properties.accessibility.transitPeakSkim, properties.accessibility.skimFileFactorTransit), TransportMode.pt);
+    }
+
+    public static void updateCarSkim(MappedSkimTravelTimes travelTimes, int year, Properties properties) {
+        final String carSkimFile = properties.accessibility.autoSkimFile(year);
+        travelTimes.updateSkim(new SkimCache(properties.accessibility.skimCacheDirectory()).getSkim(TransportMode.car, carSkimFile,
+                properties.accessibility.autoPeakSkim, properties.accessibility.skimFileFactorCar), TransportMode.car);
     }
 }
@@ -0,0 +1,88 @@
+package de.tum.bgu.msm.utils;
+
+/**
+ * Segment tree over non-negative weights that selects an index proportional to its weight in O(log n) and
+ * updates a single weight in O(log n). Inner nodes are recomputed from their children on every update, so
+ * rounding errors do not accumulate and indices with a weight of zero are never selected. Use this instead
+ * of {@link SiloUtil#select(double[], java.util.Random)} when only few weights change between draws.
+ */
+public final class WeightedSelectionTree {
+
+    private final int size;
+    private final int firstLeaf;
+    private final double[] nodes;
+
+    public WeightedSelectionTree(double[] weights) {
+        this.size = weights.length;
+        int firstLeaf = 1;
+        while (firstLeaf < size) {
+            firstLeaf <<= 1;
+        }
+        this.firstLeaf = firstLeaf;
+        this.nodes = new double[2 * firstLeaf];
+        for (int i = 0; i < size; i++) {
+            checkWeight(i, weights[i]);
+            nodes[firstLeaf + i] = weights[i];
+        }
+        for (int node = firstLeaf - 1; node > 0; node--) {
+            nodes[node] = nodes[2 * node] + nodes[2 * node + 1];
+        }
+    }
+
+    public void setWeight(int index, double weight) {
+        checkWeight(index, weight);
+        int node = firstLeaf + index;
+        nodes[node] = weight;
+        node >>= 1;
+        while (node > 0) {
+            nodes[node] = nodes[2 * node] + nodes[2 * node + 1];
+            node >>= 1;
+        }
+    }
+
+    public double getWeight(int index) {
+        return nodes[firstLeaf + index];
+    }
+
+    public double getTotalWeight() {
+        return nodes[1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first index at which the cumulated weight exceeds {@code position}, i.e. the same index a linear
+     * scan over the weights would return. Positions at or above the total weight select the last index with a
+     * positive weight.
+     *
+     * @param position in [0, {@link #getTotalWeight()}), usually the total weight times a random number
+     * @return the selected index or -1 if all weights are zero
+     */
+    public int select(double position) {
+        if (!(nodes[1] > 0)) {
+            return -1;
+        }
+        int node = 1;
+        while (node < firstLeaf) {
+            final int left = 2 * node;
+            if (position < nodes[left] || !(nodes[left + 1] > 0)) {
+                node = left;
+            } else {
+                position -= nodes[left];
+                node = left + 1;
+            }
+        }
+        return node - firstLeaf;
+    }
+
+    private void checkWeight(int index, double weight) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " for " + size + " weights.");
+        }
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Invalid weight " + weight + " at index " + index);
+        }
+    }
+}
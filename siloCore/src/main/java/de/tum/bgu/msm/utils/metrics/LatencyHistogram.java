@@ -0,0 +1,106 @@
+package de.tum.bgu.msm.utils.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in nanoseconds with a fixed array of buckets, in the spirit of HdrHistogram.
+ *
+ * Values below 32 have a bucket of their own. Larger values are split into powers of two, each of which is divided
+ * into 32 buckets of equal width, which bounds the relative error of the reported values by about 3%. Recording does
+ * not allocate. The histogram is not thread safe, see {@link SiloMetrics} for recording from several threads.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUMBER_OF_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[NUMBER_OF_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a duration, negative durations are counted as 0.
+     */
+    public void record(long nanos) {
+        final long value = Math.max(nanos, 0);
+        counts[bucketIndex(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded durations in nanoseconds.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Returns the largest duration of the bucket that contains the given percentile (0 to 100) of all recorded
+     * durations, but never more than the maximum recorded duration.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (magnitude + 1) * SUB_BUCKETS + (int) ((value >>> magnitude) - SUB_BUCKETS);
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int magnitude = index / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << magnitude;
+        return lowest + (1L << magnitude) - 1;
+    }
+}
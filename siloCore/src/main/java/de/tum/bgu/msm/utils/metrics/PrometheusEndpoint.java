@@ -0,0 +1,45 @@
+package de.tum.bgu.msm.utils.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the latest published metrics in the Prometheus text format at http://localhost:port/metrics.
+ */
+final class PrometheusEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private volatile byte[] text = new byte[0];
+
+    PrometheusEndpoint(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start the metrics endpoint on port " + port, e);
+        }
+        server.createContext("/metrics", exchange -> {
+            final byte[] body = text;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    void publish(String metrics) {
+        text = metrics.getBytes(StandardCharsets.UTF_8);
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+}
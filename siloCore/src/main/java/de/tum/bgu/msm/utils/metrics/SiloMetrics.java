@@ -0,0 +1,266 @@
+package de.tum.bgu.msm.utils.metrics;
+
+import de.tum.bgu.msm.io.output.AsyncOutputWriter;
+import org.apache.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Runtime metrics of a SILO run: latency histograms and counters of handled, successful and failed events per event
+ * class, the durations of model phases (see {@link de.tum.bgu.msm.utils.TimeTracker}) and gauges such as heap use and
+ * entity counts.
+ *
+ * Events are recorded into a buffer of the recording thread, which is only locked by that thread while events are
+ * handled, and does not allocate once every event class has been seen. The buffers of all threads are merged at the
+ * end of each year. The metrics of the year are then appended to the csv files eventMetrics.csv and gauges.csv and,
+ * if a port is given, published in the Prometheus text format at http://localhost:port/metrics.
+ */
+public final class SiloMetrics {
+
+    private final static Logger logger = Logger.getLogger(SiloMetrics.class);
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> buffer = ThreadLocal.withInitial(() -> {
+        final ThreadBuffer threadBuffer = new ThreadBuffer();
+        buffers.add(threadBuffer);
+        return threadBuffer;
+    });
+
+    private final Map<String, DoubleSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<Class<?>, EventStatistics> totals = new LinkedHashMap<>();
+
+    private AsyncOutputWriter eventWriter;
+    private AsyncOutputWriter gaugeWriter;
+    private PrometheusEndpoint endpoint;
+
+    public SiloMetrics() {
+        registerGauge("heapUsedBytes", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+    }
+
+    /**
+     * Records a handled event together with the time it took to handle it.
+     */
+    public void recordEvent(Class<?> eventClass, long nanos, boolean success) {
+        buffer.get().record(eventClass, nanos, success);
+    }
+
+    /**
+     * Adds the given duration to the phase of the current year.
+     */
+    public synchronized void recordPhase(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Registers a value that is sampled at the end of every year.
+     */
+    public synchronized void registerGauge(String name, DoubleSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Starts to write the yearly metrics into the given directory and, if the port is positive, to publish them on
+     * a local Prometheus endpoint. If append is true, the metrics are added to existing files, e.g. of a resumed run.
+     */
+    public synchronized void startExport(Path directory, boolean append, int prometheusPort) {
+        final Path eventFile = directory.resolve("eventMetrics.csv");
+        final boolean header = !append || !Files.exists(eventFile);
+        eventWriter = AsyncOutputWriter.open(eventFile, append);
+        gaugeWriter = AsyncOutputWriter.open(directory.resolve("gauges.csv"), append);
+        if (header) {
+            eventWriter.writeLine("year,event,handled,successful,failed,totalSeconds,meanMillis,p50Millis,p90Millis,p99Millis,maxMillis");
+            gaugeWriter.writeLine("year,gauge,value");
+        }
+        if (prometheusPort > 0) {
+            endpoint = new PrometheusEndpoint(prometheusPort);
+            logger.info("Publishing runtime metrics at http://localhost:" + prometheusPort + "/metrics");
+        }
+    }
+
+    /**
+     * Merges the buffers of all threads, exports the metrics of the given year and starts a new year.
+     */
+    public synchronized void endYear(int year) {
+        final Map<Class<?>, EventStatistics> events = new IdentityHashMap<>();
+        for (ThreadBuffer threadBuffer : buffers) {
+            threadBuffer.drainTo(events);
+        }
+        final List<Class<?>> eventClasses = new ArrayList<>(events.keySet());
+        eventClasses.sort(Comparator.comparing(Class::getSimpleName));
+
+        final Map<String, Double> values = new LinkedHashMap<>();
+        for (Map.Entry<String, DoubleSupplier> gauge : gauges.entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsDouble());
+        }
+
+        for (Class<?> eventClass : eventClasses) {
+            final EventStatistics statistics = events.get(eventClass);
+            totals.computeIfAbsent(eventClass, k -> new EventStatistics()).add(statistics);
+            if (eventWriter != null) {
+                final LatencyHistogram latencies = statistics.latencies;
+                eventWriter.writeLine(year + "," + eventClass.getSimpleName() + "," + statistics.handled + ","
+                        + statistics.successful + "," + statistics.failed + "," + latencies.getTotal() / NANOS_PER_SECOND + ","
+                        + latencies.getMean() / NANOS_PER_MILLI + ","
+                        + latencies.getValueAtPercentile(50) / NANOS_PER_MILLI + ","
+                        + latencies.getValueAtPercentile(90) / NANOS_PER_MILLI + ","
+                        + latencies.getValueAtPercentile(99) / NANOS_PER_MILLI + ","
+                        + latencies.getMax() / NANOS_PER_MILLI);
+            }
+        }
+        if (gaugeWriter != null) {
+            for (Map.Entry<String, Double> value : values.entrySet()) {
+                gaugeWriter.writeLine(year + "," + value.getKey() + "," + format(value.getValue()));
+            }
+        }
+        if (eventWriter != null) {
+            eventWriter.flush();
+            gaugeWriter.flush();
+        }
+        if (endpoint != null) {
+            endpoint.publish(toPrometheusText(year, values));
+        }
+        phases.clear();
+    }
+
+    /**
+     * Stops the Prometheus endpoint and closes the csv files.
+     */
+    public synchronized void close() {
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+        if (eventWriter != null) {
+            eventWriter.close();
+            gaugeWriter.close();
+            eventWriter = null;
+            gaugeWriter = null;
+        }
+    }
+
+    private String toPrometheusText(int year, Map<String, Double> values) {
+        final StringBuilder text = new StringBuilder();
+        text.append("# TYPE silo_year gauge\n");
+        text.append("silo_year ").append(year).append('\n');
+
+        final List<Class<?>> eventClasses = new ArrayList<>(totals.keySet());
+        eventClasses.sort(Comparator.comparing(Class::getSimpleName));
+        text.append("# TYPE silo_events_handled_total counter\n");
+        for (Class<?> eventClass : eventClasses) {
+            appendSample(text, "silo_events_handled_total", "event", eventClass.getSimpleName(), totals.get(eventClass).handled);
+        }
+        text.append("# TYPE silo_events_successful_total counter\n");
+        for (Class<?> eventClass : eventClasses) {
+            appendSample(text, "silo_events_successful_total", "event", eventClass.getSimpleName(), totals.get(eventClass).successful);
+        }
+        text.append("# TYPE silo_events_failed_total counter\n");
+        for (Class<?> eventClass : eventClasses) {
+            appendSample(text, "silo_events_failed_total", "event", eventClass.getSimpleName(), totals.get(eventClass).failed);
+        }
+        text.append("# TYPE silo_event_duration_seconds summary\n");
+        for (Class<?> eventClass : eventClasses) {
+            final String event = eventClass.getSimpleName();
+            final LatencyHistogram latencies = totals.get(eventClass).latencies;
+            for (double quantile : new double[]{0.5, 0.9, 0.99}) {
+                text.append("silo_event_duration_seconds{event=\"").append(event).append("\",quantile=\"").append(quantile)
+                        .append("\"} ").append(latencies.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND).append('\n');
+            }
+            appendSample(text, "silo_event_duration_seconds_sum", "event", event, latencies.getTotal() / NANOS_PER_SECOND);
+            appendSample(text, "silo_event_duration_seconds_count", "event", event, latencies.getCount());
+        }
+        text.append("# TYPE silo_phase_seconds gauge\n");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            appendSample(text, "silo_phase_seconds", "phase", phase.getKey(), phase.getValue() / NANOS_PER_SECOND);
+        }
+        text.append("# TYPE silo_gauge gauge\n");
+        for (Map.Entry<String, Double> value : values.entrySet()) {
+            appendSample(text, "silo_gauge", "name", value.getKey(), format(value.getValue()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Prints whole numbers such as entity counts or bytes without decimals.
+     */
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void appendSample(StringBuilder text, String metric, String label, String labelValue, Object value) {
+        text.append(metric).append('{').append(label).append("=\"").append(labelValue).append("\"} ").append(value).append('\n');
+    }
+
+    private static final class EventStatistics {
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private long handled;
+        private long successful;
+        private long failed;
+
+        private void record(long nanos, boolean success) {
+            latencies.record(nanos);
+            handled++;
+            if (success) {
+                successful++;
+            } else {
+                failed++;
+            }
+        }
+
+        private void add(EventStatistics other) {
+            latencies.add(other.latencies);
+            handled += other.handled;
+            successful += other.successful;
+            failed += other.failed;
+        }
+
+        private void reset() {
+            latencies.reset();
+            handled = 0;
+            successful = 0;
+            failed = 0;
+        }
+    }
+
+    /**
+     * Statistics recorded by a single thread. The lock is uncontended except while the year is ended.
+     */
+    private static final class ThreadBuffer {
+
+        private final Map<Class<?>, EventStatistics> events = new IdentityHashMap<>();
+
+        private synchronized void record(Class<?> eventClass, long nanos, boolean success) {
+            EventStatistics statistics = events.get(eventClass);
+            if (statistics == null) {
+                statistics = new EventStatistics();
+                events.put(eventClass, statistics);
+            }
+            statistics.record(nanos, success);
+        }
+
+        private synchronized void drainTo(Map<Class<?>, EventStatistics> target) {
+            for (Map.Entry<Class<?>, EventStatistics> entry : events.entrySet()) {
+                if (entry.getValue().handled > 0) {
+                    target.computeIfAbsent(entry.getKey(), k -> new EventStatistics()).add(entry.getValue());
+                    entry.getValue().reset();
+                }
+            }
+        }
+    }
+}
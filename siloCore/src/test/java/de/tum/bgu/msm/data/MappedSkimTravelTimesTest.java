@@ -0,0 +1,104 @@
+package de.tum.bgu.msm.data;
+
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.travelTimes.MappedSkim;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.TravelTimes;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import de.tum.bgu.msm.utils.TravelTimeUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.matsim.api.core.v01.TransportMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+public class MappedSkimTravelTimesTest {
+
+    @Test
+    public void testMappedSkimTravelTimes() throws IOException {
+
+        GeoData geoData = new DefaultGeoData();
+        final RegionImpl region1 = new RegionImpl(1);
+        final RegionImpl region2 = new RegionImpl(2);
+        geoData.addRegion(region1);
+        geoData.addRegion(region2);
+        for (int i = 1; i <= 5; i++) {
+            final RegionImpl region = i <= 3 ? region1 : region2;
+            final ZoneImpl zone = new ZoneImpl(i, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        Random random = new Random(42);
+        IndexedDoubleMatrix2D matrix = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        matrix.assign(argument -> random.nextDouble() * 10);
+
+        File file = File.createTempFile("carSkim", ".skim");
+        file.deleteOnExit();
+        MappedSkim.write(matrix, file.toPath(), -1, -1, 1.);
+
+        MappedSkimTravelTimes travelTimes = new MappedSkimTravelTimes();
+        travelTimes.updateSkim(MappedSkim.open(file.toPath()), TransportMode.car);
+        travelTimes.updateRegionalTravelTimes(geoData.getRegions().values(), geoData.getZones().values());
+
+        final RegionalTravelTimes.Skim peakTravelTimes = TravelTimeUtil.getPeakTravelTimes(travelTimes, TransportMode.car);
+        for (Zone origin : geoData.getZones().values()) {
+            for (Zone destination : geoData.getZones().values()) {
+                final double expected = matrix.getIndexed(origin.getZoneId(), destination.getZoneId());
+                Assert.assertEquals(expected, travelTimes.getTravelTime(origin, destination, 0, TransportMode.car), 1e-5);
+                Assert.assertEquals(expected, travelTimes.getPeakSkim(TransportMode.car).getIndexed(origin.getZoneId(), destination.getZoneId()), 1e-5);
+                Assert.assertEquals(travelTimes.getPeakSkim(TransportMode.car).getIndexed(origin.getZoneId(), destination.getZoneId()),
+                        peakTravelTimes.getTravelTime(origin.getZoneId(), destination.getZoneId()), 0.);
+            }
+        }
+
+        final Zone zone1 = geoData.getZones().get(1);
+        final Zone zone4 = geoData.getZones().get(4);
+        Assert.assertEquals(0.3141, travelTimes.getTravelTimeFromRegion(region1, zone1, 0, TransportMode.car), 0.001);
+        Assert.assertEquals(2.0976, travelTimes.getTravelTimeFromRegion(region1, zone4, 0, TransportMode.car), 0.001);
+        Assert.assertEquals(3.6878, travelTimes.getTravelTimeFromRegion(region2, zone4, 0, TransportMode.car), 0.001);
+        Assert.assertEquals(5.7104, travelTimes.getTravelTimeToRegion(zone1, region2, 0, TransportMode.car), 0.001);
+        Assert.assertEquals(2.7574, travelTimes.getTravelTimeToRegion(zone4, region1, 0, TransportMode.car), 0.001);
+
+        final TravelTimes duplicate = travelTimes.duplicate();
+        Assert.assertEquals(travelTimes.getTravelTime(zone1, zone4, 0, TransportMode.car),
+                duplicate.getTravelTime(zone1, zone4, 0, TransportMode.car), 0.);
+    }
+
+    @Test
+    public void testDoublePrecisionSkimKeepsValues() throws IOException {
+        GeoData geoData = new DefaultGeoData();
+        final RegionImpl region = new RegionImpl(1);
+        geoData.addRegion(region);
+        for (int i = 1; i <= 4; i++) {
+            final ZoneImpl zone = new ZoneImpl(i, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        Random random = new Random(42);
+        IndexedDoubleMatrix2D matrix = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        matrix.assign(argument -> random.nextDouble() * 10);
+
+        File file = File.createTempFile("carSkim", ".skim");
+        file.deleteOnExit();
+        MappedSkim.write(matrix, file.toPath(), -1, -1, 1., true);
+
+        final MappedSkim skim = MappedSkim.open(file.toPath());
+        Assert.assertTrue(skim.isDoublePrecision());
+        final IndexedDoubleMatrix2D copy = skim.toMatrix();
+        for (Zone origin : geoData.getZones().values()) {
+            for (Zone destination : geoData.getZones().values()) {
+                final double expected = matrix.getIndexed(origin.getZoneId(), destination.getZoneId());
+                Assert.assertEquals(expected, skim.getIndexed(origin.getZoneId(), destination.getZoneId()), 0.);
+                Assert.assertEquals(expected, copy.getIndexed(origin.getZoneId(), destination.getZoneId()), 0.);
+            }
+        }
+    }
+}
@@ -4,12 +4,16 @@ import de.tum.bgu.msm.data.geo.DefaultGeoData;
 import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.geo.RegionImpl;
 import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.travelTimes.RegionalTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
+import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
 import org.junit.Assert;
 import org.junit.Test;
 import org.matsim.api.core.v01.TransportMode;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 
 public class RegionalTravelTimesTest {
@@ -72,4 +76,100 @@ public class RegionalTravelTimesTest {
         Assert.assertEquals(3.6878, skimTravelTimes.getTravelTimeToRegion(zone4, region2, 0, TransportMode.car), 0.001);
         Assert.assertEquals(6.8322, skimTravelTimes.getTravelTimeToRegion(zone5, region2, 0, TransportMode.car), 0.001);
     }
+
+    @Test
+    public void testRegionalTravelTimesCalculationMatchesSkimTravelTimes() {
+
+        GeoData geoData = new DefaultGeoData();
+        for (int r = 1; r <= 4; r++) {
+            geoData.addRegion(new RegionImpl(r));
+        }
+        for (int i = 1; i <= 30; i++) {
+            final RegionImpl region = (RegionImpl) geoData.getRegions().get(1 + i % 4);
+            final ZoneImpl zone = new ZoneImpl(i, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        Random random = new Random(42);
+        IndexedDoubleMatrix2D car = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        car.assign(argument -> random.nextDouble() * 10);
+        IndexedDoubleMatrix2D pt = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        pt.assign(argument -> random.nextDouble() * 20);
+
+        final Map<String, RegionalTravelTimes.Skim> skims = new LinkedHashMap<>();
+        skims.put(TransportMode.car, car::getIndexed);
+        skims.put(TransportMode.pt, pt::getIndexed);
+        final Map<String, RegionalTravelTimes> regionalTravelTimes =
+                RegionalTravelTimes.calculate(skims, geoData.getRegions().values(), geoData.getZones().values());
+
+        SkimTravelTimes skimTravelTimes = new SkimTravelTimes();
+        skimTravelTimes.updateSkimMatrix(car, TransportMode.car);
+        skimTravelTimes.updateSkimMatrix(pt, TransportMode.pt);
+        skimTravelTimes.updateRegionalTravelTimes(geoData.getRegions().values(), geoData.getZones().values());
+
+        for (Map.Entry<String, RegionalTravelTimes.Skim> entry : skims.entrySet()) {
+            final RegionalTravelTimes travelTimes = regionalTravelTimes.get(entry.getKey());
+            for (Region region : geoData.getRegions().values()) {
+                for (Zone zone : geoData.getZones().values()) {
+                    double minFrom = Double.MAX_VALUE;
+                    double minTo = Double.MAX_VALUE;
+                    for (Zone zoneInRegion : region.getZones()) {
+                        minFrom = Math.min(minFrom, entry.getValue().getTravelTime(zoneInRegion.getZoneId(), zone.getZoneId()));
+                        minTo = Math.min(minTo, entry.getValue().getTravelTime(zone.getZoneId(), zoneInRegion.getZoneId()));
+                    }
+                    Assert.assertEquals(minFrom, travelTimes.getTravelTimeFromRegion(region, zone), 0.);
+                    Assert.assertEquals(minTo, travelTimes.getTravelTimeToRegion(zone, region), 0.);
+                    Assert.assertEquals(skimTravelTimes.getTravelTimeFromRegion(region, zone, 0, entry.getKey()),
+                            travelTimes.getTravelTimeFromRegion(region, zone), 0.);
+                    Assert.assertEquals(skimTravelTimes.getTravelTimeToRegion(zone, region, 0, entry.getKey()),
+                            travelTimes.getTravelTimeToRegion(zone, region), 0.);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWrapperAnswersRegionalTravelTimesOfSkim() {
+
+        GeoData geoData = new DefaultGeoData();
+        for (int r = 1; r <= 3; r++) {
+            geoData.addRegion(new RegionImpl(r));
+        }
+        for (int i = 1; i <= 20; i++) {
+            final RegionImpl region = (RegionImpl) geoData.getRegions().get(1 + i % 3);
+            final ZoneImpl zone = new ZoneImpl(i, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        Random random = new Random(42);
+        IndexedDoubleMatrix2D car = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        car.assign(argument -> random.nextDouble() * 10);
+        IndexedDoubleMatrix2D pt = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        pt.assign(argument -> random.nextDouble() * 20);
+
+        SkimTravelTimes skimTravelTimes = new SkimTravelTimes();
+        skimTravelTimes.updateSkimMatrix(car, TransportMode.car);
+        skimTravelTimes.updateSkimMatrix(pt, TransportMode.pt);
+        TravelTimesWrapper wrapper = new TravelTimesWrapper(skimTravelTimes, null, geoData);
+        wrapper.updateRegionalTravelTimes();
+        TravelTimes duplicate = wrapper.duplicate();
+
+        // reference values of the per cell calculation of the skim travel times
+        skimTravelTimes.updateRegionalTravelTimes(geoData.getRegions().values(), geoData.getZones().values());
+
+        for (String mode : new String[]{TransportMode.car, TransportMode.pt}) {
+            for (Region region : geoData.getRegions().values()) {
+                for (Zone zone : geoData.getZones().values()) {
+                    final double from = skimTravelTimes.getTravelTimeFromRegion(region, zone, 0, mode);
+                    final double to = skimTravelTimes.getTravelTimeToRegion(zone, region, 0, mode);
+                    Assert.assertEquals(from, wrapper.getTravelTimeFromRegion(region, zone, 0, mode), 0.);
+                    Assert.assertEquals(to, wrapper.getTravelTimeToRegion(zone, region, 0, mode), 0.);
+                    Assert.assertEquals(from, duplicate.getTravelTimeFromRegion(region, zone, 0, mode), 0.);
+                    Assert.assertEquals(to, duplicate.getTravelTimeToRegion(zone, region, 0, mode), 0.);
+                }
+            }
+        }
+    }
 }
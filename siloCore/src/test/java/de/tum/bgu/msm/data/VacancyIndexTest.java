@@ -0,0 +1,77 @@
+package de.tum.bgu.msm.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class VacancyIndexTest {
+
+    private static class Vacancy implements Id {
+        private final int id;
+        private final int region;
+        private final int zone;
+
+        private Vacancy(int id, int region, int zone) {
+            this.id = id;
+            this.region = region;
+            this.zone = zone;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        VacancyIndex<Vacancy> index = new VacancyIndex<>();
+        VacancyIndex<Vacancy>.Key byRegion = index.addKey(v -> v.region);
+        VacancyIndex<Vacancy>.Key byZone = index.addKey(v -> v.zone);
+
+        Vacancy[] vacancies = new Vacancy[100];
+        for (int i = 0; i < vacancies.length; i++) {
+            vacancies[i] = new Vacancy(i, i % 3, i % 10);
+            Assert.assertTrue(index.add(vacancies[i]));
+        }
+        Assert.assertFalse(index.add(vacancies[0]));
+        Assert.assertEquals(100, index.size());
+        Assert.assertEquals(34, byRegion.count(0));
+        Assert.assertEquals(10, byZone.count(3));
+
+        for (int i = 0; i < vacancies.length; i += 2) {
+            Assert.assertTrue(index.remove(vacancies[i]));
+        }
+        Assert.assertFalse(index.remove(vacancies[0]));
+        Assert.assertEquals(50, index.size());
+        Assert.assertEquals(17, byRegion.count(1));
+        Assert.assertEquals(0, byZone.count(4));
+        Assert.assertEquals(10, byZone.count(5));
+        for (Vacancy vacancy : byRegion.get(1)) {
+            Assert.assertEquals(1, vacancy.id % 2);
+            Assert.assertTrue(index.contains(vacancy));
+        }
+    }
+
+    @Test
+    public void testSample() {
+        VacancyIndex<Vacancy> index = new VacancyIndex<>();
+        VacancyIndex<Vacancy>.Key byRegion = index.addKey(v -> v.region);
+        for (int i = 0; i < 50; i++) {
+            index.add(new Vacancy(i, 1, i));
+        }
+        Random random = new Random(42);
+        List<Vacancy> sample = byRegion.sample(1, 20, random);
+        Assert.assertEquals(20, sample.size());
+        Set<Vacancy> distinct = new HashSet<>(sample);
+        Assert.assertEquals(20, distinct.size());
+
+        Assert.assertEquals(50, byRegion.sample(1, 100, random).size());
+        Assert.assertTrue(byRegion.sample(2, 20, random).isEmpty());
+        Assert.assertNull(byRegion.sampleOne(2, random));
+    }
+}
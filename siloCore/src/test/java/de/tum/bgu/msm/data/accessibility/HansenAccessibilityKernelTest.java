@@ -0,0 +1,87 @@
+package de.tum.bgu.msm.data.accessibility;
+
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.dwelling.DefaultDwellingTypeImpl;
+import de.tum.bgu.msm.data.dwelling.Dwelling;
+import de.tum.bgu.msm.data.dwelling.DwellingFactory;
+import de.tum.bgu.msm.data.dwelling.DwellingFactoryImpl;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.job.Job;
+import de.tum.bgu.msm.data.job.JobFactory;
+import de.tum.bgu.msm.data.job.JobFactoryImpl;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix1D;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class HansenAccessibilityKernelTest {
+
+    @Test
+    public void testKernelMatchesZoneToZoneSum() {
+        final RegionImpl region = new RegionImpl(1);
+        final List<Zone> zones = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            zones.add(new ZoneImpl(i * 2, 10, region));
+        }
+        Random random = new Random(42);
+        IndexedDoubleMatrix2D travelTimes = new IndexedDoubleMatrix2D(zones, zones);
+        travelTimes.assign(argument -> random.nextDouble() * 10);
+
+        final JobFactory jobFactory = new JobFactoryImpl();
+        final List<Job> jobs = new ArrayList<>();
+        int id = 1;
+        for (int zoneId : new int[]{2, 2, 4, 8, 12, 12, 12, 99}) {
+            jobs.add(jobFactory.createJob(id++, zoneId, null, -1, null));
+        }
+        final int[] jobsByZone = new int[13];
+        jobs.stream().filter(job -> job.getZoneId() < jobsByZone.length).forEach(job -> jobsByZone[job.getZoneId()]++);
+
+        HansenAccessibilityKernel kernel = new HansenAccessibilityKernel(Arrays.asList(2, 4, 6, 8, 10, 12), 1);
+        kernel.setOpportunities(jobs);
+
+        IndexedDoubleMatrix1D accessibilities = new IndexedDoubleMatrix1D(zones);
+        kernel.calculate(travelTimes, 1.2, -0.3, -1, accessibilities);
+        IndexedDoubleMatrix1D withCutoff = new IndexedDoubleMatrix1D(zones);
+        kernel.calculate(travelTimes, 1.2, -0.3, 5, withCutoff);
+
+        for (Zone origin : zones) {
+            double expected = 0;
+            double expectedWithCutoff = 0;
+            for (Zone destination : zones) {
+                final double travelTime = travelTimes.getIndexed(origin.getZoneId(), destination.getZoneId());
+                final double value = Math.pow(jobsByZone[destination.getZoneId()], 1.2) * Math.exp(-0.3 * travelTime);
+                expected += value;
+                if (travelTime <= 5) {
+                    expectedWithCutoff += value;
+                }
+            }
+            Assert.assertEquals(expected, accessibilities.getIndexed(origin.getZoneId()), 1e-9);
+            Assert.assertEquals(expectedWithCutoff, withCutoff.getIndexed(origin.getZoneId()), 1e-9);
+        }
+    }
+
+    @Test
+    public void testCountByZone() {
+        final RegionImpl region = new RegionImpl(1);
+        final List<Zone> zones = Arrays.asList(new ZoneImpl(1, 10, region), new ZoneImpl(3, 10, region));
+        HansenAccessibilityKernel kernel = new HansenAccessibilityKernel(Arrays.asList(1, 3), 1);
+
+        IndexedDoubleMatrix1D counts = new IndexedDoubleMatrix1D(zones);
+        final DwellingFactory factory = new DwellingFactoryImpl();
+        final List<Dwelling> dwellings = new ArrayList<>();
+        int id = 1;
+        for (int zoneId : new int[]{3, 3, 2, 1}) {
+            dwellings.add(factory.createDwelling(id++, zoneId, null, -1, DefaultDwellingTypeImpl.MF5plus, 2, 2, 1000, 1985));
+        }
+        kernel.countByZone(dwellings, counts);
+
+        Assert.assertEquals(1, counts.getIndexed(1), 0.);
+        Assert.assertEquals(2, counts.getIndexed(3), 0.);
+    }
+}
@@ -0,0 +1,420 @@
+package de.tum.bgu.msm.data.columnar;
+
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.properties.Properties;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.util.*;
+
+/**
+ * Runs the same scripted sequence of changes on the object based and the columnar data stores and compares
+ * the resulting states, including the iteration order of the collections.
+ */
+public class ColumnarDataStoreTest {
+
+    // household types depend on the income brackets of the properties, which may only be initialized once per jvm
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    @Test
+    public void testHouseholdsAndPersonsAreEquivalent() {
+        HouseholdData reference = new HouseholdDataImpl();
+        String expected = runHouseholdScript(reference, new HouseholdFactoryImpl(), new PersonFactoryImpl());
+
+        ColumnarHouseholdData columnar = new ColumnarHouseholdData();
+        String actual = runHouseholdScript(columnar, columnar.getHouseholdFactory(), columnar.getPersonFactory());
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(reference.getHouseholds().size(), columnar.getHouseholds().size());
+        Assert.assertEquals(reference.getPersons().size(), columnar.getPersons().size());
+    }
+
+    @Test
+    public void testDwellingsAreEquivalent() {
+        DwellingData reference = new DwellingDataImpl();
+        String expected = runDwellingScript(reference, new DwellingFactoryImpl());
+
+        ColumnarDwellingData columnar = new ColumnarDwellingData();
+        String actual = runDwellingScript(columnar, columnar.getDwellingFactory());
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testJobsAreEquivalent() {
+        JobData reference = new JobDataImpl();
+        String expected = runJobScript(reference, new JobFactoryImpl());
+
+        ColumnarJobData columnar = new ColumnarJobData();
+        String actual = runJobScript(columnar, columnar.getJobFactory());
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testViewsOfRemovedObjectsRemainValid() {
+        ColumnarHouseholdData data = new ColumnarHouseholdData();
+        Household household = data.getHouseholdFactory().createHousehold(3, 7, 1);
+        data.addHousehold(household);
+        Person person = data.getPersonFactory().createPerson(5, 30, Gender.FEMALE, Occupation.EMPLOYED, PersonRole.SINGLE, 2, 1000);
+        data.addPerson(person);
+        household.addPerson(person);
+        person.setHousehold(household);
+
+        data.removeHousehold(3);
+        data.removePerson(5);
+        Assert.assertNull(data.getHousehold(3));
+        Assert.assertNull(data.getPerson(5));
+        Assert.assertTrue(data.getHouseholds().isEmpty());
+        Assert.assertEquals(7, household.getDwellingId());
+        Assert.assertEquals(household, person.getHousehold());
+        Assert.assertEquals(1, household.getPersons().size());
+
+        data.addHousehold(household);
+        Assert.assertEquals(household, data.getHousehold(3));
+    }
+
+    @Test
+    public void testHypotheticalHouseholdsAreNotStored() {
+        ColumnarHouseholdData data = new ColumnarHouseholdData();
+        Household fake = data.getHouseholdFactory().createHousehold(-1, -1, 0);
+        Assert.assertTrue(fake instanceof HouseholdImpl);
+
+        Person person = data.getPersonFactory().createPerson(1, 30, Gender.MALE, Occupation.EMPLOYED, PersonRole.SINGLE, 2, 1000);
+        fake.addPerson(person);
+        person.setHousehold(fake);
+        Assert.assertSame(fake, person.getHousehold());
+    }
+
+    @Test
+    public void testRowsOfRemovedObjectsAreReusedAfterRelease() {
+        ColumnarHouseholdData data = new ColumnarHouseholdData();
+        Household removed = data.getHouseholdFactory().createHousehold(3, 7, 1);
+        data.addHousehold(removed);
+        removed.getAttributes().put("key", "value");
+        data.removeHousehold(3);
+
+        Household beforeRelease = data.getHouseholdFactory().createHousehold(4, 8, 0);
+        Assert.assertNotSame(removed, beforeRelease);
+
+        data.releaseRemovedObjects();
+        Household afterRelease = data.getHouseholdFactory().createHousehold(5, 9, 2);
+        data.addHousehold(afterRelease);
+        Assert.assertNotSame(removed, afterRelease);
+        Assert.assertEquals(5, afterRelease.getId());
+        Assert.assertEquals(9, afterRelease.getDwellingId());
+        Assert.assertTrue(afterRelease.getAttributes().isEmpty());
+        Assert.assertEquals(0, afterRelease.getHhSize());
+        assertStale(removed::getId);
+        assertStale(removed::getAttributes);
+        assertStale(() -> data.addHousehold(removed));
+    }
+
+    @Test
+    public void testViewsOfRecycledObjectsFail() {
+        ColumnarHouseholdData households = new ColumnarHouseholdData();
+        Household household = households.getHouseholdFactory().createHousehold(1, 2, 0);
+        households.addHousehold(household);
+        Person person = households.getPersonFactory().createPerson(1, 30, Gender.MALE, Occupation.EMPLOYED, PersonRole.SINGLE, 2, 1000);
+        households.addPerson(person);
+        household.addPerson(person);
+        person.setHousehold(household);
+        Map<Integer, ? extends Person> members = household.getPersons();
+        households.removePerson(1);
+        households.removeHousehold(1);
+        households.releaseRemovedObjects();
+        Person newPerson = households.getPersonFactory().createPerson(2, 40, Gender.FEMALE, Occupation.RETIREE, PersonRole.SINGLE, -1, 500);
+        households.getHouseholdFactory().createHousehold(2, 3, 1);
+        Assert.assertEquals(40, newPerson.getAge());
+        assertStale(person::getAge);
+        assertStale(() -> person.setIncome(0));
+        assertStale(person::getHousehold);
+        assertStale(household::getDwellingId);
+        assertStale(members::size);
+
+        ColumnarDwellingData dwellings = new ColumnarDwellingData();
+        Dwelling dwelling = dwellings.getDwellingFactory().createDwelling(1, 2, null, -1,
+                DefaultDwellingTypeImpl.SFD, 3, 4, 500, 1990);
+        dwellings.addDwelling(dwelling);
+        dwellings.removeDwelling(1);
+        dwellings.releaseRemovedObjects();
+        Dwelling newDwelling = dwellings.getDwellingFactory().createDwelling(2, 5, null, -1,
+                DefaultDwellingTypeImpl.MF234, 1, 2, 300, 2000);
+        Assert.assertEquals(300, newDwelling.getPrice());
+        assertStale(dwelling::getPrice);
+        assertStale(() -> dwelling.setResidentID(7));
+
+        ColumnarJobData jobs = new ColumnarJobData();
+        Job job = jobs.getJobFactory().createJob(1, 2, null, -1, "RETAIL");
+        jobs.addJob(job);
+        jobs.removeJob(1);
+        jobs.releaseRemovedObjects();
+        Job newJob = jobs.getJobFactory().createJob(2, 3, null, 4, "OFFICE");
+        Assert.assertEquals(4, newJob.getWorkerId());
+        assertStale(job::getWorkerId);
+        assertStale(() -> job.setWorkerID(5));
+    }
+
+    private static void assertStale(Runnable access) {
+        try {
+            access.run();
+            Assert.fail("Expected the view of a recycled object to fail.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRowsOfObjectsAddedAgainAreNotReused() {
+        ColumnarDwellingData data = new ColumnarDwellingData();
+        Dwelling dwelling = data.getDwellingFactory().createDwelling(1, 2, null, -1,
+                DefaultDwellingTypeImpl.SFD, 3, 4, 500, 1990);
+        data.addDwelling(dwelling);
+        data.removeDwelling(1);
+        data.addDwelling(dwelling);
+        data.releaseRemovedObjects();
+
+        Dwelling other = data.getDwellingFactory().createDwelling(2, 5, null, -1,
+                DefaultDwellingTypeImpl.MF234, 1, 2, 300, 2000);
+        Assert.assertNotSame(dwelling, other);
+        Assert.assertEquals(1, dwelling.getId());
+        Assert.assertEquals(500, dwelling.getPrice());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForeignPersonsAreRejected() {
+        new ColumnarHouseholdData().addPerson(new PersonFactoryImpl()
+                .createPerson(1, 30, Gender.MALE, Occupation.EMPLOYED, PersonRole.SINGLE, 2, 1000));
+    }
+
+    private static String runHouseholdScript(HouseholdData data, HouseholdFactory hhFactory, PersonFactory ppFactory) {
+        final Random random = new Random(42);
+        final Gender[] genders = Gender.values();
+        final Occupation[] occupations = Occupation.values();
+        final PersonRole[] roles = PersonRole.values();
+        final List<Integer> householdIds = new ArrayList<>();
+        final List<Integer> personIds = new ArrayList<>();
+        int nextHouseholdId = 0;
+        int nextPersonId = 0;
+
+        for (int i = 0; i < 50; i++) {
+            Household household = hhFactory.createHousehold(nextHouseholdId++, i, random.nextInt(3));
+            data.addHousehold(household);
+            householdIds.add(household.getId());
+            for (int j = 0; j <= random.nextInt(4); j++) {
+                Person person = ppFactory.createPerson(nextPersonId++, random.nextInt(90), genders[random.nextInt(2)],
+                        occupations[random.nextInt(occupations.length)], roles[random.nextInt(roles.length)],
+                        random.nextInt(100), random.nextInt(80000));
+                data.addPerson(person);
+                addPersonToHousehold(person, household);
+                personIds.add(person.getId());
+            }
+        }
+
+        for (int step = 0; step < 1000; step++) {
+            if (step % 100 == 99) {
+                data.releaseRemovedObjects();
+            }
+            final Person person = data.getPerson(personIds.get(random.nextInt(personIds.size())));
+            final Household household = data.getHousehold(householdIds.get(random.nextInt(householdIds.size())));
+            switch (random.nextInt(9)) {
+                case 0:
+                    person.birthday();
+                    break;
+                case 1:
+                    person.setIncome(random.nextInt(100000));
+                    break;
+                case 2:
+                    person.setOccupation(occupations[random.nextInt(occupations.length)]);
+                    person.setWorkplace(random.nextInt(100));
+                    person.setDriverLicense(random.nextBoolean());
+                    break;
+                case 3:
+                    if (!person.getHousehold().equals(household)) {
+                        person.getHousehold().removePerson(person.getId());
+                        addPersonToHousehold(person, household);
+                        person.setRole(roles[random.nextInt(roles.length)]);
+                    }
+                    break;
+                case 4:
+                    Person child = ppFactory.giveBirth(person, nextPersonId++, genders[random.nextInt(2)]);
+                    data.addPerson(child);
+                    addPersonToHousehold(child, person.getHousehold());
+                    personIds.add(child.getId());
+                    break;
+                case 5:
+                    if (householdIds.size() > 10 && household.getHhSize() < 3) {
+                        for (Person member : new ArrayList<>(household.getPersons().values())) {
+                            data.removePerson(member.getId());
+                            personIds.remove((Integer) member.getId());
+                        }
+                        data.removeHousehold(household.getId());
+                        householdIds.remove((Integer) household.getId());
+                    }
+                    break;
+                case 6:
+                    Household duplicate = hhFactory.duplicate(household, nextHouseholdId++);
+                    data.addHousehold(duplicate);
+                    householdIds.add(duplicate.getId());
+                    for (Person member : household.getPersons().values()) {
+                        Person memberDuplicate = ppFactory.duplicate(member, nextPersonId++);
+                        data.addPerson(memberDuplicate);
+                        addPersonToHousehold(memberDuplicate, duplicate);
+                        personIds.add(memberDuplicate.getId());
+                    }
+                    break;
+                case 7:
+                    household.setAutos(random.nextInt(4));
+                    household.setDwelling(random.nextInt(200));
+                    break;
+                default:
+                    household.getAttributes().put("step", step);
+                    break;
+            }
+        }
+        return describeHouseholds(data);
+    }
+
+    private static void addPersonToHousehold(Person person, Household household) {
+        household.addPerson(person);
+        person.setHousehold(household);
+    }
+
+    private static String describeHouseholds(HouseholdData data) {
+        final StringBuilder builder = new StringBuilder();
+        for (Person person : data.getPersons()) {
+            builder.append(person.getId()).append(',')
+                    .append(person.getAge()).append(',')
+                    .append(person.getGender()).append(',')
+                    .append(person.getOccupation()).append(',')
+                    .append(person.getRole()).append(',')
+                    .append(person.getType()).append(',')
+                    .append(person.getJobId()).append(',')
+                    .append(person.getAnnualIncome()).append(',')
+                    .append(person.hasDriverLicense()).append(',')
+                    .append(person.getHousehold().getId()).append('\n');
+        }
+        for (Household household : data.getHouseholds()) {
+            builder.append(household.getId()).append(',')
+                    .append(household.getDwellingId()).append(',')
+                    .append(household.getAutos()).append(',')
+                    .append(household.getHouseholdType()).append(',')
+                    .append(household.getHhSize()).append(',')
+                    .append(household.getPersons().keySet()).append(',')
+                    .append(household.getAttributes()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String runDwellingScript(DwellingData data, DwellingFactory factory) {
+        final Random random = new Random(42);
+        final DefaultDwellingTypeImpl[] types = DefaultDwellingTypeImpl.values();
+        final DwellingUsage[] usages = DwellingUsage.values();
+        final List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Dwelling dwelling = factory.createDwelling(i, random.nextInt(20), new Coordinate(random.nextDouble(), random.nextDouble()),
+                    random.nextInt(50) - 1, types[random.nextInt(types.length)], random.nextInt(5), random.nextInt(4) + 1,
+                    random.nextInt(3000), 1950 + random.nextInt(70));
+            data.addDwelling(dwelling);
+            ids.add(i);
+        }
+        int nextId = 200;
+        for (int step = 0; step < 500; step++) {
+            if (step % 100 == 99) {
+                data.releaseRemovedObjects();
+            }
+            final Dwelling dwelling = data.getDwelling(ids.get(random.nextInt(ids.size())));
+            switch (random.nextInt(6)) {
+                case 0:
+                    dwelling.setResidentID(random.nextInt(50) - 1);
+                    break;
+                case 1:
+                    dwelling.setQuality(random.nextInt(4) + 1);
+                    dwelling.setPrice(random.nextInt(3000));
+                    break;
+                case 2:
+                    dwelling.setFloorSpace(random.nextInt(200));
+                    dwelling.setUsage(usages[random.nextInt(usages.length)]);
+                    break;
+                case 3:
+                    dwelling.setCoordinate(new Coordinate(random.nextDouble(), random.nextDouble()));
+                    break;
+                case 4:
+                    Dwelling newDwelling = factory.createDwelling(nextId++, random.nextInt(20), new Coordinate(random.nextDouble(), random.nextDouble()),
+                            -1, types[random.nextInt(types.length)], random.nextInt(5), random.nextInt(4) + 1,
+                            random.nextInt(3000), 2000 + random.nextInt(20));
+                    data.addDwelling(newDwelling);
+                    ids.add(newDwelling.getId());
+                    break;
+                default:
+                    if (ids.size() > 20) {
+                        data.removeDwelling(dwelling.getId());
+                        ids.remove((Integer) dwelling.getId());
+                    }
+                    break;
+            }
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (Dwelling dwelling : data.getDwellings()) {
+            builder.append(dwelling.getId()).append(',')
+                    .append(dwelling.getZoneId()).append(',')
+                    .append(dwelling.getCoordinate().x).append(',')
+                    .append(dwelling.getCoordinate().y).append(',')
+                    .append(dwelling.getResidentId()).append(',')
+                    .append(dwelling.getType()).append(',')
+                    .append(dwelling.getBedrooms()).append(',')
+                    .append(dwelling.getQuality()).append(',')
+                    .append(dwelling.getPrice()).append(',')
+                    .append(dwelling.getYearBuilt()).append(',')
+                    .append(dwelling.getFloorSpace()).append(',')
+                    .append(dwelling.getUsage()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String runJobScript(JobData data, JobFactory factory) {
+        final Random random = new Random(42);
+        final String[] types = {"Agri", "Mnft", "Util", "Retl", "Offi"};
+        final List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Job job = factory.createJob(i, random.nextInt(20), new Coordinate(random.nextDouble(), random.nextDouble()),
+                    random.nextInt(100) - 1, types[random.nextInt(types.length)]);
+            data.addJob(job);
+            ids.add(i);
+        }
+        int nextId = 200;
+        for (int step = 0; step < 500; step++) {
+            if (step % 100 == 99) {
+                data.releaseRemovedObjects();
+            }
+            final Job job = data.get(ids.get(random.nextInt(ids.size())));
+            final int action = random.nextInt(3);
+            if (action == 0) {
+                job.setWorkerID(random.nextInt(100) - 1);
+            } else if (action == 1) {
+                Job newJob = factory.createJob(nextId++, random.nextInt(20), new Coordinate(random.nextDouble(), random.nextDouble()),
+                        -1, types[random.nextInt(types.length)]);
+                data.addJob(newJob);
+                ids.add(newJob.getId());
+            } else if (ids.size() > 20) {
+                data.removeJob(job.getId());
+                ids.remove((Integer) job.getId());
+            }
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (Job job : data.getJobs()) {
+            builder.append(job.getId()).append(',')
+                    .append(job.getZoneId()).append(',')
+                    .append(job.getCoordinate().x).append(',')
+                    .append(job.getCoordinate().y).append(',')
+                    .append(job.getWorkerId()).append(',')
+                    .append(job.getType()).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,227 @@
+package de.tum.bgu.msm.data.columnar;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.events.impls.person.BirthDayEvent;
+import de.tum.bgu.msm.events.impls.person.BirthEvent;
+import de.tum.bgu.msm.events.impls.person.DeathEvent;
+import de.tum.bgu.msm.io.output.DefaultDwellingWriter;
+import de.tum.bgu.msm.io.output.DefaultHouseholdWriter;
+import de.tum.bgu.msm.io.output.DefaultJobWriter;
+import de.tum.bgu.msm.io.output.DefaultPersonWriter;
+import de.tum.bgu.msm.models.demography.birth.BirthModelImpl;
+import de.tum.bgu.msm.models.demography.birth.JavaBirthStrategy;
+import de.tum.bgu.msm.models.demography.birthday.BirthdayModelImpl;
+import de.tum.bgu.msm.models.demography.death.DeathModelImpl;
+import de.tum.bgu.msm.models.demography.death.JavaDeathStrategy;
+import de.tum.bgu.msm.properties.Properties;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Runs the birthday, death and birth models for several years on a synthetic population, once with the object
+ * based stores and once with the columnar stores of households, persons, dwellings and jobs, and compares the
+ * micro data written at the end of both runs. Persons who die quit their jobs and leave vacant dwellings behind,
+ * so all four stores are changed, and the rows of removed objects are reused by the births of the following years.
+ */
+public class ColumnarDemographyRunTest {
+
+    // household types depend on the income brackets of the properties, which may only be initialized once per jvm
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    private static final int BASE_YEAR = 2011;
+    private static final int YEARS = 5;
+    private static final int HOUSEHOLDS = 400;
+    private static final long SEED = 42;
+
+    @Test
+    public void testColumnarStoresReproduceObjectBasedRun() throws IOException {
+        new JobType(PROPERTIES.jobData.jobTypes);
+
+        final Map<String, String> expected = run(new HouseholdDataImpl(), new HouseholdFactoryImpl(),
+                new PersonFactoryImpl(), new DwellingDataImpl(), new DwellingFactoryImpl(),
+                new JobDataImpl(), new JobFactoryImpl());
+
+        final ColumnarHouseholdData householdData = new ColumnarHouseholdData();
+        final ColumnarDwellingData dwellingData = new ColumnarDwellingData();
+        final ColumnarJobData jobData = new ColumnarJobData();
+        final Map<String, String> actual = run(householdData, householdData.getHouseholdFactory(),
+                householdData.getPersonFactory(), dwellingData, dwellingData.getDwellingFactory(),
+                jobData, jobData.getJobFactory());
+
+        for (String file : expected.keySet()) {
+            Assert.assertEquals(file + " files are different.", expected.get(file), actual.get(file));
+        }
+    }
+
+    /**
+     * @return the written households, persons, dwellings and jobs by the prefix of their file names
+     */
+    private static Map<String, String> run(HouseholdData householdData, HouseholdFactory householdFactory,
+                                           PersonFactory personFactory, DwellingData dwellingData,
+                                           DwellingFactory dwellingFactory, JobData jobData, JobFactory jobFactory)
+            throws IOException {
+        final GeoData geoData = createGeoData();
+        final RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(
+                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, dwellingFactory, PROPERTIES);
+        final JobDataManager jobDataManager = new JobDataManagerImpl(
+                PROPERTIES, jobFactory, jobData, geoData, null, null);
+        final HouseholdDataManager householdDataManager = new HouseholdDataManagerImpl(
+                householdData, dwellingData, personFactory, householdFactory, PROPERTIES, realEstateDataManager);
+        final DataContainer dataContainer = new DefaultDataContainer(geoData, realEstateDataManager,
+                jobDataManager, householdDataManager, null, null, null, PROPERTIES);
+
+        createPopulation(dataContainer, new Random(SEED));
+        householdDataManager.setup();
+        jobDataManager.setup();
+
+        final Random random = new Random(SEED);
+        final BirthdayModelImpl birthdayModel = new BirthdayModelImpl(dataContainer, PROPERTIES, random);
+        final DeathModelImpl deathModel = new DeathModelImpl(dataContainer, PROPERTIES, new JavaDeathStrategy(), random);
+        final BirthModelImpl birthModel = new BirthModelImpl(dataContainer, householdDataManager.getPersonFactory(),
+                PROPERTIES, new JavaBirthStrategy(), random);
+
+        int deaths = 0;
+        int births = 0;
+        for (int year = BASE_YEAR; year < BASE_YEAR + YEARS; year++) {
+            householdDataManager.prepareYear(year);
+            dwellingData.releaseRemovedObjects();
+            jobData.releaseRemovedObjects();
+            for (DeathEvent event : deathModel.getEventsForCurrentYear(year)) {
+                deaths += deathModel.handleEvent(event) ? 1 : 0;
+            }
+            for (BirthEvent event : birthModel.getEventsForCurrentYear(year)) {
+                births += birthModel.handleEvent(event) ? 1 : 0;
+            }
+            for (BirthDayEvent event : birthdayModel.getEventsForCurrentYear(year)) {
+                birthdayModel.handleEvent(event);
+            }
+        }
+        Assert.assertTrue("Nobody died.", deaths > 0);
+        Assert.assertTrue("Nobody was born.", births > 0);
+
+        final Map<String, String> files = new LinkedHashMap<>();
+        final File hh = createTempFile();
+        new DefaultHouseholdWriter(householdDataManager).writeHouseholds(hh.getPath());
+        files.put("hh", read(hh));
+        final File pp = createTempFile();
+        new DefaultPersonWriter(householdData).writePersons(pp.getPath());
+        files.put("pp", read(pp));
+        final File dd = createTempFile();
+        new DefaultDwellingWriter(realEstateDataManager).writeDwellings(dd.getPath());
+        files.put("dd", read(dd));
+        final File jj = createTempFile();
+        new DefaultJobWriter(jobDataManager).writeJobs(jj.getPath());
+        files.put("jj", read(jj));
+        return files;
+    }
+
+    /**
+     * Two regions with two zones each.
+     */
+    private static GeoData createGeoData() {
+        final GeoData geoData = new DefaultGeoData();
+        final RegionImpl region1 = new RegionImpl(1);
+        final RegionImpl region2 = new RegionImpl(2);
+        geoData.addRegion(region1);
+        geoData.addRegion(region2);
+        for (int id = 1; id <= 4; id++) {
+            final RegionImpl region = id < 3 ? region1 : region2;
+            final ZoneImpl zone = new ZoneImpl(id, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+        return geoData;
+    }
+
+    /**
+     * Households of one or two adults with up to three children, each in a dwelling of its own. Most adults of
+     * working age hold a job. A tenth of the dwellings and jobs is vacant. Ids start at 1, as the tracked ids
+     * of {@link de.tum.bgu.msm.utils.SiloUtil} default to 0.
+     */
+    private static void createPopulation(DataContainer dataContainer, Random random) {
+        final HouseholdDataManager householdDataManager = dataContainer.getHouseholdDataManager();
+        final RealEstateDataManager realEstateDataManager = dataContainer.getRealEstateDataManager();
+        final JobDataManager jobDataManager = dataContainer.getJobDataManager();
+        final HouseholdFactory householdFactory = householdDataManager.getHouseholdFactory();
+        final PersonFactory personFactory = householdDataManager.getPersonFactory();
+        final DwellingFactory dwellingFactory = realEstateDataManager.getDwellingFactory();
+        final JobFactory jobFactory = jobDataManager.getFactory();
+        final String[] jobTypes = PROPERTIES.jobData.jobTypes;
+
+        int personId = 1;
+        int jobId = 1;
+        for (int householdId = 1; householdId <= HOUSEHOLDS; householdId++) {
+            final int zone = 1 + random.nextInt(4);
+            realEstateDataManager.addDwelling(dwellingFactory.createDwelling(householdId, zone, null, householdId,
+                    DefaultDwellingTypeImpl.MF234, 2 + random.nextInt(3), 1 + random.nextInt(4),
+                    500 + random.nextInt(1000), 1950 + random.nextInt(60)));
+            final Household household = householdFactory.createHousehold(householdId, householdId, random.nextInt(3));
+            householdDataManager.addHousehold(household);
+
+            final int adults = 1 + random.nextInt(2);
+            final int adultAge = 20 + random.nextInt(75);
+            for (int i = 0; i < adults; i++) {
+                final int age = Math.max(18, adultAge + random.nextInt(7) - 3);
+                final Gender gender = adults == 2 ? (i == 0 ? Gender.MALE : Gender.FEMALE)
+                        : (random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+                final PersonRole role = adults == 2 ? PersonRole.MARRIED : PersonRole.SINGLE;
+                int workplace = -1;
+                Occupation occupation = age >= 65 ? Occupation.RETIREE : Occupation.UNEMPLOYED;
+                if (age < 65 && random.nextDouble() < 0.7) {
+                    workplace = jobId++;
+                    occupation = Occupation.EMPLOYED;
+                    jobDataManager.addJob(jobFactory.createJob(workplace, 1 + random.nextInt(4), null, personId,
+                            jobTypes[random.nextInt(jobTypes.length)]));
+                }
+                final int income = occupation == Occupation.EMPLOYED ? 20000 + random.nextInt(40000) : 0;
+                addPerson(householdDataManager, household,
+                        personFactory.createPerson(personId++, age, gender, occupation, role, workplace, income));
+            }
+            if (adultAge < 50) {
+                final int children = random.nextInt(4);
+                for (int i = 0; i < children; i++) {
+                    final Gender gender = random.nextBoolean() ? Gender.MALE : Gender.FEMALE;
+                    addPerson(householdDataManager, household, personFactory.createPerson(personId++,
+                            random.nextInt(18), gender, Occupation.STUDENT, PersonRole.CHILD, -1, 0));
+                }
+            }
+        }
+        for (int i = 1; i <= HOUSEHOLDS / 10; i++) {
+            realEstateDataManager.addDwelling(dwellingFactory.createDwelling(HOUSEHOLDS + i, 1 + random.nextInt(4),
+                    null, -1, DefaultDwellingTypeImpl.SFD, 3, 2, 1200, 2000));
+            jobDataManager.addJob(jobFactory.createJob(jobId++, 1 + random.nextInt(4), null, -1,
+                    jobTypes[random.nextInt(jobTypes.length)]));
+        }
+    }
+
+    private static void addPerson(HouseholdDataManager householdDataManager, Household household, Person person) {
+        householdDataManager.addPerson(person);
+        householdDataManager.addPersonToHousehold(person, household);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static File createTempFile() throws IOException {
+        final File file = File.createTempFile("microData", ".csv");
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,47 @@
+package de.tum.bgu.msm.data.household;
+
+import de.tum.bgu.msm.data.person.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HouseholdAggregatesTest {
+
+    @Test
+    public void testAggregatesFollowMemberChanges() {
+        Household household = new HouseholdImpl(1, 1, 0);
+        Person parent = createMember(household, 1, Occupation.EMPLOYED, PersonRole.SINGLE, 30000, true);
+        Person child = createMember(household, 2, Occupation.STUDENT, PersonRole.CHILD, 0, false);
+
+        Assert.assertEquals(1, HouseholdUtil.getNumberOfWorkers(household));
+        Assert.assertEquals(1, HouseholdUtil.getNumberOfChildren(household));
+        Assert.assertEquals(1, HouseholdUtil.getHHLicenseHolders(household));
+        Assert.assertEquals(30000, HouseholdUtil.getAnnualHhIncome(household));
+
+        child.setOccupation(Occupation.EMPLOYED);
+        child.setRole(PersonRole.SINGLE);
+        child.setDriverLicense(true);
+        child.setIncome(10000);
+        Assert.assertEquals(2, HouseholdUtil.getNumberOfWorkers(household));
+        Assert.assertEquals(0, HouseholdUtil.getNumberOfChildren(household));
+        Assert.assertEquals(2, HouseholdUtil.getHHLicenseHolders(household));
+        Assert.assertEquals(40000, HouseholdUtil.getAnnualHhIncome(household));
+
+        household.removePerson(parent.getId());
+        Assert.assertEquals(1, HouseholdUtil.getNumberOfWorkers(household));
+        Assert.assertEquals(10000, HouseholdUtil.getAnnualHhIncome(household));
+
+        createMember(household, 3, Occupation.UNEMPLOYED, PersonRole.SINGLE, 5000, true);
+        Assert.assertEquals(1, HouseholdUtil.getNumberOfWorkers(household));
+        Assert.assertEquals(2, HouseholdUtil.getHHLicenseHolders(household));
+        Assert.assertEquals(15000, HouseholdUtil.getAnnualHhIncome(household));
+    }
+
+    private static Person createMember(Household household, int id, Occupation occupation, PersonRole role,
+                                       int income, boolean license) {
+        Person person = new PersonImpl(id, 40, Gender.FEMALE, occupation, role, 0, income);
+        person.setDriverLicense(license);
+        household.addPerson(person);
+        person.setHousehold(household);
+        return person;
+    }
+}
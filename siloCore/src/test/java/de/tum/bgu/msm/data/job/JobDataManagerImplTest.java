@@ -0,0 +1,96 @@
+package de.tum.bgu.msm.data.job;
+
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.properties.Properties;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobDataManagerImplTest {
+
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    private JobDataManager jobDataManager;
+    private JobFactory jobFactory;
+    private String jobType;
+
+    /**
+     * Three zones, zones 1 and 2 belong to region 1, zone 3 to region 2. Job 1 is filled, jobs 2 to 4 are vacant.
+     */
+    @Before
+    public void createJobs() {
+        new JobType(PROPERTIES.jobData.jobTypes);
+        jobType = PROPERTIES.jobData.jobTypes[0];
+        final GeoData geoData = new DefaultGeoData();
+        final RegionImpl region1 = new RegionImpl(1);
+        final RegionImpl region2 = new RegionImpl(2);
+        geoData.addRegion(region1);
+        geoData.addRegion(region2);
+        for (int id = 1; id <= 3; id++) {
+            final RegionImpl region = id < 3 ? region1 : region2;
+            final ZoneImpl zone = new ZoneImpl(id, 10, region);
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        jobDataManager = new JobDataManagerImpl(PROPERTIES, new JobFactoryImpl(), new JobDataImpl(), geoData, null, null);
+        jobFactory = jobDataManager.getFactory();
+        jobDataManager.addJob(jobFactory.createJob(1, 1, null, 100, jobType));
+        jobDataManager.addJob(jobFactory.createJob(2, 1, null, -1, jobType));
+        jobDataManager.addJob(jobFactory.createJob(3, 2, null, -1, jobType));
+        jobDataManager.addJob(jobFactory.createJob(4, 3, null, -1, jobType));
+        jobDataManager.setup();
+    }
+
+    @Test
+    public void testVacantJobsAfterSetup() {
+        assertVacantJobs(new int[]{1, 1, 1}, new int[]{2, 1});
+    }
+
+    @Test
+    public void testAddJob() {
+        jobDataManager.addJob(jobFactory.createJob(5, 3, null, -1, jobType));
+        jobDataManager.addJob(jobFactory.createJob(6, 2, null, 101, jobType));
+        assertVacantJobs(new int[]{1, 1, 2}, new int[]{2, 2});
+    }
+
+    @Test
+    public void testRemoveJob() {
+        jobDataManager.removeJob(2);
+        jobDataManager.removeJob(1);
+        assertVacantJobs(new int[]{0, 1, 1}, new int[]{1, 1});
+        Assert.assertNull(jobDataManager.getJobFromId(2));
+    }
+
+    @Test
+    public void testQuitJob() {
+        final Person person = new PersonFactoryImpl().createPerson(100, 40, Gender.MALE, Occupation.EMPLOYED,
+                PersonRole.SINGLE, 1, 30000);
+        jobDataManager.quitJob(true, person);
+        assertVacantJobs(new int[]{2, 1, 1}, new int[]{3, 1});
+        Assert.assertEquals(-1, person.getJobId());
+        Assert.assertEquals(-1, jobDataManager.getJobFromId(1).getWorkerId());
+    }
+
+    @Test
+    public void testQuitJobWithoutMakingItAvailable() {
+        final Person person = new PersonFactoryImpl().createPerson(100, 40, Gender.MALE, Occupation.EMPLOYED,
+                PersonRole.SINGLE, 1, 30000);
+        jobDataManager.quitJob(false, person);
+        assertVacantJobs(new int[]{1, 1, 1}, new int[]{2, 1});
+    }
+
+    private void assertVacantJobs(int[] byZone, int[] byRegion) {
+        for (int zone = 1; zone <= byZone.length; zone++) {
+            Assert.assertEquals("zone " + zone, byZone[zone - 1], jobDataManager.getNumberOfVacantJobsInZone(zone));
+        }
+        for (int region = 1; region <= byRegion.length; region++) {
+            Assert.assertEquals("region " + region, byRegion[region - 1], jobDataManager.getNumberOfVacantJobsInRegion(region));
+        }
+    }
+}
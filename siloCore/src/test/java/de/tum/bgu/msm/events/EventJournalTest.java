@@ -0,0 +1,81 @@
+package de.tum.bgu.msm.events;
+
+import de.tum.bgu.msm.events.impls.person.BirthEvent;
+import de.tum.bgu.msm.events.impls.person.DeathEvent;
+import de.tum.bgu.msm.events.impls.person.EmploymentEvent;
+import de.tum.bgu.msm.events.impls.person.MarriageEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class EventJournalTest {
+
+    private static final int[] SUMMARY = {2, 5, 3, 2, 11, 104, 3, 1001};
+
+    @Test
+    public void testEventsAreReadInHandlingOrder() throws IOException {
+        Path file = Files.createTempFile("events", ".bin");
+        file.toFile().deleteOnExit();
+
+        List<MicroEvent> created = Arrays.asList(new BirthEvent(1), new BirthEvent(2), new DeathEvent(3),
+                new MarriageEvent(4, 5), new EmploymentEvent(6, EmploymentEvent.Type.QUIT), new BirthEvent(7));
+        int[] order = {5, 2, 0, 4, 3, 1};
+        long[] seeds = {11, 12, 13, 14, 15, 16};
+        boolean[] success = {true, false, true, true, false, true};
+        Random random = new Random(42);
+
+        EventJournalWriter writer = EventJournalWriter.open(file.toString(), false);
+        writer.writeYear(2011, SUMMARY, EventJournalWriter.encode(created.subList(0, 2)), new int[]{1, 0},
+                new long[]{1, 2}, new boolean[]{true, true}, EventJournalWriter.serialize(new Random(1)));
+        writer.writeYear(2012, SUMMARY, EventJournalWriter.encode(created), order, seeds, success, EventJournalWriter.serialize(random));
+        writer.close();
+
+        // a resumed run appends year 2011 again, which replaces the first block
+        writer = EventJournalWriter.open(file.toString(), true);
+        writer.writeYear(2011, SUMMARY, EventJournalWriter.encode(created.subList(2, 3)), new int[]{0},
+                new long[]{3}, new boolean[]{false}, EventJournalWriter.serialize(new Random(1)));
+        writer.close();
+
+        EventJournalReader reader = EventJournalReader.open(file.toString());
+        Assert.assertTrue(reader.hasYear(2011));
+        Assert.assertTrue(!reader.hasYear(2013));
+        Assert.assertEquals(1, reader.readYear(2011).getSeeds().length);
+
+        EventJournalReader.JournaledYear year = reader.readYear(2012);
+        for (Class<? extends MicroEvent> eventClass : Arrays.asList(BirthEvent.class, DeathEvent.class,
+                MarriageEvent.class, EmploymentEvent.class)) {
+            year.decode(eventClass, null);
+        }
+        List<MicroEvent> events = year.getEvents();
+        Assert.assertEquals(7, ((BirthEvent) events.get(0)).getPersonId());
+        Assert.assertEquals(3, ((DeathEvent) events.get(1)).getPersonId());
+        Assert.assertEquals(1, ((BirthEvent) events.get(2)).getPersonId());
+        Assert.assertEquals(EmploymentEvent.Type.QUIT, ((EmploymentEvent) events.get(3)).getType());
+        Assert.assertEquals(5, ((MarriageEvent) events.get(4)).getSecondId());
+        Assert.assertEquals(2, ((BirthEvent) events.get(5)).getPersonId());
+        Assert.assertTrue(Arrays.equals(seeds, year.getSeeds()));
+        Assert.assertTrue(Arrays.equals(success, year.getSuccess()));
+        Assert.assertEquals(random.nextLong(), year.getRandom().nextLong());
+        Assert.assertArrayEquals(SUMMARY, year.getMicroDataSummary());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testEventsWithoutModelAreRejected() throws IOException {
+        Path file = Files.createTempFile("events", ".bin");
+        file.toFile().deleteOnExit();
+        EventJournalWriter writer = EventJournalWriter.open(file.toString(), false);
+        writer.writeYear(2011, SUMMARY, EventJournalWriter.encode(Arrays.asList(new BirthEvent(1), new DeathEvent(2))),
+                new int[]{0, 1}, new long[]{1, 2}, new boolean[]{true, true}, EventJournalWriter.serialize(new Random(1)));
+        writer.close();
+
+        EventJournalReader.JournaledYear year = EventJournalReader.open(file.toString()).readYear(2011);
+        year.decode(BirthEvent.class, null);
+        year.getEvents();
+    }
+}
@@ -0,0 +1,68 @@
+package de.tum.bgu.msm.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ColumnarTableTest {
+
+    private static final String[] TYPES = {"SFD", "SFA", "MF234", "MF5plus", "MH", null};
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertRoundTrip(true);
+        assertRoundTrip(false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongColumnType() throws IOException {
+        File file = File.createTempFile("table", ".col");
+        file.deleteOnExit();
+        ColumnarTableWriter writer = new ColumnarTableWriter(true);
+        writer.addIntColumn("id").add(1);
+        writer.write(file.getPath());
+        ColumnarTableReader.open(file.getPath()).readDoubleColumn("id");
+    }
+
+    private static void assertRoundTrip(boolean compress) throws IOException {
+        Random random = new Random(42);
+        int rows = 100000;
+        int[] ids = new int[rows];
+        int[] households = new int[rows];
+        double[] coordinates = new double[rows];
+        String[] types = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = random.nextInt();
+            households[i] = i / 3;
+            coordinates[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble() * 1e6;
+            types[i] = TYPES[random.nextInt(TYPES.length)];
+        }
+
+        File file = File.createTempFile("table", ".col");
+        file.deleteOnExit();
+        ColumnarTableWriter writer = new ColumnarTableWriter(compress);
+        ColumnarTableWriter.IntColumn id = writer.addIntColumn("id");
+        ColumnarTableWriter.IntColumn household = writer.addIntColumn("hhid");
+        ColumnarTableWriter.DoubleColumn coordinate = writer.addDoubleColumn("coordX");
+        ColumnarTableWriter.StringColumn type = writer.addStringColumn("type");
+        for (int i = 0; i < rows; i++) {
+            id.add(ids[i]);
+            household.add(households[i]);
+            coordinate.add(coordinates[i]);
+            type.add(types[i]);
+        }
+        writer.write(file.getPath());
+
+        ColumnarTableReader reader = ColumnarTableReader.open(file.getPath());
+        Assert.assertEquals(rows, reader.getRowCount());
+        Assert.assertEquals(Arrays.asList("id", "hhid", "coordX", "type"), reader.getColumnNames());
+        Assert.assertArrayEquals(types, reader.readStringColumn("type"));
+        Assert.assertArrayEquals(households, reader.readIntColumn("hhid"));
+        Assert.assertArrayEquals(ids, reader.readIntColumn("id"));
+        Assert.assertArrayEquals(coordinates, reader.readDoubleColumn("coordX"), 0.);
+    }
+}
@@ -0,0 +1,241 @@
+package de.tum.bgu.msm.io;
+
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.container.ModelContainer;
+import de.tum.bgu.msm.data.SnapshotAttributes;
+import de.tum.bgu.msm.data.Zone;
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.development.DevelopmentImpl;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.models.AbstractModel;
+import de.tum.bgu.msm.models.ModelUpdateListener;
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.utils.SiloUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes a snapshot of a small data set and reads it into an empty data container, which must then hold the same
+ * micro data, distributions and random number generators.
+ */
+public class MicroDataSnapshotTest {
+
+    // household types depend on the income brackets of the properties, which may only be initialized once per jvm
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        final Map<Integer, Double> restrictions = new HashMap<>();
+        final DataContainer original = createDataContainer(restrictions, 1000);
+        fillMicroData(original, restrictions);
+
+        final Map<Integer, Double> initialQualShares = new HashMap<>();
+        initialQualShares.put(1, 0.25);
+        initialQualShares.put(3, 0.75);
+        original.getRealEstateDataManager().setInitialQualShares(initialQualShares);
+        for (IncomeCategory incomeCategory : IncomeCategory.values()) {
+            original.getRealEstateDataManager().setRentPaymentsForIncomeGroup(incomeCategory,
+                    Collections.singletonMap(incomeCategory.ordinal(), 1.f));
+        }
+        final float[][][] incomeDistribution = {{{100, 200}, {300, 400}}, {{500, 600}, {700, 800}}};
+        original.getHouseholdDataManager().setInitialIncomeDistribution(incomeDistribution);
+        RealEstateDataManagerImpl.largestNoBedrooms = 4;
+
+        SiloUtil.setRandomObject(new Random(42));
+        final RandomModel sharedRandomModel = new RandomModel(SiloUtil.getRandomObject());
+        final RandomModel ownRandomModel = new RandomModel(new Random(7));
+
+        final File file = File.createTempFile("snapshot", ".bin");
+        file.deleteOnExit();
+        MicroDataSnapshot.write(file.getPath(), 2012, original, createModelContainer(sharedRandomModel, ownRandomModel));
+        final String expected = describe(original, restrictions);
+
+        // the distributions are static or shared and have to be restored from the snapshot
+        for (IncomeCategory incomeCategory : IncomeCategory.values()) {
+            original.getRealEstateDataManager().setRentPaymentsForIncomeGroup(incomeCategory, Collections.emptyMap());
+        }
+        RealEstateDataManagerImpl.largestNoBedrooms = 0;
+        SiloUtil.setRandomObject(new Random(0));
+
+        final Map<Integer, Double> readRestrictions = new HashMap<>();
+        final DataContainer resumed = createDataContainer(readRestrictions, 0);
+        final RandomModel resumedSharedRandomModel = new RandomModel(new Random(0));
+        final RandomModel resumedOwnRandomModel = new RandomModel(new Random(0));
+        final MicroDataSnapshot snapshot = MicroDataSnapshot.read(file.getPath(), resumed);
+        snapshot.restoreState(resumed, createModelContainer(resumedSharedRandomModel, resumedOwnRandomModel));
+
+        Assert.assertEquals(2012, snapshot.getYear());
+        Assert.assertEquals(expected, describe(resumed, readRestrictions));
+        Assert.assertEquals(initialQualShares, resumed.getRealEstateDataManager().getInitialQualShares());
+        for (IncomeCategory incomeCategory : IncomeCategory.values()) {
+            Assert.assertEquals(Collections.singletonMap(incomeCategory.ordinal(), 1.f),
+                    resumed.getRealEstateDataManager().getRentPaymentsForIncomeGroup(incomeCategory));
+        }
+        Assert.assertTrue(Arrays.deepEquals(incomeDistribution, resumed.getHouseholdDataManager().getInitialIncomeDistribution()));
+        Assert.assertEquals(4, RealEstateDataManagerImpl.largestNoBedrooms);
+
+        Assert.assertSame(SiloUtil.getRandomObject(), resumedSharedRandomModel.getRandom());
+        Assert.assertEquals(new Random(42).nextDouble(), SiloUtil.getRandomObject().nextDouble(), 0.);
+        Assert.assertEquals(new Random(7).nextDouble(), resumedOwnRandomModel.getRandom().nextDouble(), 0.);
+    }
+
+    @Test
+    public void testRestoreFailsForDifferentModels() throws IOException {
+        final DataContainer original = createDataContainer(new HashMap<>(), 1000);
+        original.getHouseholdDataManager().setInitialIncomeDistribution(new float[0][][]);
+        final File file = File.createTempFile("snapshot", ".bin");
+        file.deleteOnExit();
+        MicroDataSnapshot.write(file.getPath(), 2012, original, createModelContainer(new RandomModel(new Random(1))));
+
+        final DataContainer resumed = createDataContainer(new HashMap<>(), 0);
+        final MicroDataSnapshot snapshot = MicroDataSnapshot.read(file.getPath(), resumed);
+        try {
+            snapshot.restoreState(resumed, createModelContainer());
+            Assert.fail("Restoring a snapshot written with other models must fail.");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Snapshot was written with models"));
+        }
+    }
+
+    private static DataContainer createDataContainer(Map<Integer, Double> restrictions, int dwellingCapacity) {
+        final GeoData geoData = new DefaultGeoData();
+        final RegionImpl region = new RegionImpl(1);
+        geoData.addRegion(region);
+        for (int id = 1; id <= 2; id++) {
+            final ZoneImpl zone = new ZoneImpl(id, 10, region);
+            final Map<DwellingType, Boolean> constraints = new HashMap<>();
+            for (DwellingType type : DefaultDwellingTypeImpl.values()) {
+                constraints.put(type, type != DefaultDwellingTypeImpl.MH);
+            }
+            zone.setDevelopment(new DevelopmentImpl(dwellingCapacity * 0.5 * id, dwellingCapacity * id, constraints, true));
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        final DwellingData dwellingData = new DwellingDataImpl();
+        final HouseholdData householdData = new HouseholdDataImpl();
+        final DwellingFactory dwellingFactory = new DwellingFactoryImpl() {
+            @Override
+            public SnapshotAttributes<Dwelling> getSnapshotAttributes() {
+                return new SnapshotAttributes<Dwelling>()
+                        .add("restriction", dd -> restrictions.get(dd.getId()), (dd, value) -> restrictions.put(dd.getId(), value));
+            }
+        };
+        final RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(DefaultDwellingTypeImpl.values(),
+                dwellingData, householdData, geoData, dwellingFactory, PROPERTIES);
+        final JobDataManager jobDataManager = new JobDataManagerImpl(PROPERTIES, new JobFactoryImpl(), new JobDataImpl(),
+                geoData, null, null);
+        final HouseholdDataManager householdDataManager = new HouseholdDataManagerImpl(householdData, dwellingData,
+                new PersonFactoryImpl(), new HouseholdFactoryImpl(), PROPERTIES, realEstateDataManager);
+        return new DefaultDataContainer(geoData, realEstateDataManager, jobDataManager, householdDataManager,
+                null, null, null, PROPERTIES);
+    }
+
+    private static void fillMicroData(DataContainer dataContainer, Map<Integer, Double> restrictions) {
+        final RealEstateDataManager realEstate = dataContainer.getRealEstateDataManager();
+        final DwellingFactory dwellingFactory = realEstate.getDwellingFactory();
+        final Dwelling dwelling1 = dwellingFactory.createDwelling(1, 1, new Coordinate(1.5, 2.5), 10, DefaultDwellingTypeImpl.SFD, 3, 2, 900, 1990);
+        dwelling1.setFloorSpace(120);
+        realEstate.addDwelling(dwelling1);
+        final Dwelling dwelling2 = dwellingFactory.createDwelling(2, 2, null, 11, DefaultDwellingTypeImpl.MF234, 2, 3, 700, 2005);
+        dwelling2.setUsage(DwellingUsage.OWNED);
+        realEstate.addDwelling(dwelling2);
+        realEstate.addDwelling(dwellingFactory.createDwelling(3, 2, null, -1, DefaultDwellingTypeImpl.MF5plus, 1, 1, 500, 1970));
+        restrictions.put(1, 0.);
+        restrictions.put(2, -0.5);
+        restrictions.put(3, 1.25);
+
+        final HouseholdDataManager households = dataContainer.getHouseholdDataManager();
+        final Household household1 = households.getHouseholdFactory().createHousehold(10, 1, 2);
+        households.addHousehold(household1);
+        final Household household2 = households.getHouseholdFactory().createHousehold(11, 2, 0);
+        households.addHousehold(household2);
+        final PersonFactory personFactory = households.getPersonFactory();
+        final Person person1 = personFactory.createPerson(100, 40, Gender.MALE, Occupation.EMPLOYED, PersonRole.MARRIED, 1000, 30000);
+        person1.setDriverLicense(true);
+        final Person person2 = personFactory.createPerson(101, 38, Gender.FEMALE, Occupation.UNEMPLOYED, PersonRole.MARRIED, -1, 0);
+        final Person person3 = personFactory.createPerson(102, 22, Gender.FEMALE, Occupation.STUDENT, PersonRole.SINGLE, -1, 5000);
+        for (Person person : new Person[]{person1, person2}) {
+            households.addPerson(person);
+            households.addPersonToHousehold(person, household1);
+        }
+        households.addPerson(person3);
+        households.addPersonToHousehold(person3, household2);
+        households.setHighestIdsInUse(11, 102);
+        realEstate.setHighestDwellingIdInUse(3);
+
+        final JobDataManager jobs = dataContainer.getJobDataManager();
+        jobs.addJob(jobs.getFactory().createJob(1000, 1, new Coordinate(3, 4), 100, "RETAIL"));
+        jobs.addJob(jobs.getFactory().createJob(1001, 2, null, -1, "OFFICE"));
+        jobs.setHighestJobIdInUse(1001);
+    }
+
+    private static ModelContainer createModelContainer(RandomModel... models) {
+        final ModelContainer modelContainer = new ModelContainer(null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null);
+        for (RandomModel model : models) {
+            modelContainer.registerModelUpdateListener(model);
+        }
+        return modelContainer;
+    }
+
+    private static String describe(DataContainer dataContainer, Map<Integer, Double> restrictions) {
+        final StringBuilder builder = new StringBuilder();
+        final HouseholdDataManager households = dataContainer.getHouseholdDataManager();
+        builder.append(households.getHighestHouseholdIdInUse()).append(',').append(households.getHighestPersonIdInUse())
+                .append(',').append(dataContainer.getRealEstateDataManager().getHighestDwellingIdInUse())
+                .append(',').append(dataContainer.getJobDataManager().getHighestJobIdInUse()).append('\n');
+        for (Zone zone : dataContainer.getGeoData().getZones().values()) {
+            builder.append("zone ").append(zone.getZoneId()).append(',').append(zone.getDevelopment().getDevelopableArea())
+                    .append(',').append(zone.getDevelopment().getDwellingCapacity())
+                    .append(',').append(zone.getDevelopment().isThisDwellingTypeAllowed(DefaultDwellingTypeImpl.MH)).append('\n');
+        }
+        final List<Dwelling> dwellings = new ArrayList<>(dataContainer.getRealEstateDataManager().getDwellings());
+        dwellings.sort(Comparator.comparingInt(Dwelling::getId));
+        for (Dwelling dd : dwellings) {
+            builder.append("dd ").append(dd.getId()).append(',').append(dd.getZoneId()).append(',').append(dd.getResidentId())
+                    .append(',').append(dd.getType()).append(',').append(dd.getBedrooms()).append(',').append(dd.getQuality())
+                    .append(',').append(dd.getPrice()).append(',').append(dd.getYearBuilt()).append(',').append(dd.getFloorSpace())
+                    .append(',').append(dd.getUsage()).append(',').append(dd.getCoordinate())
+                    .append(',').append(restrictions.get(dd.getId())).append('\n');
+        }
+        final List<Household> householdList = new ArrayList<>(households.getHouseholds());
+        householdList.sort(Comparator.comparingInt(Household::getId));
+        for (Household hh : householdList) {
+            builder.append("hh ").append(hh.getId()).append(',').append(hh.getDwellingId()).append(',').append(hh.getAutos()).append('\n');
+            for (Person pp : hh.getPersons().values()) {
+                builder.append(" pp ").append(pp.getId()).append(',').append(pp.getHousehold().getId()).append(',').append(pp.getAge())
+                        .append(',').append(pp.getGender()).append(',').append(pp.getOccupation()).append(',').append(pp.getRole())
+                        .append(',').append(pp.getJobId()).append(',').append(pp.getAnnualIncome())
+                        .append(',').append(pp.hasDriverLicense()).append('\n');
+            }
+        }
+        final List<Job> jobs = new ArrayList<>(dataContainer.getJobDataManager().getJobs());
+        jobs.sort(Comparator.comparingInt(Job::getId));
+        for (Job jj : jobs) {
+            builder.append("jj ").append(jj.getId()).append(',').append(jj.getZoneId()).append(',').append(jj.getWorkerId())
+                    .append(',').append(jj.getType()).append(',').append(jj.getCoordinate()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static final class RandomModel extends AbstractModel implements ModelUpdateListener {
+
+        private RandomModel(Random random) {
+            super(null, PROPERTIES, random);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package de.tum.bgu.msm.io.output;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class AsyncOutputWriterTest {
+
+    @Test
+    public void testSameContentAsStrings() throws IOException {
+        Path file = Files.createTempFile("records", ".csv");
+        file.toFile().deleteOnExit();
+        assertSameContent(file, false);
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        Path file = Files.createTempFile("records", ".csv.gz");
+        file.toFile().deleteOnExit();
+        assertSameContent(file, true);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterClose() throws IOException {
+        Path file = Files.createTempFile("records", ".csv");
+        file.toFile().deleteOnExit();
+        AsyncOutputWriter writer = AsyncOutputWriter.open(file, false);
+        writer.close();
+        writer.writeRecord(1);
+    }
+
+    private static void assertSameContent(Path file, boolean gzip) throws IOException {
+        Random random = new Random(42);
+        StringBuilder expected = new StringBuilder();
+        AsyncOutputWriter writer = AsyncOutputWriter.open(file, false);
+        writer.writeLine("a,b,c");
+        expected.append("a,b,c\n");
+        writer.writeRecord(Integer.MIN_VALUE, Integer.MAX_VALUE, 0);
+        expected.append(Integer.MIN_VALUE).append(',').append(Integer.MAX_VALUE).append(",0\n");
+        writer.writeRecord(Long.MIN_VALUE, Long.MAX_VALUE, -1L);
+        expected.append(Long.MIN_VALUE).append(',').append(Long.MAX_VALUE).append(",-1\n");
+        for (int i = 0; i < 200000; i++) {
+            int a = random.nextInt();
+            int b = random.nextInt(1000) - 500;
+            writer.writeRecord(i, a, b);
+            expected.append(i).append(',').append(a).append(',').append(b).append('\n');
+        }
+        PrintWriter printWriter = writer.asPrintWriter();
+        printWriter.print("Zone,M\u00fcnchen,\u20ac,\ud83d\ude00");
+        printWriter.flush();
+        expected.append("Zone,M\u00fcnchen,\u20ac,\ud83d\ude00");
+        AsyncOutputWriter.closeAll();
+
+        try (InputStream input = gzip ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            Assert.assertEquals(expected.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+}
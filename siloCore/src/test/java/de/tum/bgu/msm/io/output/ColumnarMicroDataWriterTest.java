@@ -0,0 +1,209 @@
+package de.tum.bgu.msm.io.output;
+
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.development.DevelopmentImpl;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.io.ColumnarTableReader;
+import de.tum.bgu.msm.properties.Properties;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Writes a small data set with the default csv writers and the columnar writers. Rendered in the csv format, the
+ * columnar tables have to hold the same header and rows as the csv files.
+ */
+public class ColumnarMicroDataWriterTest {
+
+    // household types depend on the income brackets of the properties, which may only be initialized once per jvm
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    private HouseholdData householdData;
+    private HouseholdDataManager householdDataManager;
+    private RealEstateDataManager realEstateDataManager;
+    private JobDataManager jobDataManager;
+
+    @Before
+    public void createMicroData() {
+        new JobType(new String[]{"RETAIL", "OFFICE"});
+        final GeoData geoData = new DefaultGeoData();
+        final Map<DwellingType, Boolean> constraints = new HashMap<>();
+        for (DwellingType type : DefaultDwellingTypeImpl.values()) {
+            constraints.put(type, true);
+        }
+        final RegionImpl region = new RegionImpl(1);
+        geoData.addRegion(region);
+        for (int id = 1; id <= 2; id++) {
+            final ZoneImpl zone = new ZoneImpl(id, 10, region);
+            zone.setDevelopment(new DevelopmentImpl(20., 10, constraints, true));
+            region.addZone(zone);
+            geoData.addZone(zone);
+        }
+
+        final DwellingData dwellingData = new DwellingDataImpl();
+        householdData = new HouseholdDataImpl();
+        realEstateDataManager = new RealEstateDataManagerImpl(DefaultDwellingTypeImpl.values(), dwellingData,
+                householdData, geoData, new DwellingFactoryImpl(), PROPERTIES);
+        jobDataManager = new JobDataManagerImpl(PROPERTIES, new JobFactoryImpl(), new JobDataImpl(), geoData, null, null);
+        householdDataManager = new HouseholdDataManagerImpl(householdData, dwellingData, new PersonFactoryImpl(),
+                new HouseholdFactoryImpl(), PROPERTIES, realEstateDataManager);
+
+        final DwellingFactory dwellingFactory = realEstateDataManager.getDwellingFactory();
+        realEstateDataManager.addDwelling(dwellingFactory.createDwelling(1, 1, new Coordinate(4468.5, 5333.25), 10,
+                DefaultDwellingTypeImpl.SFD, 3, 1, 900, 1990));
+        realEstateDataManager.addDwelling(dwellingFactory.createDwelling(2, 2, null, 11,
+                DefaultDwellingTypeImpl.MF234, 2, 3, 600, 2005));
+        realEstateDataManager.addDwelling(dwellingFactory.createDwelling(3, 2, null, -1,
+                DefaultDwellingTypeImpl.MF234, 1, 3, 300, 1970));
+
+        final JobFactory jobFactory = jobDataManager.getFactory();
+        jobDataManager.addJob(jobFactory.createJob(1000, 2, new Coordinate(12.75, 3.5), 100, "RETAIL"));
+        jobDataManager.addJob(jobFactory.createJob(1001, 1, null, 104, "OFFICE"));
+        jobDataManager.addJob(jobFactory.createJob(1002, 1, null, -1, "OFFICE"));
+
+        final PersonFactory personFactory = householdDataManager.getPersonFactory();
+        final Household household1 = householdDataManager.getHouseholdFactory().createHousehold(10, 1, 2);
+        householdDataManager.addHousehold(household1);
+        addPerson(household1, personFactory.createPerson(100, 40, Gender.MALE, Occupation.EMPLOYED, PersonRole.MARRIED, 1000, 30000), true);
+        addPerson(household1, personFactory.createPerson(101, 38, Gender.FEMALE, Occupation.UNEMPLOYED, PersonRole.MARRIED, -1, 0), true);
+        addPerson(household1, personFactory.createPerson(102, 8, Gender.MALE, Occupation.STUDENT, PersonRole.CHILD, -1, 0), false);
+        final Household household2 = householdDataManager.getHouseholdFactory().createHousehold(11, 2, 0);
+        householdDataManager.addHousehold(household2);
+        addPerson(household2, personFactory.createPerson(104, 25, Gender.FEMALE, Occupation.EMPLOYED, PersonRole.SINGLE, 1001, 25000), false);
+        addPerson(household2, personFactory.createPerson(103, 70, Gender.FEMALE, Occupation.RETIREE, PersonRole.SINGLE, -1, 15000), true);
+    }
+
+    @Test
+    public void testHouseholds() throws IOException {
+        final File csv = createTempFile(".csv");
+        final File columnar = createTempFile(".col");
+        new DefaultHouseholdWriter(householdDataManager).writeHouseholds(csv.getPath());
+        new ColumnarHouseholdWriter(householdDataManager, true).writeHouseholds(columnar.getPath());
+
+        final ColumnarTableReader table = ColumnarTableReader.open(columnar.getPath());
+        final int[] ids = table.readIntColumn("id");
+        final int[] dwellings = table.readIntColumn("dwelling");
+        final int[] sizes = table.readIntColumn("hhSize");
+        final int[] autos = table.readIntColumn("autos");
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < table.getRowCount(); i++) {
+            rows.add(ids[i] + "," + dwellings[i] + "," + sizes[i] + "," + autos[i]);
+        }
+        assertSameContent(csv, table, rows);
+    }
+
+    @Test
+    public void testPersons() throws IOException {
+        final File csv = createTempFile(".csv");
+        final File columnar = createTempFile(".col");
+        new DefaultPersonWriter(householdData).writePersons(csv.getPath());
+        new ColumnarPersonWriter(householdData, false).writePersons(columnar.getPath());
+
+        final ColumnarTableReader table = ColumnarTableReader.open(columnar.getPath());
+        final int[] ids = table.readIntColumn("id");
+        final int[] households = table.readIntColumn("hhid");
+        final int[] ages = table.readIntColumn("age");
+        final int[] genders = table.readIntColumn("gender");
+        final String[] roles = table.readStringColumn("relationShip");
+        final int[] occupations = table.readIntColumn("occupation");
+        final int[] licenses = table.readIntColumn("driversLicense");
+        final int[] workplaces = table.readIntColumn("workplace");
+        final int[] incomes = table.readIntColumn("income");
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < table.getRowCount(); i++) {
+            rows.add(ids[i] + "," + households[i] + "," + ages[i] + "," + genders[i] + ",\"" + roles[i] + "\","
+                    + occupations[i] + "," + (licenses[i] == 1) + "," + workplaces[i] + "," + incomes[i]);
+        }
+        assertSameContent(csv, table, rows);
+    }
+
+    @Test
+    public void testDwellings() throws IOException {
+        final File csv = createTempFile(".csv");
+        final File columnar = createTempFile(".col");
+        new DefaultDwellingWriter(realEstateDataManager).writeDwellings(csv.getPath());
+        new ColumnarDwellingWriter(realEstateDataManager, true).writeDwellings(columnar.getPath());
+
+        final ColumnarTableReader table = ColumnarTableReader.open(columnar.getPath());
+        final int[] ids = table.readIntColumn("id");
+        final int[] zones = table.readIntColumn("zone");
+        final String[] types = table.readStringColumn("type");
+        final int[] households = table.readIntColumn("hhID");
+        final int[] bedrooms = table.readIntColumn("bedrooms");
+        final int[] qualities = table.readIntColumn("quality");
+        final int[] costs = table.readIntColumn("monthlyCost");
+        final int[] years = table.readIntColumn("yearBuilt");
+        final double[] x = table.readDoubleColumn("coordX");
+        final double[] y = table.readDoubleColumn("coordY");
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < table.getRowCount(); i++) {
+            rows.add(ids[i] + "," + zones[i] + ",\"" + types[i] + "\"," + households[i] + "," + bedrooms[i] + ","
+                    + qualities[i] + "," + costs[i] + "," + years[i] + "," + toCsv(x[i], y[i]));
+        }
+        assertSameContent(csv, table, rows);
+    }
+
+    @Test
+    public void testJobs() throws IOException {
+        final File csv = createTempFile(".csv");
+        final File columnar = createTempFile(".col");
+        new DefaultJobWriter(jobDataManager).writeJobs(csv.getPath());
+        new ColumnarJobWriter(jobDataManager, false).writeJobs(columnar.getPath());
+
+        final ColumnarTableReader table = ColumnarTableReader.open(columnar.getPath());
+        final int[] ids = table.readIntColumn("id");
+        final int[] zones = table.readIntColumn("zone");
+        final int[] workers = table.readIntColumn("personId");
+        final String[] types = table.readStringColumn("type");
+        final double[] x = table.readDoubleColumn("coordX");
+        final double[] y = table.readDoubleColumn("coordY");
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < table.getRowCount(); i++) {
+            rows.add(ids[i] + "," + zones[i] + "," + workers[i] + ",\"" + types[i] + "\"," + toCsv(x[i], y[i]));
+        }
+        assertSameContent(csv, table, rows);
+    }
+
+    private void addPerson(Household household, Person person, boolean driverLicense) {
+        person.setDriverLicense(driverLicense);
+        householdDataManager.addPerson(person);
+        householdDataManager.addPersonToHousehold(person, household);
+    }
+
+    private static String toCsv(double x, double y) {
+        return Double.isNaN(x) ? "NULL,NULL" : x + "," + y;
+    }
+
+    /**
+     * Compares the header and the rows of the csv file with the column names and the rendered rows of the table.
+     * The person writers iterate the persons in a different order, the rows are therefore compared as sorted lists.
+     */
+    private static void assertSameContent(File csv, ColumnarTableReader table, List<String> rows) throws IOException {
+        final List<String> lines = new ArrayList<>(Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8));
+        Assert.assertEquals(lines.remove(0), String.join(",", table.getColumnNames()));
+        Collections.sort(lines);
+        final List<String> sortedRows = new ArrayList<>(rows);
+        Collections.sort(sortedRows);
+        Assert.assertEquals(lines, sortedRows);
+    }
+
+    private static File createTempFile(String suffix) throws IOException {
+        final File file = File.createTempFile("microData", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,145 @@
+package de.tum.bgu.msm.io.output;
+
+import com.google.common.collect.LinkedHashMultiset;
+import com.google.common.collect.Multiset;
+import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.accessibility.AccessibilityTest;
+import de.tum.bgu.msm.data.development.DevelopmentImpl;
+import de.tum.bgu.msm.data.dwelling.*;
+import de.tum.bgu.msm.data.geo.DefaultGeoData;
+import de.tum.bgu.msm.data.geo.GeoData;
+import de.tum.bgu.msm.data.geo.RegionImpl;
+import de.tum.bgu.msm.data.geo.ZoneImpl;
+import de.tum.bgu.msm.data.household.*;
+import de.tum.bgu.msm.data.job.*;
+import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
+import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.events.impls.household.MoveEvent;
+import de.tum.bgu.msm.events.impls.person.BirthDayEvent;
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.util.matrices.IndexedDoubleMatrix2D;
+import junitx.framework.FileAssert;
+import org.junit.Test;
+import org.matsim.api.core.v01.TransportMode;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the default results monitors on a small data set. The reference files in test/input/resultsMonitor hold the
+ * output of the monitors before they shared one aggregation, when every monitor scanned the micro data on its own.
+ */
+public class ResultsMonitorTest {
+
+    // household types depend on the income brackets of the properties, which may only be initialized once per jvm
+    private static final Properties PROPERTIES = AccessibilityTest.PROPERTIES;
+
+    private static final String[] MULTI_FILE_RESULTS = {"popYear.csv", "hhType.csv", "hhSize.csv", "aveHhSize.csv",
+            "hhAveIncome.csv", "labourParticipationRate.csv", "commutingDistance.csv", "carOwnership.csv",
+            "dwellings.csv", "landRegions.csv", "eventCounts.csv"};
+
+    @Test
+    public void testMonitorsReproduceReferenceOutput() {
+        // the reference files were written with a decimal point
+        Locale.setDefault(Locale.US);
+        new JobType(new String[]{"RETAIL", "OFFICE"});
+        final DataContainer dataContainer = createDataContainer();
+        fillMicroData(dataContainer);
+        dataContainer.getRealEstateDataManager().prepareYear(PROPERTIES.main.baseYear);
+
+        final ResultsMonitor defaultMonitor = new DefaultResultsMonitor(dataContainer, PROPERTIES);
+        final ResultsMonitor multiFileMonitor = new MultiFileResultsMonitor(dataContainer, PROPERTIES);
+        final MicroDataAggregation aggregation = new MicroDataAggregation(dataContainer);
+        defaultMonitor.setup(aggregation);
+        multiFileMonitor.setup(aggregation);
+
+        final Multiset<Class<? extends MicroEvent>> eventCounter = LinkedHashMultiset.create();
+        eventCounter.add(BirthDayEvent.class, 3);
+        eventCounter.add(MoveEvent.class);
+        aggregation.aggregate(PROPERTIES.main.baseYear);
+        defaultMonitor.endYear(PROPERTIES.main.baseYear, eventCounter);
+        multiFileMonitor.endYear(PROPERTIES.main.baseYear, eventCounter);
+        defaultMonitor.endSimulation();
+        multiFileMonitor.endSimulation();
+
+        final String output = PROPERTIES.main.baseDirectory + "scenOutput/" + PROPERTIES.main.scenarioName + "/";
+        FileAssert.assertEquals("resultFile.csv is different.", new File("./test/input/resultsMonitor/resultFile.csv"),
+                new File(output + "resultFile.csv"));
+        for (String file : MULTI_FILE_RESULTS) {
+            FileAssert.assertEquals(file + " is different.", new File("./test/input/resultsMonitor/siloResults/" + file),
+                    new File(output + "siloResults/" + file));
+        }
+    }
+
+    private static DataContainer createDataContainer() {
+        final GeoData geoData = new DefaultGeoData();
+        final Map<DwellingType, Boolean> constraints = new HashMap<>();
+        for (DwellingType type : DefaultDwellingTypeImpl.values()) {
+            constraints.put(type, true);
+        }
+        final RegionImpl region1 = new RegionImpl(1);
+        geoData.addRegion(region1);
+        final ZoneImpl zone1 = new ZoneImpl(1, 10, region1);
+        zone1.setDevelopment(new DevelopmentImpl(20., 10, constraints, true));
+        region1.addZone(zone1);
+        geoData.addZone(zone1);
+        final RegionImpl region2 = new RegionImpl(2);
+        geoData.addRegion(region2);
+        final ZoneImpl zone2 = new ZoneImpl(2, 10, region2);
+        zone2.setDevelopment(new DevelopmentImpl(25.5, 4, constraints, false));
+        region2.addZone(zone2);
+        geoData.addZone(zone2);
+
+        final IndexedDoubleMatrix2D skim = new IndexedDoubleMatrix2D(geoData.getZones().values(), geoData.getZones().values());
+        skim.setIndexed(1, 1, 1.5);
+        skim.setIndexed(1, 2, 12.5);
+        skim.setIndexed(2, 1, 20.25);
+        skim.setIndexed(2, 2, 3.);
+        final SkimTravelTimes travelTimes = new SkimTravelTimes();
+        travelTimes.updateSkimMatrix(skim, TransportMode.car);
+
+        final DwellingData dwellingData = new DwellingDataImpl();
+        final HouseholdData householdData = new HouseholdDataImpl();
+        final RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(DefaultDwellingTypeImpl.values(),
+                dwellingData, householdData, geoData, new DwellingFactoryImpl(), PROPERTIES);
+        final JobDataManager jobDataManager = new JobDataManagerImpl(PROPERTIES, new JobFactoryImpl(), new JobDataImpl(),
+                geoData, null, null);
+        final HouseholdDataManager householdDataManager = new HouseholdDataManagerImpl(householdData, dwellingData,
+                new PersonFactoryImpl(), new HouseholdFactoryImpl(), PROPERTIES, realEstateDataManager);
+        return new DefaultDataContainer(geoData, realEstateDataManager, jobDataManager, householdDataManager,
+                travelTimes, null, null, PROPERTIES);
+    }
+
+    private static void fillMicroData(DataContainer dataContainer) {
+        final RealEstateDataManager realEstate = dataContainer.getRealEstateDataManager();
+        final DwellingFactory dwellingFactory = realEstate.getDwellingFactory();
+        realEstate.addDwelling(dwellingFactory.createDwelling(1, 1, null, 10, DefaultDwellingTypeImpl.SFD, 3, 1, 900, 1990));
+        realEstate.addDwelling(dwellingFactory.createDwelling(2, 2, null, 11, DefaultDwellingTypeImpl.MF234, 2, 3, 600, 2005));
+        realEstate.addDwelling(dwellingFactory.createDwelling(3, 2, null, -1, DefaultDwellingTypeImpl.MF234, 1, 3, 300, 1970));
+
+        final JobDataManager jobs = dataContainer.getJobDataManager();
+        jobs.addJob(jobs.getFactory().createJob(1000, 2, null, 100, "RETAIL"));
+        jobs.addJob(jobs.getFactory().createJob(1001, 1, null, 104, "OFFICE"));
+
+        final HouseholdDataManager households = dataContainer.getHouseholdDataManager();
+        final PersonFactory personFactory = households.getPersonFactory();
+        final Household household1 = households.getHouseholdFactory().createHousehold(10, 1, 2);
+        households.addHousehold(household1);
+        addPerson(households, household1, personFactory.createPerson(100, 40, Gender.MALE, Occupation.EMPLOYED, PersonRole.MARRIED, 1000, 30000));
+        addPerson(households, household1, personFactory.createPerson(101, 38, Gender.FEMALE, Occupation.UNEMPLOYED, PersonRole.MARRIED, -1, 0));
+        addPerson(households, household1, personFactory.createPerson(102, 8, Gender.MALE, Occupation.STUDENT, PersonRole.CHILD, -1, 0));
+        final Household household2 = households.getHouseholdFactory().createHousehold(11, 2, 0);
+        households.addHousehold(household2);
+        addPerson(households, household2, personFactory.createPerson(103, 70, Gender.FEMALE, Occupation.RETIREE, PersonRole.SINGLE, -1, 15000));
+        addPerson(households, household2, personFactory.createPerson(104, 25, Gender.FEMALE, Occupation.EMPLOYED, PersonRole.SINGLE, 1001, 25000));
+    }
+
+    private static void addPerson(HouseholdDataManager households, Household household, Person person) {
+        households.addPerson(person);
+        households.addPersonToHousehold(person, household);
+    }
+}
@@ -0,0 +1,73 @@
+package de.tum.bgu.msm.models.javascript;
+
+import de.tum.bgu.msm.data.household.HouseholdType;
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.person.PersonFactoryImpl;
+import de.tum.bgu.msm.data.person.PersonRole;
+import de.tum.bgu.msm.models.demography.birth.BirthStrategy;
+import de.tum.bgu.msm.models.demography.birth.DefaultBirthStrategy;
+import de.tum.bgu.msm.models.demography.birth.JavaBirthStrategy;
+import de.tum.bgu.msm.models.demography.death.DeathStrategy;
+import de.tum.bgu.msm.models.demography.death.DefaultDeathStrategy;
+import de.tum.bgu.msm.models.demography.death.JavaDeathStrategy;
+import de.tum.bgu.msm.models.relocation.moves.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the Java strategies reproduce the reference scripts.
+ */
+public class JavaStrategiesTest {
+
+    @Test
+    public void testDeath() {
+        DeathStrategy reference = new DefaultDeathStrategy();
+        DeathStrategy java = new JavaDeathStrategy();
+        PersonFactoryImpl factory = new PersonFactoryImpl();
+        for (Gender gender : Gender.values()) {
+            for (int age = 0; age <= 110; age++) {
+                Person person = factory.createPerson(age, age, gender, Occupation.UNEMPLOYED, PersonRole.SINGLE, -1, 0);
+                Assert.assertEquals(reference.calculateDeathProbability(person), java.calculateDeathProbability(person), 0.);
+            }
+        }
+    }
+
+    @Test
+    public void testBirth() {
+        BirthStrategy reference = new DefaultBirthStrategy();
+        BirthStrategy java = new JavaBirthStrategy();
+        for (int children = 0; children <= 5; children++) {
+            for (int age = 0; age <= 110; age++) {
+                Assert.assertEquals(reference.calculateBirthProbability(age, children), java.calculateBirthProbability(age, children), 0.);
+            }
+        }
+        Assert.assertEquals(reference.getProbabilityForGirl(), java.getProbabilityForGirl(), 0.);
+    }
+
+    @Test
+    public void testDwellingUtility() {
+        DwellingUtilityStrategy reference = new DwellingUtilityStrategyImpl();
+        DwellingUtilityStrategy java = new JavaDwellingUtilityStrategy();
+        for (HouseholdType ht : HouseholdType.values()) {
+            for (double util = 0.05; util < 1.; util += 0.15) {
+                Assert.assertEquals(reference.calculateSelectDwellingUtility(ht, util, 1 - util, 0.5, util, 0.3, 0.8),
+                        java.calculateSelectDwellingUtility(ht, util, 1 - util, 0.5, util, 0.3, 0.8), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testMovesAndDwellingProbability() {
+        MovesStrategy referenceMoves = new DefaultMovesStrategy();
+        MovesStrategy javaMoves = new JavaMovesStrategy();
+        DwellingProbabilityStrategy referenceProbability = new DefaultDwellingProbabilityStrategy();
+        DwellingProbabilityStrategy javaProbability = new JavaDwellingProbabilityStrategy();
+        for (double util = 0.; util <= 1.; util += 0.1) {
+            Assert.assertEquals(referenceMoves.getMovingProbability(0.5, util), javaMoves.getMovingProbability(0.5, util), 1e-12);
+            Assert.assertEquals(referenceProbability.calculateSelectDwellingProbability(util),
+                    javaProbability.calculateSelectDwellingProbability(util), 1e-12);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package de.tum.bgu.msm.simulator;
+
+import de.tum.bgu.msm.events.EventFootprint;
+import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.models.EventModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class ParallelEventProcessorTest {
+
+    private static final int NUMBER_OF_EVENTS = 20000;
+    private static final int NUMBER_OF_DWELLINGS = 5000;
+    private static final int NUMBER_OF_HOUSEHOLDS = 20000;
+
+    @Test
+    public void testResultsAreIndependentOfNumberOfThreads() {
+        final long[] singleThreaded = run(1);
+        final long[] multiThreaded = run(4);
+        Assert.assertArrayEquals(singleThreaded, multiThreaded);
+    }
+
+    @Test
+    public void testRealisticMixIsHandledInParallelBatches() {
+        final MixResult sequential = runMix(0);
+        final MixResult singleThreaded = runMix(1);
+        final MixResult multiThreaded = runMix(4);
+        Assert.assertArrayEquals(sequential.householdState, singleThreaded.householdState);
+        Assert.assertArrayEquals(sequential.dwellingState, singleThreaded.dwellingState);
+        Assert.assertArrayEquals(sequential.assignedIds, singleThreaded.assignedIds);
+        Assert.assertArrayEquals(sequential.householdState, multiThreaded.householdState);
+        Assert.assertArrayEquals(sequential.dwellingState, multiThreaded.dwellingState);
+        Assert.assertArrayEquals(sequential.assignedIds, multiThreaded.assignedIds);
+
+        Assert.assertTrue(multiThreaded.concurrentBatches > 1);
+        Assert.assertTrue(multiThreaded.concurrentlyHandledEvents > 0.95 * multiThreaded.concurrentEvents);
+    }
+
+    /**
+     * Households of one to four persons with one event per person and year of each demographic model,
+     * a renovation event per dwelling and a few events of models that do not support concurrent handling,
+     * such as moves and marriages, in shuffled order.
+     * @param numberOfThreads 0 to handle the events one after another without the processor
+     */
+    private MixResult runMix(int numberOfThreads) {
+        final Random random = new Random(42);
+        final List<MicroEvent> events = new ArrayList<>();
+        int concurrentEvents = 0;
+        for (int household = 0; household < NUMBER_OF_HOUSEHOLDS; household++) {
+            final int persons = 1 + random.nextInt(4);
+            for (int person = 0; person < persons; person++) {
+                for (int model = 0; model < 4; model++) {
+                    events.add(new HouseholdEvent(events.size(), household));
+                    concurrentEvents++;
+                }
+            }
+            events.add(new RenovationEvent(events.size(), household));
+            concurrentEvents++;
+            if (random.nextInt(500) == 0) {
+                events.add(new MarketEvent(events.size(), household));
+            }
+        }
+        Collections.shuffle(events, random);
+        final long[] seeds = new long[events.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        final MixModel concurrentModel = new MixModel(true);
+        final MixModel exclusiveModel = new MixModel(false);
+        exclusiveModel.shared = concurrentModel.shared;
+        final Map<Class<? extends MicroEvent>, EventModel> models = new HashMap<>();
+        models.put(HouseholdEvent.class, concurrentModel);
+        models.put(RenovationEvent.class, concurrentModel);
+        models.put(MarketEvent.class, exclusiveModel);
+
+        final MixResult result = new MixResult();
+        if (numberOfThreads == 0) {
+            final Random eventRandom = new Random();
+            for (int i = 0; i < events.size(); i++) {
+                eventRandom.setSeed(seeds[i]);
+                EventScopedRandom.bind(eventRandom);
+                models.get(events.get(i).getClass()).handleEvent(events.get(i));
+            }
+            EventScopedRandom.release();
+        } else {
+            final ParallelEventProcessor processor = new ParallelEventProcessor(models, null, numberOfThreads, 10000);
+            processor.process(events, seeds);
+            processor.shutdown();
+            result.concurrentBatches = processor.getConcurrentBatches();
+            result.concurrentlyHandledEvents = processor.getConcurrentlyHandledEvents();
+        }
+        result.householdState = concurrentModel.shared.householdState;
+        result.dwellingState = concurrentModel.shared.dwellingState;
+        result.assignedIds = concurrentModel.shared.assignedIds;
+        result.concurrentEvents = concurrentEvents;
+        return result;
+    }
+
+    private long[] run(int numberOfThreads) {
+        final Random random = new Random(42);
+        final List<MicroEvent> events = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+            if (i % 1000 == 999) {
+                events.add(new ExclusiveEvent());
+            } else {
+                events.add(new DwellingEvent(random.nextInt(NUMBER_OF_DWELLINGS)));
+            }
+        }
+        final long[] seeds = new long[events.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        final TestModel model = new TestModel(new Random(1));
+        final Map<Class<? extends MicroEvent>, EventModel> models = new HashMap<>();
+        models.put(DwellingEvent.class, model);
+        models.put(ExclusiveEvent.class, model);
+
+        final ParallelEventProcessor processor = new ParallelEventProcessor(models, null, numberOfThreads, 1000);
+        final boolean[] success = processor.process(events, seeds);
+        processor.shutdown();
+
+        for (boolean handled : success) {
+            Assert.assertTrue(handled);
+        }
+        return model.state;
+    }
+
+    private static class DwellingEvent implements MicroEvent {
+        private final int dwellingId;
+
+        private DwellingEvent(int dwellingId) {
+            this.dwellingId = dwellingId;
+        }
+
+        @Override
+        public void declareFootprint(EventFootprint footprint) {
+            footprint.addDwelling(dwellingId);
+        }
+    }
+
+    private static class ExclusiveEvent implements MicroEvent {
+    }
+
+    private static class MixResult {
+        private long[] householdState;
+        private long[] dwellingState;
+        private int[] assignedIds;
+        private int concurrentEvents;
+        private int concurrentBatches;
+        private int concurrentlyHandledEvents;
+    }
+
+    private static class HouseholdEvent implements MicroEvent {
+        final int index;
+        final int householdId;
+
+        private HouseholdEvent(int index, int householdId) {
+            this.index = index;
+            this.householdId = householdId;
+        }
+
+        @Override
+        public void declareFootprint(EventFootprint footprint) {
+            footprint.addHousehold(householdId);
+        }
+    }
+
+    private static class RenovationEvent extends HouseholdEvent {
+        private RenovationEvent(int index, int dwellingId) {
+            super(index, dwellingId);
+        }
+
+        @Override
+        public void declareFootprint(EventFootprint footprint) {
+            footprint.addDwelling(householdId);
+        }
+    }
+
+    private static class MarketEvent extends HouseholdEvent {
+        private MarketEvent(int index, int householdId) {
+            super(index, householdId);
+        }
+    }
+
+    private static class SharedState {
+        private final long[] householdState = new long[NUMBER_OF_HOUSEHOLDS];
+        private final long[] dwellingState = new long[NUMBER_OF_HOUSEHOLDS];
+        private final int[] assignedIds = new int[6 * 4 * NUMBER_OF_HOUSEHOLDS];
+        private int highestId = 0;
+    }
+
+    /**
+     * Changes the state of the household or dwelling of an event and, like births or deaths, sometimes
+     * takes an id from a counter that is shared by all events.
+     */
+    private static class MixModel implements EventModel<HouseholdEvent> {
+
+        private final boolean concurrent;
+        private final Random random = EventScopedRandom.wrap(new Random(1));
+        private SharedState shared = new SharedState();
+
+        private MixModel(boolean concurrent) {
+            this.concurrent = concurrent;
+        }
+
+        @Override
+        public Collection<HouseholdEvent> getEventsForCurrentYear(int year) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean handleEvent(HouseholdEvent event) {
+            final int draw = random.nextInt(1000);
+            if (event instanceof RenovationEvent) {
+                shared.dwellingState[event.householdId] += draw;
+            } else {
+                shared.householdState[event.householdId] = shared.householdState[event.householdId] * 31 + draw;
+            }
+            if (draw < 50) {
+                EventOrder.awaitTurn();
+                shared.assignedIds[event.index] = ++shared.highestId;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean supportsConcurrentHandling() {
+            return concurrent;
+        }
+
+        @Override
+        public void setup() {
+        }
+
+        @Override
+        public void prepareYear(int year) {
+        }
+
+        @Override
+        public void endYear(int year) {
+        }
+
+        @Override
+        public void endSimulation() {
+        }
+    }
+
+    private static class TestModel implements EventModel<MicroEvent> {
+
+        private final Random random;
+        private final long[] state = new long[NUMBER_OF_DWELLINGS];
+        private long exclusiveState = 0;
+
+        private TestModel(Random random) {
+            this.random = EventScopedRandom.wrap(random);
+        }
+
+        @Override
+        public Collection<MicroEvent> getEventsForCurrentYear(int year) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean handleEvent(MicroEvent event) {
+            if (event instanceof DwellingEvent) {
+                final int id = ((DwellingEvent) event).dwellingId;
+                state[id] = state[id] * 31 + random.nextInt(1000) + exclusiveState;
+            } else {
+                exclusiveState += random.nextInt(1000);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean supportsConcurrentHandling() {
+            return true;
+        }
+
+        @Override
+        public void setup() {
+        }
+
+        @Override
+        public void prepareYear(int year) {
+        }
+
+        @Override
+        public void endYear(int year) {
+        }
+
+        @Override
+        public void endSimulation() {
+        }
+    }
+}
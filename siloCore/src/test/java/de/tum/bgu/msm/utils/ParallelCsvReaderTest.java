@@ -0,0 +1,78 @@
+package de.tum.bgu.msm.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+public class ParallelCsvReaderTest {
+
+    private static final String[] DOUBLES = {"1.5", "-0.0", "0.1", "123456.789012", "1e3", "NaN", " 2.5", "abc", "", ".5", "5.",
+            "0.30000000000000004", "12345678901234567", "-"};
+    private static final String[] INTS = {"1", "-7", "+5", "0012", "2147483647", "-2147483648", "99999999999", "x", "", " 3"};
+
+    @Test
+    public void testSameValuesAsSplit() throws IOException {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder("id,value,coord,name\r\n");
+        for (int i = 0; i < 400000; i++) {
+            String value = random.nextInt(10) == 0 ? INTS[random.nextInt(INTS.length)] : Integer.toString(random.nextInt(2000000) - 1000000);
+            String coord = random.nextInt(5) == 0 ? DOUBLES[random.nextInt(DOUBLES.length)] : Double.toString(random.nextDouble() * 1e6);
+            String name = new String[]{"\"single\"", "married", "child"}[random.nextInt(3)];
+            content.append(random.nextInt(20) == 0 ? i + "," + value : i + "," + value + "," + coord + "," + name);
+            content.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+
+        File file = File.createTempFile("microData", ".csv");
+        file.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file))) {
+            writer.write(content.toString());
+        }
+        assertSameValuesAsSplit(file.getPath(), content.toString());
+
+        File gzipFile = File.createTempFile("microData", ".csv.gz");
+        gzipFile.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(gzipFile)))) {
+            writer.write(content.toString());
+        }
+        assertSameValuesAsSplit(gzipFile.getPath(), content.toString());
+    }
+
+    private static void assertSameValuesAsSplit(String path, String content) throws IOException {
+        BufferedReader expected = new BufferedReader(new StringReader(content));
+        try (ParallelCsvReader reader = new ParallelCsvReader(path)) {
+            Assert.assertArrayEquals(expected.readLine().split(","), reader.getHeader());
+            reader.intColumn(0).intColumn(1).doubleColumn(2).stringColumn(3);
+            ParallelCsvReader.Rows rows = reader.rows();
+            while (rows.next()) {
+                String[] lineElements = expected.readLine().split(",");
+                Assert.assertEquals(Integer.parseInt(lineElements[0]), rows.getInt(0));
+                Assert.assertEquals(outcome(() -> Integer.parseInt(lineElements[1])), outcome(() -> rows.getInt(1)));
+                Assert.assertEquals(outcome(() -> Double.doubleToRawLongBits(Double.parseDouble(lineElements[2]))),
+                        outcome(() -> Double.doubleToRawLongBits(rows.getDouble(2))));
+                Assert.assertEquals(outcome(() -> lineElements[3]), outcome(() -> rows.getString(3)));
+            }
+            Assert.assertNull(expected.readLine());
+        }
+    }
+
+    private interface Value {
+        Object get();
+    }
+
+    private static Object outcome(Value value) {
+        try {
+            return value.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
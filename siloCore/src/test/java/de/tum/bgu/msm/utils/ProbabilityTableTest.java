@@ -0,0 +1,54 @@
+package de.tum.bgu.msm.utils;
+
+import de.tum.bgu.msm.data.person.Gender;
+import de.tum.bgu.msm.data.person.Occupation;
+import de.tum.bgu.msm.data.person.Person;
+import de.tum.bgu.msm.data.person.PersonFactoryImpl;
+import de.tum.bgu.msm.data.person.PersonRole;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProbabilityTableTest {
+
+    @Test
+    public void testTabulate() {
+        ProbabilityTable table = ProbabilityTable.tabulate(14, 50, 0, 3, (age, children) -> age * 0.001 + children);
+        Assert.assertTrue(table.contains(14, 0));
+        Assert.assertTrue(table.contains(50, 3));
+        Assert.assertFalse(table.contains(13, 0));
+        Assert.assertFalse(table.contains(51, 0));
+        Assert.assertFalse(table.contains(20, 4));
+        Assert.assertEquals(30 * 0.001 + 2, table.get(30, 2), 0.);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testOutOfDomain() {
+        ProbabilityTable table = ProbabilityTable.tabulate(0, 10, 0, 1, (first, second) -> 1.);
+        table.get(11, 0);
+    }
+
+    @Test
+    public void testFailedEvaluationsAreNotTabulated() {
+        ProbabilityTable table = ProbabilityTable.tabulate(0, 10, 0, 0, (first, second) -> {
+            if (first == 5) {
+                throw new RuntimeException("Undefined input");
+            }
+            return first;
+        });
+        Assert.assertTrue(table.contains(4, 0));
+        Assert.assertFalse(table.contains(5, 0));
+    }
+
+    @Test
+    public void testTabulateByAgeAndGender() {
+        ProbabilityTable table = ProbabilityTable.tabulateByAgeAndGender(100, person -> person.getType().ordinal());
+        PersonFactoryImpl factory = new PersonFactoryImpl();
+        for (Gender gender : Gender.values()) {
+            for (int age = 0; age <= 100; age++) {
+                Person person = factory.createPerson(1, age, gender, Occupation.EMPLOYED, PersonRole.MARRIED, 1, 1000);
+                Assert.assertEquals(person.getType().ordinal(), table.get(age, gender.ordinal()), 0.);
+            }
+        }
+        Assert.assertFalse(table.contains(101, Gender.MALE.ordinal()));
+    }
+}
@@ -0,0 +1,90 @@
+package de.tum.bgu.msm.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SamplerTest {
+
+    private static final Integer[] OBJECTS = {0, 1, 2, 3, 4, 5};
+    private static final double[] PROBABILITIES = {0.1, 0., 2.5, 0.4, 0., 1.};
+
+    @Test
+    public void testCumulativeSamplerDrawsLikeSampler() throws SampleException {
+        Sampler<Integer> sampler = new Sampler<>(OBJECTS, PROBABILITIES, new Random(42));
+        CumulativeSampler<Integer> cumulativeSampler = sampler.toCumulativeSampler(new Random(42));
+        Assert.assertEquals(sampler.getCumulatedProbability(), cumulativeSampler.getCumulatedProbability(), 1e-12);
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(sampler.sampleObject(), cumulativeSampler.sampleObject());
+        }
+    }
+
+    @Test
+    public void testCumulativeSamplerDrawsLikeMapSelection() throws SampleException {
+        Map<Integer, Double> probabilities = new LinkedHashMap<>();
+        for (int i = 0; i < OBJECTS.length; i++) {
+            probabilities.put(OBJECTS[i], PROBABILITIES[i]);
+        }
+        Random random = new Random(42);
+        FixedWeightsSampler<Integer> sampler = FixedWeightsSampler.create(OBJECTS, PROBABILITIES, new Random(42), false);
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(SiloUtil.select(probabilities, random), sampler.sampleObject());
+        }
+    }
+
+    @Test
+    public void testSamplersOfLists() throws SampleException {
+        CumulativeSampler<Integer> fromArray = new CumulativeSampler<>(OBJECTS, PROBABILITIES, new Random(3));
+        CumulativeSampler<Integer> fromList = new CumulativeSampler<>(Arrays.asList(OBJECTS), PROBABILITIES, new Random(3));
+        AliasSampler<Integer> aliasFromList = new AliasSampler<>(Arrays.asList(OBJECTS), PROBABILITIES, new Random(3));
+        Assert.assertEquals(OBJECTS.length, aliasFromList.getNumberOfObjects());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(fromArray.sampleObject(), fromList.sampleObject());
+            Assert.assertNotEquals(0., PROBABILITIES[aliasFromList.sampleObject()], 0.);
+        }
+    }
+
+    @Test
+    public void testAliasSamplerDistribution() throws SampleException {
+        AliasSampler<Integer> sampler = new AliasSampler<>(OBJECTS, PROBABILITIES, new Random(42));
+        int draws = 400000;
+        int[] counts = new int[OBJECTS.length];
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.sampleObject()]++;
+        }
+        for (int i = 0; i < OBJECTS.length; i++) {
+            Assert.assertEquals(PROBABILITIES[i] / 4., counts[i] / (double) draws, 0.005);
+        }
+        Assert.assertEquals(0, counts[1]);
+        Assert.assertEquals(0, counts[4]);
+    }
+
+    @Test
+    public void testCopiesShareWeights() throws SampleException {
+        AliasSampler<Integer> sampler = new AliasSampler<>(OBJECTS, PROBABILITIES, new Random(1));
+        AliasSampler<Integer> copy = sampler.copy(new Random(1));
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(sampler.sampleObject(), copy.sampleObject());
+        }
+    }
+
+    @Test
+    public void testSingleObject() throws SampleException {
+        Assert.assertEquals("a", new AliasSampler<>(new String[]{"a"}, new double[]{3.}, new Random()).sampleObject());
+        Assert.assertEquals("a", new CumulativeSampler<>(new String[]{"a"}, new double[]{3.}, new Random()).sampleObject());
+    }
+
+    @Test(expected = SampleException.class)
+    public void testAliasSamplerWithoutWeights() throws SampleException {
+        new AliasSampler<>(OBJECTS, new double[OBJECTS.length], new Random()).sampleObject();
+    }
+
+    @Test(expected = SampleException.class)
+    public void testCumulativeSamplerWithoutWeights() throws SampleException {
+        new CumulativeSampler<>(OBJECTS, new double[OBJECTS.length], new Random()).sampleObject();
+    }
+}
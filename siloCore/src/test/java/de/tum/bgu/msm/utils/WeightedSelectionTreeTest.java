@@ -0,0 +1,56 @@
+package de.tum.bgu.msm.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class WeightedSelectionTreeTest {
+
+    @Test
+    public void testSelectsLikeLinearScan() {
+        Random random = new Random(42);
+        double[] weights = new double[37];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i % 5 == 0 ? 0 : random.nextInt(10);
+        }
+        WeightedSelectionTree tree = new WeightedSelectionTree(weights);
+        for (int draw = 0; draw < 10000; draw++) {
+            if (draw % 10 == 0) {
+                int index = random.nextInt(weights.length);
+                weights[index] = random.nextInt(10);
+                tree.setWeight(index, weights[index]);
+            }
+            double position = tree.getTotalWeight() * random.nextDouble();
+            int selected = tree.select(position);
+            Assert.assertEquals(linearScan(weights, position), selected);
+            Assert.assertTrue(weights[selected] > 0);
+        }
+    }
+
+    @Test
+    public void testZeroWeights() {
+        WeightedSelectionTree tree = new WeightedSelectionTree(new double[]{0, 2, 0});
+        Assert.assertEquals(1, tree.select(0.));
+        Assert.assertEquals(1, tree.select(2.));
+        tree.setWeight(1, 0);
+        Assert.assertEquals(0., tree.getTotalWeight(), 0.);
+        Assert.assertEquals(-1, tree.select(0.));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        new WeightedSelectionTree(new double[]{1, -1});
+    }
+
+    private static int linearScan(double[] weights, double position) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            if (sum > position) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -0,0 +1,45 @@
+package de.tum.bgu.msm.utils.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        for (long value : new long[]{0, 1, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(value <= LatencyHistogram.highestValueInBucket(index));
+            Assert.assertTrue(index == 0 || value > LatencyHistogram.highestValueInBucket(index - 1));
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        Random random = new Random(42);
+        long[] values = new long[100000];
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            (i % 2 == 0 ? first : second).record(values[i]);
+        }
+        first.add(second);
+        Arrays.sort(values);
+
+        Assert.assertEquals(values.length, first.getCount());
+        Assert.assertEquals(values[values.length - 1], first.getMax());
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = first.getValueAtPercentile(percentile);
+            Assert.assertTrue(actual >= expected);
+            Assert.assertTrue(actual <= expected * 1.04 + 1);
+        }
+        first.reset();
+        Assert.assertEquals(0, first.getCount());
+        Assert.assertEquals(0, first.getValueAtPercentile(50));
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.collect.Multiset;
 import com.pb.common.datafile.TableDataSet;
 import com.pb.common.util.ResourceUtil;
 import de.tum.bgu.msm.container.DataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.Zone;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
@@ -104,7 +105,7 @@ public class SyntheticPopUs implements SyntheticPopI {
         householdData = dataContainer.getHouseholdDataManager();
         jobData = dataContainer.getJobDataManager();
         createJobs();
-        travelTimes = (SkimTravelTimes) dataContainer.getTravelTimes();
+        travelTimes = (SkimTravelTimes) TravelTimesWrapper.unwrap(dataContainer.getTravelTimes());
         accessibility = (AccessibilityImpl) dataContainer.getAccessibility();                      // read in travel times and trip length frequency distribution
         commutingTimeProbability = dataContainer.getCommutingTimeProbability();
         
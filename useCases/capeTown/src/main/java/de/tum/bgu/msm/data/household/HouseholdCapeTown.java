@@ -73,6 +73,11 @@ public class HouseholdCapeTown implements Household {
         return delegate.getAttributes();
     }
 
+    @Override
+    public HouseholdAggregates getAggregates() {
+        return delegate.getAggregates();
+    }
+
     @Override
     public int getId() {
         return delegate.getId();
@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.person;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public class PersonFactoryCapeTown implements PersonFactory {
 
     @Override
@@ -23,4 +25,15 @@ public class PersonFactoryCapeTown implements PersonFactory {
         duplicate.setDriverLicense(originalPerson.hasDriverLicense());
         return duplicate;
     }
+
+    @Override
+    public SnapshotAttributes<Person> getSnapshotAttributes() {
+        return new SnapshotAttributes<Person>()
+                .add("race", pp -> raceIndex(((PersonCapeTown) pp).getRace()),
+                        (pp, value) -> ((PersonCapeTown) pp).setRace(value < 0 ? null : RaceCapeTown.values()[(int) value]));
+    }
+
+    private static int raceIndex(RaceCapeTown race) {
+        return race == null ? -1 : race.ordinal();
+    }
 }
@@ -21,7 +21,7 @@ public class DwellingReaderCapeTown implements DwellingReader {
 
     @Override
     public void readData(String path) {
-        DwellingFactory factory = DwellingUtils.getFactory();
+        DwellingFactory factory = dwellingData.getDwellingFactory();
         logger.info("Reading dwelling micro data from ascii file");
         String recString = "";
         int recCount = 0;
@@ -2,10 +2,13 @@ package de.tum.bgu.msm.run;
 
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.columnar.ColumnarDwellingData;
+import de.tum.bgu.msm.data.columnar.ColumnarJobData;
 import de.tum.bgu.msm.data.dwelling.*;
 import de.tum.bgu.msm.data.geo.DefaultGeoData;
 import de.tum.bgu.msm.data.geo.GeoData;
@@ -13,6 +16,7 @@ import de.tum.bgu.msm.data.household.*;
 import de.tum.bgu.msm.data.job.*;
 import de.tum.bgu.msm.data.person.PersonFactory;
 import de.tum.bgu.msm.data.person.PersonFactoryCapeTown;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.io.DwellingReaderCapeTown;
@@ -30,8 +34,24 @@ public class DataBuilderCapeTown {
     public static DataContainer getModelDataForCapeTown(Properties properties, Config config) {
 
         HouseholdData householdData = new HouseholdDataImpl();
-        JobData jobData = new JobDataImpl();
-        DwellingData dwellingData = new DwellingDataImpl();
+        JobData jobData;
+        DwellingData dwellingData;
+        JobFactory jobFactory;
+        DwellingFactory dwellingFactory;
+        // households and persons of Cape Town have their own classes, which the columnar store does not support
+        if (properties.main.columnarDataStore) {
+            ColumnarJobData columnarJobData = new ColumnarJobData();
+            ColumnarDwellingData columnarDwellingData = new ColumnarDwellingData();
+            jobData = columnarJobData;
+            dwellingData = columnarDwellingData;
+            jobFactory = columnarJobData.getJobFactory();
+            dwellingFactory = columnarDwellingData.getDwellingFactory();
+        } else {
+            jobData = new JobDataImpl();
+            dwellingData = new DwellingDataImpl();
+            jobFactory = new JobFactoryImpl();
+            dwellingFactory = new DwellingFactoryImpl();
+        }
 
         GeoData geoData = new DefaultGeoData();
 
@@ -43,8 +63,12 @@ public class DataBuilderCapeTown {
                 travelTimes = new SkimTravelTimes();
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
+            case MAPPED_SKIM:
+                travelTimes = new MappedSkimTravelTimes();
+                accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+                break;
             case MATSIM:
-                travelTimes = new MatsimTravelTimes(config);
+                travelTimes = new MatsimTravelTimes(config, properties.transportModel.matsimNodeToNodeCarTravelTimes);
 //                accessibility = new MatsimAccessibility(geoData);
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
@@ -56,10 +80,10 @@ public class DataBuilderCapeTown {
         //TODO: revise this!
         new JobType(properties.jobData.jobTypes);
 
-        JobFactory jobFactory = new JobFactoryImpl();
-
         RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(
-                DwellingTypeCapeTown.values(), dwellingData, householdData, geoData, new DwellingFactoryImpl(), properties);
+                DwellingTypeCapeTown.values(), dwellingData, householdData, geoData, dwellingFactory, properties);
+
+        travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
 
         JobDataManager jobDataManager = new JobDataManagerImpl(
                 properties, jobFactory, jobData, geoData, travelTimes, commutingTimeProbability);
@@ -86,6 +110,12 @@ public class DataBuilderCapeTown {
         reader.readZoneShapefile(pathShp);
 
         int year = properties.main.startYear;
+        new JobType(properties.jobData.jobTypes);
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            // micro data is read from the snapshot when setting up the model
+            return;
+        }
+
         String householdFile = properties.main.baseDirectory + properties.householdData.householdFileName;
         householdFile += "_" + year + ".csv";
         HouseholdReader hhReader = new DefaultHouseholdReader(dataContainer.getHouseholdDataManager(),
@@ -101,7 +131,6 @@ public class DataBuilderCapeTown {
         String dwellingsFile = properties.main.baseDirectory + properties.realEstate.dwellingsFileName + "_" + year + ".csv";
         ddReader.readData(dwellingsFile);
 
-        new JobType(properties.jobData.jobTypes);
         JobReader jjReader = new DefaultJobReader(dataContainer.getJobDataManager());
         String jobsFile = properties.main.baseDirectory + properties.jobData.jobsFileName + "_" + year + ".csv";
         jjReader.readData(jobsFile);
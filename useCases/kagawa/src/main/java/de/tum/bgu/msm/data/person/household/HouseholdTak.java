@@ -1,6 +1,7 @@
 package de.tum.bgu.msm.data.person.household;
 
 import de.tum.bgu.msm.data.household.Household;
+import de.tum.bgu.msm.data.household.HouseholdAggregates;
 import de.tum.bgu.msm.data.household.HouseholdImpl;
 import de.tum.bgu.msm.data.household.HouseholdType;
 import de.tum.bgu.msm.data.person.Person;
@@ -73,6 +74,11 @@ public class HouseholdTak implements Household {
         return delegate.getAttributes();
     }
 
+    @Override
+    public HouseholdAggregates getAggregates() {
+        return delegate.getAggregates();
+    }
+
     public void setAutonomous(int autonomous){
         this.autonomous = autonomous;
     }
@@ -2,10 +2,14 @@ package de.tum.bgu.msm.run;
 
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.columnar.ColumnarDwellingData;
+import de.tum.bgu.msm.data.columnar.ColumnarHouseholdData;
+import de.tum.bgu.msm.data.columnar.ColumnarJobData;
 import de.tum.bgu.msm.data.dwelling.*;
 import de.tum.bgu.msm.data.geo.DefaultGeoData;
 import de.tum.bgu.msm.data.geo.GeoData;
@@ -13,6 +17,7 @@ import de.tum.bgu.msm.data.household.*;
 import de.tum.bgu.msm.data.job.*;
 import de.tum.bgu.msm.data.person.PersonFactory;
 import de.tum.bgu.msm.data.person.PersonFactoryImpl;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.io.GeoDataReaderTak;
@@ -26,9 +31,33 @@ public class DataBuilderTak {
 
     public static DataContainer getTakModelData(Properties properties, Config config) {
 
-        HouseholdData householdData = new HouseholdDataImpl();
-        JobData jobData = new JobDataImpl();
-        DwellingData dwellingData = new DwellingDataImpl();
+        HouseholdData householdData;
+        JobData jobData;
+        DwellingData dwellingData;
+        HouseholdFactory hhFactory;
+        PersonFactory ppFactory;
+        JobFactory jobFactory;
+        DwellingFactory dwellingFactory;
+        if (properties.main.columnarDataStore) {
+            ColumnarHouseholdData columnarHouseholdData = new ColumnarHouseholdData();
+            ColumnarJobData columnarJobData = new ColumnarJobData();
+            ColumnarDwellingData columnarDwellingData = new ColumnarDwellingData();
+            householdData = columnarHouseholdData;
+            jobData = columnarJobData;
+            dwellingData = columnarDwellingData;
+            hhFactory = columnarHouseholdData.getHouseholdFactory();
+            ppFactory = columnarHouseholdData.getPersonFactory();
+            jobFactory = columnarJobData.getJobFactory();
+            dwellingFactory = columnarDwellingData.getDwellingFactory();
+        } else {
+            householdData = new HouseholdDataImpl();
+            jobData = new JobDataImpl();
+            dwellingData = new DwellingDataImpl();
+            hhFactory = new HouseholdFactoryImpl();
+            ppFactory = new PersonFactoryImpl();
+            jobFactory = new JobFactoryImpl();
+            dwellingFactory = new DwellingFactoryImpl();
+        }
 
         GeoData geoData = new DefaultGeoData();
 
@@ -40,8 +69,12 @@ public class DataBuilderTak {
                 travelTimes = new SkimTravelTimes();
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
+            case MAPPED_SKIM:
+                travelTimes = new MappedSkimTravelTimes();
+                accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+                break;
             case MATSIM:
-                travelTimes = new MatsimTravelTimes(config);
+                travelTimes = new MatsimTravelTimes(config, properties.transportModel.matsimNodeToNodeCarTravelTimes);
 //                accessibility = new MatsimAccessibility(geoData);
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
@@ -53,16 +86,14 @@ public class DataBuilderTak {
         //TODO: revise this!
         new JobType(properties.jobData.jobTypes);
 
-        JobFactory jobFactory = new JobFactoryImpl();
-
         RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(
-                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, new DwellingFactoryImpl(), properties);
+                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, dwellingFactory, properties);
+
+        travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
 
         JobDataManager jobDataManager = new JobDataManagerImpl(
                 properties, jobFactory, jobData, geoData, travelTimes, commutingTimeProbability);
 
-        HouseholdFactory hhFactory = new HouseholdFactoryImpl();
-        PersonFactory ppFactory = new PersonFactoryImpl();
         HouseholdDataManager householdDataManager = new HouseholdDataManagerImpl(
                 householdData, dwellingData, ppFactory,
                 hhFactory, properties, realEstateDataManager);
@@ -82,6 +113,12 @@ public class DataBuilderTak {
         reader.readZoneCsv(fileName);
         reader.readZoneShapefile(pathShp);
 
+        new JobType(properties.jobData.jobTypes);
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            // micro data is read from the snapshot when setting up the model
+            return;
+        }
+
         int year = properties.main.startYear;
         String householdFile = properties.main.baseDirectory + properties.householdData.householdFileName;
         householdFile += "_" + year + ".csv";
@@ -98,7 +135,6 @@ public class DataBuilderTak {
         String dwellingsFile = properties.main.baseDirectory + properties.realEstate.dwellingsFileName + "_" + year + ".csv";
         ddReader.readData(dwellingsFile);
 
-        new JobType(properties.jobData.jobTypes);
         JobReader jjReader = new DefaultJobReader(dataContainer.getJobDataManager());
         String jobsFile = properties.main.baseDirectory + properties.jobData.jobsFileName + "_" + year + ".csv";
         jjReader.readData(jobsFile);
@@ -12,16 +12,18 @@ import de.tum.bgu.msm.models.carOwnership.CreateCarOwnershipStrategyTak;
 import de.tum.bgu.msm.models.carOwnership.CreateCarOwnershipTak;
 import de.tum.bgu.msm.models.carOwnership.UpdateCarOwnershipTak;
 import de.tum.bgu.msm.models.demography.birth.BirthModelImpl;
-import de.tum.bgu.msm.models.demography.birth.DefaultBirthStrategy;
+import de.tum.bgu.msm.models.demography.birth.JavaBirthStrategy;
 import de.tum.bgu.msm.models.demography.birthday.BirthdayModel;
 import de.tum.bgu.msm.models.demography.birthday.BirthdayModelImpl;
 import de.tum.bgu.msm.models.demography.death.DeathModel;
 import de.tum.bgu.msm.models.demography.death.DeathModelImpl;
-import de.tum.bgu.msm.models.demography.death.DefaultDeathStrategy;
+import de.tum.bgu.msm.models.demography.death.JavaDeathStrategy;
 import de.tum.bgu.msm.models.demography.divorce.DefaultDivorceStrategy;
+import de.tum.bgu.msm.models.demography.divorce.TabulatedDivorceStrategy;
 import de.tum.bgu.msm.models.demography.divorce.DivorceModel;
 import de.tum.bgu.msm.models.demography.divorce.DivorceModelImpl;
 import de.tum.bgu.msm.models.demography.driversLicense.DefaultDriversLicenseStrategy;
+import de.tum.bgu.msm.models.demography.driversLicense.TabulatedDriversLicenseStrategy;
 import de.tum.bgu.msm.models.demography.driversLicense.DriversLicenseModel;
 import de.tum.bgu.msm.models.demography.driversLicense.DriversLicenseModelImpl;
 import de.tum.bgu.msm.models.demography.education.EducationModel;
@@ -29,6 +31,7 @@ import de.tum.bgu.msm.models.demography.education.EducationModelImpl;
 import de.tum.bgu.msm.models.demography.employment.EmploymentModel;
 import de.tum.bgu.msm.models.demography.employment.EmploymentModelImpl;
 import de.tum.bgu.msm.models.demography.leaveParentalHousehold.DefaultLeaveParentalHouseholdStrategy;
+import de.tum.bgu.msm.models.demography.leaveParentalHousehold.TabulatedLeaveParentalHouseholdStrategy;
 import de.tum.bgu.msm.models.demography.leaveParentalHousehold.LeaveParentHhModel;
 import de.tum.bgu.msm.models.demography.leaveParentalHousehold.LeaveParentHhModelImpl;
 import de.tum.bgu.msm.models.demography.marriage.DefaultMarriageStrategy;
@@ -65,33 +68,33 @@ public class CoreCityDevelopmentModelBuilderTak {
         HouseholdFactory hhFactory = dataContainer.getHouseholdDataManager().getHouseholdFactory();
         DwellingFactory ddFactory = dataContainer.getRealEstateDataManager().getDwellingFactory();
 
-        BirthModelImpl birthModel = new BirthModelImpl(dataContainer, ppFactory, properties, new DefaultBirthStrategy(), SiloUtil.provideNewRandom());
+        BirthModelImpl birthModel = new BirthModelImpl(dataContainer, ppFactory, properties, new JavaBirthStrategy(), SiloUtil.provideNewRandom());
 
         BirthdayModel birthdayModel = new BirthdayModelImpl(dataContainer, properties, SiloUtil.provideNewRandom());
 
-        DeathModel deathModel = new DeathModelImpl(dataContainer, properties, new DefaultDeathStrategy(), SiloUtil.provideNewRandom());
+        DeathModel deathModel = new DeathModelImpl(dataContainer, properties, new JavaDeathStrategy(), SiloUtil.provideNewRandom());
 
         MovesModelImpl movesModel = new MovesModelImpl(
-                dataContainer, properties, new DefaultMovesStrategy(),
+                dataContainer, properties, new JavaMovesStrategy(),
                 new SimpleCommuteModeChoiceHousingStrategyImpl(dataContainer,
                         properties, dataContainer.getTravelTimes(),
-                        new DwellingUtilityStrategyImpl(), new DefaultDwellingProbabilityStrategy(),
+                        new JavaDwellingUtilityStrategy(), new JavaDwellingProbabilityStrategy(),
                         new RegionUtilityStrategyImpl(), new RegionProbabilityStrategyImpl()), SiloUtil.provideNewRandom());
 
         CreateCarOwnershipModel carOwnershipModel = new CreateCarOwnershipTak(dataContainer, new CreateCarOwnershipStrategyTak());
 
         DivorceModel divorceModel = new DivorceModelImpl(
                 dataContainer, movesModel, carOwnershipModel, hhFactory,
-                properties, new DefaultDivorceStrategy(), SiloUtil.provideNewRandom());
+                properties, new TabulatedDivorceStrategy(new DefaultDivorceStrategy()), SiloUtil.provideNewRandom());
 
-        DriversLicenseModel driversLicenseModel = new DriversLicenseModelImpl(dataContainer, properties, new DefaultDriversLicenseStrategy(), SiloUtil.provideNewRandom());
+        DriversLicenseModel driversLicenseModel = new DriversLicenseModelImpl(dataContainer, properties, new TabulatedDriversLicenseStrategy(new DefaultDriversLicenseStrategy()), SiloUtil.provideNewRandom());
 
         EducationModel educationModel = new EducationModelImpl(dataContainer, properties, SiloUtil.provideNewRandom());
 
         EmploymentModel employmentModel = new EmploymentModelImpl(dataContainer, properties, SiloUtil.provideNewRandom());
 
         LeaveParentHhModel leaveParentsModel = new LeaveParentHhModelImpl(dataContainer, movesModel,
-                carOwnershipModel, hhFactory, properties, new DefaultLeaveParentalHouseholdStrategy(), SiloUtil.provideNewRandom());
+                carOwnershipModel, hhFactory, properties, new TabulatedLeaveParentalHouseholdStrategy(new DefaultLeaveParentalHouseholdStrategy()), SiloUtil.provideNewRandom());
 
         JobMarketUpdate jobMarketUpdateModel = new CoreCityJobMarketUpdateTak(dataContainer, properties, SiloUtil.provideNewRandom());
 
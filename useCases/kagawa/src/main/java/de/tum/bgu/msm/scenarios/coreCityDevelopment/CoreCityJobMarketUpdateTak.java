@@ -21,7 +21,7 @@ public class CoreCityJobMarketUpdateTak extends AbstractModel implements JobMark
 
     public CoreCityJobMarketUpdateTak(DataContainer dataContainer, Properties properties, Random rnd) {
         super(dataContainer, properties, rnd);
-        factory = JobUtils.getFactory();
+        factory = dataContainer.getJobDataManager().getFactory();
     }
 
     @Override
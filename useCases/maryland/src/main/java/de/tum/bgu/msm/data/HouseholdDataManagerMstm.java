@@ -64,6 +64,16 @@ public class HouseholdDataManagerMstm implements HouseholdDataManager {
         return delegate.getAverageIncome(gender, age, occupation);
     }
 
+    @Override
+    public float[][][] getInitialIncomeDistribution() {
+        return delegate.getInitialIncomeDistribution();
+    }
+
+    @Override
+    public void setInitialIncomeDistribution(float[][][] incomeDistribution) {
+        delegate.setInitialIncomeDistribution(incomeDistribution);
+    }
+
     @Override
     public Household getHouseholdFromId(int householdId) {
         return delegate.getHouseholdFromId(householdId);
@@ -124,6 +134,11 @@ public class HouseholdDataManagerMstm implements HouseholdDataManager {
         return delegate.getHighestPersonIdInUse();
     }
 
+    @Override
+    public void setHighestIdsInUse(int highestHouseholdId, int highestPersonId) {
+        delegate.setHighestIdsInUse(highestHouseholdId, highestPersonId);
+    }
+
     @Override
     public void saveHouseholdMemento(Household hh) {
         delegate.saveHouseholdMemento(hh);
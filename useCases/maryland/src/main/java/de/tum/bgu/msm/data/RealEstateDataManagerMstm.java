@@ -70,16 +70,36 @@ public class RealEstateDataManagerMstm implements RealEstateDataManager {
         return delegate.getRentPaymentsForIncomeGroup(incomeCategory);
     }
 
+    @Override
+    public void setRentPaymentsForIncomeGroup(IncomeCategory incomeCategory, Map<Integer, Float> rentPayments) {
+        delegate.setRentPaymentsForIncomeGroup(incomeCategory, rentPayments);
+    }
+
     @Override
     public int getNextDwellingId() {
         return delegate.getNextDwellingId();
     }
 
+    @Override
+    public int getHighestDwellingIdInUse() {
+        return delegate.getHighestDwellingIdInUse();
+    }
+
+    @Override
+    public void setHighestDwellingIdInUse(int highestDwellingId) {
+        delegate.setHighestDwellingIdInUse(highestDwellingId);
+    }
+
     @Override
     public Map<Integer, Double> getInitialQualShares() {
         return delegate.getInitialQualShares();
     }
 
+    @Override
+    public void setInitialQualShares(Map<Integer, Double> initialQualShares) {
+        delegate.setInitialQualShares(initialQualShares);
+    }
+
     @Override
     public Map<Integer, Double> getUpdatedQualityShares() {
         return delegate.getUpdatedQualityShares();
@@ -96,6 +116,11 @@ public class RealEstateDataManagerMstm implements RealEstateDataManager {
         return delegate.getNumberOfVacantDDinRegion(region);
     }
 
+    @Override
+    public List<Dwelling> sampleVacantDwellingsInRegion(int region, int numberOfDwellings, Random random) {
+        return delegate.sampleVacantDwellingsInRegion(region, numberOfDwellings, random);
+    }
+
     @Override
     public List<DwellingType> getDwellingTypes() {
         return delegate.getDwellingTypes();
@@ -1,5 +1,6 @@
 package de.tum.bgu.msm.data.dwelling;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
 import org.locationtech.jts.geom.Coordinate;
 
 public class DwellingfactoryMstm implements DwellingFactory {
@@ -7,4 +8,10 @@ public class DwellingfactoryMstm implements DwellingFactory {
     public Dwelling createDwelling(int id, int zoneId, Coordinate coordinate, int hhId, DwellingType type, int bedrooms, int quality, int price, int year) {
         return new DwellingMstm(id, zoneId, coordinate, hhId, type, bedrooms, quality, price, year);
     }
+
+    @Override
+    public SnapshotAttributes<Dwelling> getSnapshotAttributes() {
+        return new SnapshotAttributes<Dwelling>()
+                .add("restriction", dd -> ((DwellingMstm) dd).getRestriction(), (dd, value) -> ((DwellingMstm) dd).setRestriction((float) value));
+    }
 }
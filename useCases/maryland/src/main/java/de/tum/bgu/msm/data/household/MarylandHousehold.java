@@ -74,6 +74,11 @@ public class MarylandHousehold implements Household {
         return delegate.getAttributes();
     }
 
+    @Override
+    public HouseholdAggregates getAggregates() {
+        return delegate.getAggregates();
+    }
+
     @Override
     public int getId() {
         return delegate.getId();
@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.person;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public class PersonfactoryMstm implements PersonFactory {
 
     @Override
@@ -28,4 +30,15 @@ public class PersonfactoryMstm implements PersonFactory {
         duplicate.setDriverLicense(originalPerson.hasDriverLicense());
         return duplicate;
     }
+
+    @Override
+    public SnapshotAttributes<Person> getSnapshotAttributes() {
+        return new SnapshotAttributes<Person>()
+                .add("race", pp -> raceIndex(((MarylandPerson) pp).getRace()),
+                        (pp, value) -> ((MarylandPerson) pp).setRace(value < 0 ? null : Race.values()[(int) value]));
+    }
+
+    private static int raceIndex(Race race) {
+        return race == null ? -1 : race.ordinal();
+    }
 }
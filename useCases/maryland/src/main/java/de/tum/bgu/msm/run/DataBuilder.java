@@ -4,10 +4,12 @@ import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.data.DataContainerMstm;
 import de.tum.bgu.msm.data.HouseholdDataManagerMstm;
 import de.tum.bgu.msm.data.RealEstateDataManagerMstm;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.columnar.ColumnarJobData;
 import de.tum.bgu.msm.data.dwelling.*;
 import de.tum.bgu.msm.data.geo.GeoDataMstm;
 import de.tum.bgu.msm.data.household.HouseholdData;
@@ -16,6 +18,7 @@ import de.tum.bgu.msm.data.household.HouseholdDataManager;
 import de.tum.bgu.msm.data.household.HouseholdFactoryMstm;
 import de.tum.bgu.msm.data.job.*;
 import de.tum.bgu.msm.data.person.PersonfactoryMstm;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.io.DwellingReaderMstm;
@@ -39,7 +42,17 @@ public final class DataBuilder {
 
         DwellingData dwellingData = new DwellingDataImpl();
         HouseholdData householdData = new HouseholdDataImpl();
-        JobData jobData = new JobDataImpl();
+        JobData jobData;
+        JobFactory jobFactory;
+        // households, persons and dwellings of Maryland have their own classes, which the columnar store does not support
+        if (properties.main.columnarDataStore) {
+            ColumnarJobData columnarJobData = new ColumnarJobData();
+            jobData = columnarJobData;
+            jobFactory = columnarJobData.getJobFactory();
+        } else {
+            jobData = new JobDataImpl();
+            jobFactory = new JobFactoryImpl();
+        }
 
         TravelTimes travelTimes = null;
         Accessibility accessibility = null;
@@ -49,8 +62,12 @@ public final class DataBuilder {
                 travelTimes = new SkimTravelTimes();
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
+            case MAPPED_SKIM:
+                travelTimes = new MappedSkimTravelTimes();
+                accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+                break;
             case MATSIM:
-                travelTimes = new MatsimTravelTimes(config);
+                travelTimes = new MatsimTravelTimes(config, properties.transportModel.matsimNodeToNodeCarTravelTimes);
 //                accessibility = new MatsimAccessibility(geoData);
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
@@ -70,8 +87,10 @@ public final class DataBuilder {
                 householdData, geoData,
                 properties);
 
+        travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
+
         JobDataManager jobManager = new JobDataManagerImpl(
-                properties, new JobFactoryImpl(),
+                properties, jobFactory,
                 jobData, geoData,
                 travelTimes, commutingTimeProbability);
 
@@ -100,6 +119,10 @@ public final class DataBuilder {
         geoDataReaderMstm.readCrimeData(Properties.get().main.baseDirectory + Properties.get().geo.countyCrimeFile);
 
         int year = properties.main.startYear;
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            // micro data is read from the snapshot when setting up the model
+            return;
+        }
 
         readHouseholds(properties, dataContainer.getHouseholdDataManager(),
                 (HouseholdFactoryMstm) dataContainer.getHouseholdDataManager().getHouseholdFactory(), year);
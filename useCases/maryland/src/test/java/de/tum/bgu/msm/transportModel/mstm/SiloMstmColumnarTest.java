@@ -0,0 +1,53 @@
+package de.tum.bgu.msm.transportModel.mstm;
+
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.run.SiloMstm;
+import de.tum.bgu.msm.transportModel.SiloTestUtils;
+import junitx.framework.FileAssert;
+import org.apache.log4j.Logger;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+/**
+ * Runs the reduced Annapolis scenario once with the object based stores and once with the columnar data store, and
+ * compares the results of both runs. Maryland uses its own household, person and dwelling classes, so only the
+ * jobs are kept in the columnar store.
+ */
+public class SiloMstmColumnarTest {
+
+    private static final Logger LOG = Logger.getLogger(SiloMstmColumnarTest.class);
+
+    private final static String OUTPUT = "./test/scenarios/annapolis/scenOutput/";
+
+    @Test
+    public final void testColumnarStoreReproducesObjectBasedRun() throws ReflectiveOperationException {
+        SiloTestUtils.cleanUpMicrodataFiles();
+        SiloTestUtils.cleanUpOtherFiles();
+        for (String scenario : new String[]{"test_reduced_mstm", "test_reduced_mstm_columnar"}) {
+            for (String file : new String[]{"dd", "hh", "jj", "pp"}) {
+                new File(OUTPUT + scenario + "/microData/" + file + "_2001.csv").delete();
+            }
+        }
+
+        SiloMstm.main(new String[]{"test/scenarios/annapolis/javaFiles/siloMstm.properties"});
+
+        // properties may only be initialized once, the columnar run is set up as if it was started in a new jvm
+        Field instance = Properties.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+
+        SiloMstm.main(new String[]{"test/scenarios/annapolis/javaFiles/siloMstmColumnar.properties"});
+
+        for (String file : new String[]{"dd", "hh", "jj", "pp"}) {
+            LOG.info("Checking " + file + " file ...");
+            final File expected = new File(OUTPUT + "test_reduced_mstm/microData/" + file + "_2001.csv");
+            final File actual = new File(OUTPUT + "test_reduced_mstm_columnar/microData/" + file + "_2001.csv");
+            FileAssert.assertEquals(file + " files are different.", expected, actual);
+        }
+
+        SiloTestUtils.cleanUpMicrodataFiles();
+        SiloTestUtils.cleanUpOtherFiles();
+    }
+}
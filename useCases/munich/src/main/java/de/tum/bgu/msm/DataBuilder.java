@@ -1,15 +1,18 @@
 package de.tum.bgu.msm;
 
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.columnar.ColumnarDwellingData;
 import de.tum.bgu.msm.data.dwelling.*;
 import de.tum.bgu.msm.data.geo.DefaultGeoData;
 import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.household.*;
 import de.tum.bgu.msm.data.job.*;
 import de.tum.bgu.msm.data.person.PersonFactoryMuc;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.io.*;
@@ -28,7 +31,17 @@ public class DataBuilder {
 
         HouseholdData householdData = new HouseholdDataImpl();
         JobData jobData = new JobDataImpl();
-        DwellingData dwellingData = new DwellingDataImpl();
+        DwellingData dwellingData;
+        DwellingFactory dwellingFactory;
+        // households, persons and jobs of Munich have their own classes, which the columnar store does not support
+        if (properties.main.columnarDataStore) {
+            ColumnarDwellingData columnarDwellingData = new ColumnarDwellingData();
+            dwellingData = columnarDwellingData;
+            dwellingFactory = columnarDwellingData.getDwellingFactory();
+        } else {
+            dwellingData = new DwellingDataImpl();
+            dwellingFactory = new DwellingFactoryImpl();
+        }
 
         GeoData geoData = new DefaultGeoData();
 
@@ -41,8 +54,12 @@ public class DataBuilder {
                 travelTimes = new SkimTravelTimes();
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
+            case MAPPED_SKIM:
+                travelTimes = new MappedSkimTravelTimes();
+                accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+                break;
             case MATSIM:
-                travelTimes = new MatsimTravelTimes(config);
+                travelTimes = new MatsimTravelTimes(config, properties.transportModel.matsimNodeToNodeCarTravelTimes);
 //                accessibility = new MatsimAccessibility(geoData);
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
@@ -61,7 +78,9 @@ public class DataBuilder {
 
 
         RealEstateDataManager realEstateDataManager = new RealEstateDataManagerImpl(
-                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, new DwellingFactoryImpl(), properties);
+                DefaultDwellingTypeImpl.values(), dwellingData, householdData, geoData, dwellingFactory, properties);
+
+        travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
 
         JobDataManager jobDataManager = new JobDataManagerImpl(
                 properties, jobFactory, jobData, geoData, travelTimes, commutingTimeProbability);
@@ -86,6 +105,17 @@ public class DataBuilder {
         reader.readZoneShapefile(pathShp);
 
         int year = properties.main.startYear;
+        new JobType(properties.jobData.jobTypes);
+
+        SchoolReader ssReader = new SchoolReaderImpl(dataContainer.getSchoolData());
+        String schoolsFile = properties.main.baseDirectory + properties.schoolData.schoolsFileName + "_" + year + ".csv";
+        ssReader.readData(schoolsFile);
+
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            // micro data is read from the snapshot when setting up the model
+            return;
+        }
+
         String householdFile = properties.main.baseDirectory + properties.householdData.householdFileName;
         householdFile += "_" + year + ".csv";
         HouseholdReader hhReader = new HouseholdReaderMuc(dataContainer.getHouseholdDataManager(), (HouseholdFactoryMuc) dataContainer.getHouseholdDataManager().getHouseholdFactory());
@@ -100,15 +130,10 @@ public class DataBuilder {
         String dwellingsFile = properties.main.baseDirectory + properties.realEstate.dwellingsFileName + "_" + year + ".csv";
         ddReader.readData(dwellingsFile);
 
-        new JobType(properties.jobData.jobTypes);
         JobReader jjReader = new JobReaderMuc(dataContainer.getJobDataManager(), (JobFactoryMuc) dataContainer.getJobDataManager().getFactory());
         String jobsFile = properties.main.baseDirectory + properties.jobData.jobsFileName + "_" + year + ".csv";
         jjReader.readData(jobsFile);
 
-        SchoolReader ssReader = new SchoolReaderImpl(dataContainer.getSchoolData());
-        String schoolsFile = properties.main.baseDirectory + properties.schoolData.schoolsFileName + "_" + year + ".csv";
-        ssReader.readData(schoolsFile);
-
         MicroDataScaler microDataScaler = new MicroDataScaler(dataContainer, properties);
         microDataScaler.scale();
     }
@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.household;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public class HouseholdFactoryMuc implements HouseholdFactory {
 
     @Override
@@ -13,4 +15,10 @@ public class HouseholdFactoryMuc implements HouseholdFactory {
         duplicate.setAutonomous(((HouseholdMuc)original).getAutonomous());
         return duplicate;
     }
+
+    @Override
+    public SnapshotAttributes<Household> getSnapshotAttributes() {
+        return new SnapshotAttributes<Household>()
+                .add("autonomous", hh -> ((HouseholdMuc) hh).getAutonomous(), (hh, value) -> ((HouseholdMuc) hh).setAutonomous((int) value));
+    }
 }
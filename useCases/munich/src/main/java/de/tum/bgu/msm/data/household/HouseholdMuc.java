@@ -73,6 +73,11 @@ public class HouseholdMuc implements Household {
         return delegate.getAttributes();
     }
 
+    @Override
+    public HouseholdAggregates getAggregates() {
+        return delegate.getAggregates();
+    }
+
     public void setAutonomous(int autonomous){
         this.autonomous = autonomous;
     }
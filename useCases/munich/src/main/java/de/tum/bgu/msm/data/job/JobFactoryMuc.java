@@ -1,5 +1,6 @@
 package de.tum.bgu.msm.data.job;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
 import de.tum.bgu.msm.properties.Properties;
 import de.tum.bgu.msm.utils.SiloUtil;
 import org.locationtech.jts.geom.Coordinate;
@@ -27,6 +28,18 @@ public class JobFactoryMuc implements JobFactory {
         return job;
     }
 
+    /**
+     * Stores the start and working time drawn at creation, as they can not be drawn again when resuming a run.
+     */
+    @Override
+    public SnapshotAttributes<Job> getSnapshotAttributes() {
+        return new SnapshotAttributes<Job>()
+                .add("startTime", jj -> ((JobMuc) jj).getStartTimeInSeconds().orElse(0),
+                        (jj, value) -> ((JobMuc) jj).setJobWorkingTime((int) value, ((JobMuc) jj).getWorkingTimeInSeconds().orElse(0)))
+                .add("workingTime", jj -> ((JobMuc) jj).getWorkingTimeInSeconds().orElse(0),
+                        (jj, value) -> ((JobMuc) jj).setJobWorkingTime(((JobMuc) jj).getStartTimeInSeconds().orElse(0), (int) value));
+    }
+
     public void readWorkingTimeDistributions(Properties properties) {
         String fileNameStart = properties.main.baseDirectory + properties.jobData.jobStartTimeDistributionFile;
         String recString = "";
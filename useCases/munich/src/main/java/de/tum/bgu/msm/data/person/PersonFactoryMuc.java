@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.person;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public class PersonFactoryMuc implements PersonFactory {
 
     @Override
@@ -34,4 +36,18 @@ public class PersonFactoryMuc implements PersonFactory {
         duplicate.setSchoolId(((PersonMuc) originalPerson).getSchoolId());
         return duplicate;
     }
+
+    @Override
+    public SnapshotAttributes<Person> getSnapshotAttributes() {
+        return new SnapshotAttributes<Person>()
+                .add("nationality", pp -> nationalityIndex(((PersonMuc) pp).getNationality()),
+                        (pp, value) -> ((PersonMuc) pp).setNationality(value < 0 ? null : Nationality.values()[(int) value]))
+                .add("schoolType", pp -> ((PersonMuc) pp).getSchoolType(), (pp, value) -> ((PersonMuc) pp).setSchoolType((int) value))
+                .add("schoolPlace", pp -> ((PersonMuc) pp).getSchoolPlace(), (pp, value) -> ((PersonMuc) pp).setSchoolPlace((int) value))
+                .add("schoolId", pp -> ((PersonMuc) pp).getSchoolId(), (pp, value) -> ((PersonMuc) pp).setSchoolId((int) value));
+    }
+
+    private static int nationalityIndex(Nationality nationality) {
+        return nationality == null ? -1 : nationality.ordinal();
+    }
 }
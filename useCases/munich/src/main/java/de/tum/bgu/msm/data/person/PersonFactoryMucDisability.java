@@ -1,5 +1,7 @@
 package de.tum.bgu.msm.data.person;
 
+import de.tum.bgu.msm.data.SnapshotAttributes;
+
 public class PersonFactoryMucDisability implements PersonFactory {
 
     @Override
@@ -35,4 +37,20 @@ public class PersonFactoryMucDisability implements PersonFactory {
         duplicate.setDisability(((PersonMucDisability) originalPerson).getDisability());
         return duplicate;
     }
+
+    @Override
+    public SnapshotAttributes<Person> getSnapshotAttributes() {
+        return new SnapshotAttributes<Person>()
+                .add("nationality", pp -> enumIndex(((PersonMucDisability) pp).getNationality()),
+                        (pp, value) -> ((PersonMucDisability) pp).setNationality(value < 0 ? null : Nationality.values()[(int) value]))
+                .add("disability", pp -> enumIndex(((PersonMucDisability) pp).getDisability()),
+                        (pp, value) -> ((PersonMucDisability) pp).setDisability(value < 0 ? null : Disability.values()[(int) value]))
+                .add("schoolType", pp -> ((PersonMucDisability) pp).getSchoolType(), (pp, value) -> ((PersonMucDisability) pp).setSchoolType((int) value))
+                .add("schoolPlace", pp -> ((PersonMucDisability) pp).getSchoolPlace(), (pp, value) -> ((PersonMucDisability) pp).setSchoolPlace((int) value))
+                .add("schoolId", pp -> ((PersonMucDisability) pp).getSchoolId(), (pp, value) -> ((PersonMucDisability) pp).setSchoolId((int) value));
+    }
+
+    private static int enumIndex(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
 }
@@ -0,0 +1,22 @@
+package de.tum.bgu.msm.models.relocation;
+
+import de.tum.bgu.msm.data.household.HouseholdType;
+import de.tum.bgu.msm.models.relocation.moves.JavaDwellingUtilityStrategy;
+
+/**
+ * Java implementation of the Munich dwelling utility defined in DwellingUtilityCalc. The Munich weights are the same
+ * as the default ones, so the utility is calculated by {@link JavaDwellingUtilityStrategy}.
+ * {@link DwellingUtilityStrategyImpl} remains the reference implementation.
+ */
+public class JavaDwellingUtilityStrategyMuc implements DwellingUtilityStrategy {
+
+    private final JavaDwellingUtilityStrategy delegate = new JavaDwellingUtilityStrategy();
+
+    @Override
+    public double calculateSelectDwellingUtility(HouseholdType ht, double ddSizeUtility, double ddPriceUtility,
+                                                 double ddQualityUtility, double ddAutoAccessibilityUtility,
+                                                 double transitAccessibilityUtility, double workDistanceUtility) {
+        return delegate.calculateSelectDwellingUtility(ht, ddSizeUtility, ddPriceUtility, ddQualityUtility,
+                ddAutoAccessibilityUtility, transitAccessibilityUtility, workDistanceUtility);
+    }
+}
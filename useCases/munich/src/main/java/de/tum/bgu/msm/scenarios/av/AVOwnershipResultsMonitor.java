@@ -10,6 +10,7 @@ import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.person.Occupation;
 import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.io.output.MicroDataAggregation;
 import de.tum.bgu.msm.io.output.ResultsMonitor;
 import de.tum.bgu.msm.models.ModelUpdateListener;
 import de.tum.bgu.msm.models.carOwnership.SwitchToAutonomousVehicleModelMuc;
@@ -20,7 +21,11 @@ import org.matsim.api.core.v01.TransportMode;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 public class AVOwnershipResultsMonitor implements ResultsMonitor {
 
@@ -28,6 +33,8 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
     private DataContainer dataContainer;
     private final Properties properties;
     private PrintWriter resultWriter;
+    private MicroDataAggregation aggregation;
+    private Supplier<List<Commuter>> commuters;
     private final static Logger logger = Logger.getLogger(SwitchToAutonomousVehicleModelMuc.class);
 
     public AVOwnershipResultsMonitor(ModelContainer modelContainer, DataContainer dataContainer, Properties properties) {
@@ -45,7 +52,20 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
 
     @Override
     public void setup() {
+        setup(new MicroDataAggregation(dataContainer));
+    }
+
+    @Override
+    public void setup(MicroDataAggregation aggregation) {
+        this.aggregation = aggregation;
         if (switchToAutonomousVehicleModelMuc != null){
+            commuters = aggregation.households(Collector.of(
+                    ArrayList::new,
+                    this::addCommuters,
+                    (left, right) -> {
+                        left.addAll(right);
+                        return left;
+                    }));
             String pathname = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/siloResults/avOwnership.csv";
             try {
                 resultWriter = new PrintWriter(new File(pathname));
@@ -73,6 +93,7 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
         resultWriter.flush();
 
         if (properties.transportModel.transportModelYears.contains(year)){
+            aggregation.aggregate(year);
             printOutMicroData(year);
         }
 
@@ -84,6 +105,7 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
         resultWriter.close();
         int year = properties.main.endYear;
 
+        aggregation.aggregate(year);
         printOutMicroData(year);
 
 
@@ -96,29 +118,21 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
             try {
                 PrintWriter microDataResultWriter = new PrintWriter(new File(pathname));
                 microDataResultWriter.println("person,household,autos,avs,homeZone,jobZone,timeCar");
-                for (Household hh : dataContainer.getHouseholdDataManager().getHouseholds()){
-                    HouseholdMuc householdMuc = (HouseholdMuc) hh;
-                    for (Person person : householdMuc.getPersons().values()){
-                        if (person.getOccupation() == Occupation.EMPLOYED && person.getJobId() != -2){
-                            microDataResultWriter.print(person.getId());
-                            microDataResultWriter.print(",");
-                            microDataResultWriter.print(householdMuc.getId());
-                            microDataResultWriter.print(",");
-                            microDataResultWriter.print(householdMuc.getAutos());
-                            microDataResultWriter.print(",");
-                            microDataResultWriter.print(householdMuc.getAutonomous());
-                            microDataResultWriter.print(",");
-                            Dwelling dwelling = dataContainer.getRealEstateDataManager().getDwelling(householdMuc.getDwellingId());
-                            microDataResultWriter.print(dwelling.getZoneId());
-                            microDataResultWriter.print(",");
-                            Job job = dataContainer.getJobDataManager().getJobFromId(person.getJobId());
-                            microDataResultWriter.print(job.getZoneId());
-                            microDataResultWriter.print(",");
-                            microDataResultWriter.print(dataContainer.getTravelTimes().getTravelTime(dwelling, job, properties.transportModel.peakHour_s, TransportMode.car));
-                            microDataResultWriter.println();
-                        }
-                    }
-
+                for (Commuter commuter : commuters.get()){
+                    microDataResultWriter.print(commuter.person.getId());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(commuter.household.getId());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(commuter.household.getAutos());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(commuter.household.getAutonomous());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(commuter.dwelling.getZoneId());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(commuter.job.getZoneId());
+                    microDataResultWriter.print(",");
+                    microDataResultWriter.print(dataContainer.getTravelTimes().getTravelTime(commuter.dwelling, commuter.job, properties.transportModel.peakHour_s, TransportMode.car));
+                    microDataResultWriter.println();
                 }
                 microDataResultWriter.close();
             } catch (FileNotFoundException e) {
@@ -126,4 +140,40 @@ public class AVOwnershipResultsMonitor implements ResultsMonitor {
             }
         }
     }
+
+    private boolean printsMicroData(int year) {
+        return properties.transportModel.transportModelYears.contains(year) || year == properties.main.endYear;
+    }
+
+    /**
+     * Collects the employed persons during the shared pass over the households of the years that are printed.
+     * The travel times are looked up when the micro data is printed.
+     */
+    private void addCommuters(List<Commuter> commuters, Household hh) {
+        if (printsMicroData(aggregation.getYear())) {
+            HouseholdMuc householdMuc = (HouseholdMuc) hh;
+            for (Person person : householdMuc.getPersons().values()){
+                if (person.getOccupation() == Occupation.EMPLOYED && person.getJobId() != -2){
+                    Dwelling dwelling = dataContainer.getRealEstateDataManager().getDwelling(householdMuc.getDwellingId());
+                    Job job = dataContainer.getJobDataManager().getJobFromId(person.getJobId());
+                    commuters.add(new Commuter(person, householdMuc, dwelling, job));
+                }
+            }
+        }
+    }
+
+    private static final class Commuter {
+
+        private final Person person;
+        private final HouseholdMuc household;
+        private final Dwelling dwelling;
+        private final Job job;
+
+        private Commuter(Person person, HouseholdMuc household, Dwelling dwelling, Job job) {
+            this.person = person;
+            this.household = household;
+            this.dwelling = dwelling;
+            this.job = job;
+        }
+    }
 }
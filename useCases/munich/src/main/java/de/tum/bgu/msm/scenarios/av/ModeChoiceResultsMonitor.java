@@ -8,6 +8,7 @@ import de.tum.bgu.msm.data.household.HouseholdMuc;
 import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.person.Person;
 import de.tum.bgu.msm.events.MicroEvent;
+import de.tum.bgu.msm.io.output.MicroDataAggregation;
 import de.tum.bgu.msm.io.output.ResultsMonitor;
 import de.tum.bgu.msm.models.modeChoice.CommuteModeChoice;
 import de.tum.bgu.msm.models.modeChoice.CommuteModeChoiceMapping;
@@ -17,6 +18,10 @@ import org.matsim.api.core.v01.TransportMode;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 public class ModeChoiceResultsMonitor implements ResultsMonitor {
 
@@ -24,6 +29,8 @@ public class ModeChoiceResultsMonitor implements ResultsMonitor {
     private final Properties properties;
     private PrintWriter pw;
     private final DataContainer dataContainer;
+    private MicroDataAggregation aggregation;
+    private Supplier<List<Commuter>> commuters;
 
     public ModeChoiceResultsMonitor(DataContainer dataContainer, Properties properties) {
         this.properties = properties;
@@ -32,6 +39,19 @@ public class ModeChoiceResultsMonitor implements ResultsMonitor {
 
     @Override
     public void setup() {
+        setup(new MicroDataAggregation(dataContainer));
+    }
+
+    @Override
+    public void setup(MicroDataAggregation aggregation) {
+        this.aggregation = aggregation;
+        commuters = aggregation.households(Collector.of(
+                ArrayList::new,
+                this::addCommuters,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                }));
         String pathname = properties.main.baseDirectory + "scenOutput/" + properties.main.scenarioName + "/siloResults/";
         try {
             File file = new File(pathname + "modeChoiceMicroData.csv");
@@ -72,66 +92,70 @@ public class ModeChoiceResultsMonitor implements ResultsMonitor {
 
     @Override
     public void endYear(int year, Multiset<Class<? extends MicroEvent>> eventCounter) {
+        aggregation.aggregate(year);
+        for (Commuter commuter : commuters.get()) {
+            Household household = commuter.household;
+            Dwelling dd = commuter.dwelling;
+            Job jj = commuter.job;
+            pw.print(year);
+            pw.print(",");
+            pw.print(commuter.person.getId());
+            pw.print(",");
+            pw.print(household.getId());
+            pw.print(",");
+            pw.print(commuter.mode.mode);
+            pw.print(",");
+            pw.print(commuter.mode.utility);
+            pw.print(",");
+            pw.print(household.getAutos());
+            pw.print(",");
+            try {
+                pw.print(((HouseholdMuc) household).getAutonomous());
+            } catch (ClassCastException e){
+                pw.print("no-avs");
+            }
+            pw.print(",");
+
+            pw.print(dd.getZoneId());
+            pw.print(",");
+            pw.print(jj.getZoneId());
+            pw.print(",");
+            pw.print(dataContainer.getTravelTimes().getTravelTime(dd, jj, properties.transportModel.peakHour_s, TransportMode.car));
+            pw.print(",");
+            pw.print(dataContainer.getTravelTimes().getTravelTime(dd, jj, properties.transportModel.peakHour_s, TransportMode.pt));
+            pw.print(",");
+            int parkingAtHome = (int) dd.getAttributes().get("PARKING_SPACES");
+            pw.print(parkingAtHome);
+            pw.print(",");
+            LocationParkingData parking = (LocationParkingData) dataContainer.getGeoData().getZones().get(jj.getZoneId()).getAttributes().get("PARKING");
+            pw.print(parking.getParkingQuality());
+            pw.print(",");
+            pw.println();
+        }
+    }
 
-        for (Household household : dataContainer.getHouseholdDataManager().getHouseholds()) {
-
-            Object cmcm = household.getAttributes().get("COMUTE_MODE_CHOICE_MAPPING");
-
-            if (cmcm != null){
-
-                CommuteModeChoiceMapping commuteModeChoiceMapping = (CommuteModeChoiceMapping) cmcm;
-
-                for (Person person : household.getPersons().values()){
-
-                    CommuteModeChoiceMapping.CommuteMode mode = commuteModeChoiceMapping.getMode(person);
-                    Dwelling dd = dataContainer.getRealEstateDataManager().getDwelling(household.getDwellingId());
-                    Job jj = dataContainer.getJobDataManager().getJobFromId(person.getJobId());
-
-                    if (mode != null && jj != null && dd != null){
-                        pw.print(year);
-                        pw.print(",");
-                        pw.print(person.getId());
-                        pw.print(",");
-                        pw.print(household.getId());
-                        pw.print(",");
-                        pw.print(mode.mode);
-                        pw.print(",");
-                        pw.print(mode.utility);
-                        pw.print(",");
-                        pw.print(household.getAutos());
-                        pw.print(",");
-                        try {
-                            pw.print(((HouseholdMuc) household).getAutonomous());
-                        } catch (ClassCastException e){
-                            pw.print("no-avs");
-                        }
-                        pw.print(",");
-
-                        pw.print(dd.getZoneId());
-                        pw.print(",");
-                        pw.print(jj.getZoneId());
-                        pw.print(",");
-                        pw.print(dataContainer.getTravelTimes().getTravelTime(dd, jj, properties.transportModel.peakHour_s, TransportMode.car));
-                        pw.print(",");
-                        pw.print(dataContainer.getTravelTimes().getTravelTime(dd, jj, properties.transportModel.peakHour_s, TransportMode.pt));
-                        pw.print(",");
-                        int parkingAtHome = (int) dd.getAttributes().get("PARKING_SPACES");
-                        pw.print(parkingAtHome);
-                        pw.print(",");
-                        LocationParkingData parking = (LocationParkingData) dataContainer.getGeoData().getZones().get(jj.getZoneId()).getAttributes().get("PARKING");
-                        pw.print(parking.getParkingQuality());
-                        pw.print(",");
-                        pw.println();
-
-                    }
+    /**
+     * Collects the persons with a commute mode during the shared pass over the households. The travel times are
+     * looked up when the micro data is printed.
+     */
+    private void addCommuters(List<Commuter> commuters, Household household) {
+        Object cmcm = household.getAttributes().get("COMUTE_MODE_CHOICE_MAPPING");
 
-                }
+        if (cmcm != null){
 
-            }
+            CommuteModeChoiceMapping commuteModeChoiceMapping = (CommuteModeChoiceMapping) cmcm;
 
-        }
+            for (Person person : household.getPersons().values()){
 
+                CommuteModeChoiceMapping.CommuteMode mode = commuteModeChoiceMapping.getMode(person);
+                Dwelling dd = dataContainer.getRealEstateDataManager().getDwelling(household.getDwellingId());
+                Job jj = dataContainer.getJobDataManager().getJobFromId(person.getJobId());
 
+                if (mode != null && jj != null && dd != null){
+                    commuters.add(new Commuter(person, household, mode, dd, jj));
+                }
+            }
+        }
     }
 
     @Override
@@ -139,4 +163,21 @@ public class ModeChoiceResultsMonitor implements ResultsMonitor {
         pw.close();
 
     }
+
+    private static final class Commuter {
+
+        private final Person person;
+        private final Household household;
+        private final CommuteModeChoiceMapping.CommuteMode mode;
+        private final Dwelling dwelling;
+        private final Job job;
+
+        private Commuter(Person person, Household household, CommuteModeChoiceMapping.CommuteMode mode, Dwelling dwelling, Job job) {
+            this.person = person;
+            this.household = household;
+            this.mode = mode;
+            this.dwelling = dwelling;
+            this.job = job;
+        }
+    }
 }
@@ -136,13 +136,13 @@ public class ParkingBasedHousingStrategyMuc implements HousingStrategy {
                /* if(MovesModelImpl.track) {
                     Zone workZone = geoData.getZones().get(workLocation.getZoneId());
                     int transitTimeIndiv = (int) travelTimes.getTravelTime(dd, workLocation, workLocation.getStartTimeInSeconds(), TransportMode.pt);
-                    final double skimTime = travelTimes.getPeakSkim(TransportMode.car).getIndexed(dd.getZoneId(), workLocation.getZoneId());
+                    final double skimTime = TravelTimeUtil.getPeakTravelTimes(travelTimes, TransportMode.car).getTravelTime(dd.getZoneId(), workLocation.getZoneId());
                     int expectedCommuteTime_FixedQueryTime = (int) travelTimes.getTravelTime(dd, workLocation, properties.transportModel.peakHour_s, TransportMode.car);
                     int expectedCommuteTime_FixedZone = (int) travelTimes.getTravelTime(ddZone, workZone, workLocation.getStartTimeInSeconds(), TransportMode.car);
                     int transitTimeIndiv_fixedQueryTime = (int) travelTimes.getTravelTime(dd, workLocation, properties.transportModel.peakHour_s, TransportMode.pt);
                     int transitTimeIndiv_fixedZone = (int) travelTimes.getTravelTime(ddZone, workZone, workLocation.getStartTimeInSeconds(), TransportMode.pt);
 
-                    int transitTimeSkim = (int) travelTimes.getPeakSkim(TransportMode.pt).getIndexed(dd.getZoneId(), workLocation.getZoneId());
+                    int transitTimeSkim = (int) TravelTimeUtil.getPeakTravelTimes(travelTimes, TransportMode.pt).getTravelTime(dd.getZoneId(), workLocation.getZoneId());
 
                     try {
                         fileWriter.write(pp.getId()+","
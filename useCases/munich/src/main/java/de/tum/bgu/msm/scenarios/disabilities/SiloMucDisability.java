@@ -5,6 +5,7 @@ import de.tum.bgu.msm.SiloModel;
 import de.tum.bgu.msm.container.ModelContainer;
 import de.tum.bgu.msm.schools.DataContainerWithSchoolsImpl;
 import de.tum.bgu.msm.events.DisabilityEvent;
+import de.tum.bgu.msm.events.EventCodecs;
 import de.tum.bgu.msm.io.*;
 import de.tum.bgu.msm.io.output.*;
 import de.tum.bgu.msm.models.disability.DefaultDisabilityStrategy;
@@ -40,6 +41,7 @@ public class SiloMucDisability {
         //summarizeData(dataContainer, properties);
         ModelContainer modelContainer = ModelBuilderMuc.getModelContainerForMuc(dataContainer, properties, config);
         modelContainer.registerEventModel(DisabilityEvent.class, new DisabilityImpl(dataContainer, properties,new DefaultDisabilityStrategy(), SiloUtil.provideNewRandom()));
+        EventCodecs.register(DisabilityEvent.class, EventCodecs.ofId(DisabilityEvent::getPersonId, DisabilityEvent::new));
         ResultsMonitor resultsMonitor = new ResultsMonitorMuc(dataContainer, properties);
         SiloModel model = new SiloModel(properties, dataContainer, modelContainer);
         model.addResultMonitor(resultsMonitor);
@@ -0,0 +1,23 @@
+package de.tum.bgu.msm.relocation;
+
+import de.tum.bgu.msm.data.household.HouseholdType;
+import de.tum.bgu.msm.models.relocation.DwellingUtilityStrategy;
+import de.tum.bgu.msm.models.relocation.DwellingUtilityStrategyImpl;
+import de.tum.bgu.msm.models.relocation.JavaDwellingUtilityStrategyMuc;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JavaDwellingUtilityStrategyMucTest {
+
+    @Test
+    public void testJavaDwellingUtilityReproducesMunichScript() {
+        DwellingUtilityStrategy reference = new DwellingUtilityStrategyImpl();
+        DwellingUtilityStrategy java = new JavaDwellingUtilityStrategyMuc();
+        for (HouseholdType ht : HouseholdType.values()) {
+            for (double util = 0.05; util < 1.; util += 0.15) {
+                Assert.assertEquals(reference.calculateSelectDwellingUtility(ht, util, 1 - util, 0.5, util, 0.3, 0.8),
+                        java.calculateSelectDwellingUtility(ht, util, 1 - util, 0.5, util, 0.3, 0.8), 1e-12);
+            }
+        }
+    }
+}
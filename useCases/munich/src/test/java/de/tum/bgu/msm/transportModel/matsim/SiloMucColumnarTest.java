@@ -0,0 +1,72 @@
+package de.tum.bgu.msm.transportModel.matsim;
+
+import de.tum.bgu.msm.DataBuilder;
+import de.tum.bgu.msm.ModelBuilderMuc;
+import de.tum.bgu.msm.SiloModel;
+import de.tum.bgu.msm.container.ModelContainer;
+import de.tum.bgu.msm.io.output.DefaultResultsMonitor;
+import de.tum.bgu.msm.io.output.ResultsMonitor;
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.schools.DataContainerWithSchools;
+import de.tum.bgu.msm.utils.SiloUtil;
+import junitx.framework.FileAssert;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+/**
+ * Runs the Munich test scenario once with the object based stores and once with the columnar data store, and
+ * compares the results of both runs. Munich uses its own household, person and job classes, so only the dwellings
+ * are kept in the columnar store. The columnar stores of households, persons and jobs are compared with the object
+ * based stores by ColumnarDemographyRunTest of siloCore, the job store also by the Maryland SiloMstmColumnarTest.
+ */
+public class SiloMucColumnarTest {
+
+    private static final Logger log = Logger.getLogger(SiloMucColumnarTest.class);
+
+    @Test
+    public final void testColumnarStoreReproducesObjectBasedRun() throws ReflectiveOperationException {
+        SiloTestUtils.cleanUpMicrodataFiles();
+        SiloTestUtils.cleanUpOtherFiles();
+        for (String scenario : new String[]{"test", "testColumnar"}) {
+            for (String file : new String[]{"dd", "hh", "jj", "pp"}) {
+                new File("./test/muc/scenOutput/" + scenario + "/microData/" + file + "_2013.csv").delete();
+            }
+        }
+
+        Properties properties = SiloUtil.siloInitialization("./test/muc/siloMucTest.properties");
+        Assert.assertFalse(properties.main.columnarDataStore);
+        run(properties);
+
+        // properties may only be initialized once, the columnar run is set up as if it was started in a new jvm
+        Field instance = Properties.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+
+        properties = SiloUtil.siloInitialization("./test/muc/siloMucColumnarTest.properties");
+        Assert.assertTrue(properties.main.columnarDataStore);
+        run(properties);
+
+        for (String file : new String[]{"dd", "hh", "jj", "pp"}) {
+            log.info("Checking " + file + " file ...");
+            final File expected = new File("./test/muc/scenOutput/test/microData/" + file + "_2013.csv");
+            final File actual = new File("./test/muc/scenOutput/testColumnar/microData/" + file + "_2013.csv");
+            FileAssert.assertEquals(file + " files are different.", expected, actual);
+        }
+    }
+
+    private static void run(Properties properties) {
+        DataContainerWithSchools dataContainer = DataBuilder.getModelDataForMuc(properties, null);
+        DataBuilder.read(properties, dataContainer);
+
+        ModelContainer modelContainer = ModelBuilderMuc.getModelContainerForMuc(dataContainer, properties, null);
+
+        ResultsMonitor resultsMonitor = new DefaultResultsMonitor(dataContainer, properties);
+        SiloModel siloModel = new SiloModel(properties, dataContainer, modelContainer);
+        siloModel.addResultMonitor(resultsMonitor);
+        siloModel.runModel();
+    }
+}
@@ -0,0 +1,71 @@
+package de.tum.bgu.msm.transportModel.matsim;
+
+import de.tum.bgu.msm.DataBuilder;
+import de.tum.bgu.msm.ModelBuilderMuc;
+import de.tum.bgu.msm.SiloModel;
+import de.tum.bgu.msm.container.ModelContainer;
+import de.tum.bgu.msm.io.output.DefaultResultsMonitor;
+import de.tum.bgu.msm.io.output.ResultsMonitor;
+import de.tum.bgu.msm.properties.Properties;
+import de.tum.bgu.msm.schools.DataContainerWithSchools;
+import de.tum.bgu.msm.utils.SiloUtil;
+import junitx.framework.FileAssert;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+/**
+ * Runs the Munich test scenario writing a snapshot of 2012 and resumes a second run from this snapshot. Both runs
+ * have to reproduce the reference output of the uninterrupted run.
+ */
+public class SiloMucResumeTest {
+
+    private static final Logger log = Logger.getLogger(SiloMucResumeTest.class);
+
+    @Test
+    public final void testResumedRunReproducesReferenceOutput() throws ReflectiveOperationException {
+        SiloTestUtils.cleanUpMicrodataFiles();
+        SiloTestUtils.cleanUpOtherFiles();
+        new File("./test/muc/scenOutput/test/snapshot_2012.bin").delete();
+
+        Properties properties = SiloUtil.siloInitialization("./test/muc/siloMucSnapshotTest.properties");
+        Assert.assertTrue(properties.main.snapshotYears.contains(2012));
+        run(properties);
+        Assert.assertTrue(new File("./test/muc/scenOutput/test/snapshot_2012.bin").exists());
+        assertReferenceOutput("test");
+
+        // properties may only be initialized once, the resumed run is set up as if it was started in a new jvm
+        Field instance = Properties.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+
+        properties = SiloUtil.siloInitialization("./test/muc/siloMucResumeTest.properties");
+        Assert.assertEquals("scenOutput/test/snapshot_2012.bin", properties.main.resumeSnapshotFile);
+        run(properties);
+        assertReferenceOutput("testResume");
+    }
+
+    private static void run(Properties properties) {
+        DataContainerWithSchools dataContainer = DataBuilder.getModelDataForMuc(properties, null);
+        DataBuilder.read(properties, dataContainer);
+
+        ModelContainer modelContainer = ModelBuilderMuc.getModelContainerForMuc(dataContainer, properties, null);
+
+        ResultsMonitor resultsMonitor = new DefaultResultsMonitor(dataContainer, properties);
+        SiloModel siloModel = new SiloModel(properties, dataContainer, modelContainer);
+        siloModel.addResultMonitor(resultsMonitor);
+        siloModel.runModel();
+    }
+
+    private static void assertReferenceOutput(String scenario) {
+        for (String file : new String[]{"dd", "hh", "jj", "pp"}) {
+            log.info("Checking " + file + " file of scenario " + scenario + " ...");
+            final File ref = new File("./test/muc/refOutput/noTransportModel/" + file + "_2013.csv");
+            final File actual = new File("./test/muc/scenOutput/" + scenario + "/microData/" + file + "_2013.csv");
+            FileAssert.assertEquals(file + " files of scenario " + scenario + " are different.", ref, actual);
+        }
+    }
+}
@@ -3,16 +3,21 @@ package run;
 import com.google.common.collect.EnumMultiset;
 import de.tum.bgu.msm.container.DataContainer;
 import de.tum.bgu.msm.container.DefaultDataContainer;
+import de.tum.bgu.msm.data.TravelTimesWrapper;
 import de.tum.bgu.msm.data.accessibility.Accessibility;
 import de.tum.bgu.msm.data.accessibility.AccessibilityImpl;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbability;
 import de.tum.bgu.msm.data.accessibility.CommutingTimeProbabilityImpl;
+import de.tum.bgu.msm.data.columnar.ColumnarDwellingData;
+import de.tum.bgu.msm.data.columnar.ColumnarHouseholdData;
+import de.tum.bgu.msm.data.columnar.ColumnarJobData;
 import de.tum.bgu.msm.data.dwelling.*;
 import de.tum.bgu.msm.data.geo.DefaultGeoData;
 import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.household.*;
 import de.tum.bgu.msm.data.job.*;
 import de.tum.bgu.msm.data.person.*;
+import de.tum.bgu.msm.data.travelTimes.MappedSkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.SkimTravelTimes;
 import de.tum.bgu.msm.data.travelTimes.TravelTimes;
 import de.tum.bgu.msm.io.input.DefaultHouseholdReader;
@@ -35,9 +40,33 @@ public final class DataBuilder {
 
         DefaultGeoData geoData = new DefaultGeoData();
 
-        DwellingData dwellingData = new DwellingDataImpl();
-        HouseholdData householdData = new HouseholdDataImpl();
-        JobData jobData = new JobDataImpl();
+        HouseholdData householdData;
+        JobData jobData;
+        DwellingData dwellingData;
+        HouseholdFactory hhFactory;
+        PersonFactory ppFactory;
+        JobFactory jobFactory;
+        DwellingFactory dwellingFactory;
+        if (properties.main.columnarDataStore) {
+            ColumnarHouseholdData columnarHouseholdData = new ColumnarHouseholdData();
+            ColumnarJobData columnarJobData = new ColumnarJobData();
+            ColumnarDwellingData columnarDwellingData = new ColumnarDwellingData();
+            householdData = columnarHouseholdData;
+            jobData = columnarJobData;
+            dwellingData = columnarDwellingData;
+            hhFactory = columnarHouseholdData.getHouseholdFactory();
+            ppFactory = columnarHouseholdData.getPersonFactory();
+            jobFactory = columnarJobData.getJobFactory();
+            dwellingFactory = columnarDwellingData.getDwellingFactory();
+        } else {
+            householdData = new HouseholdDataImpl();
+            jobData = new JobDataImpl();
+            dwellingData = new DwellingDataImpl();
+            hhFactory = new HouseholdFactoryImpl();
+            ppFactory = new PersonFactoryImpl();
+            jobFactory = new JobFactoryImpl();
+            dwellingFactory = new DwellingFactoryImpl();
+        }
 
         TravelTimes travelTimes = null;
         Accessibility accessibility = null;
@@ -47,8 +76,12 @@ public final class DataBuilder {
                 travelTimes = new SkimTravelTimes();
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
+            case MAPPED_SKIM:
+                travelTimes = new MappedSkimTravelTimes();
+                accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
+                break;
             case MATSIM:
-                travelTimes = new MatsimTravelTimes(config);
+                travelTimes = new MatsimTravelTimes(config, properties.transportModel.matsimNodeToNodeCarTravelTimes);
 //                accessibility = new MatsimAccessibility(geoData);
                 accessibility = new AccessibilityImpl(geoData, travelTimes, properties, dwellingData, jobData);
                 break;
@@ -64,17 +97,16 @@ public final class DataBuilder {
         RealEstateDataManager realEstateManager = new RealEstateDataManagerImpl(
                 DwellingTypePerth.values(), dwellingData,
                 householdData, geoData,
-                new DwellingFactoryImpl(),
+                dwellingFactory,
                 properties);
 
+        travelTimes = new TravelTimesWrapper(travelTimes, properties, geoData);
+
         JobDataManager jobManager = new JobDataManagerImpl(
-                properties, new JobFactoryImpl(),
+                properties, jobFactory,
                 jobData, geoData,
                 travelTimes, commutingTimeProbability);
 
-        final HouseholdFactory hhFactory = new HouseholdFactoryImpl();
-        final PersonFactory ppFactory = new PersonFactoryImpl();
-
         HouseholdDataManager householdManager = new HouseholdDataManagerImpl(
                 householdData, dwellingData,
                 ppFactory, hhFactory,
@@ -96,6 +128,10 @@ public final class DataBuilder {
         geoDataReaderMstm.readZoneShapefile(pathShp);
 
         int year = properties.main.startYear;
+        if (!properties.main.resumeSnapshotFile.isEmpty()) {
+            // micro data is read from the snapshot when setting up the model
+            return;
+        }
 
         readHouseholds(properties, dataContainer.getHouseholdDataManager(),
                  dataContainer.getHouseholdDataManager().getHouseholdFactory(), year);
@@ -4,7 +4,6 @@ import de.tum.bgu.msm.data.geo.GeoData;
 import de.tum.bgu.msm.data.job.Job;
 import de.tum.bgu.msm.data.job.JobDataManager;
 import de.tum.bgu.msm.data.job.JobFactory;
-import de.tum.bgu.msm.data.job.JobUtils;
 import de.tum.bgu.msm.io.input.DefaultJobReader;
 import de.tum.bgu.msm.io.input.JobReader;
 import de.tum.bgu.msm.utils.SiloUtil;
@@ -29,7 +28,7 @@ public class JobReaderPerth implements JobReader {
     public void readData(String fileName) {
 
         logger.info("Reading job micro data from ascii file");
-        JobFactory factory = JobUtils.getFactory();
+        JobFactory factory = jobDataManager.getFactory();
         String recString = "";
         int recCount = 0;
         try {
@@ -24,7 +24,7 @@ public class PersonReaderPerth implements PersonReader{
     public void readData(String path) {
         logger.info("Reading person micro data from ascii file");
 
-        PersonFactory ppFactory = PersonUtils.getFactory();
+        PersonFactory ppFactory = householdDataManager.getPersonFactory();
         String recString = "";
         int recCount = 0;
         try {